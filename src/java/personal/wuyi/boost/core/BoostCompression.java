@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The compression of the part files written by {@code saveAsTextFile} and
+ * {@code saveAsBinaryFile}.
+ *
+ * <p>The compression of a part file is recorded by its extension, so the
+ * files are read back without being told how they were written.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public enum BoostCompression {
+	/** No compression */
+	NONE(""),
+
+	/** The GZIP format of the JDK, readable by {@code gzip} */
+	GZIP(".gz"),
+
+	/** The zlib stream of the JDK {@code Deflater}, without the GZIP header and checksum */
+	DEFLATE(".deflate");
+
+	/** The size of the buffers of the compression streams */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final String extension;
+
+	private BoostCompression(String extension) {
+		this.extension = extension;
+	}
+
+	/**
+	 * Return the extension of the files written with this compression.
+	 *
+	 * @return  The extension, empty for no compression.
+	 *
+	 * @since   1.2
+	 */
+	String extension() {
+		return extension;
+	}
+
+	/**
+	 * Wrap a stream to compress what is written into it.
+	 *
+	 * @param  out
+	 *         The stream receiving the compressed bytes.
+	 *
+	 * @return  The compressing stream, or {@code out} for no compression.
+	 *
+	 * @throws  IOException
+	 *          If the header cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	OutputStream compress(OutputStream out) throws IOException {
+		switch (this) {
+		case GZIP:
+			return new GZIPOutputStream(out, BUFFER_SIZE);
+		case DEFLATE:
+			return new DeflaterOutputStream(out, false);
+		default:
+			return out;
+		}
+	}
+
+	/**
+	 * Wrap a stream to decompress what is read from it.
+	 *
+	 * @param  in
+	 *         The stream providing the compressed bytes.
+	 *
+	 * @return  The decompressing stream, or {@code in} for no compression.
+	 *
+	 * @throws  IOException
+	 *          If the header cannot be read.
+	 *
+	 * @since   1.2
+	 */
+	InputStream decompress(InputStream in) throws IOException {
+		switch (this) {
+		case GZIP:
+			return new GZIPInputStream(in, BUFFER_SIZE);
+		case DEFLATE:
+			return new InflaterInputStream(in);
+		default:
+			return in;
+		}
+	}
+
+	/**
+	 * Return the compression of a file from its name.
+	 *
+	 * @param  fileName
+	 *         The name of the file.
+	 *
+	 * @return  The compression of the file.
+	 *
+	 * @since   1.2
+	 */
+	static BoostCompression of(String fileName) {
+		for (BoostCompression compression : values()) {
+			if (compression != NONE && fileName.endsWith(compression.extension)) {
+				return compression;
+			}
+		}
+		return NONE;
+	}
+}
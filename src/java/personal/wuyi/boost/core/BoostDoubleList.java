@@ -0,0 +1,471 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import personal.wuyi.boost.api.DoubleFilterFunction;
+import personal.wuyi.boost.api.DoubleFunction;
+import personal.wuyi.boost.api.DoubleFunction2;
+import personal.wuyi.boost.entity.BoostPair;
+import personal.wuyi.boost.entity.BoostStatCounter;
+
+/**
+ * JavaRDD style list of {@code double} values.
+ * 
+ * <p>The values are stored in a {@code double[]} instead of boxed 
+ * {@code Double} objects, and the functions of the operators take and 
+ * return {@code double} values, so no boxing happens in the hot loop.
+ * 
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ * 
+ * @see     BoostList
+ */
+public class BoostDoubleList {
+	private static final int DEFAULT_CAPACITY = 10;
+	
+	private double[] elements;
+	private int      size;
+	
+	/**
+	 * Construct an empty {@code BoostDoubleList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostDoubleList() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Construct an empty {@code BoostDoubleList} with an initial capacity.
+	 * 
+	 * @param  initialCapacity
+	 *         The number of values the list can hold before growing.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostDoubleList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+		}
+		this.elements = new double[initialCapacity];
+	}
+	
+	/**
+	 * Construct a {@code BoostDoubleList} containing provided values.
+	 * 
+	 * @param  values
+	 *         The values.
+	 * 
+	 * @return  The new {@code BoostDoubleList}.
+	 * 
+	 * @since   1.2
+	 */
+	public static BoostDoubleList of(double... values) {
+		BoostDoubleList list = new BoostDoubleList(values.length);
+		list.addAll(values);
+		return list;
+	}
+	
+	/**
+	 * Append a value to the end of this {@code BoostDoubleList}.
+	 * 
+	 * @param  value
+	 *         The value.
+	 * 
+	 * @since   1.2
+	 */
+	public void add(double value) {
+		if (size == elements.length) {
+			grow(size + 1);
+		}
+		elements[size++] = value;
+	}
+	
+	/**
+	 * Append values to the end of this {@code BoostDoubleList}.
+	 * 
+	 * @param  values
+	 *         The values.
+	 * 
+	 * @since   1.2
+	 */
+	public void addAll(double... values) {
+		if (size + values.length > elements.length) {
+			grow(size + values.length);
+		}
+		System.arraycopy(values, 0, elements, size, values.length);
+		size += values.length;
+	}
+	
+	/**
+	 * Return the value at an index.
+	 * 
+	 * @param  index
+	 *         The index of the value.
+	 * 
+	 * @return  The value.
+	 * 
+	 * @since   1.2
+	 */
+	public double get(int index) {
+		checkIndex(index);
+		return elements[index];
+	}
+	
+	/**
+	 * Replace the value at an index.
+	 * 
+	 * @param  index
+	 *         The index of the value.
+	 * 
+	 * @param  value
+	 *         The new value.
+	 * 
+	 * @return  The previous value.
+	 * 
+	 * @since   1.2
+	 */
+	public double set(int index, double value) {
+		checkIndex(index);
+		double previous = elements[index];
+		elements[index] = value;
+		return previous;
+	}
+	
+	/**
+	 * Return the number of values in this {@code BoostDoubleList}.
+	 * 
+	 * @return  The number of values.
+	 * 
+	 * @since   1.2
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Check this {@code BoostDoubleList} is empty or not.
+	 * 
+	 * @return  {@code true} if the {@code BoostDoubleList} is empty;
+	 *          {@code false} otherwise.
+	 * 
+	 * @since   1.2
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Return an array that contains all of the values in this 
+	 * {@code BoostDoubleList}.
+	 * 
+	 * @return  The new array.
+	 * 
+	 * @since   1.2
+	 */
+	public double[] toArray() {
+		return Arrays.copyOf(elements, size);
+	}
+	
+	/**
+	 * Return a new {@code BoostDoubleList} containing only the values that 
+	 * satisfy a predicate.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for checking each value.
+	 *         
+	 * @return  The new {@code BoostDoubleList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostDoubleList filter(DoubleFilterFunction f) {
+		BoostDoubleList newList = new BoostDoubleList();
+		for (int i = 0; i < size; i++) {
+			if (f.call(elements[i])) {
+				newList.add(elements[i]);
+			}
+		}
+		return newList;
+	}
+	
+	/**
+	 * Return a new {@code BoostDoubleList} by applying a function to all 
+	 * values of this {@code BoostDoubleList}.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for operating each value.
+	 *         
+	 * @return  The new {@code BoostDoubleList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostDoubleList map(DoubleFunction f) {
+		BoostDoubleList newList = new BoostDoubleList(size);
+		for (int i = 0; i < size; i++) {
+			newList.elements[i] = f.call(elements[i]);
+		}
+		newList.size = size;
+		return newList;
+	}
+	
+	/**
+	 * Reduce the values of this {@code BoostDoubleList} using an associative 
+	 * function.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for combining 2 values.
+	 * 
+	 * @return  The reduced value.
+	 * 
+	 * @throws  UnsupportedOperationException
+	 *          If this {@code BoostDoubleList} is empty.
+	 * 
+	 * @since   1.2
+	 */
+	public double reduce(DoubleFunction2 f) {
+		if (size == 0) {
+			throw new UnsupportedOperationException("empty collection");
+		}
+		double result = elements[0];
+		for (int i = 1; i < size; i++) {
+			result = f.call(result, elements[i]);
+		}
+		return result;
+	}
+	
+	/**
+	 * Remove duplicates.
+	 * 
+	 * <p>The first occurrence of each value is kept, in the original order.
+	 * 
+	 * @return  The new {@code BoostDoubleList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostDoubleList distinct() {
+		LongHashCounter counter = new LongHashCounter(size);
+		BoostDoubleList newList = new BoostDoubleList();
+		for (int i = 0; i < size; i++) {
+			if (counter.add(Double.doubleToLongBits(elements[i]))) {
+				newList.add(elements[i]);
+			}
+		}
+		return newList;
+	}
+	
+	/**
+	 * Return the count of each unique value in this {@code BoostDoubleList} as 
+	 * a map of (value, count) pairs.
+	 * 
+	 * <p>The values are counted in a primitive hash table and only boxed 
+	 * once per unique value when building the map.
+	 * 
+	 * @return  The map of the number of occurrences for each value.
+	 * 
+	 * @since   1.2
+	 */
+	public Map<Double, Long> countByValue() {
+		LongHashCounter counter = new LongHashCounter(size);
+		for (int i = 0; i < size; i++) {
+			counter.add(Double.doubleToLongBits(elements[i]));
+		}
+		Map<Double, Long> newMap = new HashMap<>(counter.size() * 4 / 3 + 1);
+		for (int i = 0; i < counter.size(); i++) {
+			newMap.put(Double.longBitsToDouble(counter.keyAt(i)), counter.countAt(i));
+		}
+		return newMap;
+	}
+	
+	/**
+	 * Return a new {@code BoostDoubleList} containing the values of this 
+	 * {@code BoostDoubleList} in ascending order.
+	 * 
+	 * @return  The new sorted {@code BoostDoubleList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostDoubleList sort() {
+		BoostDoubleList newList = new BoostDoubleList(0);
+		newList.elements = toArray();
+		newList.size     = size;
+		Arrays.sort(newList.elements);
+		return newList;
+	}
+	
+	/**
+	 * Return the number of values in the {@code BoostDoubleList}.
+	 * 
+	 * @return  The number of values in the {@code BoostDoubleList}.
+	 * 
+	 * @since   1.2
+	 */
+	public long count() {
+		return size;
+	}
+	
+	/**
+	 * Compute the count, mean, variance, minimum and maximum of the values 
+	 * of this {@code BoostDoubleList} in one pass.
+	 * 
+	 * <p>A large {@code BoostDoubleList} is split into chunks which are 
+	 * accumulated in parallel, and the statistics of the chunks are merged.
+	 * 
+	 * @return  The statistics of the values.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostStatCounter stats() {
+		return NumericStats.stats(elements, size);
+	}
+	
+	/**
+	 * Count the values of this {@code BoostDoubleList} in each bucket.
+	 * 
+	 * <p>Each bucket includes its low end and excludes its high end, except 
+	 * the last one which includes both. The values out of the buckets, and 
+	 * {@code NaN}, are not counted.
+	 * 
+	 * @param  buckets
+	 *         The boundaries of the buckets, in strictly increasing order.
+	 * 
+	 * @return  The number of values in each bucket.
+	 * 
+	 * @throws  IllegalArgumentException
+	 *          If there are less than 2 boundaries, or if they are not 
+	 *          strictly increasing.
+	 * 
+	 * @since   1.2
+	 */
+	public long[] histogram(double[] buckets) {
+		return NumericStats.histogram(elements, size, NumericStats.checkBuckets(buckets.clone()));
+	}
+	
+	/**
+	 * Count the values of this {@code BoostDoubleList} in evenly spaced 
+	 * buckets between the smallest and the largest value.
+	 * 
+	 * <p>It makes one pass for the range of the buckets and one pass for the
+	 * counts. If all the values are equal, there is a single bucket.
+	 * 
+	 * @param  bucketCount
+	 *         The number of buckets, at least 1.
+	 * 
+	 * @return  The pair of the boundaries of the buckets and the number of 
+	 *          values in each bucket.
+	 * 
+	 * @throws  IllegalArgumentException
+	 *          If {@code bucketCount} is less than 1.
+	 * 
+	 * @throws  UnsupportedOperationException
+	 *          If this {@code BoostDoubleList} is empty, or if a value is 
+	 *          infinite or {@code NaN}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostPair<double[], long[]> histogram(int bucketCount) {
+		double[] buckets = NumericStats.evenBuckets(stats(), bucketCount);
+		return new BoostPair<>(buckets, NumericStats.histogram(elements, size, buckets));
+	}
+	
+	/**
+	 * Return a {@code BoostList} containing the boxed values of this 
+	 * {@code BoostDoubleList}.
+	 * 
+	 * @return  The new {@code BoostList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostList<Double> boxed() {
+		BoostList<Double> newList = new BoostList<>();
+		newList.ensureCapacity(size);
+		for (int i = 0; i < size; i++) {
+			newList.add(elements[i]);
+		}
+		return newList;
+	}
+	
+	@Override
+	public boolean equals(Object object) {
+		if (object instanceof BoostDoubleList) {
+			BoostDoubleList that = (BoostDoubleList) object;
+			if (this.size != that.size) {
+				return false;
+			}
+			for (int i = 0; i < size; i++) {
+				if (Double.doubleToLongBits(this.elements[i]) != Double.doubleToLongBits(that.elements[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + Double.hashCode(elements[i]);
+		}
+		return result;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(elements[i]);
+		}
+		return builder.append(']').toString();
+	}
+	
+	/**
+	 * Grow the backing array to hold at least a minimum number of values.
+	 * 
+	 * @param  minCapacity
+	 *         The minimum number of values.
+	 * 
+	 * @since   1.2
+	 */
+	private void grow(int minCapacity) {
+		int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1));
+		elements = Arrays.copyOf(elements, newCapacity);
+	}
+	
+	/**
+	 * Check an index is in the range of this {@code BoostDoubleList}.
+	 * 
+	 * @param  index
+	 *         The index needs to be checked.
+	 * 
+	 * @since   1.2
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -17,17 +17,26 @@
 package personal.wuyi.boost.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import personal.wuyi.boost.api.FlatMapFunction;
 import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function0;
+import personal.wuyi.boost.api.Function2;
 import personal.wuyi.boost.api.PairFunction;
 import personal.wuyi.boost.api.VoidFunction;
 import personal.wuyi.boost.entity.BoostPair;
+import personal.wuyi.boost.entity.BoostStatCounter;
 
 /**
  * JavaRDD style implementation of {@code ArrayList}.
@@ -133,17 +142,78 @@ public class BoostList<E> extends ArrayList<E> {
 		return newMap;
 	}
 	
+	/**
+	 * Return a new {@code BoostMap} by applying a transforming function to 
+	 * all elements of this {@code BoostList} and merging the values of each 
+	 * key using an associative reduce function.
+	 * 
+	 * <p>This gives the same result as {@code mapToPair(pairFn)} followed 
+	 * by {@code reduceByKey(reduceFn)}, but each value is folded into the 
+	 * running result of its key as soon as it is produced. The values of a 
+	 * key are never stored together, so the memory scales with the number 
+	 * of distinct keys instead of the number of pairs.
+	 * 
+	 * @param  pairFn
+	 *         The anonymous inner class for operating each element in the 
+	 *         {@code BoostList}.
+	 * 
+	 * @param  reduceFn
+	 *         The anonymous inner class for generating the reduced value.
+	 * 
+	 * @return  The new {@code BoostMap} with one value for each key.
+	 * 
+	 * @since   1.2
+	 */
+	public <K, V> BoostMap<K, V> reduceToPairs(PairFunction<E, K, V> pairFn, Function2<V, V, V> reduceFn) {
+		KeyedCombiner<K, V, V> combiner = KeyedCombiner.reducing(reduceFn);
+		for (E ele : this) {
+			BoostPair<K, V> pair = pairFn.call(ele);
+			combiner.add(pair.getKey(), pair.getValue());
+		}
+		return combiner.toBoostMap();
+	}
+	
 	/**
 	 * Remove duplicates.
 	 * 
+	 * <p>The first occurrence of each element is kept, in the original 
+	 * order. The seen elements are tracked in a hash set, so this runs in 
+	 * linear time.
+	 * 
 	 * @return  The new {@code BoostList}.
 	 * 
 	 * @since   1.1
 	 */
 	public BoostList<E> distinct() {
 		BoostList<E> newList = new BoostList<>();
+		Set<E> seen = new HashSet<>(hashCapacity(this.size()));
 		for(E ele: this) {
-			if (!newList.contains(ele)) {
+			if (seen.add(ele)) {
+				newList.add(ele);
+			}
+		}
+		return newList;
+	}
+	
+	/**
+	 * Remove duplicates from this {@code BoostList} which is already sorted.
+	 * 
+	 * <p>Equal elements are adjacent in a sorted list, so each element is 
+	 * only compared with the previous one. Two elements are duplicates when 
+	 * the comparator returns 0.
+	 * 
+	 * @param  sortedBy
+	 *         The comparator this {@code BoostList} is sorted by.
+	 * 
+	 * @return  The new {@code BoostList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostList<E> distinct(Comparator<? super E> sortedBy) {
+		BoostList<E> newList = new BoostList<>();
+		for (int i = 0; i < this.size(); i++) {
+			E ele = this.get(i);
+			if (i == 0 || sortedBy.compare(this.get(i - 1), ele) != 0) {
 				newList.add(ele);
 			}
 		}
@@ -182,14 +252,51 @@ public class BoostList<E> extends ArrayList<E> {
 	 */
 	public BoostList<E> intersection(BoostList<E> other) {
 		BoostList<E> newList = new BoostList<>();
+		Set<E> otherSet = new HashSet<>(other);
 		for(E ele : this) {
-			if (other.contains(ele)) {
+			if (otherSet.contains(ele)) {
 				newList.add(ele);
 			}
 		}
 		return newList;
 	}
 	
+	/**
+	 * {@code BoostList} containing only elements found in both 2 
+	 * {@code BoostList}, when both are already sorted by the same 
+	 * comparator.
+	 * 
+	 * <p>The 2 {@code BoostList} are merged in one pass without building any 
+	 * lookup structure. Two elements are equal when the comparator returns 
+	 * 0.
+	 * 
+	 * @param  other
+	 *         Another {@code BoostList} needs to be intersected.
+	 * 
+	 * @param  sortedBy
+	 *         The comparator both {@code BoostList} are sorted by.
+	 * 
+	 * @return  The merged {@code BoostList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostList<E> intersection(BoostList<E> other, Comparator<? super E> sortedBy) {
+		BoostList<E> newList = new BoostList<>();
+		int i = 0;
+		int j = 0;
+		while (i < this.size() && j < other.size()) {
+			int result = sortedBy.compare(this.get(i), other.get(j));
+			if (result < 0) {
+				i++;
+			} else if (result > 0) {
+				j++;
+			} else {
+				newList.add(this.get(i++));
+			}
+		}
+		return newList;
+	}
+	
 	/**
 	 * Remove the contents of one {@code BoostList} (e.g.,remove training data).
 	 * {1,2,3}.subtract({3,4,5}) = {1,2}
@@ -203,14 +310,50 @@ public class BoostList<E> extends ArrayList<E> {
 	 */
 	public BoostList<E> subtract(BoostList<E> other) {
 		BoostList<E> newList = new BoostList<>();
+		Set<E> otherSet = new HashSet<>(other);
 		for(E ele : this) {
-			if (!other.contains(ele)) {
+			if (!otherSet.contains(ele)) {
 				newList.add(ele);
 			}
 		}
 		return newList;
 	}
 	
+	/**
+	 * Remove the contents of one {@code BoostList}, when both are already 
+	 * sorted by the same comparator.
+	 * 
+	 * <p>The 2 {@code BoostList} are merged in one pass without building any 
+	 * lookup structure. Two elements are equal when the comparator returns 
+	 * 0.
+	 * 
+	 * @param  other
+	 *         Another {@code BoostList} needs to be referred.
+	 * 
+	 * @param  sortedBy
+	 *         The comparator both {@code BoostList} are sorted by.
+	 * 
+	 * @return  The new {@code BoostList}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostList<E> subtract(BoostList<E> other, Comparator<? super E> sortedBy) {
+		BoostList<E> newList = new BoostList<>();
+		int i = 0;
+		int j = 0;
+		while (i < this.size()) {
+			int result = j < other.size() ? sortedBy.compare(this.get(i), other.get(j)) : -1;
+			if (result < 0) {
+				newList.add(this.get(i++));
+			} else if (result > 0) {
+				j++;
+			} else {
+				i++;
+			}
+		}
+		return newList;
+	}
+	
 	/**
 	 * Return the Cartesian product (all ordered pairs) of this 
 	 * {@code BoostList} and another {@code BoostList}.
@@ -309,10 +452,630 @@ public class BoostList<E> extends ArrayList<E> {
     			for(int i = 0 ; i < num ; i++) {
     				newList.add(this.get(i));
     			}
-    		} else if (num > this.count()) {
+    		} else {
     			newList = new ArrayList<>(this);
     		}
     		return newList;
     	}
     }
+    
+	/**
+	 * Return the first element of this {@code BoostList}.
+	 * 
+	 * @return  The first element, or an empty {@code Optional} if this 
+	 *          {@code BoostList} is empty.
+	 * 
+	 * @throws  NullPointerException
+	 *          If the first element is null.
+	 * 
+	 * @since   1.2
+	 */
+	public Optional<E> first() {
+		return this.isEmpty() ? Optional.<E>empty() : Optional.of(this.get(0));
+	}
+	
+	/**
+	 * Return the first element of this {@code BoostList} which satisfies a 
+	 * predicate.
+	 * 
+	 * <p>The elements after the one found are not checked.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 * 
+	 * @return  The element found, or an empty {@code Optional} if there is 
+	 *          none.
+	 * 
+	 * @throws  NullPointerException
+	 *          If the element found is null.
+	 * 
+	 * @since   1.2
+	 */
+	public Optional<E> find(Function<E, Boolean> f) {
+		for (E ele : this) {
+			if (f.call(ele)) {
+				return Optional.of(ele);
+			}
+		}
+		return Optional.empty();
+	}
+	
+	/**
+	 * Check whether any element of this {@code BoostList} satisfies a 
+	 * predicate.
+	 * 
+	 * <p>The elements after the first one satisfying the predicate are not 
+	 * checked.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 * 
+	 * @return  {@code true} if an element satisfies the predicate;
+	 *          {@code false} otherwise, and for an empty {@code BoostList}.
+	 * 
+	 * @since   1.2
+	 */
+	public boolean anyMatch(Function<E, Boolean> f) {
+		for (E ele : this) {
+			if (f.call(ele)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Check whether all the elements of this {@code BoostList} satisfy a 
+	 * predicate.
+	 * 
+	 * <p>The elements after the first one not satisfying the predicate are 
+	 * not checked.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 * 
+	 * @return  {@code true} if all the elements satisfy the predicate, and 
+	 *          for an empty {@code BoostList}; {@code false} otherwise.
+	 * 
+	 * @since   1.2
+	 */
+	public boolean allMatch(Function<E, Boolean> f) {
+		for (E ele : this) {
+			if (!f.call(ele)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Check whether any element of this {@code BoostList} satisfies a 
+	 * predicate, like {@link #anyMatch(Function)}.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 * 
+	 * @return  {@code true} if an element satisfies the predicate;
+	 *          {@code false} otherwise.
+	 * 
+	 * @since   1.2
+	 */
+	public boolean exists(Function<E, Boolean> f) {
+		return anyMatch(f);
+	}
+	
+	/**
+	 * Merge all the elements of this {@code BoostList} using an associative 
+	 * function.
+	 * 
+	 * <p>The function is called on the caller thread, in the order of the 
+	 * elements. Use {@code par().reduce(f)} to reduce the ranges of a large 
+	 * {@code BoostList} in parallel, which needs an associative and 
+	 * thread-safe function.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for merging 2 elements.
+	 * 
+	 * @return  The merged element, or an empty {@code Optional} if this 
+	 *          {@code BoostList} is empty.
+	 * 
+	 * @throws  NullPointerException
+	 *          If the merged element is null.
+	 * 
+	 * @since   1.2
+	 */
+	public Optional<E> reduce(Function2<E, E, E> f) {
+		return lazy().reduce(f);
+	}
+	
+	/**
+	 * Merge all the elements of this {@code BoostList} using an associative 
+	 * function, starting from a zero value.
+	 * 
+	 * <p>The function is called on the caller thread. With 
+	 * {@code par().fold(zeroValue, f)}, the zero value starts the merge of 
+	 * each range, so it must be the identity of the function (like 0 for a 
+	 * sum) and immutable.
+	 * 
+	 * @param  zeroValue
+	 *         The identity of the function.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for merging 2 elements.
+	 * 
+	 * @return  The merged element.
+	 * 
+	 * @since   1.2
+	 */
+	public E fold(E zeroValue, Function2<E, E, E> f) {
+		return lazy().fold(zeroValue, f);
+	}
+	
+	/**
+	 * Aggregate all the elements of this {@code BoostList}, starting from a 
+	 * zero value.
+	 * 
+	 * <p>The elements are folded on the caller thread, so {@code combOp} is 
+	 * not called. With {@code par()}, the zero value is shared by the 
+	 * ranges, so it must be immutable (like a number or a string); use 
+	 * {@link #aggregate(Function0, Function2, Function2)} for a mutable zero 
+	 * value.
+	 * 
+	 * @param  zeroValue
+	 *         The initial aggregated value.
+	 * 
+	 * @param  seqOp
+	 *         The anonymous inner class for folding an element into an 
+	 *         aggregated value.
+	 * 
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 * 
+	 * @return  The aggregated value.
+	 * 
+	 * @since   1.2
+	 */
+	public <U> U aggregate(U zeroValue, Function2<U, E, U> seqOp, Function2<U, U, U> combOp) {
+		return lazy().aggregate(zeroValue, seqOp, combOp);
+	}
+	
+	/**
+	 * Aggregate all the elements of this {@code BoostList}, starting from a 
+	 * new zero value for each range.
+	 * 
+	 * <p>The elements are folded on the caller thread. With {@code par()}, 
+	 * the ranges are folded in parallel and the aggregated values are 
+	 * merged as a binary tree.
+	 * 
+	 * @param  zeroValue
+	 *         The anonymous inner class for creating the initial aggregated 
+	 *         value of a range.
+	 * 
+	 * @param  seqOp
+	 *         The anonymous inner class for folding an element into an 
+	 *         aggregated value.
+	 * 
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 * 
+	 * @return  The aggregated value.
+	 * 
+	 * @since   1.2
+	 */
+	public <U> U aggregate(Function0<U> zeroValue, Function2<U, E, U> seqOp, Function2<U, U, U> combOp) {
+		return lazy().aggregate(zeroValue, seqOp, combOp);
+	}
+	
+	/**
+	 * Aggregate all the elements of this {@code BoostList}, merging the 
+	 * aggregated values of the ranges in a fixed number of levels.
+	 * 
+	 * @param  zeroValue
+	 *         The anonymous inner class for creating the initial aggregated 
+	 *         value of a range.
+	 * 
+	 * @param  seqOp
+	 *         The anonymous inner class for folding an element into an 
+	 *         aggregated value.
+	 * 
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 * 
+	 * @param  depth
+	 *         The maximum number of merge levels, at least 1.
+	 * 
+	 * @return  The aggregated value.
+	 * 
+	 * @see     BoostPipeline#treeAggregate(Function0, Function2, Function2, int)
+	 * 
+	 * @since   1.2
+	 */
+	public <U> U treeAggregate(Function0<U> zeroValue, Function2<U, E, U> seqOp, Function2<U, U, U> combOp, int depth) {
+		return lazy().treeAggregate(zeroValue, seqOp, combOp, depth);
+	}
+	
+	/**
+	 * Compute the count, mean, variance, minimum and maximum of the 
+	 * elements of this {@code BoostList}, which must be numbers, in one 
+	 * pass.
+	 * 
+	 * <p>The elements are accumulated on the caller thread. Use 
+	 * {@code par().stats()} to accumulate the ranges of a large 
+	 * {@code BoostList} in parallel.
+	 * 
+	 * @return  The statistics of the elements.
+	 * 
+	 * @throws  ClassCastException
+	 *          If an element is not a {@code Number}.
+	 * 
+	 * @see     BoostPipeline#stats()
+	 * 
+	 * @since   1.2
+	 */
+	public BoostStatCounter stats() {
+		return lazy().stats();
+	}
+	
+	/**
+	 * Count the elements of this {@code BoostList}, which must be numbers, 
+	 * in each bucket.
+	 * 
+	 * @param  buckets
+	 *         The boundaries of the buckets, in strictly increasing order.
+	 * 
+	 * @return  The number of elements in each bucket.
+	 * 
+	 * @see     BoostPipeline#histogram(double[])
+	 * 
+	 * @since   1.2
+	 */
+	public long[] histogram(double[] buckets) {
+		return lazy().histogram(buckets);
+	}
+	
+	/**
+	 * Count the elements of this {@code BoostList}, which must be numbers, 
+	 * in evenly spaced buckets between the smallest and the largest element.
+	 * 
+	 * @param  bucketCount
+	 *         The number of buckets, at least 1.
+	 * 
+	 * @return  The pair of the boundaries of the buckets and the number of 
+	 *          elements in each bucket.
+	 * 
+	 * @see     BoostPipeline#histogram(int)
+	 * 
+	 * @since   1.2
+	 */
+	public BoostPair<double[], long[]> histogram(int bucketCount) {
+		return lazy().histogram(bucketCount);
+	}
+	
+	/**
+	 * Return a new {@code BoostList} sorted by a key extracted from each 
+	 * element.
+	 * 
+	 * <p>The key of each element is extracted once and kept next to the 
+	 * element, so the key function is not called again on each comparison. 
+	 * The elements are sorted by a parallel merge sort 
+	 * ({@code Arrays.parallelSort}), which is stable, so the comparator may 
+	 * be called from several threads at once.
+	 * 
+	 * @param  keyFn
+	 *         The anonymous inner class for extracting the key of each 
+	 *         element.
+	 * 
+	 * @param  comparator
+	 *         The order of the keys, or {@code null} for their natural 
+	 *         order.
+	 * 
+	 * @param  ascending
+	 *         {@code true} to sort in the order of the comparator, 
+	 *         {@code false} to sort in the reverse order.
+	 * 
+	 * @return  The new sorted {@code BoostList}.
+	 * 
+	 * @since   1.2
+	 */
+	public <S> BoostList<E> sortBy(Function<E, S> keyFn, Comparator<? super S> comparator, boolean ascending) {
+		Comparator<? super S> order = comparator != null ? comparator : MultimapStore.<S>naturalOrder();
+		final Comparator<? super S> keyOrder = ascending ? order : Collections.reverseOrder(order);
+		
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		BoostPair<S, E>[] keyedElements = new BoostPair[this.size()];
+		for (int i = 0; i < keyedElements.length; i++) {
+			E ele = this.get(i);
+			keyedElements[i] = new BoostPair<>(keyFn.call(ele), ele);
+		}
+		Arrays.parallelSort(keyedElements, new Comparator<BoostPair<S, E>>() {
+			public int compare(BoostPair<S, E> left, BoostPair<S, E> right) {
+				return keyOrder.compare(left.getKey(), right.getKey());
+			}
+		});
+		
+		BoostList<E> newList = new BoostList<>();
+		newList.ensureCapacity(keyedElements.length);
+		for (BoostPair<S, E> keyedElement : keyedElements) {
+			newList.add(keyedElement.getValue());
+		}
+		return newList;
+	}
+	
+	/**
+	 * Return a new {@code BoostList} sorted by a key extracted from each 
+	 * element, in ascending order.
+	 * 
+	 * @param  keyFn
+	 *         The anonymous inner class for extracting the key of each 
+	 *         element.
+	 * 
+	 * @param  comparator
+	 *         The order of the keys, or {@code null} for their natural 
+	 *         order.
+	 * 
+	 * @return  The new sorted {@code BoostList}.
+	 * 
+	 * @see     #sortBy(Function, Comparator, boolean)
+	 * 
+	 * @since   1.2
+	 */
+	public <S> BoostList<E> sortBy(Function<E, S> keyFn, Comparator<? super S> comparator) {
+		return sortBy(keyFn, comparator, true);
+	}
+	
+	/**
+	 * Return the N smallest elements of this {@code BoostList}, in 
+	 * ascending order.
+	 * 
+	 * <p>The elements are offered to a bounded heap of N elements instead of 
+	 * being sorted, so this takes O(M log N) time for M elements. The 
+	 * comparator is called on the caller thread; with {@code par()}, each 
+	 * range has its own heap and runs in parallel. Equal elements may be 
+	 * returned in any order.
+	 * 
+	 * @param  num
+	 *         The number of elements to take.
+	 * 
+	 * @param  comparator
+	 *         The order of the elements, or {@code null} for their natural 
+	 *         order.
+	 * 
+	 * @return  The new list of at most {@code num} elements.
+	 * 
+	 * @since   1.2
+	 */
+	public List<E> takeOrdered(int num, Comparator<? super E> comparator) {
+		return lazy().takeOrdered(num, comparator);
+	}
+	
+	/**
+	 * Return the N smallest elements of this {@code BoostList} in their 
+	 * natural order, in ascending order.
+	 * 
+	 * @param  num
+	 *         The number of elements to take.
+	 * 
+	 * @return  The new list of at most {@code num} elements.
+	 * 
+	 * @see     #takeOrdered(int, Comparator)
+	 * 
+	 * @since   1.2
+	 */
+	public List<E> takeOrdered(int num) {
+		return takeOrdered(num, null);
+	}
+	
+	/**
+	 * Return the N greatest elements of this {@code BoostList}, in 
+	 * descending order.
+	 * 
+	 * @param  num
+	 *         The number of elements to take.
+	 * 
+	 * @param  comparator
+	 *         The order of the elements, or {@code null} for their natural 
+	 *         order.
+	 * 
+	 * @return  The new list of at most {@code num} elements.
+	 * 
+	 * @see     #takeOrdered(int, Comparator)
+	 * 
+	 * @since   1.2
+	 */
+	public List<E> top(int num, Comparator<? super E> comparator) {
+		return lazy().top(num, comparator);
+	}
+	
+	/**
+	 * Return the N greatest elements of this {@code BoostList} in their 
+	 * natural order, in descending order.
+	 * 
+	 * @param  num
+	 *         The number of elements to take.
+	 * 
+	 * @return  The new list of at most {@code num} elements.
+	 * 
+	 * @see     #takeOrdered(int, Comparator)
+	 * 
+	 * @since   1.2
+	 */
+	public List<E> top(int num) {
+		return top(num, null);
+	}
+	
+	/**
+	 * Read the lines of a UTF-8 text file into a new {@code BoostList}.
+	 * 
+	 * <p>The file is memory-mapped and split on line boundaries, and the 
+	 * ranges are decoded in parallel. To process the lines without holding 
+	 * all of them in memory, use {@link BoostPipeline#textFile(String)} 
+	 * instead.
+	 * 
+	 * @param  path
+	 *         The path of the file.
+	 * 
+	 * @return  The new {@code BoostList} of the lines.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If the file cannot be read.
+	 * 
+	 * @since   1.2
+	 */
+	public static BoostList<String> textFile(String path) {
+		return BoostPipeline.textFile(path).parallel().collect();
+	}
+	
+	/**
+	 * Read a directory written by {@link #saveAsBinaryFile(String)} into a 
+	 * new {@code BoostList}.
+	 * 
+	 * <p>The part files are read in parallel, and their elements are added 
+	 * in the order of the part files, which is the order they were saved in.
+	 * 
+	 * @param  path
+	 *         The path of the directory.
+	 * 
+	 * @return  The new {@code BoostList}.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If a file cannot be read or is not a binary part file.
+	 * 
+	 * @since   1.2
+	 */
+	public static <E> BoostList<E> binaryFile(String path) {
+		return PartFiles.loadList(path);
+	}
+	
+	/**
+	 * Save this {@code BoostList} as text files in a new directory.
+	 * 
+	 * <p>The elements are split into ranges, and each range is written to its own part file 
+	 * ({@code part-00000}, {@code part-00001}, ...) in parallel, through a 
+	 * {@code FileChannel} and a large direct buffer. Each part file holds 
+	 * one line per element ({@code toString()}), in UTF-8.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @param  compression
+	 *         The compression of the part files.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If the directory already exists or a file cannot be written.
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsTextFile(String path, BoostCompression compression) {
+		PartFiles.saveList(path, this, false, compression);
+	}
+	
+	/**
+	 * Save this {@code BoostList} as uncompressed text files in a new 
+	 * directory.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @see     #saveAsTextFile(String, BoostCompression)
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsTextFile(String path) {
+		saveAsTextFile(path, BoostCompression.NONE);
+	}
+	
+	/**
+	 * Save this {@code BoostList} as binary files in a new directory, which 
+	 * is read back by {@link #binaryFile(String)}.
+	 * 
+	 * <p>The part files are written in parallel like 
+	 * {@link #saveAsTextFile(String, BoostCompression)}. Each value is 
+	 * written as the id of its serializer followed by its binary content, 
+	 * so it is read back without any parsing. The supported types are the 
+	 * ones registered in {@code BoostSerializers}: the boxed primitives, 
+	 * {@code String}, {@code BoostPair}, the Boost collections and the 
+	 * user types.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @param  compression
+	 *         The compression of the part files.
+	 * 
+	 * @throws  IllegalArgumentException
+	 *          If no serializer is registered for the class of a value.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If the directory already exists or a file cannot be written.
+	 * 
+	 * @see     personal.wuyi.boost.serializer.BoostSerializers
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsBinaryFile(String path, BoostCompression compression) {
+		PartFiles.saveList(path, this, true, compression);
+	}
+	
+	/**
+	 * Save this {@code BoostList} as uncompressed binary files in a new 
+	 * directory.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @see     #saveAsBinaryFile(String, BoostCompression)
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsBinaryFile(String path) {
+		saveAsBinaryFile(path, BoostCompression.NONE);
+	}
+	
+	/**
+	 * Return a lazy {@code BoostPipeline} over this {@code BoostList}.
+	 * 
+	 * <p>The transformations applied on the returned pipeline are only 
+	 * recorded, and they run as one fused pass over this {@code BoostList} 
+	 * when an action is called, without building any intermediate 
+	 * {@code BoostList}.
+	 * 
+	 * @return  The new {@code BoostPipeline}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostPipeline<E> lazy() {
+		return new BoostPipeline<>(PipelineSource.of(this));
+	}
+	
+	/**
+	 * Return a lazy {@code BoostPipeline} over this {@code BoostList} which 
+	 * runs in parallel on the common {@code ForkJoinPool}.
+	 * 
+	 * <p>When an action is called, this {@code BoostList} is split into 
+	 * ranges and each range runs in its own task. The partial results are 
+	 * merged in the order of the ranges unless 
+	 * {@link BoostPipeline#unordered()} is called.
+	 * 
+	 * @return  The new parallel {@code BoostPipeline}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostPipeline<E> par() {
+		return lazy().parallel();
+	}
+	
+	/**
+	 * Calculate the initial capacity of a hash based collection which holds 
+	 * an expected number of elements without rehashing.
+	 * 
+	 * @param  expectedSize
+	 *         The expected number of elements.
+	 * 
+	 * @return  The initial capacity.
+	 * 
+	 * @since   1.2
+	 */
+	private static int hashCapacity(int expectedSize) {
+		return (int) Math.min(Integer.MAX_VALUE, (long) expectedSize * 4 / 3 + 1);
+	}
 }
@@ -16,12 +16,16 @@
 
 package personal.wuyi.boost.core;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
-import java.util.Map.Entry;
+import java.util.Optional;
 
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function0;
 import personal.wuyi.boost.api.Function2;
 import personal.wuyi.boost.api.PairFunction;
+import personal.wuyi.boost.api.VoidFunction2;
 import personal.wuyi.boost.entity.BoostPair;
 
 /**
@@ -40,6 +44,94 @@ import personal.wuyi.boost.entity.BoostPair;
  * @param <V>
  */
 public class BoostMap<K, V> extends BoostMultimap<K,V> {
+	/**
+	 * Construct a {@code BoostMap}.
+	 */
+	public BoostMap() {
+		super();
+	}
+	
+	/**
+	 * Construct a {@code BoostMap} on a specific store.
+	 * 
+	 * @param  store
+	 *         The storage of the key-value pairs.
+	 * 
+	 * @since   1.2
+	 */
+	BoostMap(MultimapStore<K, V> store) {
+		super(store);
+	}
+	
+	/**
+	 * Read a directory written by {@link #saveAsBinaryFile(String)} into a 
+	 * new {@code BoostMap}.
+	 * 
+	 * <p>The part files are read in parallel, and their pairs are added in 
+	 * the order of the part files.
+	 * 
+	 * @param  path
+	 *         The path of the directory.
+	 * 
+	 * @return  The new {@code BoostMap}.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If a file cannot be read or is not a binary part file.
+	 * 
+	 * @since   1.2
+	 */
+	public static <K, V> BoostMap<K, V> binaryFile(String path) {
+		return PartFiles.loadMap(path);
+	}
+	
+	/**
+	 * Open a snapshot file written by {@link #save(String)} as a read-only 
+	 * {@code BoostMap}.
+	 * 
+	 * <p>The file is memory-mapped, and only its footer is read, so opening 
+	 * takes the same time whatever the size of the snapshot. The pairs stay 
+	 * in the mapped pages, outside the Java heap: {@code get} and 
+	 * {@code containsKey} binary search the index of the blocks and scan 
+	 * one block, and {@code entries()} reads the file in order. The values 
+	 * of a key are decoded each time they are returned.
+	 * 
+	 * <p>The keys are in the order of their encoded bytes, and the mutators 
+	 * throw {@code UnsupportedOperationException}. {@link #freeze()} copies 
+	 * the pairs into the heap.
+	 * 
+	 * @param  path
+	 *         The path of the file.
+	 * 
+	 * @return  The new read-only {@code BoostMap}.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If the file cannot be read or is not a snapshot file.
+	 * 
+	 * @since   1.2
+	 */
+	public static <K, V> BoostMap<K, V> open(String path) {
+		return new BoostMap<>(MappedMultimapStore.<K, V>open(path));
+	}
+	
+	/**
+	 * Return an immutable copy of this {@code BoostMap}, for read-mostly 
+	 * use after a batch build.
+	 * 
+	 * @return  The frozen {@code BoostMap}, or this one if it is already 
+	 *          frozen.
+	 * 
+	 * @see     BoostMultimap#freeze()
+	 * 
+	 * @since   1.2
+	 */
+	@Override
+	public BoostMap<K, V> freeze() {
+		if (store() instanceof FrozenMultimapStore) {
+			return this;
+		}
+		return new BoostMap<>(FrozenMultimapStore.of(store()));
+	}
+	
 	/**
 	 * Merge the values for each key using an associative reduce function.
 	 * 
@@ -51,21 +143,359 @@ public class BoostMap<K, V> extends BoostMultimap<K,V> {
 	 * @since   1.1
 	 */
 	public BoostMap<K, V> reduceByKey(Function2<V, V, V> obj) {
-		BoostMap<K,V> newMap = new BoostMap<>();
-		Set<K> keys = this.keySet();
-		for (K key : keys) {
-			List<V> values = this.get(key);
-			if (values.size() == 1) {
-				newMap.put(key, values.get(0));
-			} else {
-				V reducedValue = values.get(0);
-				for (int i=1 ; i < values.size() ; i++) {
-					reducedValue = obj.call(reducedValue, values.get(i));
-				}
-				newMap.put(key, reducedValue);
+		return combineByKey(KeyedCombiner.<V>identity(), obj, obj);
+	}
+	
+	/**
+	 * Merge the values for each key using an associative reduce function, 
+	 * on several threads.
+	 * 
+	 * <p>The keys are hash-partitioned into {@code parallelism} partitions 
+	 * and each partition is reduced by its own thread. The keys of the new 
+	 * {@code BoostMap} are in the same order as the sequential 
+	 * {@link #reduceByKey(Function2)}.
+	 * 
+	 * @param  obj
+	 *         The anonymous inner class for generating the reduced value.
+	 * 
+	 * @param  parallelism
+	 *         The number of partitions and threads.
+	 *         
+	 * @return  The new {@code BoostMap}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostMap<K, V> reduceByKey(Function2<V, V, V> obj, int parallelism) {
+		return reduceByKey(obj, parallelism, true);
+	}
+	
+	/**
+	 * Merge the values for each key using an associative reduce function, 
+	 * on several threads.
+	 * 
+	 * <p>The keys are hash-partitioned into {@code parallelism} partitions 
+	 * and each partition is reduced by its own thread, without any lock. 
+	 * When the order is not kept, the keys of the new {@code BoostMap} are 
+	 * grouped by partition.
+	 * 
+	 * <p>The values of a hot key (a key holding much more than its share of 
+	 * the values) are split into chunks reduced by several threads, and the 
+	 * chunk results are reduced with the same function, in order.
+	 * 
+	 * @param  obj
+	 *         The anonymous inner class for generating the reduced value.
+	 * 
+	 * @param  parallelism
+	 *         The number of partitions and threads.
+	 * 
+	 * @param  keepOrder
+	 *         {@code true} to keep the key order of this {@code BoostMap};
+	 *         {@code false} otherwise.
+	 *         
+	 * @return  The new {@code BoostMap}.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostMap<K, V> reduceByKey(Function2<V, V, V> obj, int parallelism, boolean keepOrder) {
+		return combineByKey(KeyedCombiner.<V>identity(), obj, obj, parallelism, keepOrder);
+	}
+	
+	/**
+	 * Combine the values for each key into a combiner of another type.
+	 * 
+	 * <p>The first value of a key is turned into a combiner by 
+	 * {@code createCombiner}, then each following value is folded into it by 
+	 * {@code mergeValue}. The values are folded one by one, so no 
+	 * intermediate collection is built. {@code mergeCombiners} merges 2 
+	 * combiners of the same key built from different parts of its values, 
+	 * it is used when the values are combined in parallel.
+	 * 
+	 * @param  createCombiner
+	 *         The anonymous inner class for creating a combiner from a value.
+	 * 
+	 * @param  mergeValue
+	 *         The anonymous inner class for folding a value into a combiner.
+	 * 
+	 * @param  mergeCombiners
+	 *         The anonymous inner class for merging 2 combiners.
+	 * 
+	 * @return  The new {@code BoostMap} with one combiner for each key.
+	 * 
+	 * @since   1.2
+	 */
+	public <C> BoostMap<K, C> combineByKey(Function<V, C> createCombiner, Function2<C, V, C> mergeValue, Function2<C, C, C> mergeCombiners) {
+		KeyRunCombiner<K, V, C> runCombiner = new KeyRunCombiner<>(createCombiner, mergeValue);
+		this.forEachEntry(runCombiner);
+		return runCombiner.finish();
+	}
+	
+	/**
+	 * Combine the values for each key into a combiner of another type, on 
+	 * several threads.
+	 * 
+	 * <p>The keys are hash-partitioned into {@code parallelism} partitions 
+	 * and each partition is combined by its own thread, without any lock. 
+	 * The values of a hot key are split into chunks combined by several 
+	 * threads, and the chunk combiners are merged in order by 
+	 * {@code mergeCombiners}.
+	 * 
+	 * @param  createCombiner
+	 *         The anonymous inner class for creating a combiner from a value.
+	 * 
+	 * @param  mergeValue
+	 *         The anonymous inner class for folding a value into a combiner.
+	 * 
+	 * @param  mergeCombiners
+	 *         The anonymous inner class for merging 2 combiners.
+	 * 
+	 * @param  parallelism
+	 *         The number of partitions and threads.
+	 * 
+	 * @param  keepOrder
+	 *         {@code true} to keep the key order of this {@code BoostMap};
+	 *         {@code false} otherwise.
+	 * 
+	 * @return  The new {@code BoostMap} with one combiner for each key.
+	 * 
+	 * @since   1.2
+	 */
+	public <C> BoostMap<K, C> combineByKey(Function<V, C> createCombiner, Function2<C, V, C> mergeValue, Function2<C, C, C> mergeCombiners, 
+			int parallelism, boolean keepOrder) {
+		return new ParallelKeyCombiner<>(this, createCombiner, mergeValue, mergeCombiners, parallelism).combine(keepOrder);
+	}
+	
+	/**
+	 * Aggregate the values for each key, starting from a zero value.
+	 * 
+	 * <p>The zero value is shared by all the keys, so it must be immutable 
+	 * (like a number or a string). Use 
+	 * {@link #aggregateByKey(Function0, Function2, Function2)} for a mutable 
+	 * zero value.
+	 * 
+	 * @param  zeroValue
+	 *         The initial aggregated value of each key.
+	 * 
+	 * @param  seqOp
+	 *         The anonymous inner class for folding a value into an 
+	 *         aggregated value.
+	 * 
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 * 
+	 * @return  The new {@code BoostMap} with one aggregated value for each 
+	 *          key.
+	 * 
+	 * @since   1.2
+	 */
+	public <U> BoostMap<K, U> aggregateByKey(U zeroValue, Function2<U, V, U> seqOp, Function2<U, U, U> combOp) {
+		return aggregateByKey(KeyedCombiner.constant(zeroValue), seqOp, combOp);
+	}
+	
+	/**
+	 * Aggregate the values for each key, starting from a new zero value for 
+	 * each key.
+	 * 
+	 * @param  zeroValue
+	 *         The anonymous inner class for creating the initial aggregated 
+	 *         value of a key.
+	 * 
+	 * @param  seqOp
+	 *         The anonymous inner class for folding a value into an 
+	 *         aggregated value.
+	 * 
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 * 
+	 * @return  The new {@code BoostMap} with one aggregated value for each 
+	 *          key.
+	 * 
+	 * @since   1.2
+	 */
+	public <U> BoostMap<K, U> aggregateByKey(Function0<U> zeroValue, Function2<U, V, U> seqOp, Function2<U, U, U> combOp) {
+		return combineByKey(KeyedCombiner.fromZero(zeroValue, seqOp), seqOp, combOp);
+	}
+	
+	/**
+	 * Return a new {@code BoostMap} with the same keys, in the same order, 
+	 * and each value transformed by a function.
+	 * 
+	 * <p>Unlike {@link #mapToPair(PairFunction)}, no pair is created for 
+	 * each value. A compact {@code BoostMap} copies its key layout and a 
+	 * frozen one shares it, so only the values are rewritten; the other 
+	 * storages put each key into a new hash table, so the keys are hashed 
+	 * again.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for transforming each value.
+	 * 
+	 * @return  The new {@code BoostMap}.
+	 * 
+	 * @since   1.2
+	 */
+	public <R> BoostMap<K, R> mapValues(Function<V, R> f) {
+		return new BoostMap<>(store().mapValues(f));
+	}
+	
+	/**
+	 * Return a new {@code BoostMap} with the same keys, in the same order, 
+	 * and each value replaced by zero or more values. The keys left 
+	 * without any value are dropped.
+	 * 
+	 * <p>A compact {@code BoostMap} copies its key layout and a frozen one 
+	 * shares it, so only the values are rewritten; the other storages put 
+	 * each key into a new hash table, so the keys are hashed again.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for turning each value into zero or 
+	 *         more values.
+	 * 
+	 * @return  The new {@code BoostMap}.
+	 * 
+	 * @since   1.2
+	 */
+	public <R> BoostMap<K, R> flatMapValues(FlatMapFunction<V, R> f) {
+		return new BoostMap<>(store().flatMapValues(f));
+	}
+	
+	/**
+	 * Return the inner join of this {@code BoostMap} with another one.
+	 * 
+	 * <p>For each key found in both, each value of this {@code BoostMap} is 
+	 * paired with each value of the other one. The keys are walked on the 
+	 * smaller side and looked up in the hash index of the larger side, so 
+	 * no hash table is built. When both {@code BoostMap} were sorted in the 
+	 * same order by {@code sortByKey}, a streaming sort-merge join is used 
+	 * instead, and the result is sorted too. A large walked side is probed by several 
+	 * threads.
+	 * 
+	 * @param  other
+	 *         The other {@code BoostMap}.
+	 * 
+	 * @return  The new {@code BoostMap} of the joined pairs.
+	 * 
+	 * @since   1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <W> BoostMap<K, BoostPair<V, W>> join(BoostMap<K, W> other) {
+		return (BoostMap) new MapJoiner<>(this, other, false, false).join();
+	}
+	
+	/**
+	 * Return the left outer join of this {@code BoostMap} with another one.
+	 * 
+	 * <p>Each value of this {@code BoostMap} is paired with each value of 
+	 * the same key in the other one, or with an empty {@code Optional} when
+	 * the other one does not have the key. A null value of the other one is
+	 * also represented by an empty {@code Optional}. The keys are in the 
+	 * order of this {@code BoostMap}.
+	 * 
+	 * @param  other
+	 *         The other {@code BoostMap}.
+	 * 
+	 * @return  The new {@code BoostMap} of the joined pairs.
+	 * 
+	 * @see     #join(BoostMap)
+	 * 
+	 * @since   1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <W> BoostMap<K, BoostPair<V, Optional<W>>> leftOuterJoin(BoostMap<K, W> other) {
+		return (BoostMap) new MapJoiner<>(this, other, true, false).join();
+	}
+	
+	/**
+	 * Return the right outer join of this {@code BoostMap} with another one.
+	 * 
+	 * <p>Each value of the other {@code BoostMap} is paired with each value
+	 * of the same key in this one, or with an empty {@code Optional} when 
+	 * this one does not have the key. The keys are in the order of the other
+	 * {@code BoostMap}.
+	 * 
+	 * @param  other
+	 *         The other {@code BoostMap}.
+	 * 
+	 * @return  The new {@code BoostMap} of the joined pairs.
+	 * 
+	 * @see     #join(BoostMap)
+	 * 
+	 * @since   1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <W> BoostMap<K, BoostPair<Optional<V>, W>> rightOuterJoin(BoostMap<K, W> other) {
+		return (BoostMap) new MapJoiner<>(this, other, false, true).join();
+	}
+	
+	/**
+	 * Return the full outer join of this {@code BoostMap} with another one.
+	 * 
+	 * <p>The keys of both {@code BoostMap} are kept: the values of a key 
+	 * found on one side only are paired with an empty {@code Optional}. The
+	 * keys of this {@code BoostMap} come first, followed by the keys only 
+	 * found in the other one.
+	 * 
+	 * @param  other
+	 *         The other {@code BoostMap}.
+	 * 
+	 * @return  The new {@code BoostMap} of the joined pairs.
+	 * 
+	 * @see     #join(BoostMap)
+	 * 
+	 * @since   1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <W> BoostMap<K, BoostPair<Optional<V>, Optional<W>>> fullOuterJoin(BoostMap<K, W> other) {
+		return (BoostMap) new MapJoiner<>(this, other, true, true).join();
+	}
+	
+	/**
+	 * Group the values of this {@code BoostMap} and another one by key.
+	 * 
+	 * @param  other
+	 *         The other {@code BoostMap}.
+	 * 
+	 * @return  The new {@code BoostMap} with one entry for each key of 
+	 *          either {@code BoostMap}: the values of the key in this one 
+	 *          and in the other one (possibly empty).
+	 * 
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	public <W> BoostMap<K, BoostPair<List<V>, List<W>>> cogroup(BoostMap<K, W> other) {
+		List<BoostMap<K, ?>> maps = new ArrayList<>(2);
+		maps.add(this);
+		maps.add(other);
+		BoostMap<K, List<List<?>>> groups = MapJoiner.cogroup(maps);
+		return groups.mapValues(new Function<List<List<?>>, BoostPair<List<V>, List<W>>>() {
+			public BoostPair<List<V>, List<W>> call(List<List<?>> lists) {
+				return new BoostPair<>((List<V>) lists.get(0), (List<W>) lists.get(1));
 			}
-		}
-		return newMap;
+		});
+	}
+	
+	/**
+	 * Group the values of this {@code BoostMap} and several other ones by 
+	 * key.
+	 * 
+	 * <p>The keys are in the order of their first occurrence, looking at 
+	 * this {@code BoostMap} first and then at the other ones, or in sorted 
+	 * order when all of them were sorted in the same order by 
+	 * {@code sortByKey}.
+	 * 
+	 * @param  others
+	 *         The other {@code BoostMap}.
+	 * 
+	 * @return  The new {@code BoostMap} with one entry for each key: the 
+	 *          list of the values of the key in each {@code BoostMap} 
+	 *          (possibly empty), this one at index 0 and the other ones 
+	 *          after it, in order.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostMap<K, List<List<?>>> cogroup(List<? extends BoostMap<K, ?>> others) {
+		List<BoostMap<K, ?>> maps = new ArrayList<>(others.size() + 1);
+		maps.add(this);
+		maps.addAll(others);
+		return MapJoiner.cogroup(maps);
 	}
 	
 	/**
@@ -80,12 +510,61 @@ public class BoostMap<K, V> extends BoostMultimap<K,V> {
 	 * 
 	 * @since   1.1
 	 */
-	public <T, R> BoostMap<T, R> mapToPair(PairFunction<BoostPair<K, V>, T, R> obj) {
-		BoostMap<T,R> newMap = new BoostMap<>();
-		for (Entry<K, V> entry : this.entries()) {
-			BoostPair<T, R> pair = obj.call(new BoostPair<K, V> (entry.getKey(), entry.getValue()));
-			newMap.put(pair.getKey(), pair.getValue());
-		}
+	public <T, R> BoostMap<T, R> mapToPair(final PairFunction<BoostPair<K, V>, T, R> obj) {
+		final BoostMap<T,R> newMap = new BoostMap<>();
+		this.forEachEntry(new VoidFunction2<K, V>() {
+			public void call(K key, V value) {
+				BoostPair<T, R> pair = obj.call(new BoostPair<K, V> (key, value));
+				newMap.put(pair.getKey(), pair.getValue());
+			}
+		});
 		return newMap;
 	}
+	
+	/**
+	 * The function combining the values of each key while 
+	 * {@code forEachEntry} streams them.
+	 * 
+	 * <p>The values of a key come in one run, all with the same key 
+	 * instance, so a new run is detected by identity and the combiner of 
+	 * the previous key is then complete. No per-key lookup is needed.
+	 * 
+	 * @since   1.2
+	 */
+	private static final class KeyRunCombiner<K, V, C> implements VoidFunction2<K, V> {
+		private final Function<V, C>     createCombiner;
+		private final Function2<C, V, C> mergeValue;
+		private final BoostMap<K, C>     newMap = new BoostMap<>();
+		
+		private boolean started;
+		private K       currentKey;
+		private C       combiner;
+		
+		KeyRunCombiner(Function<V, C> createCombiner, Function2<C, V, C> mergeValue) {
+			this.createCombiner = createCombiner;
+			this.mergeValue     = mergeValue;
+		}
+		
+		@Override
+		public void call(K key, V value) {
+			if (started && key == currentKey) {
+				combiner = mergeValue.call(combiner, value);
+			} else {
+				if (started) {
+					newMap.put(currentKey, combiner);
+				}
+				started    = true;
+				currentKey = key;
+				combiner   = createCombiner.call(value);
+			}
+		}
+		
+		BoostMap<K, C> finish() {
+			if (started) {
+				newMap.put(currentKey, combiner);
+				started = false;
+			}
+			return newMap;
+		}
+	}
 }
@@ -20,16 +20,14 @@ import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeMap;
 
-import personal.wuyi.boost.entity.BoostEntry;
+import personal.wuyi.boost.api.VoidFunction2;
 
 /**
  * A collection that maps keys to values, similar to {@code Map}, but in which 
@@ -44,10 +42,8 @@ import personal.wuyi.boost.entity.BoostEntry;
  * @param <V>
  */
 public class BoostMultimap<K, V> {
-	private Map<K, Collection<V>> map;
-	
-	/** The number of key-value pairs in this BoostMultiMap */
-	private int totalSize;
+	/** The storage of the key-value pairs */
+	private final MultimapStore<K, V> store;
 	
 	/** Collection of all key-value pairs */
 	private Collection<Entry<K, V>> entries;
@@ -56,7 +52,30 @@ public class BoostMultimap<K, V> {
 	 * Construct a {@code BoostMultimap}.
 	 */
 	public BoostMultimap() {
-		this.map = new LinkedHashMap<>();
+		this(new HashMultimapStore<K, V>());
+	}
+	
+	/**
+	 * Construct a {@code BoostMultimap} on a specific store.
+	 * 
+	 * @param  store
+	 *         The storage of the key-value pairs.
+	 * 
+	 * @since   1.2
+	 */
+	BoostMultimap(MultimapStore<K, V> store) {
+		this.store = store;
+	}
+	
+	/**
+	 * Return the storage of the key-value pairs.
+	 * 
+	 * @return  The store.
+	 * 
+	 * @since   1.2
+	 */
+	MultimapStore<K, V> store() {
+		return store;
 	}
 	
 	/**
@@ -70,11 +89,11 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public List<V> get(K key) {
-		Collection<V> collection = map.get(key);
-		if (collection == null) {
-			collection = createCollection();
+		List<V> values = store.get(key);
+		if (values == null) {
+			values = createEmptyList();
 		}
-	    return (List<V>) collection;
+	    return values;
 	}
 	
 	/**
@@ -94,18 +113,28 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public boolean put(K key, V value) {
-		Collection<V> collection = map.get(key);
-	    if (collection == null) {
-	    	collection = createCollection();
-	    	collection.add(value);
-	    	totalSize++;
-	    	map.put(key, collection);
-	    	return true;
-	    } else {
-	    	collection.add(value);
-	    	totalSize++;
-	    	return true;
-	    }
+		return store.put(key, value);
+	}
+	
+	/**
+	 * Stores all the key-value pairs of another {@code BoostMultimap} in 
+	 * this {@code BoostMultimap}.
+	 * 
+	 * @param  other
+	 *         The {@code BoostMultimap} providing the key-value pairs.
+	 *         
+	 * @return  {@code true} if the method increased the size of the 
+	 *                       {@code BoostMultimap};
+	 *          {@code false} otherwise.
+	 *                        
+	 * @since   1.2
+	 */
+	public boolean putAll(BoostMultimap<? extends K, ? extends V> other) {
+		boolean changed = false;
+		for (Entry<? extends K, ? extends V> entry : other.entries()) {
+			changed |= put(entry.getKey(), entry.getValue());
+		}
+		return changed;
 	}
 	
 	/**
@@ -116,7 +145,7 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public int size() {
-	    return totalSize;
+	    return store.size();
 	}
 	
 	/**
@@ -128,7 +157,7 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public boolean isEmpty() {
-	    return size() == 0;
+	    return store.isEmpty();
 	}
 	
 	/**
@@ -144,7 +173,7 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public boolean containsKey(Object key) {
-	    return map.containsKey(key);
+	    return store.containsKey(key);
 	}
 	
 	/**
@@ -160,12 +189,7 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public boolean containsValue(Object value) {
-	    for (Collection<V> collection : map.values()) {
-	    	if (collection.contains(value)) {
-	    		return true;
-	    	}
-	    }
-	    return false;
+	    return store.containsValue(value);
 	}
 	
 	/**
@@ -184,8 +208,7 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public boolean containsEntry(Object key, Object value) {
-	    Collection<V> collection = map.get(key);
-	    return collection != null && collection.contains(value);
+	    return store.containsEntry(key, value);
 	}
 	
 	/**
@@ -203,12 +226,7 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public boolean remove(Object key, Object value) {
-	    Collection<V> collection = map.get(key);
-	    boolean result = collection != null && collection.remove(value);
-	    if (result) {       // Reduce the size only when the pair was existing in this BoostMultiMap  
-	    		totalSize--;
-	    }
-	    return result;
+	    return store.remove(key, value);
 	}
 	
 	/**
@@ -224,38 +242,15 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public Collection<V> removeAll(Object key) {
-	    Collection<V> collection = map.remove(key);
+	    Collection<V> output = store.removeAll(key);
 
-	    if (collection == null) {
+	    if (output == null) {
 	    	return createUnmodifiableEmptyCollection();
 	    }
 
-	    Collection<V> output = createEmptyList();
-	    output.addAll(collection);
-	    totalSize -= collection.size();
-	    collection.clear();
-
 	    return unmodifiableCollectionSubclass(output);
 	}
 	
-	/**
-	 * Creates the collection of values for an explicitly provided key. 
-	 * 
-	 * <p>By default, it simply calls {@link #createEmptyList()}, which is 
-	 * the correct behavior for most implementations. The 
-	 * {@link LinkedHashMultimap} class overrides it.
-	 *
-	 * @param  key 
-	 *         The key to associate with values in the collection.
-	 *         
-	 * @return  An empty collection of values.
-	 * 
-	 * @since   1.1
-	 */
-	private Collection<V> createCollection() {
-	    return createEmptyList();
-	}
-	
 	/**
 	 * Creates the collection of values for a single key.
 	 *
@@ -280,13 +275,63 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public void sortByKey() {
-		if (this.map.size() > 0) {
-			Map<K, Collection<V>> sortedTreeMap = new TreeMap<>(this.map);
-			this.map = new LinkedHashMap<>();
-			for (Map.Entry<K, Collection<V>> entry : sortedTreeMap.entrySet()) {
-				this.map.put(entry.getKey(), entry.getValue());
-			}
+		sortByKey(null, true);
+	}
+	
+	/**
+	 * Sorts the key-value pairs in this {@code BoostMultimap} by key, in a 
+	 * specific order.
+	 * 
+	 * <p>The keys are partitioned into ranges whose boundaries are picked 
+	 * from a sample, and a large map has its ranges sorted by several 
+	 * threads. The values of each key keep their order.
+	 * 
+	 * <p>The map remembers the order until a new key is added, so that the 
+	 * joins with a map sorted in the same order merge the keys instead of 
+	 * looking them up.
+	 * 
+	 * @param  comparator
+	 *         The order of the keys, or {@code null} for their natural 
+	 *         order.
+	 * 
+	 * @param  ascending
+	 *         {@code true} to sort in the order of the comparator, 
+	 *         {@code false} to sort in the reverse order.
+	 * 
+	 * @throws  UnsupportedOperationException
+	 *          If the store of this {@code BoostMultimap} cannot be sorted.
+	 * 
+	 * @since   1.2
+	 */
+	public void sortByKey(Comparator<? super K> comparator, boolean ascending) {
+		Comparator<? super K> order = comparator != null ? comparator : MultimapStore.<K>naturalOrder();
+		store.sortByKey(ascending ? order : Collections.reverseOrder(order));
+	}
+	
+	/**
+	 * Return an immutable copy of this {@code BoostMultimap}, for 
+	 * read-mostly use after a batch build.
+	 * 
+	 * <p>The keys, the value offsets of each key and all the values are 
+	 * copied into a few dense arrays, indexed by an open-addressing hash 
+	 * table. So lookups, {@code containsEntry} and the iteration over 
+	 * {@code entries()} scan contiguous memory, and the copy takes a 
+	 * fraction of the heap of this {@code BoostMultimap}. The key order is 
+	 * kept.
+	 * 
+	 * <p>The mutators of the frozen copy throw 
+	 * {@code UnsupportedOperationException}.
+	 * 
+	 * @return  The frozen {@code BoostMultimap}, or this one if it is 
+	 *          already frozen.
+	 * 
+	 * @since   1.2
+	 */
+	public BoostMultimap<K, V> freeze() {
+		if (store instanceof FrozenMultimapStore) {
+			return this;
 		}
+		return new BoostMultimap<>(FrozenMultimapStore.of(store));
 	}
 	
 	/**
@@ -298,7 +343,7 @@ public class BoostMultimap<K, V> {
 	 * @since   1.1
 	 */
 	public Set<K> keySet() {
-		return this.map.keySet();
+		return store.keySet();
 	}
 	
 	/**
@@ -323,6 +368,138 @@ public class BoostMultimap<K, V> {
 		}
 	}
 	  
+	/**
+	 * Call a function on each key-value pair of this {@code BoostMultimap}, 
+	 * in the order of {@link #entries()}.
+	 * 
+	 * <p>Unlike iterating {@code entries()}, no entry object is created for 
+	 * each pair, so scanning a large {@code BoostMultimap} puts no pressure 
+	 * on the garbage collector. All the values of one key are passed with 
+	 * the same key instance.
+	 * 
+	 * @param  f
+	 *         The anonymous inner class for processing each key-value pair.
+	 * 
+	 * @since   1.2
+	 */
+	public void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		store.forEachEntry(f);
+	}
+	
+	/**
+	 * Save this {@code BoostMultimap} as text files in a new directory.
+	 * 
+	 * <p>The keys are split into ranges, so all the values of a key are in 
+	 * the same part file, and each range is written to its own part file 
+	 * ({@code part-00000}, {@code part-00001}, ...) in parallel, through a 
+	 * {@code FileChannel} and a large direct buffer. Each part file holds 
+	 * one line per key-value pair ({@code key + '\t' + value}), in UTF-8.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @param  compression
+	 *         The compression of the part files.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If the directory already exists or a file cannot be written.
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsTextFile(String path, BoostCompression compression) {
+		PartFiles.saveMultimap(path, store, false, compression);
+	}
+	
+	/**
+	 * Save this {@code BoostMultimap} as uncompressed text files in a new 
+	 * directory.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @see     #saveAsTextFile(String, BoostCompression)
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsTextFile(String path) {
+		saveAsTextFile(path, BoostCompression.NONE);
+	}
+	
+	/**
+	 * Save this {@code BoostMultimap} as binary files in a new directory, which 
+	 * is read back by {@link BoostMap#binaryFile(String)}.
+	 * 
+	 * <p>The part files are written in parallel like 
+	 * {@link #saveAsTextFile(String, BoostCompression)}. Each value is 
+	 * written as the id of its serializer followed by its binary content, 
+	 * so it is read back without any parsing. The supported types are the 
+	 * ones registered in {@code BoostSerializers}: the boxed primitives, 
+	 * {@code String}, {@code BoostPair}, the Boost collections and the 
+	 * user types.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @param  compression
+	 *         The compression of the part files.
+	 * 
+	 * @throws  IllegalArgumentException
+	 *          If no serializer is registered for the class of a value.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If the directory already exists or a file cannot be written.
+	 * 
+	 * @see     personal.wuyi.boost.serializer.BoostSerializers
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsBinaryFile(String path, BoostCompression compression) {
+		PartFiles.saveMultimap(path, store, true, compression);
+	}
+	
+	/**
+	 * Save this {@code BoostMultimap} as uncompressed binary files in a new 
+	 * directory.
+	 * 
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 * 
+	 * @see     #saveAsBinaryFile(String, BoostCompression)
+	 * 
+	 * @since   1.2
+	 */
+	public void saveAsBinaryFile(String path) {
+		saveAsBinaryFile(path, BoostCompression.NONE);
+	}
+	
+	/**
+	 * Save this {@code BoostMultimap} as a snapshot file, which is reopened 
+	 * by {@link BoostMap#open(String)}.
+	 * 
+	 * <p>The file holds one record per key, with all its values, encoded 
+	 * by the serializers of {@code BoostSerializers}. The records are sorted 
+	 * by their encoded key and grouped into blocks of about 1 KB, and a sparse 
+	 * index of the first key of each block ends the file. So the snapshot is 
+	 * reopened by memory-mapping it, without reading the records.
+	 * 
+	 * @param  path
+	 *         The path of the file, which must not exist.
+	 * 
+	 * @throws  IllegalArgumentException
+	 *          If no serializer is registered for the class of a key or a 
+	 *          value.
+	 * 
+	 * @throws  java.io.UncheckedIOException
+	 *          If the file already exists or cannot be written.
+	 * 
+	 * @see     personal.wuyi.boost.serializer.BoostSerializers
+	 * 
+	 * @since   1.2
+	 */
+	public void save(String path) {
+		MappedMultimapStore.save(path, store);
+	}
+	
 	/**
 	 * Create an empty collection of key-value pairs
 	 * 
@@ -360,26 +537,6 @@ public class BoostMultimap<K, V> {
 	    return Collections.unmodifiableList((List<V>) collection);
 	}
 	
-	/**
-	 * Get an iterator across all key-value map entries.
-	 * 
-	 * Returns an iterator across all key-value map entries, used by {@code
-	 * entries().iterator()} and {@code values().iterator()}. The default
-	 * behavior, which traverses the values for one key, the values for a 
-	 * second key, and so on.
-	 *
-	 * @return An iterator across map entries.
-	 * 
-	 * @since   1.1
-	 */
-	private Iterator<Entry<K, V>> entryIterator() {
-		return new MultimapIterator<Map.Entry<K, V>>() {      
-			Entry<K, V> output(K key, V value) {
-				return new BoostEntry<>(key, value);
-			}
-		};
-	}
-	
 	/**
 	 * Inner class for representing the entries in the {@code BoostMultimap}.
 	 * 
@@ -392,7 +549,7 @@ public class BoostMultimap<K, V> {
 
 		@Override
 		public Iterator<Entry<K, V>> iterator() {
-			return entryIterator();
+			return store.entryIterator();
 		}
 
 		@Override
@@ -419,75 +576,4 @@ public class BoostMultimap<K, V> {
 			return false;
 		}
 	}
-	
-	/**
-	 * Abstract class for the iterator of the {@code BoostMultimap}.
-	 *
-	 * @param <T>
-	 * 
-	 * @since   1.1
-	 */
-	private abstract class MultimapIterator<T> implements Iterator<T> {
-	    private final Iterator<Map.Entry<K, Collection<V>>> keyIterator;
-	    
-	    private K             key;
-	    private Collection<V> collection;
-	    private Iterator<V>   valueIterator;
-
-	    @SuppressWarnings("unchecked")
-		MultimapIterator() {
-	    	keyIterator = map.entrySet().iterator();
-	    	key = null;
-	    	collection = null;
-	    	if (generateEmptyModifiableIterator() instanceof Iterator) {
-	    		valueIterator = (Iterator<V>) generateEmptyModifiableIterator();
-	    	}
-	    }
-
-	    abstract T output(K key, V value);
-
-	    @Override
-	    public boolean hasNext() {
-	    	return keyIterator.hasNext() || valueIterator.hasNext();
-	    }
-
-	    @Override
-	    public T next() {
-	    	if (!valueIterator.hasNext()) {
-	    		Map.Entry<K, Collection<V>> mapEntry = keyIterator.next();
-	    		key = mapEntry.getKey();
-	    		collection = mapEntry.getValue();
-	    		valueIterator = collection.iterator();
-	    	}
-	    	return output(key, valueIterator.next());
-	    }
-
-	    @Override
-	    public void remove() {
-	    	valueIterator.remove();
-	    	if (collection.isEmpty()) {
-	    		keyIterator.remove();
-	    	}
-	    	totalSize--;
-	    }
-	    
-		private Iterator<Object> generateEmptyModifiableIterator() {
-			return new Iterator<Object>() {
-				@Override
-				public boolean hasNext() {
-					return false;
-				}
-
-				@Override
-				public Object next() {
-					throw new NoSuchElementException();
-				}
-
-				@Override
-				public void remove() {
-					throw new IllegalStateException("no calls to next() since the last call to remove()");
-				}
-			};
-		}
-	}
 }
@@ -0,0 +1,1506 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function0;
+import personal.wuyi.boost.api.Function2;
+import personal.wuyi.boost.api.PairFunction;
+import personal.wuyi.boost.api.VoidFunction;
+import personal.wuyi.boost.entity.BoostPair;
+import personal.wuyi.boost.entity.BoostStatCounter;
+
+/**
+ * A lazy chain of transformations over a {@code BoostList}.
+ *
+ * <p>The transformations ({@code filter}, {@code map}, {@code flatMap})
+ * are only recorded. Nothing is computed until an action ({@code collect},
+ * {@code count}, {@code foreach}, {@code mapToPair}) is called, and then
+ * all the recorded steps run as one fused pass over the source, so no
+ * intermediate {@code BoostList} is allocated.
+ *
+ * <p>A {@code BoostPipeline} is immutable, every transformation returns a
+ * new {@code BoostPipeline} and the same pipeline can be evaluated several
+ * times. The source is read when an action is called, not when the
+ * pipeline is built.
+ *
+ * <p>A parallel pipeline (see {@link #parallel()}) splits the source into
+ * ranges and runs them on a {@code ForkJoinPool}. By default the partial
+ * results are merged in the order of the ranges, so the result is the same
+ * as the sequential one. An unordered pipeline (see {@link #unordered()})
+ * merges the partial results as the ranges complete instead.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @see     BoostList#lazy()
+ * @param <E>
+ */
+public class BoostPipeline<E> {
+	private final PipelineSource<?> source;
+	private final BoostPipeline<?>  upstream;
+	private final Stage<?, E>       stage;
+	private final ForkJoinPool      pool;        // null for a sequential pipeline
+	private final boolean           ordered;
+
+	/**
+	 * Construct a sequential {@code BoostPipeline} without any 
+	 * transformation.
+	 *
+	 * @param  source
+	 *         The source providing the elements.
+	 *
+	 * @since   1.2
+	 */
+	BoostPipeline(PipelineSource<E> source) {
+		this.source   = source;
+		this.upstream = null;
+		this.stage    = null;
+		this.pool     = null;
+		this.ordered  = true;
+	}
+
+	/**
+	 * Construct a {@code BoostPipeline} by appending one transformation to
+	 * an existing pipeline.
+	 *
+	 * @param  upstream
+	 *         The pipeline producing the input of the transformation.
+	 *
+	 * @param  stage
+	 *         The transformation.
+	 *
+	 * @since   1.2
+	 */
+	private <P> BoostPipeline(BoostPipeline<P> upstream, Stage<P, E> stage) {
+		this.source   = upstream.source;
+		this.upstream = upstream;
+		this.stage    = stage;
+		this.pool     = upstream.pool;
+		this.ordered  = upstream.ordered;
+	}
+
+	/**
+	 * Construct a {@code BoostPipeline} with the same transformations as an 
+	 * existing pipeline but different execution settings.
+	 *
+	 * @param  other
+	 *         The pipeline providing the transformations.
+	 *
+	 * @param  pool
+	 *         The pool running the partitions, {@code null} for sequential 
+	 *         execution.
+	 *
+	 * @param  ordered
+	 *         Whether partial results are merged in the order of the 
+	 *         partitions.
+	 *
+	 * @since   1.2
+	 */
+	private BoostPipeline(BoostPipeline<E> other, ForkJoinPool pool, boolean ordered) {
+		this.source   = other.source;
+		this.upstream = other.upstream;
+		this.stage    = other.stage;
+		this.pool     = pool;
+		this.ordered  = ordered;
+	}
+
+	/**
+	 * Create a sequential {@code BoostPipeline} over the lines of a UTF-8 
+	 * text file.
+	 *
+	 * <p>The file is only read when an action is called, and it is 
+	 * memory-mapped instead of being loaded: each line is decoded and 
+	 * pushed straight into the first transformation, so the file is never 
+	 * held in memory as a list of lines. On a parallel pipeline, the file 
+	 * is split into byte ranges on line boundaries, and the lines of each 
+	 * range are decoded by its own task.
+	 *
+	 * <p>The lines are terminated by {@code "\n"} or {@code "\r\n"}, which
+	 * are not part of the lines.
+	 *
+	 * @param  path
+	 *         The path of the file.
+	 *
+	 * @return  The new {@code BoostPipeline}.
+	 *
+	 * @throws  java.io.UncheckedIOException
+	 *          When an action is called, if the file cannot be read.
+	 *
+	 * @since   1.2
+	 */
+	public static BoostPipeline<String> textFile(String path) {
+		return new BoostPipeline<>(new TextFileSource(Paths.get(path)));
+	}
+
+	/**
+	 * Return an equivalent {@code BoostPipeline} which runs on the common 
+	 * {@code ForkJoinPool}.
+	 *
+	 * <p>The functions passed to a parallel pipeline are called from 
+	 * several threads at the same time, so they must not depend on shared 
+	 * mutable state.
+	 *
+	 * @return  The parallel {@code BoostPipeline}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostPipeline<E> parallel() {
+		return parallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Return an equivalent {@code BoostPipeline} which runs on a provided 
+	 * {@code ForkJoinPool}.
+	 *
+	 * @param  pool
+	 *         The pool running the partitions.
+	 *
+	 * @return  The parallel {@code BoostPipeline}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostPipeline<E> parallel(ForkJoinPool pool) {
+		if (pool == null) {
+			throw new IllegalArgumentException("pool must not be null");
+		}
+		return new BoostPipeline<>(this, pool, ordered);
+	}
+
+	/**
+	 * Return an equivalent {@code BoostPipeline} which runs on the caller 
+	 * thread.
+	 *
+	 * @return  The sequential {@code BoostPipeline}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostPipeline<E> sequential() {
+		return new BoostPipeline<>(this, null, ordered);
+	}
+
+	/**
+	 * Return an equivalent {@code BoostPipeline} which doesn't keep the 
+	 * order of the elements when running in parallel.
+	 *
+	 * <p>The partial result of each partition is merged as soon as the 
+	 * partition completes, which avoids waiting for the preceding 
+	 * partitions. The order of the elements in the result is not defined.
+	 *
+	 * @return  The unordered {@code BoostPipeline}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostPipeline<E> unordered() {
+		return new BoostPipeline<>(this, pool, false);
+	}
+
+	/**
+	 * Check whether this {@code BoostPipeline} runs in parallel.
+	 *
+	 * @return  {@code true} if the pipeline runs in parallel;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	public boolean isParallel() {
+		return pool != null;
+	}
+
+	/**
+	 * Return a new {@code BoostPipeline} containing only the elements that
+	 * satisfy a predicate.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 *
+	 * @return  The new {@code BoostPipeline}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostPipeline<E> filter(final Function<E, Boolean> f) {
+		return new BoostPipeline<>(this, new Stage<E, E>() {
+			PipelineSink<E> wrap(PipelineSink<? super E> downstream) {
+				return new PipelineSink.Chained<E, E>(downstream) {
+					void accept(E element) {
+						if (f.call(element)) {
+							this.downstream.accept(element);
+						}
+					}
+				};
+			}
+		});
+	}
+
+	/**
+	 * Return a new {@code BoostPipeline} by applying a function to all
+	 * elements.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for operating each element.
+	 *
+	 * @return  The new {@code BoostPipeline}.
+	 *
+	 * @since   1.2
+	 */
+	public <R> BoostPipeline<R> map(final Function<E, R> f) {
+		return new BoostPipeline<>(this, new Stage<E, R>() {
+			PipelineSink<E> wrap(PipelineSink<? super R> downstream) {
+				return new PipelineSink.Chained<E, R>(downstream) {
+					void accept(E element) {
+						this.downstream.accept(f.call(element));
+					}
+				};
+			}
+		});
+	}
+
+	/**
+	 * Return a new {@code BoostPipeline} by first applying a function to
+	 * all elements, and then flattening the results.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for operating each element.
+	 *
+	 * @return  The new {@code BoostPipeline}.
+	 *
+	 * @since   1.2
+	 */
+	public <R> BoostPipeline<R> flatMap(final FlatMapFunction<E, R> f) {
+		return new BoostPipeline<>(this, new Stage<E, R>() {
+			PipelineSink<E> wrap(PipelineSink<? super R> downstream) {
+				return new PipelineSink.Chained<E, R>(downstream) {
+					void accept(E element) {
+						for (R ele : f.call(element)) {
+							if (this.downstream.cancellationRequested()) {
+								return;
+							}
+							this.downstream.accept(ele);
+						}
+					}
+				};
+			}
+		});
+	}
+
+	/**
+	 * Return a {@code BoostList} that contains all of the elements of this
+	 * {@code BoostPipeline}.
+	 *
+	 * @return  The new {@code BoostList}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostList<E> collect() {
+		return evaluate(new Action<E, BoostList<E>>() {
+			PipelineSink.Terminal<E, BoostList<E>> makeSink() {
+				return new PipelineSink.Terminal<E, BoostList<E>>() {
+					private final BoostList<E> list = new BoostList<>();
+
+					void accept(E element) {
+						list.add(element);
+					}
+
+					BoostList<E> result() {
+						return list;
+					}
+				};
+			}
+
+			BoostList<E> combine(BoostList<E> left, BoostList<E> right) {
+				left.addAll(right);
+				return left;
+			}
+		});
+	}
+
+	/**
+	 * Return the number of elements in this {@code BoostPipeline}.
+	 *
+	 * @return  The number of elements.
+	 *
+	 * @since   1.2
+	 */
+	public Long count() {
+		return evaluate(new Action<E, Long>() {
+			PipelineSink.Terminal<E, Long> makeSink() {
+				return new PipelineSink.Terminal<E, Long>() {
+					private long count = 0;
+
+					void accept(E element) {
+						count++;
+					}
+
+					Long result() {
+						return count;
+					}
+				};
+			}
+
+			Long combine(Long left, Long right) {
+				return left + right;
+			}
+		});
+	}
+
+	/**
+	 * Applies a function f to all elements of this {@code BoostPipeline}.
+	 *
+	 * <p>On a parallel pipeline, the function is called from several 
+	 * threads and the order of the calls is not defined.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for operating each element.
+	 *
+	 * @since   1.2
+	 */
+	public void foreach(final VoidFunction<E> f) {
+		evaluate(new Action<E, Void>() {
+			PipelineSink.Terminal<E, Void> makeSink() {
+				return new PipelineSink.Terminal<E, Void>() {
+					void accept(E element) {
+						f.call(element);
+					}
+
+					Void result() {
+						return null;
+					}
+				};
+			}
+
+			Void combine(Void left, Void right) {
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Return a new {@code BoostMap} by applying a transforming function to
+	 * all elements of this {@code BoostPipeline}.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for operating each element.
+	 *
+	 * @return  The new {@code BoostMap}.
+	 *
+	 * @since   1.2
+	 */
+	public <K, V> BoostMap<K, V> mapToPair(final PairFunction<E, K, V> f) {
+		return evaluate(new Action<E, BoostMap<K, V>>() {
+			PipelineSink.Terminal<E, BoostMap<K, V>> makeSink() {
+				return new PipelineSink.Terminal<E, BoostMap<K, V>>() {
+					private final BoostMap<K, V> map = new BoostMap<>();
+
+					void accept(E element) {
+						BoostPair<K, V> pair = f.call(element);
+						map.put(pair.getKey(), pair.getValue());
+					}
+
+					BoostMap<K, V> result() {
+						return map;
+					}
+				};
+			}
+
+			BoostMap<K, V> combine(BoostMap<K, V> left, BoostMap<K, V> right) {
+				left.putAll(right);
+				return left;
+			}
+		});
+	}
+
+	/**
+	 * Return a new {@code BoostMap} by applying a transforming function to
+	 * all elements of this {@code BoostPipeline} and merging the values of 
+	 * each key using an associative reduce function.
+	 *
+	 * <p>Each value is folded into the running result of its key as soon as 
+	 * it is produced, so the memory scales with the number of distinct keys 
+	 * instead of the number of pairs. On a parallel pipeline, each 
+	 * partition combines its own pairs and the partial results are merged 
+	 * with the same reduce function.
+	 *
+	 * @param  pairFn
+	 *         The anonymous inner class for operating each element.
+	 *
+	 * @param  reduceFn
+	 *         The anonymous inner class for generating the reduced value.
+	 *
+	 * @return  The new {@code BoostMap} with one value for each key.
+	 *
+	 * @since   1.2
+	 */
+	public <K, V> BoostMap<K, V> reduceToPairs(PairFunction<E, K, V> pairFn, Function2<V, V, V> reduceFn) {
+		return combineByKey(pairFn, KeyedCombiner.<V>identity(), reduceFn, reduceFn);
+	}
+
+	/**
+	 * Return a new {@code BoostMap} by applying a transforming function to
+	 * all elements of this {@code BoostPipeline} and combining the values of 
+	 * each key into a combiner of another type.
+	 *
+	 * <p>The first value of a key is turned into a combiner by 
+	 * {@code createCombiner}, then each following value is folded into it by 
+	 * {@code mergeValue} as soon as it is produced. On a parallel pipeline, 
+	 * each partition builds its own combiners and the combiners of the same 
+	 * key are merged by {@code mergeCombiners}.
+	 *
+	 * @param  pairFn
+	 *         The anonymous inner class for operating each element.
+	 *
+	 * @param  createCombiner
+	 *         The anonymous inner class for creating a combiner from a value.
+	 *
+	 * @param  mergeValue
+	 *         The anonymous inner class for folding a value into a combiner.
+	 *
+	 * @param  mergeCombiners
+	 *         The anonymous inner class for merging 2 combiners.
+	 *
+	 * @return  The new {@code BoostMap} with one combiner for each key.
+	 *
+	 * @since   1.2
+	 */
+	public <K, V, C> BoostMap<K, C> combineByKey(final PairFunction<E, K, V> pairFn, final Function<V, C> createCombiner, 
+			final Function2<C, V, C> mergeValue, final Function2<C, C, C> mergeCombiners) {
+		return evaluate(new Action<E, KeyedCombiner<K, V, C>>() {
+			PipelineSink.Terminal<E, KeyedCombiner<K, V, C>> makeSink() {
+				return new PipelineSink.Terminal<E, KeyedCombiner<K, V, C>>() {
+					private final KeyedCombiner<K, V, C> combiner = new KeyedCombiner<>(createCombiner, mergeValue, mergeCombiners);
+
+					void accept(E element) {
+						BoostPair<K, V> pair = pairFn.call(element);
+						combiner.add(pair.getKey(), pair.getValue());
+					}
+
+					KeyedCombiner<K, V, C> result() {
+						return combiner;
+					}
+				};
+			}
+
+			KeyedCombiner<K, V, C> combine(KeyedCombiner<K, V, C> left, KeyedCombiner<K, V, C> right) {
+				return left.merge(right);
+			}
+		}).toBoostMap();
+	}
+
+	/**
+	 * Return a new {@code BoostMap} by applying a transforming function to
+	 * all elements of this {@code BoostPipeline} and aggregating the values 
+	 * of each key, starting from a new zero value for each key.
+	 *
+	 * @param  pairFn
+	 *         The anonymous inner class for operating each element.
+	 *
+	 * @param  zeroValue
+	 *         The anonymous inner class for creating the initial aggregated 
+	 *         value of a key.
+	 *
+	 * @param  seqOp
+	 *         The anonymous inner class for folding a value into an 
+	 *         aggregated value.
+	 *
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 *
+	 * @return  The new {@code BoostMap} with one aggregated value for each 
+	 *          key.
+	 *
+	 * @since   1.2
+	 */
+	public <K, V, U> BoostMap<K, U> aggregateByKey(PairFunction<E, K, V> pairFn, Function0<U> zeroValue, 
+			Function2<U, V, U> seqOp, Function2<U, U, U> combOp) {
+		return combineByKey(pairFn, KeyedCombiner.fromZero(zeroValue, seqOp), seqOp, combOp);
+	}
+
+	/**
+	 * Return the count of each unique value in this {@code BoostPipeline} 
+	 * as a map of (value, count) pairs.
+	 *
+	 * @return  The map of the number of occurrences for each value.
+	 *
+	 * @since   1.2
+	 */
+	public Map<E, Long> countByValue() {
+		return evaluate(new Action<E, Map<E, Long>>() {
+			PipelineSink.Terminal<E, Map<E, Long>> makeSink() {
+				return new PipelineSink.Terminal<E, Map<E, Long>>() {
+					private final Map<E, Long> map = new HashMap<>();
+
+					void accept(E element) {
+						Long count = map.get(element);
+						map.put(element, count == null ? 1L : count + 1);
+					}
+
+					Map<E, Long> result() {
+						return map;
+					}
+				};
+			}
+
+			Map<E, Long> combine(Map<E, Long> left, Map<E, Long> right) {
+				for (Map.Entry<E, Long> entry : right.entrySet()) {
+					Long count = left.get(entry.getKey());
+					left.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+				}
+				return left;
+			}
+		});
+	}
+
+	/**
+	 * Return the N smallest elements of this {@code BoostPipeline}, in 
+	 * ascending order.
+	 *
+	 * <p>Each partition keeps its N smallest elements in a bounded heap, and
+	 * the heaps of the partitions are merged, so this takes O(M log N) time 
+	 * and O(N) memory per partition for M elements, without sorting them. 
+	 * Equal elements may be returned in any order.
+	 *
+	 * @param  num
+	 *         The number of elements to take.
+	 *
+	 * @param  comparator
+	 *         The order of the elements, or {@code null} for their natural
+	 *         order.
+	 *
+	 * @return  The new list of at most {@code num} elements.
+	 *
+	 * @since   1.2
+	 */
+	public List<E> takeOrdered(final int num, Comparator<? super E> comparator) {
+		if (num <= 0) {
+			return new ArrayList<>();
+		}
+		final Comparator<? super E> order = comparator != null ? comparator : MultimapStore.<E>naturalOrder();
+		return evaluate(new Action<E, BoundedPriorityQueue<E>>() {
+			PipelineSink.Terminal<E, BoundedPriorityQueue<E>> makeSink() {
+				return new PipelineSink.Terminal<E, BoundedPriorityQueue<E>>() {
+					private final BoundedPriorityQueue<E> queue = new BoundedPriorityQueue<>(num, order);
+
+					void accept(E element) {
+						queue.offer(element);
+					}
+
+					BoundedPriorityQueue<E> result() {
+						return queue;
+					}
+				};
+			}
+
+			BoundedPriorityQueue<E> combine(BoundedPriorityQueue<E> left, BoundedPriorityQueue<E> right) {
+				return left.merge(right);
+			}
+		}).toSortedList();
+	}
+
+	/**
+	 * Return the N smallest elements of this {@code BoostPipeline} in their
+	 * natural order, in ascending order.
+	 *
+	 * @param  num
+	 *         The number of elements to take.
+	 *
+	 * @return  The new list of at most {@code num} elements.
+	 *
+	 * @see     #takeOrdered(int, Comparator)
+	 *
+	 * @since   1.2
+	 */
+	public List<E> takeOrdered(int num) {
+		return takeOrdered(num, null);
+	}
+
+	/**
+	 * Return the N greatest elements of this {@code BoostPipeline}, in 
+	 * descending order.
+	 *
+	 * @param  num
+	 *         The number of elements to take.
+	 *
+	 * @param  comparator
+	 *         The order of the elements, or {@code null} for their natural
+	 *         order.
+	 *
+	 * @return  The new list of at most {@code num} elements.
+	 *
+	 * @see     #takeOrdered(int, Comparator)
+	 *
+	 * @since   1.2
+	 */
+	public List<E> top(int num, Comparator<? super E> comparator) {
+		Comparator<? super E> order = comparator != null ? comparator : MultimapStore.<E>naturalOrder();
+		return takeOrdered(num, Collections.reverseOrder(order));
+	}
+
+	/**
+	 * Return the N greatest elements of this {@code BoostPipeline} in their
+	 * natural order, in descending order.
+	 *
+	 * @param  num
+	 *         The number of elements to take.
+	 *
+	 * @return  The new list of at most {@code num} elements.
+	 *
+	 * @see     #takeOrdered(int, Comparator)
+	 *
+	 * @since   1.2
+	 */
+	public List<E> top(int num) {
+		return top(num, null);
+	}
+
+	/**
+	 * Return the first N elements of this {@code BoostPipeline}.
+	 *
+	 * <p>This is a short-circuit action: the source stops being read, and 
+	 * the transformations stop being called, as soon as N elements are 
+	 * taken. On a parallel pipeline, the partitions after a partition which 
+	 * took N elements by itself stop too, including the ones not started 
+	 * yet. An unordered pipeline returns any N elements, and stops all the 
+	 * partitions as soon as N elements are taken in total.
+	 *
+	 * @param  num
+	 *         The number of elements to take.
+	 *
+	 * @return  The new list of at most {@code num} elements.
+	 *
+	 * @since   1.2
+	 */
+	public List<E> take(int num) {
+		if (num <= 0) {
+			return new ArrayList<>();
+		}
+		return evaluate(new FindAction(num, null));
+	}
+
+	/**
+	 * Return the first element of this {@code BoostPipeline}.
+	 *
+	 * <p>This is a short-circuit action, like {@link #take(int)}.
+	 *
+	 * @return  The first element, or an empty {@code Optional} if this 
+	 *          pipeline is empty.
+	 *
+	 * @throws  NullPointerException
+	 *          If the first element is null.
+	 *
+	 * @since   1.2
+	 */
+	public Optional<E> first() {
+		return find(null);
+	}
+
+	/**
+	 * Return the first element of this {@code BoostPipeline} which 
+	 * satisfies a predicate.
+	 *
+	 * <p>This is a short-circuit action, like {@link #take(int)}. An 
+	 * unordered pipeline returns any element satisfying the predicate.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for checking each element, or 
+	 *         {@code null} to accept any element.
+	 *
+	 * @return  The element found, or an empty {@code Optional} if there is 
+	 *          none.
+	 *
+	 * @throws  NullPointerException
+	 *          If the element found is null.
+	 *
+	 * @since   1.2
+	 */
+	public Optional<E> find(Function<E, Boolean> f) {
+		List<E> found = evaluate(new FindAction(1, f));
+		return found.isEmpty() ? Optional.<E>empty() : Optional.of(found.get(0));
+	}
+
+	/**
+	 * Check whether any element of this {@code BoostPipeline} satisfies a 
+	 * predicate.
+	 *
+	 * <p>This is a short-circuit action: all the partitions stop as soon as
+	 * one element satisfies the predicate.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 *
+	 * @return  {@code true} if an element satisfies the predicate;
+	 *          {@code false} otherwise, and for an empty pipeline.
+	 *
+	 * @since   1.2
+	 */
+	public boolean anyMatch(final Function<E, Boolean> f) {
+		final AtomicBoolean matched = new AtomicBoolean();
+		return evaluate(new Action<E, Boolean>() {
+			PipelineSink.Terminal<E, Boolean> makeSink() {
+				return new PipelineSink.Terminal<E, Boolean>() {
+					void accept(E element) {
+						if (f.call(element)) {
+							matched.set(true);
+						}
+					}
+
+					@Override
+					boolean cancellationRequested() {
+						return matched.get();
+					}
+
+					Boolean result() {
+						return matched.get();
+					}
+				};
+			}
+
+			Boolean combine(Boolean left, Boolean right) {
+				return left || right;
+			}
+		});
+	}
+
+	/**
+	 * Check whether all the elements of this {@code BoostPipeline} satisfy 
+	 * a predicate.
+	 *
+	 * <p>This is a short-circuit action: all the partitions stop as soon as
+	 * one element does not satisfy the predicate.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 *
+	 * @return  {@code true} if all the elements satisfy the predicate, and 
+	 *          for an empty pipeline; {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	public boolean allMatch(final Function<E, Boolean> f) {
+		return !anyMatch(new Function<E, Boolean>() {
+			public Boolean call(E element) {
+				return !f.call(element);
+			}
+		});
+	}
+
+	/**
+	 * Check whether any element of this {@code BoostPipeline} satisfies a 
+	 * predicate, like {@link #anyMatch(Function)}.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for checking each element.
+	 *
+	 * @return  {@code true} if an element satisfies the predicate;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	public boolean exists(Function<E, Boolean> f) {
+		return anyMatch(f);
+	}
+
+	/**
+	 * Merge all the elements of this {@code BoostPipeline} using an 
+	 * associative function.
+	 *
+	 * <p>On a parallel pipeline, each partition is reduced by its own task,
+	 * and the partial results are merged as a binary tree following the 
+	 * split of the partitions.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for merging 2 elements.
+	 *
+	 * @return  The merged element, or an empty {@code Optional} if this 
+	 *          pipeline is empty.
+	 *
+	 * @throws  NullPointerException
+	 *          If the merged element is null.
+	 *
+	 * @since   1.2
+	 */
+	public Optional<E> reduce(final Function2<E, E, E> f) {
+		Reduction<E> reduction = evaluate(new Action<E, Reduction<E>>() {
+			PipelineSink.Terminal<E, Reduction<E>> makeSink() {
+				return new PipelineSink.Terminal<E, Reduction<E>>() {
+					private final Reduction<E> reduction = new Reduction<>();
+
+					void accept(E element) {
+						reduction.add(element, f);
+					}
+
+					Reduction<E> result() {
+						return reduction;
+					}
+				};
+			}
+
+			Reduction<E> combine(Reduction<E> left, Reduction<E> right) {
+				if (right.present) {
+					left.add(right.value, f);
+				}
+				return left;
+			}
+		});
+		return reduction.present ? Optional.of(reduction.value) : Optional.<E>empty();
+	}
+
+	/**
+	 * Merge all the elements of this {@code BoostPipeline} using an 
+	 * associative function, starting from a zero value.
+	 *
+	 * <p>The zero value starts the merge of each partition and is also used
+	 * when the pipeline is empty, so it must be the identity of the function
+	 * (like 0 for a sum), and it must be immutable.
+	 *
+	 * @param  zeroValue
+	 *         The identity of the function.
+	 *
+	 * @param  f
+	 *         The anonymous inner class for merging 2 elements.
+	 *
+	 * @return  The merged element.
+	 *
+	 * @since   1.2
+	 */
+	public E fold(E zeroValue, Function2<E, E, E> f) {
+		return aggregate(KeyedCombiner.constant(zeroValue), f, f);
+	}
+
+	/**
+	 * Aggregate all the elements of this {@code BoostPipeline}, starting 
+	 * from a zero value.
+	 *
+	 * <p>The zero value is shared by all the partitions, so it must be 
+	 * immutable (like a number or a string). Use 
+	 * {@link #aggregate(Function0, Function2, Function2)} for a mutable 
+	 * zero value.
+	 *
+	 * @param  zeroValue
+	 *         The initial aggregated value of each partition.
+	 *
+	 * @param  seqOp
+	 *         The anonymous inner class for folding an element into an 
+	 *         aggregated value.
+	 *
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 *
+	 * @return  The aggregated value.
+	 *
+	 * @since   1.2
+	 */
+	public <U> U aggregate(U zeroValue, Function2<U, E, U> seqOp, Function2<U, U, U> combOp) {
+		return aggregate(KeyedCombiner.constant(zeroValue), seqOp, combOp);
+	}
+
+	/**
+	 * Aggregate all the elements of this {@code BoostPipeline}, starting 
+	 * from a new zero value for each partition.
+	 *
+	 * <p>On a parallel pipeline, each partition is folded by its own task,
+	 * and the aggregated values are merged as a binary tree following the 
+	 * split of the partitions.
+	 *
+	 * @param  zeroValue
+	 *         The anonymous inner class for creating the initial aggregated 
+	 *         value of a partition.
+	 *
+	 * @param  seqOp
+	 *         The anonymous inner class for folding an element into an 
+	 *         aggregated value.
+	 *
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 *
+	 * @return  The aggregated value.
+	 *
+	 * @since   1.2
+	 */
+	public <U> U aggregate(Function0<U> zeroValue, Function2<U, E, U> seqOp, Function2<U, U, U> combOp) {
+		return evaluate(new AggregateAction<>(zeroValue, seqOp, combOp));
+	}
+
+	/**
+	 * Aggregate all the elements of this {@code BoostPipeline} like 
+	 * {@link #aggregate(Function0, Function2, Function2)}, merging the 
+	 * aggregated values of the partitions in a fixed number of levels.
+	 *
+	 * <p>The aggregated values of the partitions are merged by groups of 
+	 * {@code ceil(partitions ^ (1 / depth))}, each group by its own task, 
+	 * and the results are merged the same way until one value is left. So 
+	 * a deeper tree merges fewer values in each task, which helps when the 
+	 * aggregated values are large (like maps or arrays) and merging them is
+	 * expensive. The values are merged in the order of the partitions.
+	 *
+	 * @param  zeroValue
+	 *         The anonymous inner class for creating the initial aggregated 
+	 *         value of a partition.
+	 *
+	 * @param  seqOp
+	 *         The anonymous inner class for folding an element into an 
+	 *         aggregated value.
+	 *
+	 * @param  combOp
+	 *         The anonymous inner class for merging 2 aggregated values.
+	 *
+	 * @param  depth
+	 *         The maximum number of merge levels, at least 1.
+	 *
+	 * @return  The aggregated value.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If {@code depth} is less than 1.
+	 *
+	 * @since   1.2
+	 */
+	public <U> U treeAggregate(Function0<U> zeroValue, Function2<U, E, U> seqOp, final Function2<U, U, U> combOp, int depth) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("depth must be at least 1");
+		}
+		
+		final AggregateAction<U> action = new AggregateAction<>(zeroValue, seqOp, combOp);
+		if (pool == null) {
+			return runPartition(source, 0, action);
+		}
+		final List<? extends PipelineSource<?>> partitions = source.split(ParallelTasks.chunkCountFor(pool.getParallelism()));
+		
+		// aggregate each partition
+		final Object[] values = new Object[partitions.size()];
+		List<RecursiveAction> tasks = new ArrayList<>(values.length);
+		for (int i = 0; i < values.length; i++) {
+			final int index = i;
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					values[index] = runPartition(partitions.get(index), index, action);
+				}
+			});
+		}
+		ParallelTasks.invokeAll(pool, tasks);
+		
+		// merge the values by groups, one level after the other
+		int scale = Math.max(2, (int) Math.ceil(Math.pow(values.length, 1.0 / depth)));
+		Object[] level = values;
+		while (level.length > 1) {
+			final Object[] input  = level;
+			final Object[] output = new Object[(input.length + scale - 1) / scale];
+			tasks.clear();
+			for (int g = 0; g < output.length; g++) {
+				final int group = g;
+				final int from  = g * scale;
+				final int to    = Math.min(from + scale, input.length);
+				tasks.add(new RecursiveAction() {
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					@SuppressWarnings("unchecked")
+					protected void compute() {
+						U merged = (U) input[from];
+						for (int i = from + 1; i < to; i++) {
+							merged = combOp.call(merged, (U) input[i]);
+						}
+						output[group] = merged;
+					}
+				});
+			}
+			ParallelTasks.invokeAll(pool, tasks);
+			level = output;
+		}
+		
+		@SuppressWarnings("unchecked")
+		U result = (U) level[0];
+		return result;
+	}
+
+	/**
+	 * Compute the count, mean, variance, minimum and maximum of the 
+	 * elements of this {@code BoostPipeline}, which must be numbers, in one
+	 * pass.
+	 *
+	 * <p>Each partition is accumulated into its own 
+	 * {@code BoostStatCounter}, and the counters of the partitions are 
+	 * merged, so the statistics of a parallel pipeline are computed in 
+	 * parallel.
+	 *
+	 * @return  The statistics of the elements.
+	 *
+	 * @throws  ClassCastException
+	 *          If an element is not a {@code Number}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostStatCounter stats() {
+		return aggregate(new Function0<BoostStatCounter>() {
+			public BoostStatCounter call() {
+				return new BoostStatCounter();
+			}
+		}, new Function2<BoostStatCounter, E, BoostStatCounter>() {
+			public BoostStatCounter call(BoostStatCounter counter, E element) {
+				return counter.add(((Number) element).doubleValue());
+			}
+		}, new Function2<BoostStatCounter, BoostStatCounter, BoostStatCounter>() {
+			public BoostStatCounter call(BoostStatCounter counter1, BoostStatCounter counter2) {
+				return counter1.merge(counter2);
+			}
+		});
+	}
+
+	/**
+	 * Count the elements of this {@code BoostPipeline}, which must be 
+	 * numbers, in each bucket.
+	 *
+	 * <p>Each bucket includes its low end and excludes its high end, except 
+	 * the last one which includes both, so {@code [1, 10, 20, 50]} means 
+	 * {@code [1, 10) [10, 20) [20, 50]}. The elements out of the buckets, 
+	 * and {@code NaN}, are not counted. Each partition counts its elements 
+	 * into its own array, and the arrays are added up.
+	 *
+	 * @param  buckets
+	 *         The boundaries of the buckets, in strictly increasing order.
+	 *
+	 * @return  The number of elements in each bucket.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If there are less than 2 boundaries, or if they are not 
+	 *          strictly increasing.
+	 *
+	 * @throws  ClassCastException
+	 *          If an element is not a {@code Number}.
+	 *
+	 * @since   1.2
+	 */
+	public long[] histogram(double[] buckets) {
+		final double[] boundaries = NumericStats.checkBuckets(buckets.clone());
+		return aggregate(new Function0<long[]>() {
+			public long[] call() {
+				return new long[boundaries.length - 1];
+			}
+		}, new Function2<long[], E, long[]>() {
+			public long[] call(long[] counts, E element) {
+				int bucket = NumericStats.bucketOf(boundaries, ((Number) element).doubleValue());
+				if (bucket >= 0) {
+					counts[bucket]++;
+				}
+				return counts;
+			}
+		}, new Function2<long[], long[], long[]>() {
+			public long[] call(long[] counts1, long[] counts2) {
+				return NumericStats.addCounts(counts1, counts2);
+			}
+		});
+	}
+
+	/**
+	 * Count the elements of this {@code BoostPipeline}, which must be 
+	 * numbers, in evenly spaced buckets between the smallest and the 
+	 * largest element.
+	 *
+	 * <p>The range of the buckets is not known in advance, so this makes 2 
+	 * passes over the pipeline: one {@link #stats()} pass for the range, 
+	 * then one {@link #histogram(double[])} pass. If all the elements are 
+	 * equal, there is a single bucket.
+	 *
+	 * @param  bucketCount
+	 *         The number of buckets, at least 1.
+	 *
+	 * @return  The pair of the boundaries of the buckets and the number of 
+	 *          elements in each bucket.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If {@code bucketCount} is less than 1.
+	 *
+	 * @throws  UnsupportedOperationException
+	 *          If this {@code BoostPipeline} is empty, or if an element is 
+	 *          infinite or {@code NaN}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostPair<double[], long[]> histogram(int bucketCount) {
+		double[] buckets = NumericStats.evenBuckets(stats(), bucketCount);
+		return new BoostPair<>(buckets, histogram(buckets));
+	}
+
+	/**
+	 * Run all the transformations over the source and merge the results of
+	 * an action.
+	 *
+	 * <p>A sequential pipeline makes one fused pass over the whole source. 
+	 * A parallel pipeline makes one fused pass per partition of the source, 
+	 * each partition with its own chain of sinks.
+	 *
+	 * @param  action
+	 *         The action.
+	 *
+	 * @return  The result of the action.
+	 *
+	 * @since   1.2
+	 */
+	private <R> R evaluate(Action<E, R> action) {
+		if (pool == null) {
+			return runPartition(source, 0, action);
+		}
+		
+		List<? extends PipelineSource<?>> partitions = source.split(ParallelTasks.chunkCountFor(pool.getParallelism()));
+		if (partitions.size() == 1) {
+			return runPartition(partitions.get(0), 0, action);
+		} else if (ordered) {
+			return pool.invoke(new OrderedTask<>(partitions, 0, partitions.size(), action));
+		} else {
+			UnorderedResult<R> result = new UnorderedResult<>();
+			pool.invoke(new UnorderedTask<>(partitions, 0, partitions.size(), action, result));
+			return result.value;
+		}
+	}
+
+	/**
+	 * Run all the transformations over one partition of the source.
+	 *
+	 * @param  partition
+	 *         The partition providing the elements.
+	 *
+	 * @param  index
+	 *         The index of the partition.
+	 *
+	 * @param  action
+	 *         The action.
+	 *
+	 * @return  The partial result of the action.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private <R> R runPartition(PipelineSource<?> partition, int index, Action<E, R> action) {
+		PipelineSink.Terminal<E, R> terminal = action.makeSink(index);
+		((PipelineSource) partition).forEach(wrapSink(terminal));
+		return terminal.result();
+	}
+
+	/**
+	 * Chain the sinks of all the transformations in front of a sink.
+	 *
+	 * @param  sink
+	 *         The sink receiving the output of this {@code BoostPipeline}.
+	 *
+	 * @return  The sink receiving the elements of the source.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private PipelineSink<Object> wrapSink(PipelineSink<? super E> sink) {
+		PipelineSink current = sink;
+		for (BoostPipeline<?> p = this; p.stage != null; p = p.upstream) {
+			current = ((Stage) p.stage).wrap(current);
+		}
+		return current;
+	}
+
+	/**
+	 * One recorded transformation of a {@code BoostPipeline}.
+	 *
+	 * @param <I>
+	 * @param <O>
+	 *
+	 * @since   1.2
+	 */
+	private abstract static class Stage<I, O> {
+		abstract PipelineSink<I> wrap(PipelineSink<? super O> downstream);
+	}
+
+	/**
+	 * An action of a {@code BoostPipeline}, which accumulates the elements 
+	 * of each partition into a partial result and merges the partial 
+	 * results.
+	 *
+	 * @param <T>
+	 * @param <R>
+	 *
+	 * @since   1.2
+	 */
+	private abstract static class Action<T, R> {
+		abstract PipelineSink.Terminal<T, R> makeSink();
+		
+		/**
+		 * Create the sink of one partition. The short-circuit actions 
+		 * override it to know which partitions come before the others.
+		 *
+		 * @param  partition
+		 *         The index of the partition, 0 for a sequential pipeline.
+		 *
+		 * @return  The sink.
+		 *
+		 * @since   1.2
+		 */
+		PipelineSink.Terminal<T, R> makeSink(int partition) {
+			return makeSink();
+		}
+		
+		abstract R combine(R left, R right);
+	}
+
+	/**
+	 * The action folding the elements of each partition into a new zero 
+	 * value, and merging the aggregated values.
+	 *
+	 * @param <U>
+	 *
+	 * @since   1.2
+	 */
+	private class AggregateAction<U> extends Action<E, U> {
+		private final Function0<U>       zeroValue;
+		private final Function2<U, E, U> seqOp;
+		private final Function2<U, U, U> combOp;
+
+		AggregateAction(Function0<U> zeroValue, Function2<U, E, U> seqOp, Function2<U, U, U> combOp) {
+			this.zeroValue = zeroValue;
+			this.seqOp     = seqOp;
+			this.combOp    = combOp;
+		}
+
+		PipelineSink.Terminal<E, U> makeSink() {
+			return new PipelineSink.Terminal<E, U>() {
+				private U value = zeroValue.call();
+
+				void accept(E element) {
+					value = seqOp.call(value, element);
+				}
+
+				U result() {
+					return value;
+				}
+			};
+		}
+
+		U combine(U left, U right) {
+			return combOp.call(left, right);
+		}
+	}
+
+	/**
+	 * The running result of {@code reduce}, which is absent until the first
+	 * element.
+	 *
+	 * @param <T>
+	 *
+	 * @since   1.2
+	 */
+	private static final class Reduction<T> {
+		private boolean present;
+		private T       value;
+
+		void add(T element, Function2<T, T, T> f) {
+			value   = present ? f.call(value, element) : element;
+			present = true;
+		}
+	}
+
+	/**
+	 * The short-circuit action finding the first N elements which satisfy a
+	 * predicate.
+	 *
+	 * <p>In an ordered pipeline, a partition stops when it has found N 
+	 * elements by itself, and so do the partitions after it, whose elements
+	 * would be dropped anyway. In an unordered pipeline, all the partitions 
+	 * stop as soon as N elements are found in total.
+	 *
+	 * @since   1.2
+	 */
+	private class FindAction extends Action<E, List<E>> {
+		private final int                  limit;
+		private final Function<E, Boolean> predicate;        // null to accept all the elements
+
+		/** The lowest partition which found {@code limit} elements by itself */
+		private final AtomicInteger completedPartition = new AtomicInteger(Integer.MAX_VALUE);
+
+		/** The number of elements found by all the partitions of an unordered pipeline */
+		private final AtomicInteger foundCount = new AtomicInteger();
+
+		FindAction(int limit, Function<E, Boolean> predicate) {
+			this.limit     = limit;
+			this.predicate = predicate;
+		}
+
+		PipelineSink.Terminal<E, List<E>> makeSink() {
+			return makeSink(0);
+		}
+
+		@Override
+		PipelineSink.Terminal<E, List<E>> makeSink(final int partition) {
+			return new PipelineSink.Terminal<E, List<E>>() {
+				private final List<E> list = new ArrayList<>();
+
+				void accept(E element) {
+					if (predicate != null && !predicate.call(element)) {
+						return;
+					}
+					if (ordered) {
+						list.add(element);
+						if (list.size() >= limit) {
+							lowerTo(completedPartition, partition);
+						}
+					} else if (foundCount.getAndIncrement() < limit) {
+						list.add(element);
+					}
+				}
+
+				@Override
+				boolean cancellationRequested() {
+					if (ordered) {
+						return list.size() >= limit || completedPartition.get() < partition;
+					}
+					return foundCount.get() >= limit;
+				}
+
+				List<E> result() {
+					return list;
+				}
+			};
+		}
+
+		List<E> combine(List<E> left, List<E> right) {
+			if (left.size() < limit) {
+				left.addAll(right.subList(0, Math.min(right.size(), limit - left.size())));
+			}
+			return left;
+		}
+	}
+
+	/**
+	 * Lower the value of an {@code AtomicInteger}, if it is greater.
+	 *
+	 * @param  value
+	 *         The {@code AtomicInteger}.
+	 *
+	 * @param  newValue
+	 *         The new value.
+	 *
+	 * @since   1.2
+	 */
+	private static void lowerTo(AtomicInteger value, int newValue) {
+		int current = value.get();
+		while (newValue < current && !value.compareAndSet(current, newValue)) {
+			current = value.get();
+		}
+	}
+
+	/**
+	 * The task running a range of partitions and merging their results in 
+	 * the order of the partitions.
+	 *
+	 * @param <R>
+	 *
+	 * @since   1.2
+	 */
+	private class OrderedTask<R> extends RecursiveTask<R> {
+		private static final long serialVersionUID = 1L;
+		
+		private final List<? extends PipelineSource<?>> partitions;
+		private final int                               from;
+		private final int                               to;
+		private final Action<E, R>                      action;
+
+		OrderedTask(List<? extends PipelineSource<?>> partitions, int from, int to, Action<E, R> action) {
+			this.partitions = partitions;
+			this.from       = from;
+			this.to         = to;
+			this.action     = action;
+		}
+
+		@Override
+		protected R compute() {
+			if (to - from == 1) {
+				return runPartition(partitions.get(from), from, action);
+			}
+			int mid = (from + to) >>> 1;
+			OrderedTask<R> right = new OrderedTask<>(partitions, mid, to, action);
+			right.fork();
+			R leftResult = new OrderedTask<>(partitions, from, mid, action).compute();
+			return action.combine(leftResult, right.join());
+		}
+	}
+
+	/**
+	 * The task running a range of partitions and merging their results in 
+	 * the order of completion.
+	 *
+	 * @param <R>
+	 *
+	 * @since   1.2
+	 */
+	private class UnorderedTask<R> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final List<? extends PipelineSource<?>> partitions;
+		private final int                               from;
+		private final int                               to;
+		private final Action<E, R>                      action;
+		private final UnorderedResult<R>                result;
+
+		UnorderedTask(List<? extends PipelineSource<?>> partitions, int from, int to, Action<E, R> action, UnorderedResult<R> result) {
+			this.partitions = partitions;
+			this.from       = from;
+			this.to         = to;
+			this.action     = action;
+			this.result     = result;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				R partial = runPartition(partitions.get(from), from, action);
+				synchronized (result) {
+					result.value = result.merged ? action.combine(result.value, partial) : partial;
+					result.merged = true;
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				ForkJoinTask.invokeAll(new UnorderedTask<>(partitions, from, mid, action, result), 
+						new UnorderedTask<>(partitions, mid, to, action, result));
+			}
+		}
+	}
+
+	/**
+	 * The holder of the result merged by the {@code UnorderedTask}s.
+	 *
+	 * @param <R>
+	 *
+	 * @since   1.2
+	 */
+	private static class UnorderedResult<R> {
+		private R       value;
+		private boolean merged;
+	}
+}
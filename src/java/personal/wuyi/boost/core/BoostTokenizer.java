@@ -0,0 +1,245 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+
+/**
+ * A {@code FlatMapFunction} splitting each line into its tokens, for
+ * the {@code flatMap} step of a word count.
+ *
+ * <p>Unlike {@code Arrays.asList(s.split(" "))}, it doesn't use any
+ * regular expression nor build any array or list: the tokens of a line are
+ * found while they are iterated, by one scan of its characters. Each token
+ * is looked up by its characters in a dictionary of the tokens seen so
+ * far, and the {@code String} in the dictionary is returned. So a token
+ * only becomes a new {@code String} the first time it is seen, and the
+ * same token is always the same {@code String} instance, whose hash code
+ * is already computed when it is used as a key by {@code mapToPair} or
+ * {@code reduceToPairs}.
+ *
+ * <p>The dictionary is concurrent, so the same tokenizer can be used by a
+ * parallel {@code BoostPipeline}. It keeps every distinct token, so a
+ * tokenizer should be used for one job and then dropped.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @see     BoostPipeline#flatMap(FlatMapFunction)
+ * @param <S>
+ */
+public class BoostTokenizer<S extends CharSequence> implements FlatMapFunction<S, String> {
+	private final String                               delimiters;     // null for the whitespace characters
+	private final ConcurrentHashMap<CharSlice, String> dictionary = new ConcurrentHashMap<>();
+
+	/**
+	 * Construct a {@code BoostTokenizer} splitting on whitespace characters.
+	 *
+	 * @since   1.2
+	 */
+	public BoostTokenizer() {
+		this.delimiters = null;
+	}
+
+	/**
+	 * Construct a {@code BoostTokenizer} splitting on some delimiter
+	 * characters.
+	 *
+	 * @param  delimiters
+	 *         The delimiter characters, like {@code " ,;"}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostTokenizer(String delimiters) {
+		if (delimiters == null || delimiters.isEmpty()) {
+			throw new IllegalArgumentException("delimiters must not be empty");
+		}
+		this.delimiters = delimiters;
+	}
+
+	/**
+	 * Return the tokens of a line, which are found while they are iterated.
+	 *
+	 * <p>The empty tokens between consecutive delimiters are skipped.
+	 *
+	 * @param  line
+	 *         The line, which must not change while the tokens are iterated.
+	 *
+	 * @return  The tokens of the line.
+	 *
+	 * @since   1.2
+	 */
+	@Override
+	public Iterable<String> call(final S line) {
+		return new Iterable<String>() {
+			@Override
+			public Iterator<String> iterator() {
+				return new TokenIterator(line);
+			}
+		};
+	}
+
+	/**
+	 * Return the number of distinct tokens seen so far.
+	 *
+	 * @return  The size of the dictionary.
+	 *
+	 * @since   1.2
+	 */
+	public int dictionarySize() {
+		return dictionary.size();
+	}
+
+	private boolean isDelimiter(char c) {
+		return delimiters == null ? Character.isWhitespace(c) : delimiters.indexOf(c) >= 0;
+	}
+
+	/**
+	 * Return the {@code String} of a token, from the dictionary or created
+	 * and added to it if the token is new.
+	 *
+	 * @param  probe
+	 *         The slice of the line holding the token.
+	 *
+	 * @return  The {@code String} of the token.
+	 *
+	 * @since   1.2
+	 */
+	private String intern(CharSlice probe) {
+		String token = dictionary.get(probe);
+		if (token == null) {
+			token = probe.toString();
+			String existing = dictionary.putIfAbsent(new CharSlice(token, 0, token.length()), token);
+			if (existing != null) {
+				token = existing;
+			}
+		}
+		return token;
+	}
+
+	/**
+	 * The iterator over the tokens of a line, which finds the next token
+	 * when it is asked for.
+	 */
+	private class TokenIterator implements Iterator<String> {
+		private final CharSequence line;
+		private final CharSlice    probe;
+		private int                position;
+		private boolean            found;       // whether the probe holds the next token
+
+		TokenIterator(CharSequence line) {
+			this.line  = line;
+			this.probe = new CharSlice(line, 0, 0);
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (found) {
+				return true;
+			}
+			int length = line.length();
+			while (position < length && isDelimiter(line.charAt(position))) {
+				position++;
+			}
+			if (position == length) {
+				return false;
+			}
+			int start = position;
+			int hash  = 0;
+			char c;
+			while (position < length && !isDelimiter(c = line.charAt(position))) {
+				hash = 31 * hash + c;          // the hash code is computed by the same scan
+				position++;
+			}
+			probe.set(start, position, hash);
+			found = true;
+			return true;
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			found = false;
+			return intern(probe);
+		}
+	}
+
+	/**
+	 * A range of the characters of a {@code CharSequence}, which is equal
+	 * to the other ranges holding the same characters.
+	 *
+	 * <p>The hash code is the one of the {@code String} of the same
+	 * characters.
+	 */
+	private static final class CharSlice {
+		private final CharSequence chars;
+		private int                from;
+		private int                to;
+		private int                hash;
+
+		CharSlice(CharSequence chars, int from, int to) {
+			this.chars = chars;
+			int h = 0;
+			for (int i = from; i < to; i++) {
+				h = 31 * h + chars.charAt(i);
+			}
+			set(from, to, h);
+		}
+
+		void set(int from, int to, int hash) {
+			this.from = from;
+			this.to   = to;
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof CharSlice)) {
+				return false;
+			}
+			CharSlice that = (CharSlice) object;
+			int length = to - from;
+			if (this.hash != that.hash || length != that.to - that.from) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (this.chars.charAt(this.from + i) != that.chars.charAt(that.from + i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return chars.subSequence(from, to).toString();
+		}
+	}
+}
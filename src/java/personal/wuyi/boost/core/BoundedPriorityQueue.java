@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A priority queue which only keeps the N smallest elements offered to it.
+ *
+ * <p>The kept elements are in a max-heap, so an offered element is compared
+ * with the greatest kept one, and it replaces it when it is smaller. Keeping
+ * the N smallest of M elements takes O(M log N) time and O(N) memory.
+ *
+ * <p>It is not thread-safe: each partition of a parallel pipeline fills its
+ * own queue, and the queues are merged afterwards.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <E>
+ */
+final class BoundedPriorityQueue<E> {
+	/** The largest initial capacity of the heap, which grows as needed */
+	private static final int MAX_INITIAL_CAPACITY = 1 << 10;
+
+	private final int                   limit;
+	private final Comparator<? super E> comparator;
+	private final PriorityQueue<E>      heap;        // the head is the greatest kept element
+
+	/**
+	 * Construct a {@code BoundedPriorityQueue}.
+	 *
+	 * @param  limit
+	 *         The maximum number of kept elements, at least 1.
+	 *
+	 * @param  comparator
+	 *         The order of the elements.
+	 *
+	 * @since   1.2
+	 */
+	BoundedPriorityQueue(int limit, Comparator<? super E> comparator) {
+		this.limit      = limit;
+		this.comparator = comparator;
+		this.heap       = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY), Collections.reverseOrder(comparator));
+	}
+
+	/**
+	 * Offer an element, which is kept if it is among the N smallest ones.
+	 *
+	 * @param  element
+	 *         The element.
+	 *
+	 * @since   1.2
+	 */
+	void offer(E element) {
+		if (heap.size() < limit) {
+			heap.add(element);
+		} else if (comparator.compare(element, heap.peek()) < 0) {
+			heap.poll();
+			heap.add(element);
+		}
+	}
+
+	/**
+	 * Offer all the kept elements of another queue to this one.
+	 *
+	 * @param  other
+	 *         The other queue.
+	 *
+	 * @return  This queue.
+	 *
+	 * @since   1.2
+	 */
+	BoundedPriorityQueue<E> merge(BoundedPriorityQueue<E> other) {
+		for (E element : other.heap) {
+			offer(element);
+		}
+		return this;
+	}
+
+	/**
+	 * Return the kept elements, from the smallest to the greatest.
+	 *
+	 * @return  The new list of the kept elements.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	List<E> toSortedList() {
+		E[] elements = (E[]) heap.toArray();
+		Arrays.sort(elements, comparator);
+		return new ArrayList<>(Arrays.asList(elements));
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+/**
+ * A memory-compact {@code BoostMap}, for maps holding many keys with few 
+ * values each, like the result of {@code reduceByKey}.
+ * 
+ * <p>The keys are stored in an insertion-ordered open-addressing table, and
+ * a key with a single value stores it inline: a value array is only created
+ * when a second value arrives. The lists returned by {@code get} are 
+ * read-only views. The operations like {@code reduceByKey} return a 
+ * regular {@code BoostMap}.
+ * 
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class CompactBoostMap<K, V> extends BoostMap<K, V> {
+	/**
+	 * Construct a {@code CompactBoostMap}.
+	 */
+	public CompactBoostMap() {
+		super(new CompactMultimapStore<K, V>());
+	}
+	
+	/**
+	 * Construct a {@code CompactBoostMap} for an expected number of keys.
+	 * 
+	 * @param  expectedKeys
+	 *         The expected number of distinct keys.
+	 * 
+	 * @since   1.2
+	 */
+	public CompactBoostMap(int expectedKeys) {
+		super(new CompactMultimapStore<K, V>(expectedKeys));
+	}
+}
@@ -0,0 +1,734 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.common.base.Objects;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+
+/**
+ * A memory-compact store of a {@code BoostMultimap}.
+ *
+ * <p>The keys are appended to a dense array in insertion order, and an
+ * open-addressing hash table (linear probing) maps each key to its index.
+ * The values of a key sit in a parallel array: a single value is stored
+ * inline, and a value array is only created when a second value arrives.
+ * So a key with one value costs a few array slots, instead of a
+ * {@code LinkedHashMap} entry plus an {@code ArrayList}.
+ *
+ * <p>A removed key leaves a tombstone in the key array, which is purged
+ * the next time the arrays are full. The lists returned by {@code get} are
+ * read-only. It is not thread-safe.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class CompactMultimapStore<K, V> extends MultimapStore<K, V> {
+	/** The marker of a removed key */
+	private static final Object REMOVED  = new Object();
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private Object[] keys;        // keys in insertion order, REMOVED for the removed keys
+	private int[]    hashes;      // hash of each key, by the same index
+	private Object[] values;      // single value or ValueArray of each key, by the same index
+	private int[]    table;       // index + 1 of the key in each slot, 0 when the slot is empty
+	private int      used;        // number of used indexes, including the removed keys
+	private int      keyCount;    // number of live keys
+	private int      totalSize;   // number of key-value pairs
+	private int      modCount;    // number of structural modifications, to fail fast in the iterators
+
+	/**
+	 * Construct a {@code CompactMultimapStore}.
+	 *
+	 * @since   1.2
+	 */
+	CompactMultimapStore() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Construct a {@code CompactMultimapStore} for an expected number of
+	 * keys.
+	 *
+	 * @param  expectedKeys
+	 *         The expected number of distinct keys.
+	 *
+	 * @since   1.2
+	 */
+	CompactMultimapStore(int expectedKeys) {
+		allocate(Math.max(4, expectedKeys));
+	}
+
+	/**
+	 * Construct a {@code CompactMultimapStore} with a copy of the key layout
+	 * of another one, and no value yet.
+	 *
+	 * @param  source
+	 *         The store providing the keys.
+	 *
+	 * @since   1.2
+	 */
+	private CompactMultimapStore(CompactMultimapStore<K, ?> source) {
+		this.keys        = source.keys.clone();
+		this.hashes      = source.hashes.clone();
+		this.table       = source.table.clone();
+		this.values      = new Object[source.keys.length];
+		this.used        = source.used;
+		this.keyCount    = source.keyCount;
+		this.keyOrder    = source.keyOrder;
+	}
+
+	@Override
+	int size() {
+		return totalSize;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	List<V> get(Object key) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		Object value = values[index];
+		return value instanceof ValueArray ? Collections.unmodifiableList((List<V>) value) : Collections.singletonList((V) value);
+	}
+
+	@Override
+	boolean put(K key, V value) {
+		Object maskedKey = mask(key);
+		int hash = hash(maskedKey);
+		int index = find(maskedKey, hash);
+		if (index < 0) {
+			if (used == keys.length) {
+				rebuild(keyCount < keys.length / 2 ? keys.length : keys.length * 2);
+			}
+			index = used++;
+			keys[index]   = maskedKey;
+			hashes[index] = hash;
+			values[index] = value;
+			insertSlot(hash, index);
+			keyCount++;
+			keyOrder = null;
+		} else if (values[index] instanceof ValueArray) {
+			((ValueArray) values[index]).append(value);
+		} else {
+			values[index] = new ValueArray(values[index], value);
+		}
+		totalSize++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	boolean remove(Object key, Object value) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return false;
+		}
+		Object current = values[index];
+		if (current instanceof ValueArray) {
+			int position = ((ValueArray) current).indexOf(value);
+			if (position < 0) {
+				return false;
+			}
+			removeValueAt(index, position);
+			return true;
+		} else if (Objects.equal(current, value)) {
+			removeValueAt(index, 0);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	List<V> removeAll(Object key) {
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		Object current = values[index];
+		List<V> output;
+		if (current instanceof ValueArray) {
+			output = new ArrayList<>((List<V>) current);
+		} else {
+			output = new ArrayList<>(1);
+			output.add((V) current);
+		}
+		totalSize -= output.size();
+		removeKeyAt(index);
+		return output;
+	}
+
+	@Override
+	boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	boolean containsValue(Object value) {
+		for (int i = 0; i < used; i++) {
+			if (keys[i] != REMOVED && contains(values[i], value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	boolean containsEntry(Object key, Object value) {
+		int index = indexOf(key);
+		return index >= 0 && contains(values[index], value);
+	}
+
+	@Override
+	Set<K> keySet() {
+		return new AbstractSet<K>() {
+			@Override
+			public Iterator<K> iterator() {
+				return new IndexIterator<K>() {
+					@Override
+					K output(int index, int position) {
+						return unmask(keys[index]);
+					}
+
+					@Override
+					int countAt(int index) {
+						return keys[index] == REMOVED ? 0 : 1;
+					}
+
+					@Override
+					void removeAt(int index, int position) {
+						totalSize -= CompactMultimapStore.this.countAt(index);
+						removeKeyAt(index);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return keyCount;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey(o);
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				return CompactMultimapStore.this.removeAll(o) != null;
+			}
+		};
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		return new IndexIterator<Entry<K, V>>() {
+			@Override
+			Entry<K, V> output(int index, int position) {
+				return new BoostEntry<>(CompactMultimapStore.<K>unmask(keys[index]), valueAt(index, position));
+			}
+
+			@Override
+			int countAt(int index) {
+				return CompactMultimapStore.this.countAt(index);
+			}
+
+			@Override
+			void removeAt(int index, int position) {
+				removeValueAt(index, position);
+			}
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		for (int i = 0; i < used; i++) {
+			if (keys[i] == REMOVED) {
+				continue;
+			}
+			K key = unmask(keys[i]);
+			Object value = values[i];
+			if (value instanceof ValueArray) {
+				ValueArray array = (ValueArray) value;
+				for (int j = 0, n = array.size(); j < n; j++) {
+					f.call(key, (V) array.elements[j]);
+				}
+			} else {
+				f.call(key, (V) value);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The key arrays and the hash table are copied as they are, so no key
+	 * is hashed again.
+	 */
+	@Override
+	<R> MultimapStore<K, R> mapValues(Function<V, R> f) {
+		CompactMultimapStore<K, R> newStore = new CompactMultimapStore<>(this);
+		for (int i = 0; i < used; i++) {
+			if (keys[i] == REMOVED) {
+				continue;
+			}
+			newStore.values[i] = mapValue(values[i], f);
+		}
+		newStore.totalSize = totalSize;
+		return newStore;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The key arrays and the hash table are copied as they are, so no key
+	 * is hashed again. The keys left without any value become tombstones.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	<R> MultimapStore<K, R> flatMapValues(FlatMapFunction<V, R> f) {
+		CompactMultimapStore<K, R> newStore = new CompactMultimapStore<>(this);
+		List<Object> newValues = new ArrayList<>();
+		for (int i = 0; i < used; i++) {
+			if (keys[i] == REMOVED) {
+				continue;
+			}
+			newValues.clear();
+			for (int j = 0, n = countAt(i); j < n; j++) {
+				for (R newValue : f.call(valueAt(i, j))) {
+					newValues.add(newValue);
+				}
+			}
+			if (newValues.isEmpty()) {
+				newStore.removeKeyAt(i);
+			} else if (newValues.size() == 1) {
+				newStore.values[i] = newValues.get(0);
+			} else {
+				newStore.values[i] = new ValueArray(newValues.toArray(), newValues.size());
+			}
+			newStore.totalSize += newValues.size();
+		}
+		return newStore;
+	}
+
+	/**
+	 * Transform a single value or all the values of a value array.
+	 *
+	 * @param  value
+	 *         The single value or the value array.
+	 *
+	 * @param  f
+	 *         The function transforming each value.
+	 *
+	 * @return  The transformed single value or a new value array.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	private static <V, R> Object mapValue(Object value, Function<V, R> f) {
+		if (value instanceof ValueArray) {
+			ValueArray array = (ValueArray) value;
+			Object[] newElements = new Object[array.size()];
+			for (int j = 0; j < newElements.length; j++) {
+				newElements[j] = f.call((V) array.elements[j]);
+			}
+			return new ValueArray(newElements, newElements.length);
+		}
+		return f.call((V) value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The indexes of the keys are sorted by {@code RangeSorter}, then the
+	 * arrays are rebuilt once in that order.
+	 */
+	@Override
+	void sortByKey(final Comparator<? super K> comparator) {
+		Integer[] order = new Integer[keyCount];
+		int n = 0;
+		for (int i = 0; i < used; i++) {
+			if (keys[i] != REMOVED) {
+				order[n++] = i;
+			}
+		}
+		order = RangeSorter.sort(order, new Comparator<Integer>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public int compare(Integer left, Integer right) {
+				return comparator.compare((K) unmask(keys[left]), (K) unmask(keys[right]));
+			}
+		});
+
+		Object[] oldKeys   = keys;
+		int[]    oldHashes = hashes;
+		Object[] oldValues = values;
+		allocate(keys.length);
+		for (int i = 0; i < n; i++) {
+			keys[i]   = oldKeys[order[i]];
+			hashes[i] = oldHashes[order[i]];
+			values[i] = oldValues[order[i]];
+			insertSlot(hashes[i], i);
+		}
+		used = n;
+		modCount++;
+		keyOrder = comparator;
+	}
+
+	/**
+	 * Return the number of values of the key at an index.
+	 *
+	 * @param  index
+	 *         The index of the key.
+	 *
+	 * @return  The number of values, 0 for a removed key.
+	 *
+	 * @since   1.2
+	 */
+	private int countAt(int index) {
+		if (keys[index] == REMOVED) {
+			return 0;
+		}
+		return values[index] instanceof ValueArray ? ((ValueArray) values[index]).size() : 1;
+	}
+
+	/**
+	 * Return a value of the key at an index.
+	 *
+	 * @param  index
+	 *         The index of the key.
+	 *
+	 * @param  position
+	 *         The position of the value among the values of the key.
+	 *
+	 * @return  The value.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	private V valueAt(int index, int position) {
+		Object value = values[index];
+		return value instanceof ValueArray ? (V) ((ValueArray) value).get(position) : (V) value;
+	}
+
+	/**
+	 * Remove a value of the key at an index, and the key itself when it was
+	 * its last value. A value array left with one value is inlined back.
+	 *
+	 * @param  index
+	 *         The index of the key.
+	 *
+	 * @param  position
+	 *         The position of the value among the values of the key.
+	 *
+	 * @since   1.2
+	 */
+	private void removeValueAt(int index, int position) {
+		Object value = values[index];
+		if (value instanceof ValueArray) {
+			ValueArray array = (ValueArray) value;
+			array.removeAt(position);
+			if (array.size() == 1) {
+				values[index] = array.get(0);
+			}
+			modCount++;
+		} else {
+			removeKeyAt(index);
+		}
+		totalSize--;
+	}
+
+	/**
+	 * Replace the key at an index with a tombstone. The hash table slot is
+	 * kept, so the probe sequences of the other keys are not broken.
+	 *
+	 * @param  index
+	 *         The index of the key.
+	 *
+	 * @since   1.2
+	 */
+	private void removeKeyAt(int index) {
+		keys[index]   = REMOVED;
+		values[index] = null;
+		keyCount--;
+		modCount++;
+	}
+
+	/**
+	 * Return the index of a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The index of the key, or -1 if it is absent.
+	 *
+	 * @since   1.2
+	 */
+	private int indexOf(Object key) {
+		Object maskedKey = mask(key);
+		return find(maskedKey, hash(maskedKey));
+	}
+
+	/**
+	 * Probe the hash table for a masked key.
+	 *
+	 * @param  maskedKey
+	 *         The key, with null replaced by {@code NULL_KEY}.
+	 *
+	 * @param  hash
+	 *         The hash of the key.
+	 *
+	 * @return  The index of the key, or -1 if it is absent.
+	 *
+	 * @since   1.2
+	 */
+	private int find(Object maskedKey, int hash) {
+		int mask = table.length - 1;
+		for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			int index = table[slot] - 1;
+			if (hashes[index] == hash) {
+				Object key = keys[index];
+				if (key == maskedKey || (key != REMOVED && key.equals(maskedKey))) {
+					return index;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Point the first empty slot of the probe sequence of a hash to an
+	 * index.
+	 *
+	 * @param  hash
+	 *         The hash of the key.
+	 *
+	 * @param  index
+	 *         The index of the key.
+	 *
+	 * @since   1.2
+	 */
+	private void insertSlot(int hash, int index) {
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = index + 1;
+	}
+
+	/**
+	 * Purge the removed keys and rebuild the arrays with a new capacity.
+	 *
+	 * @param  capacity
+	 *         The new capacity, at least the number of live keys.
+	 *
+	 * @since   1.2
+	 */
+	private void rebuild(int capacity) {
+		Object[] oldKeys   = keys;
+		int[]    oldHashes = hashes;
+		Object[] oldValues = values;
+		int      oldUsed   = used;
+		allocate(capacity);
+		int n = 0;
+		for (int i = 0; i < oldUsed; i++) {
+			if (oldKeys[i] != REMOVED) {
+				keys[n]   = oldKeys[i];
+				hashes[n] = oldHashes[i];
+				values[n] = oldValues[i];
+				insertSlot(hashes[n], n);
+				n++;
+			}
+		}
+		used = n;
+		modCount++;
+	}
+
+	/**
+	 * Allocate empty arrays.
+	 *
+	 * @param  capacity
+	 *         The maximum number of keys before the next rebuild.
+	 *
+	 * @since   1.2
+	 */
+	private void allocate(int capacity) {
+		keys   = new Object[capacity];
+		hashes = new int[capacity];
+		values = new Object[capacity];
+		table  = new int[Integer.highestOneBit(capacity) << 2];      // load factor at most 0.5
+	}
+
+	/**
+	 * Check whether a single value or a value array contains a value.
+	 *
+	 * @param  values
+	 *         The single value or the value array.
+	 *
+	 * @param  value
+	 *         The value to look for.
+	 *
+	 * @return  {@code true} if the value is found;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	private static boolean contains(Object values, Object value) {
+		return values instanceof ValueArray ? ((ValueArray) values).indexOf(value) >= 0 : Objects.equal(values, value);
+	}
+
+	/**
+	 * The values of a key holding more than one value.
+	 *
+	 * <p>It never leaves the store ({@code get} wraps it in a read-only
+	 * view), so a value put by a caller is never a {@code ValueArray}, even
+	 * when it is the result of {@code get} on another compact store.
+	 *
+	 * @since   1.2
+	 */
+	private static final class ValueArray extends AbstractList<Object> {
+		private Object[] elements;
+		private int      size;
+
+		ValueArray(Object first, Object second) {
+			elements = new Object[] {first, second, null, null};
+			size = 2;
+		}
+
+		ValueArray(Object[] elements, int size) {
+			this.elements = elements;
+			this.size     = size;
+		}
+
+		void append(Object value) {
+			if (size == elements.length) {
+				elements = Arrays.copyOf(elements, size * 2);
+			}
+			elements[size++] = value;
+		}
+
+		void removeAt(int position) {
+			System.arraycopy(elements, position + 1, elements, position, size - position - 1);
+			elements[--size] = null;
+		}
+
+		@Override
+		public Object get(int position) {
+			if (position >= size) {
+				throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+			}
+			return elements[position];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public int indexOf(Object value) {
+			for (int i = 0; i < size; i++) {
+				if (Objects.equal(elements[i], value)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * Abstract class for the iterators walking the keys by index, and the
+	 * values of each key by position.
+	 *
+	 * @param <T>
+	 *
+	 * @since   1.2
+	 */
+	private abstract class IndexIterator<T> implements Iterator<T> {
+		private int     index;               // index of the current key
+		private int     position;            // position of the next value of the current key
+		private boolean canRemove;
+		private int     expectedModCount = modCount;
+
+		abstract T output(int index, int position);
+
+		abstract int countAt(int index);
+
+		abstract void removeAt(int index, int position);
+
+		@Override
+		public boolean hasNext() {
+			while (index < used && position >= countAt(index)) {
+				index++;
+				position = 0;
+			}
+			return index < used;
+		}
+
+		@Override
+		public T next() {
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			canRemove = true;
+			return output(index, position++);
+		}
+
+		@Override
+		public void remove() {
+			if (!canRemove) {
+				throw new IllegalStateException("no calls to next() since the last call to remove()");
+			}
+			if (expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeAt(index, --position);
+			expectedModCount = modCount;
+			canRemove = false;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+/**
+ * A thread-safe {@code BoostMap}, which several threads can feed at the same
+ * time without any external lock.
+ *
+ * <p>Each key has its own lock, so the threads only wait for each other
+ * when they write the same key, and the size is counted by a
+ * {@code LongAdder}. Each operation on a single key ({@code put},
+ * {@code remove}, {@code removeAll}, {@code containsEntry}, ...) is atomic.
+ * {@code get} returns a snapshot of the values of the key, and the
+ * iterators are weakly consistent: they never throw
+ * {@code ConcurrentModificationException}.
+ *
+ * <p>The keys are not kept in insertion order, {@code sortByKey} is not
+ * supported and null keys are not allowed. The operations like
+ * {@code reduceByKey} return a regular {@code BoostMap}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class ConcurrentBoostMap<K, V> extends BoostMap<K, V> {
+	/**
+	 * Construct a {@code ConcurrentBoostMap}.
+	 */
+	public ConcurrentBoostMap() {
+		super(new ConcurrentMultimapStore<K, V>());
+	}
+}
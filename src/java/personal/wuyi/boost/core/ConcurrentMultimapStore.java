@@ -0,0 +1,327 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+
+/**
+ * A thread-safe store of a {@code BoostMultimap}.
+ *
+ * <p>The keys live in a {@code ConcurrentHashMap}, and each key owns its
+ * value list, which is also its lock. So threads writing different keys
+ * never contend, and the map itself is only written when a key is created
+ * or retired. The number of pairs is counted by a {@code LongAdder}, which
+ * does not become a shared hot spot either.
+ *
+ * <p>A value list is retired (and removed from the map) under its lock when
+ * its last value is removed. A writer which finds a retired list retries
+ * with a new one, so no value is ever added to a list which is no longer
+ * reachable.
+ *
+ * <p>Each operation on a single key is atomic. {@code size} and the
+ * iterators are weakly consistent, like the ones of
+ * {@code ConcurrentHashMap}. Null keys are not supported.
+ *
+ * <p>A sorted store keeps its keys in a {@code ConcurrentSkipListMap}
+ * instead, so that they stay in the order of a comparator as they are
+ * added, and its {@code keySet} is a {@code NavigableSet}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class ConcurrentMultimapStore<K, V> extends MultimapStore<K, V> {
+	private final ConcurrentMap<K, ValueList<V>> map;
+	private final LongAdder                      totalSize = new LongAdder();
+
+	/**
+	 * Construct a {@code ConcurrentMultimapStore} whose keys have no order.
+	 *
+	 * @since   1.2
+	 */
+	ConcurrentMultimapStore() {
+		this.map = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Construct a sorted {@code ConcurrentMultimapStore}.
+	 *
+	 * @param  comparator
+	 *         The order of the keys.
+	 *
+	 * @since   1.2
+	 */
+	ConcurrentMultimapStore(Comparator<? super K> comparator) {
+		this.map      = new ConcurrentSkipListMap<>(comparator);
+		this.keyOrder = comparator;
+	}
+
+	@Override
+	int size() {
+		long size = totalSize.sum();
+		return size < 0 ? 0 : (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	@Override
+	List<V> get(Object key) {
+		ValueList<V> values = map.get(key);
+		if (values == null) {
+			return null;
+		}
+		synchronized (values) {
+			return values.isEmpty() ? null : new ArrayList<>(values);
+		}
+	}
+
+	@Override
+	boolean put(K key, V value) {
+		for (;;) {
+			ValueList<V> values = map.get(key);
+			if (values == null) {
+				ValueList<V> newValues = new ValueList<>();
+				values = map.putIfAbsent(key, newValues);
+				if (values == null) {
+					values = newValues;
+				}
+			}
+			synchronized (values) {
+				if (!values.retired) {
+					values.add(value);
+					totalSize.increment();
+					return true;
+				}
+			}
+			map.remove(key, values);       // help to remove the retired list, then retry
+		}
+	}
+
+	@Override
+	boolean remove(Object key, Object value) {
+		ValueList<V> values = map.get(key);
+		if (values == null) {
+			return false;
+		}
+		synchronized (values) {
+			if (values.retired || !values.remove(value)) {
+				return false;
+			}
+			totalSize.decrement();
+			if (values.isEmpty()) {
+				values.retired = true;
+				map.remove(key, values);
+			}
+			return true;
+		}
+	}
+
+	@Override
+	List<V> removeAll(Object key) {
+		ValueList<V> values = map.remove(key);
+		if (values == null) {
+			return null;
+		}
+		synchronized (values) {
+			values.retired = true;
+			List<V> output = new ArrayList<>(values);
+			totalSize.add(-values.size());
+			values.clear();
+			return output;
+		}
+	}
+
+	@Override
+	boolean containsKey(Object key) {
+		ValueList<V> values = map.get(key);
+		if (values == null) {
+			return false;
+		}
+		synchronized (values) {
+			return !values.isEmpty();
+		}
+	}
+
+	@Override
+	boolean containsValue(Object value) {
+		for (ValueList<V> values : map.values()) {
+			synchronized (values) {
+				if (values.contains(value)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	boolean containsEntry(Object key, Object value) {
+		ValueList<V> values = map.get(key);
+		if (values == null) {
+			return false;
+		}
+		synchronized (values) {
+			return values.contains(value);
+		}
+	}
+
+	@Override
+	Set<K> keySet() {
+		if (map instanceof ConcurrentNavigableMap) {
+			return Collections.unmodifiableNavigableSet(((ConcurrentNavigableMap<K, ValueList<V>>) map).navigableKeySet());
+		}
+		return Collections.unmodifiableSet(map.keySet());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The values of each key are copied when the iterator reaches the
+	 * key, so they are never read while another thread writes them.
+	 */
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		return new Iterator<Entry<K, V>>() {
+			private final Iterator<Map.Entry<K, ValueList<V>>> keyIterator = map.entrySet().iterator();
+
+			private K           key;
+			private Iterator<V> valueIterator = Collections.<V>emptyList().iterator();
+			private Entry<K, V> last;
+
+			@Override
+			public boolean hasNext() {
+				while (!valueIterator.hasNext()) {
+					if (!keyIterator.hasNext()) {
+						return false;
+					}
+					Map.Entry<K, ValueList<V>> mapEntry = keyIterator.next();
+					ValueList<V> values = mapEntry.getValue();
+					synchronized (values) {
+						valueIterator = new ArrayList<V>(values).iterator();
+					}
+					key = mapEntry.getKey();
+				}
+				return true;
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				last = new BoostEntry<>(key, valueIterator.next());
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException("no calls to next() since the last call to remove()");
+				}
+				ConcurrentMultimapStore.this.remove(last.getKey(), last.getValue());
+				last = null;
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The values of each key are copied under its lock into one array, so
+	 * the function is never called while holding a lock.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		for (Map.Entry<K, ValueList<V>> mapEntry : map.entrySet()) {
+			ValueList<V> values = mapEntry.getValue();
+			Object[] snapshot;
+			synchronized (values) {
+				snapshot = values.toArray();
+			}
+			K key = mapEntry.getKey();
+			for (Object value : snapshot) {
+				f.call(key, (V) value);
+			}
+		}
+	}
+
+	/**
+	 * Not supported: the keys of a {@code ConcurrentHashMap} have no order,
+	 * and a sorted store keeps the order of its comparator. A sorted store
+	 * does nothing when it is already in that order.
+	 *
+	 * @param  comparator
+	 *         The order of the keys.
+	 *
+	 * @throws  UnsupportedOperationException
+	 *          If the keys are not already in that order.
+	 */
+	@Override
+	void sortByKey(Comparator<? super K> comparator) {
+		if (keyOrder == null) {
+			throw new UnsupportedOperationException("a concurrent multimap has no key order");
+		}
+		if (!comparator.equals(keyOrder)) {
+			throw new UnsupportedOperationException("a sorted multimap keeps the order of its comparator");
+		}
+	}
+
+	/**
+	 * The values of one key, which is also the lock of the key.
+	 *
+	 * <p>A list is only equal to itself: {@code map.remove(key, values)} 
+	 * must not remove another list of the same key which happens to hold 
+	 * the same values, like a new empty list replacing a retired one.
+	 *
+	 * @since   1.2
+	 */
+	private static final class ValueList<V> extends ArrayList<V> {
+		private static final long serialVersionUID = 1L;
+
+		/** Whether the list was removed from the map, guarded by the list itself */
+		private boolean retired;
+
+		@Override
+		public boolean equals(Object object) {
+			return this == object;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this);
+		}
+	}
+}
@@ -0,0 +1,438 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import com.google.common.base.Objects;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+
+/**
+ * An immutable store of a {@code BoostMultimap}, in compressed sparse row
+ * (CSR) layout.
+ *
+ * <p>The keys are in one array, the values of all the keys are in one
+ * contiguous array, and {@code offsets[i]} to {@code offsets[i + 1]} is the
+ * range of the values of the key {@code i}. An open-addressing hash table
+ * maps each key to its index. So a lookup probes an {@code int} array and
+ * reads a dense range, and a full scan walks 2 arrays sequentially, with
+ * no per-key or per-value object.
+ *
+ * <p>All the mutators throw {@code UnsupportedOperationException}. The
+ * lists returned by {@code get} are read-only views of the values array.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class FrozenMultimapStore<K, V> extends MultimapStore<K, V> {
+	private final Object[] keys;       // keys in order, with null replaced by NULL_KEY
+	private final int[]    hashes;     // hash of each key, by the same index
+	private final int[]    offsets;    // first value of each key, plus the total size at the end
+	private final Object[] values;     // values of all the keys, key after key
+	private final int[]    table;      // index + 1 of the key in each slot, 0 when the slot is empty
+
+	/**
+	 * Construct a {@code FrozenMultimapStore} from the arrays. The arrays 
+	 * are never modified, so several stores can share them.
+	 *
+	 * @since   1.2
+	 */
+	private FrozenMultimapStore(Object[] keys, int[] hashes, int[] table, int[] offsets, Object[] values) {
+		this.keys    = keys;
+		this.hashes  = hashes;
+		this.table   = table;
+		this.offsets = offsets;
+		this.values  = values;
+	}
+
+	/**
+	 * Construct a {@code FrozenMultimapStore} from the arrays, with a new 
+	 * hash table.
+	 *
+	 * @since   1.2
+	 */
+	private FrozenMultimapStore(Object[] keys, int[] hashes, int[] offsets, Object[] values) {
+		this(keys, hashes, buildTable(hashes), offsets, values);
+	}
+
+	/**
+	 * Build the hash table of the keys.
+	 *
+	 * @param  hashes
+	 *         The hash of each key.
+	 *
+	 * @return  The hash table, holding index + 1 of the key in each slot.
+	 *
+	 * @since   1.2
+	 */
+	private static int[] buildTable(int[] hashes) {
+		int[] table = new int[Integer.highestOneBit(Math.max(4, hashes.length)) << 2];   // load factor at most 0.5
+		int mask = table.length - 1;
+		for (int i = 0; i < hashes.length; i++) {
+			int slot = hashes[i] & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = i + 1;
+		}
+		return table;
+	}
+
+	/**
+	 * Copy another store into the CSR layout, keeping its key order.
+	 *
+	 * @param  source
+	 *         The store to copy.
+	 *
+	 * @return  The new {@code FrozenMultimapStore}.
+	 *
+	 * @since   1.2
+	 */
+	static <K, V> FrozenMultimapStore<K, V> of(MultimapStore<K, V> source) {
+		if (source instanceof FrozenMultimapStore) {
+			return (FrozenMultimapStore<K, V>) source;
+		}
+
+		List<Object>  keyList   = new ArrayList<>(source.keySet().size());
+		List<List<V>> valueList = new ArrayList<>(source.keySet().size());
+		int total = 0;
+		for (K key : source.keySet()) {
+			List<V> keyValues = source.get(key);       // a snapshot for a concurrent store
+			if (keyValues != null && !keyValues.isEmpty()) {
+				keyList.add(mask(key));
+				valueList.add(keyValues);
+				total += keyValues.size();
+			}
+		}
+
+		int keyCount = keyList.size();
+		Object[] keys    = keyList.toArray();
+		int[]    hashes  = new int[keyCount];
+		int[]    offsets = new int[keyCount + 1];
+		Object[] values  = new Object[total];
+		int position = 0;
+		for (int i = 0; i < keyCount; i++) {
+			hashes[i]  = hash(keys[i]);
+			offsets[i] = position;
+			for (V value : valueList.get(i)) {
+				values[position++] = value;
+			}
+		}
+		offsets[keyCount] = position;
+		FrozenMultimapStore<K, V> frozenStore = new FrozenMultimapStore<>(keys, hashes, offsets, values);
+		frozenStore.keyOrder = source.keyOrder;
+		return frozenStore;
+	}
+
+	@Override
+	int size() {
+		return values.length;
+	}
+
+	@Override
+	List<V> get(Object key) {
+		int index = indexOf(key);
+		return index < 0 ? null : new ValueSlice(offsets[index], offsets[index + 1]);
+	}
+
+	@Override
+	boolean put(K key, V value) {
+		throw frozen();
+	}
+
+	@Override
+	boolean remove(Object key, Object value) {
+		throw frozen();
+	}
+
+	@Override
+	List<V> removeAll(Object key) {
+		throw frozen();
+	}
+
+	@Override
+	boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	boolean containsValue(Object value) {
+		return indexOfValue(value, 0, values.length) >= 0;
+	}
+
+	@Override
+	boolean containsEntry(Object key, Object value) {
+		int index = indexOf(key);
+		return index >= 0 && indexOfValue(value, offsets[index], offsets[index + 1]) >= 0;
+	}
+
+	@Override
+	Set<K> keySet() {
+		return new AbstractSet<K>() {
+			@Override
+			public Iterator<K> iterator() {
+				return new Iterator<K>() {
+					private int index;
+
+					@Override
+					public boolean hasNext() {
+						return index < keys.length;
+					}
+
+					@Override
+					public K next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						return unmask(keys[index++]);
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return keys.length;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey(o);
+			}
+		};
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		return new Iterator<Entry<K, V>>() {
+			private int index;          // index of the key of the next value
+			private int position;       // index of the next value
+
+			@Override
+			public boolean hasNext() {
+				return position < values.length;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public Entry<K, V> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				while (offsets[index + 1] <= position) {
+					index++;
+				}
+				return new BoostEntry<>(FrozenMultimapStore.<K>unmask(keys[index]), (V) values[position++]);
+			}
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		for (int i = 0; i < keys.length; i++) {
+			K key = unmask(keys[i]);
+			for (int j = offsets[i], to = offsets[i + 1]; j < to; j++) {
+				f.call(key, (V) values[j]);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The new store shares the keys, the hash table and the offsets of 
+	 * this one: only the values array is new.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	<R> MultimapStore<K, R> mapValues(Function<V, R> f) {
+		Object[] newValues = new Object[values.length];
+		for (int i = 0; i < values.length; i++) {
+			newValues[i] = f.call((V) values[i]);
+		}
+		FrozenMultimapStore<K, R> newStore = new FrozenMultimapStore<>(keys, hashes, table, offsets, newValues);
+		newStore.keyOrder = keyOrder;
+		return newStore;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The new store shares the keys and the hash table of this one, 
+	 * unless some keys are left without any value.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	<R> MultimapStore<K, R> flatMapValues(FlatMapFunction<V, R> f) {
+		List<Object> newValues  = new ArrayList<>(values.length);
+		int[]        newOffsets = new int[offsets.length];
+		int          emptyKeys  = 0;
+		for (int i = 0; i < keys.length; i++) {
+			newOffsets[i] = newValues.size();
+			for (int j = offsets[i], to = offsets[i + 1]; j < to; j++) {
+				for (R newValue : f.call((V) values[j])) {
+					newValues.add(newValue);
+				}
+			}
+			if (newValues.size() == newOffsets[i]) {
+				emptyKeys++;
+			}
+		}
+		newOffsets[keys.length] = newValues.size();
+
+		FrozenMultimapStore<K, R> newStore;
+		if (emptyKeys == 0) {
+			newStore = new FrozenMultimapStore<>(keys, hashes, table, newOffsets, newValues.toArray());
+			newStore.keyOrder = keyOrder;
+			return newStore;
+		}
+
+		// drop the keys without values: the key arrays and the hash table are rebuilt
+		Object[] keptKeys    = new Object[keys.length - emptyKeys];
+		int[]    keptHashes  = new int[keptKeys.length];
+		int[]    keptOffsets = new int[keptKeys.length + 1];
+		int n = 0;
+		for (int i = 0; i < keys.length; i++) {
+			if (newOffsets[i + 1] > newOffsets[i]) {
+				keptKeys[n]    = keys[i];
+				keptHashes[n]  = hashes[i];
+				keptOffsets[n] = newOffsets[i];
+				n++;
+			}
+		}
+		keptOffsets[n] = newValues.size();
+		newStore = new FrozenMultimapStore<>(keptKeys, keptHashes, keptOffsets, newValues.toArray());
+		newStore.keyOrder = keyOrder;
+		return newStore;
+	}
+
+	@Override
+	void sortByKey(Comparator<? super K> comparator) {
+		throw frozen();
+	}
+
+	/**
+	 * Return the index of a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The index of the key, or -1 if it is absent.
+	 *
+	 * @since   1.2
+	 */
+	private int indexOf(Object key) {
+		Object maskedKey = mask(key);
+		int hash = hash(maskedKey);
+		int mask = table.length - 1;
+		for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+			int index = table[slot] - 1;
+			if (hashes[index] == hash && keys[index].equals(maskedKey)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the index of a value in a range of the values array.
+	 *
+	 * @param  value
+	 *         The value to look for.
+	 *
+	 * @param  from
+	 *         The start of the range (inclusive).
+	 *
+	 * @param  to
+	 *         The end of the range (exclusive).
+	 *
+	 * @return  The index of the value, or -1 if it is absent.
+	 *
+	 * @since   1.2
+	 */
+	private int indexOfValue(Object value, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (Objects.equal(values[i], value)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return the exception thrown by all the mutators.
+	 *
+	 * @return  The exception.
+	 *
+	 * @since   1.2
+	 */
+	private static UnsupportedOperationException frozen() {
+		return new UnsupportedOperationException("a frozen multimap cannot be modified");
+	}
+
+	/**
+	 * The read-only view of the values of one key.
+	 *
+	 * @since   1.2
+	 */
+	private final class ValueSlice extends AbstractList<V> implements RandomAccess {
+		private final int from;
+		private final int to;
+
+		ValueSlice(int from, int to) {
+			this.from = from;
+			this.to   = to;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V get(int position) {
+			if (position < 0 || position >= to - from) {
+				throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + (to - from));
+			}
+			return (V) values[from + position];
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+
+		@Override
+		public boolean contains(Object value) {
+			return indexOfValue(value, from, to) >= 0;
+		}
+	}
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+
+/**
+ * The default store of a {@code BoostMultimap}: a {@code LinkedHashMap} from
+ * each key to the list of its values, in insertion order.
+ *
+ * <p>It is not thread-safe.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class HashMultimapStore<K, V> extends MultimapStore<K, V> {
+	private Map<K, List<V>> map;
+
+	/** The number of key-value pairs in this store */
+	private int totalSize;
+
+	/**
+	 * Construct a {@code HashMultimapStore}.
+	 *
+	 * @since   1.2
+	 */
+	HashMultimapStore() {
+		this.map = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Construct a {@code HashMultimapStore} for an expected number of keys,
+	 * so that the map is not resized while they are added.
+	 *
+	 * @param  expectedKeys
+	 *         The expected number of distinct keys.
+	 *
+	 * @since   1.2
+	 */
+	HashMultimapStore(int expectedKeys) {
+		this.map = new LinkedHashMap<>(expectedKeys * 4 / 3 + 1);
+	}
+
+	@Override
+	int size() {
+		return totalSize;
+	}
+
+	@Override
+	List<V> get(Object key) {
+		return map.get(key);
+	}
+
+	@Override
+	boolean put(K key, V value) {
+		List<V> values = map.get(key);
+		if (values == null) {
+			values = new ArrayList<>();
+			map.put(key, values);
+			keyOrder = null;
+		}
+		values.add(value);
+		totalSize++;
+		return true;
+	}
+
+	@Override
+	boolean remove(Object key, Object value) {
+		List<V> values = map.get(key);
+		boolean result = values != null && values.remove(value);
+		if (result) {       // Reduce the size only when the pair was existing in this store
+			totalSize--;
+			if (values.isEmpty()) {
+				map.remove(key);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	List<V> removeAll(Object key) {
+		List<V> values = map.remove(key);
+		if (values == null) {
+			return null;
+		}
+
+		List<V> output = new ArrayList<>(values);
+		totalSize -= values.size();
+		values.clear();
+		return output;
+	}
+
+	@Override
+	boolean containsKey(Object key) {
+		return map.containsKey(key);
+	}
+
+	@Override
+	boolean containsValue(Object value) {
+		for (List<V> values : map.values()) {
+			if (values.contains(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	boolean containsEntry(Object key, Object value) {
+		List<V> values = map.get(key);
+		return values != null && values.contains(value);
+	}
+
+	@Override
+	Set<K> keySet() {
+		return map.keySet();
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		return new Iterator<Entry<K, V>>() {
+			private final Iterator<Map.Entry<K, List<V>>> keyIterator = map.entrySet().iterator();
+
+			private K           key;
+			private List<V>     values;
+			private Iterator<V> valueIterator = Collections.<V>emptyList().iterator();
+
+			@Override
+			public boolean hasNext() {
+				return keyIterator.hasNext() || valueIterator.hasNext();
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				while (!valueIterator.hasNext()) {
+					Map.Entry<K, List<V>> mapEntry = keyIterator.next();
+					key           = mapEntry.getKey();
+					values        = mapEntry.getValue();
+					valueIterator = values.iterator();
+				}
+				return new BoostEntry<>(key, valueIterator.next());
+			}
+
+			@Override
+			public void remove() {
+				valueIterator.remove();
+				if (values.isEmpty()) {
+					keyIterator.remove();
+				}
+				totalSize--;
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The entries of the underlying map are returned as they are.
+	 */
+	@Override
+	Iterator<Entry<K, List<V>>> keyGroupIterator() {
+		return map.entrySet().iterator();
+	}
+
+	@Override
+	void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		for (Map.Entry<K, List<V>> mapEntry : map.entrySet()) {
+			K       key    = mapEntry.getKey();
+			List<V> values = mapEntry.getValue();
+			for (int i = 0, n = values.size(); i < n; i++) {
+				f.call(key, values.get(i));
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The new map is presized, and each value list is allocated once with
+	 * its exact size.
+	 */
+	@Override
+	<R> MultimapStore<K, R> mapValues(Function<V, R> f) {
+		HashMultimapStore<K, R> newStore = new HashMultimapStore<>(map.size());
+		for (Map.Entry<K, List<V>> mapEntry : map.entrySet()) {
+			List<V> values = mapEntry.getValue();
+			List<R> newValues = new ArrayList<>(values.size());
+			for (int i = 0, n = values.size(); i < n; i++) {
+				newValues.add(f.call(values.get(i)));
+			}
+			newStore.map.put(mapEntry.getKey(), newValues);
+		}
+		newStore.totalSize = totalSize;
+		newStore.keyOrder  = keyOrder;
+		return newStore;
+	}
+
+	@Override
+	<R> MultimapStore<K, R> flatMapValues(FlatMapFunction<V, R> f) {
+		HashMultimapStore<K, R> newStore = new HashMultimapStore<>(map.size());
+		for (Map.Entry<K, List<V>> mapEntry : map.entrySet()) {
+			List<V> values = mapEntry.getValue();
+			List<R> newValues = new ArrayList<>();
+			for (int i = 0, n = values.size(); i < n; i++) {
+				for (R newValue : f.call(values.get(i))) {
+					newValues.add(newValue);
+				}
+			}
+			if (!newValues.isEmpty()) {
+				newStore.map.put(mapEntry.getKey(), newValues);
+				newStore.totalSize += newValues.size();
+			}
+		}
+		newStore.keyOrder = keyOrder;
+		return newStore;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The entries are sorted in an array by {@code RangeSorter}, then 
+	 * copied once into a new map.
+	 */
+	@Override
+	void sortByKey(final Comparator<? super K> comparator) {
+		if (map.size() > 1) {
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			Map.Entry<K, List<V>>[] groups = map.entrySet().toArray(new Map.Entry[map.size()]);
+			groups = RangeSorter.sort(groups, new Comparator<Map.Entry<K, List<V>>>() {
+				@Override
+				public int compare(Map.Entry<K, List<V>> left, Map.Entry<K, List<V>> right) {
+					return comparator.compare(left.getKey(), right.getKey());
+				}
+			});
+
+			Map<K, List<V>> sortedMap = new LinkedHashMap<>(groups.length * 4 / 3 + 1);
+			for (Map.Entry<K, List<V>> group : groups) {
+				sortedMap.put(group.getKey(), group.getValue());
+			}
+			map = sortedMap;
+		}
+		keyOrder = comparator;
+	}
+}
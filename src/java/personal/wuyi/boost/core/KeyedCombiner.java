@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function0;
+import personal.wuyi.boost.api.Function2;
+
+/**
+ * The running accumulators of a combine-by-key operation.
+ *
+ * <p>Each value is folded into the accumulator (the combiner) of its key
+ * as soon as it is added, so the memory scales with the number of distinct
+ * keys instead of the number of values. The keys are kept in the order of
+ * their first occurrence.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ * @param <C>
+ */
+final class KeyedCombiner<K, V, C> {
+	private final Function<V, C>     createCombiner;
+	private final Function2<C, V, C> mergeValue;
+	private final Function2<C, C, C> mergeCombiners;
+	private final Map<K, Holder<C>>  combiners = new LinkedHashMap<>();    // the holders are updated in place, so a key is looked up once per value
+
+	/**
+	 * Construct a {@code KeyedCombiner}.
+	 *
+	 * @param  createCombiner
+	 *         The function turning the first value of a key into a combiner.
+	 *
+	 * @param  mergeValue
+	 *         The function folding one more value into a combiner.
+	 *
+	 * @param  mergeCombiners
+	 *         The function merging 2 combiners of the same key.
+	 *
+	 * @since   1.2
+	 */
+	KeyedCombiner(Function<V, C> createCombiner, Function2<C, V, C> mergeValue, Function2<C, C, C> mergeCombiners) {
+		this.createCombiner = createCombiner;
+		this.mergeValue     = mergeValue;
+		this.mergeCombiners = mergeCombiners;
+	}
+
+	/**
+	 * Create a {@code KeyedCombiner} reducing the values of each key with an
+	 * associative function.
+	 *
+	 * @param  f
+	 *         The function reducing 2 values.
+	 *
+	 * @return  The new {@code KeyedCombiner}.
+	 *
+	 * @since   1.2
+	 */
+	static <K, V> KeyedCombiner<K, V, V> reducing(Function2<V, V, V> f) {
+		return new KeyedCombiner<>(KeyedCombiner.<V>identity(), f, f);
+	}
+
+	/**
+	 * Return the function which uses the first value of a key as its 
+	 * combiner.
+	 *
+	 * @return  The identity function.
+	 *
+	 * @since   1.2
+	 */
+	static <V> Function<V, V> identity() {
+		return new Function<V, V>() {
+			public V call(V value) {
+				return value;
+			}
+		};
+	}
+
+	/**
+	 * Return the function which creates the combiner of a key by folding 
+	 * its first value into a new zero value.
+	 *
+	 * @param  zeroValue
+	 *         The factory of the zero values.
+	 *
+	 * @param  seqOp
+	 *         The function folding one value into an aggregated value.
+	 *
+	 * @return  The function creating the combiners.
+	 *
+	 * @since   1.2
+	 */
+	static <V, U> Function<V, U> fromZero(final Function0<U> zeroValue, final Function2<U, V, U> seqOp) {
+		return new Function<V, U>() {
+			public U call(V value) {
+				return seqOp.call(zeroValue.call(), value);
+			}
+		};
+	}
+
+	/**
+	 * Return the factory always returning the same zero value.
+	 *
+	 * @param  zeroValue
+	 *         The zero value.
+	 *
+	 * @return  The factory.
+	 *
+	 * @since   1.2
+	 */
+	static <U> Function0<U> constant(final U zeroValue) {
+		return new Function0<U>() {
+			public U call() {
+				return zeroValue;
+			}
+		};
+	}
+
+	/**
+	 * Fold a key-value pair into the combiner of the key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @param  value
+	 *         The value.
+	 *
+	 * @since   1.2
+	 */
+	void add(K key, V value) {
+		Holder<C> holder = combiners.get(key);
+		if (holder == null) {
+			combiners.put(key, new Holder<>(createCombiner.call(value)));
+		} else {
+			holder.combiner = mergeValue.call(holder.combiner, value);
+		}
+	}
+
+	/**
+	 * Merge the combiners of another {@code KeyedCombiner} into this one.
+	 *
+	 * <p>The keys only found in the other {@code KeyedCombiner} are appended
+	 * after the keys of this one.
+	 *
+	 * @param  other
+	 *         The other {@code KeyedCombiner}.
+	 *
+	 * @return  This {@code KeyedCombiner}.
+	 *
+	 * @since   1.2
+	 */
+	KeyedCombiner<K, V, C> merge(KeyedCombiner<K, V, C> other) {
+		for (Map.Entry<K, Holder<C>> entry : other.combiners.entrySet()) {
+			Holder<C> holder = combiners.get(entry.getKey());
+			if (holder == null) {
+				combiners.put(entry.getKey(), new Holder<>(entry.getValue().combiner));
+			} else {
+				holder.combiner = mergeCombiners.call(holder.combiner, entry.getValue().combiner);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Return a {@code BoostMap} holding one combiner for each key.
+	 *
+	 * @return  The new {@code BoostMap}.
+	 *
+	 * @since   1.2
+	 */
+	BoostMap<K, C> toBoostMap() {
+		BoostMap<K, C> newMap = new BoostMap<>();
+		for (Map.Entry<K, Holder<C>> entry : combiners.entrySet()) {
+			newMap.put(entry.getKey(), entry.getValue().combiner);
+		}
+		return newMap;
+	}
+
+	/**
+	 * The mutable combiner of a key.
+	 */
+	private static final class Holder<C> {
+		C combiner;
+
+		Holder(C combiner) {
+			this.combiner = combiner;
+		}
+	}
+}
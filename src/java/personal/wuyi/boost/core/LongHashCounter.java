@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+/**
+ * An open-addressing hash table counting the occurrences of {@code long}
+ * keys, without boxing.
+ *
+ * <p>The keys are kept in the order of their first occurrence. The
+ * primitive lists use it for {@code distinct} and {@code countByValue}:
+ * {@code int} keys are widened and {@code double} keys are converted by
+ * {@link Double#doubleToLongBits(double)}, which matches the equality of
+ * the boxed values.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class LongHashCounter {
+	private static final int MAX_PRESIZE    = 1 << 16;    // the largest presized capacity, beyond it the table grows
+	private static final int MAX_TABLE_SIZE = 1 << 30;    // the largest power of 2 length of an array
+
+	private long[] keys;          // distinct keys in order of first occurrence
+	private long[] counts;        // count of each key, by the same index
+	private int[]  table;         // index + 1 of the key in each slot, 0 when the slot is empty
+	private int    size;
+
+	/**
+	 * Construct a {@code LongHashCounter}.
+	 *
+	 * <p>The capacity is presized for at most {@code 1 << 16} keys, because
+	 * the expected size is usually the number of elements, which may be far
+	 * more than the number of distinct keys. The table grows beyond it.
+	 *
+	 * @param  expectedSize
+	 *         The expected number of distinct keys.
+	 *
+	 * @since   1.2
+	 */
+	LongHashCounter(int expectedSize) {
+		int capacity = Math.max(4, Math.min(expectedSize, MAX_PRESIZE));
+		this.keys   = new long[capacity];
+		this.counts = new long[capacity];
+		this.table  = new int[tableSizeFor(capacity)];
+	}
+
+	/**
+	 * Count one occurrence of a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  {@code true} if this is the first occurrence of the key;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	boolean add(long key) {
+		int mask = table.length - 1;
+		int slot = mix(key) & mask;
+		while (table[slot] != 0) {
+			int index = table[slot] - 1;
+			if (keys[index] == key) {
+				counts[index]++;
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if (size == keys.length) {
+			grow();
+			return add(key);
+		}
+		keys[size]   = key;
+		counts[size] = 1;
+		table[slot]  = ++size;
+		return true;
+	}
+
+	/**
+	 * Return the number of distinct keys.
+	 *
+	 * @return  The number of distinct keys.
+	 *
+	 * @since   1.2
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Return the key at an index, in order of first occurrence.
+	 *
+	 * @param  index
+	 *         The index of the key.
+	 *
+	 * @return  The key.
+	 *
+	 * @since   1.2
+	 */
+	long keyAt(int index) {
+		return keys[index];
+	}
+
+	/**
+	 * Return the number of occurrences of the key at an index.
+	 *
+	 * @param  index
+	 *         The index of the key.
+	 *
+	 * @return  The number of occurrences.
+	 *
+	 * @since   1.2
+	 */
+	long countAt(int index) {
+		return counts[index];
+	}
+
+	/**
+	 * Double the capacity and rebuild the hash table.
+	 *
+	 * @since   1.2
+	 */
+	private void grow() {
+		int capacity = (int) Math.min(keys.length * 2L, MAX_TABLE_SIZE);
+		if (capacity == keys.length) {
+			throw new IllegalStateException("more than " + MAX_TABLE_SIZE + " distinct keys");
+		}
+		long[] newKeys   = new long[capacity];
+		long[] newCounts = new long[capacity];
+		System.arraycopy(keys,   0, newKeys,   0, size);
+		System.arraycopy(counts, 0, newCounts, 0, size);
+		keys   = newKeys;
+		counts = newCounts;
+
+		table = new int[tableSizeFor(capacity)];
+		int mask = table.length - 1;
+		for (int i = 0; i < size; i++) {
+			int slot = mix(keys[i]) & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = i + 1;
+		}
+	}
+
+	/**
+	 * Return the size of the hash table for a capacity, a power of 2 which
+	 * keeps the load factor at most 0.5.
+	 *
+	 * <p>The size is capped at {@code 1 << 30}, the largest power of 2 which
+	 * an array can hold, so the load factor goes above 0.5 beyond
+	 * {@code 1 << 29} keys instead of overflowing.
+	 *
+	 * @param  capacity
+	 *         The maximum number of keys.
+	 *
+	 * @return  The size of the hash table.
+	 *
+	 * @since   1.2
+	 */
+	private static int tableSizeFor(int capacity) {
+		if (capacity >= MAX_TABLE_SIZE >>> 2) {
+			return MAX_TABLE_SIZE;
+		}
+		return Integer.highestOneBit(capacity) << 2;
+	}
+
+	/**
+	 * Spread the bits of a key, so that close keys land in distant slots.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The mixed hash.
+	 *
+	 * @since   1.2
+	 */
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
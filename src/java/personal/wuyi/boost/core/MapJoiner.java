@@ -0,0 +1,380 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.RecursiveAction;
+
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostPair;
+
+/**
+ * The implementation of the joins and the cogroups of {@code BoostMap}.
+ *
+ * <p>Every {@code BoostMap} is already a hash table of its keys, so a hash
+ * join does not build anything: it walks the keys of one side (the smaller
+ * one for an inner join, the preserved one for an outer join) and probes
+ * the index of the other side. When the walked side is large, its keys are
+ * split into chunks probed by several threads, and the chunk outputs are
+ * added to the result in order.
+ *
+ * <p>When both sides were sorted by {@code sortByKey} in the same order and
+ * no key was added since, the keys of both sides are merged in one streaming pass instead,
+ * without any hash lookup, and the result is sorted too.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ * @param <W>
+ */
+final class MapJoiner<K, V, W> {
+	private final BoostMap<K, V> left;
+	private final BoostMap<K, W> right;
+	private final boolean        keepLeft;        // emit the left keys without a match
+	private final boolean        keepRight;       // emit the right keys without a match
+
+	/**
+	 * Construct a {@code MapJoiner}.
+	 *
+	 * @param  left
+	 *         The left side.
+	 *
+	 * @param  right
+	 *         The right side.
+	 *
+	 * @param  keepLeft
+	 *         {@code true} to keep the left keys without a match (left and
+	 *         full outer joins).
+	 *
+	 * @param  keepRight
+	 *         {@code true} to keep the right keys without a match (right and
+	 *         full outer joins).
+	 *
+	 * @since   1.2
+	 */
+	MapJoiner(BoostMap<K, V> left, BoostMap<K, W> right, boolean keepLeft, boolean keepRight) {
+		this.left      = left;
+		this.right     = right;
+		this.keepLeft  = keepLeft;
+		this.keepRight = keepRight;
+	}
+
+	/**
+	 * Join the 2 sides.
+	 *
+	 * <p>For each key, each left value is paired with each right value. The
+	 * side which may miss a value is wrapped in an {@code Optional}: the
+	 * right side of a left outer join, the left side of a right outer join,
+	 * and both sides of a full outer join.
+	 *
+	 * @return  The new {@code BoostMap} of the pairs.
+	 *
+	 * @since   1.2
+	 */
+	BoostMap<K, BoostPair<Object, Object>> join() {
+		final BoostMap<K, BoostPair<Object, Object>> newMap = new BoostMap<>();
+		VoidFunction2<K, BoostPair<Object, Object>> output = new VoidFunction2<K, BoostPair<Object, Object>>() {
+			public void call(K key, BoostPair<Object, Object> pair) {
+				newMap.put(key, pair);
+			}
+		};
+
+		Comparator<? super K> keyOrder = left.store().keyOrder;
+		if (keyOrder != null && keyOrder.equals(right.store().keyOrder)) {
+			mergeJoin(keyOrder, output);
+			newMap.store().keyOrder = keyOrder;
+			return newMap;
+		}
+
+		if (keepRight && !keepLeft) {
+			probe(right, left, true, output);
+		} else if (keepLeft || left.keySet().size() <= right.keySet().size()) {
+			probe(left, right, false, output);
+		} else {
+			probe(right, left, true, output);
+		}
+
+		if (keepLeft && keepRight) {
+			// the right keys without a match come last
+			Iterator<Entry<K, List<W>>> rightGroups = right.store().keyGroupIterator();
+			while (rightGroups.hasNext()) {
+				Entry<K, List<W>> group = rightGroups.next();
+				if (!left.store().containsKey(group.getKey())) {
+					emit(group.getKey(), Collections.<V>emptyList(), group.getValue(), output);
+				}
+			}
+		}
+		return newMap;
+	}
+
+	/**
+	 * Walk the keys of one side and probe the other side for each of them.
+	 *
+	 * @param  walked
+	 *         The side whose keys are walked.
+	 *
+	 * @param  probed
+	 *         The side whose index is probed.
+	 *
+	 * @param  swapped
+	 *         {@code true} if the walked side is the right side.
+	 *
+	 * @param  output
+	 *         The function receiving the output pairs.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	private void probe(BoostMap<K, ?> walked, final BoostMap<K, ?> probed, final boolean swapped,
+			VoidFunction2<K, BoostPair<Object, Object>> output) {
+		int chunkCount = ParallelTasks.chunkCount(walked.keySet().size());
+		if (chunkCount == 1) {
+			Iterator<? extends Entry<K, ? extends List<?>>> groups = walked.store().keyGroupIterator();
+			while (groups.hasNext()) {
+				Entry<K, ? extends List<?>> group = groups.next();
+				probeKey(group.getKey(), group.getValue(), probed, swapped, output);
+			}
+			return;
+		}
+
+		// copy the groups of the walked side, so that the chunks can be probed by several threads
+		final List<Entry<K, ? extends List<?>>> groups = new ArrayList<>(walked.keySet().size());
+		Iterator<? extends Entry<K, ? extends List<?>>> groupIterator = walked.store().keyGroupIterator();
+		while (groupIterator.hasNext()) {
+			groups.add(groupIterator.next());
+		}
+
+		final List<List<Object>> chunkOutputs = new ArrayList<>(chunkCount);
+		final List<RecursiveAction> tasks = new ArrayList<>(chunkCount);
+		for (int c = 0; c < chunkCount; c++) {
+			final int from = ParallelTasks.chunkStart(groups.size(), chunkCount, c);
+			final int to   = ParallelTasks.chunkStart(groups.size(), chunkCount, c + 1);
+			final List<Object> chunkOutput = new ArrayList<>();
+			chunkOutputs.add(chunkOutput);
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					VoidFunction2<K, BoostPair<Object, Object>> buffer = new VoidFunction2<K, BoostPair<Object, Object>>() {
+						public void call(K key, BoostPair<Object, Object> pair) {
+							chunkOutput.add(key);
+							chunkOutput.add(pair);
+						}
+					};
+					for (int i = from; i < to; i++) {
+						probeKey(groups.get(i).getKey(), groups.get(i).getValue(), probed, swapped, buffer);
+					}
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+
+		for (List<Object> chunkOutput : chunkOutputs) {
+			for (int i = 0; i < chunkOutput.size(); i += 2) {
+				output.call((K) chunkOutput.get(i), (BoostPair<Object, Object>) chunkOutput.get(i + 1));
+			}
+		}
+	}
+
+	/**
+	 * Probe the other side for one key of the walked side, and emit the
+	 * output pairs of the key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @param  walkedValues
+	 *         The values of the key on the walked side.
+	 *
+	 * @param  probed
+	 *         The side whose index is probed.
+	 *
+	 * @param  swapped
+	 *         {@code true} if the walked side is the right side.
+	 *
+	 * @param  output
+	 *         The function receiving the output pairs.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	private void probeKey(K key, List<?> walkedValues, BoostMap<K, ?> probed, boolean swapped,
+			VoidFunction2<K, BoostPair<Object, Object>> output) {
+		List<?> probedValues = probed.store().get(key);
+		if (probedValues == null) {
+			probedValues = Collections.emptyList();
+		}
+		if (swapped) {
+			emit(key, (List<V>) probedValues, (List<W>) walkedValues, output);
+		} else {
+			emit(key, (List<V>) walkedValues, (List<W>) probedValues, output);
+		}
+	}
+
+	/**
+	 * Merge the keys of both sides, which are both sorted, in one pass.
+	 *
+	 * @param  keyOrder
+	 *         The order of the keys of both sides.
+	 *
+	 * @param  output
+	 *         The function receiving the output pairs.
+	 *
+	 * @since   1.2
+	 */
+	private void mergeJoin(Comparator<? super K> keyOrder, VoidFunction2<K, BoostPair<Object, Object>> output) {
+		Iterator<Entry<K, List<V>>> leftGroups  = left.store().keyGroupIterator();
+		Iterator<Entry<K, List<W>>> rightGroups = right.store().keyGroupIterator();
+		Entry<K, List<V>> leftGroup  = leftGroups.hasNext()  ? leftGroups.next()  : null;
+		Entry<K, List<W>> rightGroup = rightGroups.hasNext() ? rightGroups.next() : null;
+
+		while (leftGroup != null || rightGroup != null) {
+			int order;
+			if (leftGroup == null) {
+				order = 1;
+			} else if (rightGroup == null) {
+				order = -1;
+			} else {
+				order = keyOrder.compare(leftGroup.getKey(), rightGroup.getKey());
+			}
+
+			if (order == 0) {
+				emit(leftGroup.getKey(), leftGroup.getValue(), rightGroup.getValue(), output);
+			} else if (order < 0) {
+				emit(leftGroup.getKey(), leftGroup.getValue(), Collections.<W>emptyList(), output);
+			} else {
+				emit(rightGroup.getKey(), Collections.<V>emptyList(), rightGroup.getValue(), output);
+			}
+
+			if (order <= 0) {
+				leftGroup = leftGroups.hasNext() ? leftGroups.next() : null;
+			}
+			if (order >= 0) {
+				rightGroup = rightGroups.hasNext() ? rightGroups.next() : null;
+			}
+		}
+	}
+
+	/**
+	 * Emit the output pairs of one key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @param  leftValues
+	 *         The left values of the key, empty if there is none.
+	 *
+	 * @param  rightValues
+	 *         The right values of the key, empty if there is none.
+	 *
+	 * @param  output
+	 *         The function receiving the output pairs.
+	 *
+	 * @since   1.2
+	 */
+	private void emit(K key, List<V> leftValues, List<W> rightValues, VoidFunction2<K, BoostPair<Object, Object>> output) {
+		boolean leftOptional  = keepRight;
+		boolean rightOptional = keepLeft;
+		if (!leftValues.isEmpty() && !rightValues.isEmpty()) {
+			for (int i = 0, m = leftValues.size(); i < m; i++) {
+				Object leftValue = leftOptional ? Optional.ofNullable(leftValues.get(i)) : leftValues.get(i);
+				for (int j = 0, n = rightValues.size(); j < n; j++) {
+					Object rightValue = rightOptional ? Optional.ofNullable(rightValues.get(j)) : rightValues.get(j);
+					output.call(key, new BoostPair<>(leftValue, rightValue));
+				}
+			}
+		} else if (!leftValues.isEmpty() && keepLeft) {
+			for (int i = 0, m = leftValues.size(); i < m; i++) {
+				Object leftValue = leftOptional ? Optional.ofNullable(leftValues.get(i)) : leftValues.get(i);
+				output.call(key, new BoostPair<>(leftValue, (Object) Optional.empty()));
+			}
+		} else if (!rightValues.isEmpty() && keepRight) {
+			for (int j = 0, n = rightValues.size(); j < n; j++) {
+				Object rightValue = rightOptional ? Optional.ofNullable(rightValues.get(j)) : rightValues.get(j);
+				output.call(key, new BoostPair<>((Object) Optional.empty(), rightValue));
+			}
+		}
+	}
+
+	/**
+	 * Group the values of several {@code BoostMap} by key.
+	 *
+	 * <p>The keys are in the order of their first occurrence, looking at the
+	 * maps one after the other, or in sorted order when all the maps are
+	 * sorted in the same order.
+	 *
+	 * @param  maps
+	 *         The {@code BoostMap} to group.
+	 *
+	 * @return  The new {@code BoostMap} with one entry for each key: the
+	 *          list of the values of the key in each map, by the same index.
+	 *
+	 * @since   1.2
+	 */
+	static <K> BoostMap<K, List<List<?>>> cogroup(List<? extends BoostMap<K, ?>> maps) {
+		Comparator<? super K> keyOrder = maps.isEmpty() ? null : maps.get(0).store().keyOrder;
+		for (BoostMap<K, ?> map : maps) {
+			if (keyOrder != null && !keyOrder.equals(map.store().keyOrder)) {
+				keyOrder = null;
+			}
+		}
+
+		Map<K, List<?>[]> groups = new LinkedHashMap<>();
+		for (int m = 0; m < maps.size(); m++) {
+			Iterator<? extends Entry<K, ? extends List<?>>> groupIterator = maps.get(m).store().keyGroupIterator();
+			while (groupIterator.hasNext()) {
+				Entry<K, ? extends List<?>> group = groupIterator.next();
+				List<?>[] lists = groups.get(group.getKey());
+				if (lists == null) {
+					lists = new List<?>[maps.size()];
+					groups.put(group.getKey(), lists);
+				}
+				lists[m] = new ArrayList<>(group.getValue());
+			}
+		}
+		if (keyOrder != null) {
+			Map<K, List<?>[]> sortedGroups = new TreeMap<>(keyOrder);
+			sortedGroups.putAll(groups);
+			groups = sortedGroups;
+		}
+
+		BoostMap<K, List<List<?>>> newMap = new BoostMap<>();
+		for (Map.Entry<K, List<?>[]> group : groups.entrySet()) {
+			List<List<?>> lists = new ArrayList<>(maps.size());
+			for (List<?> list : group.getValue()) {
+				lists.add(list != null ? list : new ArrayList<>(0));
+			}
+			newMap.put(group.getKey(), lists);
+		}
+		newMap.store().keyOrder = keyOrder;
+		return newMap;
+	}
+}
@@ -0,0 +1,704 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package personal.wuyi.boost.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+import personal.wuyi.boost.serializer.BoostBufferInput;
+import personal.wuyi.boost.serializer.BoostBufferOutput;
+
+/**
+ * A read-only store of a {@code BoostMultimap}, answering from a 
+ * memory-mapped snapshot file.
+ *
+ * <p>The snapshot file holds one record per key: the key and its values,
+ * encoded by the serializers of {@code BoostSerializers}. The records are
+ * sorted by the bytes of their key, and grouped into blocks of about
+ * {@link #BLOCK_SIZE} bytes. A sparse index at the end of the file holds the
+ * first key and the range of each block:
+ *
+ * <pre>
+ * header  : magic, version
+ * data    : records, block after block
+ *           record = varint key length, key, varint values length, varint value count, values
+ * index   : the first key of each block (varint length, key), then a table
+ *           of (long block start, long block end, int first key offset)
+ * footer  : long data end, long table offset, int block count,
+ *           int segment size, long key count, long value count, magic
+ * </pre>
+ *
+ * <p>Opening a snapshot maps the file and reads its footer, whatever its
+ * size. A lookup encodes the key, binary searches the first keys of the
+ * blocks, then scans one block, so only a few pages are touched, and only
+ * the values of the key are decoded. The file is mapped in segments of up
+ * to 1 GB, and the blocks never cross a segment boundary.
+ *
+ * <p>All the mutators throw {@code UnsupportedOperationException}. The
+ * store is safe for concurrent reads: the mapped buffers are only read by
+ * absolute positions or through duplicates.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class MappedMultimapStore<K, V> extends MultimapStore<K, V> {
+	/** The first and last 4 bytes of a snapshot file: "BSNP" */
+	private static final int MAGIC   = 0x42534E50;
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE      = 8;
+	private static final int FOOTER_SIZE      = 44;
+	private static final int TABLE_ENTRY_SIZE = 20;
+
+	/** The number of bytes after which a new block starts */
+	static final int BLOCK_SIZE = 1 << 10;
+
+	/** The largest size of a mapped segment of the data */
+	static final int SEGMENT_SIZE = 1 << 30;
+
+	/** The order of the records: the unsigned bytes of their key */
+	private static final Comparator<Record> BY_KEY = new Comparator<Record>() {
+		public int compare(Record a, Record b) {
+			return compareBytes(a.key, b.key);
+		}
+	};
+
+	private final ByteBuffer[] segments;       // the data, segment after segment
+	private final ByteBuffer   index;          // the first keys of the blocks, then the table
+	private final int          segmentSize;
+	private final int          tableOffset;    // the offset of the table in the index
+	private final int          blockCount;
+	private final long         keyCount;
+	private final long         valueCount;
+
+	private MappedMultimapStore(ByteBuffer[] segments, ByteBuffer index, int segmentSize, int tableOffset, int blockCount, long keyCount, long valueCount) {
+		this.segments    = segments;
+		this.index       = index;
+		this.segmentSize = segmentSize;
+		this.tableOffset = tableOffset;
+		this.blockCount  = blockCount;
+		this.keyCount    = keyCount;
+		this.valueCount  = valueCount;
+	}
+
+	/**
+	 * Write the key-value pairs of a store into a new snapshot file.
+	 *
+	 * @param  path
+	 *         The path of the file, which must not exist.
+	 *
+	 * @param  store
+	 *         The store.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If no serializer is registered for the class of a key or a 
+	 *          value.
+	 *
+	 * @throws  UncheckedIOException
+	 *          If the file already exists or cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	static <K, V> void save(String path, MultimapStore<K, V> store) {
+		save(path, store, SEGMENT_SIZE);
+	}
+
+	/**
+	 * Write the key-value pairs of a store into a new snapshot file, mapped
+	 * in segments of a given size.
+	 *
+	 * @param  path
+	 *         The path of the file, which must not exist.
+	 *
+	 * @param  store
+	 *         The store.
+	 *
+	 * @param  segmentSize
+	 *         The largest size of a mapped segment.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If no serializer is registered for the class of a key or a 
+	 *          value, or the record of a key is larger than a segment.
+	 *
+	 * @throws  UncheckedIOException
+	 *          If the file already exists or cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	static <K, V> void save(String path, MultimapStore<K, V> store, int segmentSize) {
+		try {
+			// encode the keys, and sort the records by the encoded keys
+			Object[]     keys       = store.keySet().toArray();
+			List<Record> recordList = new ArrayList<>(keys.length);
+			BoostBufferOutput keyBytes = new BoostBufferOutput();
+			for (Object key : keys) {
+				List<V> values = store.get(key);       // a snapshot for a concurrent store
+				if (values != null && !values.isEmpty()) {
+					keyBytes.reset();
+					keyBytes.writeObject(key);
+					recordList.add(new Record(keyBytes.toByteArray(), values));
+				}
+			}
+			Record[] records = RangeSorter.sort(recordList.toArray(new Record[recordList.size()]), BY_KEY);
+
+			try (PartWriter out = new PartWriter(Paths.get(path), BoostCompression.NONE)) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+
+				BoostLongList     blockStarts = new BoostLongList();
+				BoostLongList     blockEnds   = new BoostLongList();
+				List<byte[]>      firstKeys   = new ArrayList<>();
+				BoostBufferOutput valueBytes  = new BoostBufferOutput();
+				long              totalValues = 0;
+				for (Record record : records) {
+					valueBytes.reset();
+					for (Object value : record.values) {
+						valueBytes.writeObject(value);
+					}
+					int  valueLength = valueBytes.size();
+					long size        = varintSize(record.key.length) + record.key.length + varintSize(valueLength) + varintSize(record.values.size()) + valueLength;
+					if (size > segmentSize) {
+						throw new IllegalArgumentException("the record of a key takes " + size + " bytes, more than a segment of " + segmentSize);
+					}
+
+					long    position       = out.position();
+					long    blockStart     = firstKeys.isEmpty() ? -1 : blockStarts.get(blockStarts.size() - 1);
+					boolean crossesSegment = position / segmentSize != (position + size - 1) / segmentSize;
+					if (blockStart < 0 || position - blockStart >= BLOCK_SIZE || blockStart / segmentSize != (position + size - 1) / segmentSize) {
+						if (!firstKeys.isEmpty()) {
+							blockEnds.add(position);
+						}
+						if (crossesSegment) {              // pad up to the next segment
+							for (long boundary = (position / segmentSize + 1) * segmentSize; position < boundary; position++) {
+								out.writeByte(0);
+							}
+						}
+						blockStarts.add(position);
+						firstKeys.add(record.key);
+					}
+
+					out.writeVarint(record.key.length);
+					out.writeBytes(record.key, 0, record.key.length);
+					out.writeVarint(valueLength);
+					out.writeVarint(record.values.size());
+					valueBytes.writeTo(out);
+					totalValues += record.values.size();
+				}
+				long dataEnd = out.position();
+				if (!firstKeys.isEmpty()) {
+					blockEnds.add(dataEnd);
+				}
+
+				// the index: the first keys, then the table
+				int[] keyOffsets = new int[firstKeys.size()];
+				for (int i = 0; i < keyOffsets.length; i++) {
+					keyOffsets[i] = checkIndexOffset(out.position() - dataEnd);
+					out.writeVarint(firstKeys.get(i).length);
+					out.writeBytes(firstKeys.get(i), 0, firstKeys.get(i).length);
+				}
+				long tableStart = out.position() - dataEnd;
+				for (int i = 0; i < keyOffsets.length; i++) {
+					out.writeLong(blockStarts.get(i));
+					out.writeLong(blockEnds.get(i));
+					out.writeInt(keyOffsets[i]);
+				}
+				checkIndexOffset(out.position() - dataEnd);
+
+				out.writeLong(dataEnd);
+				out.writeLong(tableStart);
+				out.writeInt(keyOffsets.length);
+				out.writeInt(segmentSize);
+				out.writeLong(records.length);
+				out.writeLong(totalValues);
+				out.writeInt(MAGIC);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Open a snapshot file written by 
+	 * {@link #save(String, MultimapStore)}.
+	 *
+	 * <p>The file is mapped and its footer is read: the records are only
+	 * read when they are looked up.
+	 *
+	 * @param  path
+	 *         The path of the file.
+	 *
+	 * @return  The new {@code MappedMultimapStore}.
+	 *
+	 * @throws  UncheckedIOException
+	 *          If the file cannot be read or is not a snapshot file.
+	 *
+	 * @since   1.2
+	 */
+	static <K, V> MappedMultimapStore<K, V> open(String path) {
+		try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if (fileSize < HEADER_SIZE + FOOTER_SIZE) {
+				throw new IOException("not a snapshot file: " + path);
+			}
+			ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+			ByteBuffer footer = channel.map(MapMode.READ_ONLY, fileSize - FOOTER_SIZE, FOOTER_SIZE);
+			if (header.getInt(0) != MAGIC || footer.getInt(FOOTER_SIZE - 4) != MAGIC) {
+				throw new IOException("not a snapshot file: " + path);
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new IOException("unsupported snapshot version " + header.getInt(4) + ": " + path);
+			}
+
+			long dataEnd     = footer.getLong(0);
+			long tableOffset = footer.getLong(8);
+			int  blockCount  = footer.getInt(16);
+			int  segmentSize = footer.getInt(20);
+			ByteBuffer[] segments = new ByteBuffer[(int) ((dataEnd + segmentSize - 1) / segmentSize)];
+			for (int i = 0; i < segments.length; i++) {
+				long start = (long) i * segmentSize;
+				segments[i] = channel.map(MapMode.READ_ONLY, start, Math.min(segmentSize, dataEnd - start));
+			}
+			ByteBuffer index = channel.map(MapMode.READ_ONLY, dataEnd, fileSize - FOOTER_SIZE - dataEnd);
+			return new MappedMultimapStore<>(segments, index, segmentSize, (int) tableOffset, blockCount, footer.getLong(24), footer.getLong(32));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	int size() {
+		return (int) Math.min(valueCount, Integer.MAX_VALUE);
+	}
+
+	@Override
+	List<V> get(Object key) {
+		long position = find(key);
+		return position < 0 ? null : readValues(position);
+	}
+
+	@Override
+	boolean put(K key, V value) {
+		throw readOnly();
+	}
+
+	@Override
+	boolean remove(Object key, Object value) {
+		throw readOnly();
+	}
+
+	@Override
+	List<V> removeAll(Object key) {
+		throw readOnly();
+	}
+
+	@Override
+	boolean containsKey(Object key) {
+		return find(key) >= 0;
+	}
+
+	@Override
+	boolean containsValue(Object value) {
+		for (RecordIterator records = new RecordIterator(true); records.hasNext(); ) {
+			if (records.next().getValue().contains(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	boolean containsEntry(Object key, Object value) {
+		List<V> values = get(key);
+		return values != null && values.contains(value);
+	}
+
+	@Override
+	Set<K> keySet() {
+		return new AbstractSet<K>() {
+			@Override
+			public Iterator<K> iterator() {
+				final RecordIterator records = new RecordIterator(false);
+				return new Iterator<K>() {
+					@Override
+					public boolean hasNext() {
+						return records.hasNext();
+					}
+
+					@Override
+					public K next() {
+						return records.next().getKey();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return (int) Math.min(keyCount, Integer.MAX_VALUE);
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return containsKey(o);
+			}
+		};
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		final RecordIterator records = new RecordIterator(true);
+		return new Iterator<Entry<K, V>>() {
+			private K       key;
+			private List<V> values = Collections.emptyList();
+			private int     position;
+
+			@Override
+			public boolean hasNext() {
+				return position < values.size() || records.hasNext();
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				if (position == values.size()) {
+					Entry<K, List<V>> record = records.next();
+					key      = record.getKey();
+					values   = record.getValue();
+					position = 0;
+				}
+				return new BoostEntry<>(key, values.get(position++));
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The records are read in the order of the file, each with its 
+	 * values, without looking up the keys.
+	 */
+	@Override
+	Iterator<Entry<K, List<V>>> keyGroupIterator() {
+		return new RecordIterator(true);
+	}
+
+	@Override
+	void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		for (RecordIterator records = new RecordIterator(true); records.hasNext(); ) {
+			Entry<K, List<V>> record = records.next();
+			for (V value : record.getValue()) {
+				f.call(record.getKey(), value);
+			}
+		}
+	}
+
+	@Override
+	void sortByKey(Comparator<? super K> comparator) {
+		throw readOnly();
+	}
+
+	/**
+	 * Return the position of the record of a key in the file.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The position of the record, or -1 if the key is absent.
+	 *
+	 * @since   1.2
+	 */
+	private long find(Object key) {
+		byte[] probe = encode(key);
+		if (probe == null) {
+			return -1;
+		}
+
+		// the last block whose first key is not after the key
+		int block = -1;
+		for (int low = 0, high = blockCount - 1; low <= high; ) {
+			int middle = (low + high) >>> 1;
+			if (compare(index, index.getInt(tableOffset + middle * TABLE_ENTRY_SIZE + 16), probe) <= 0) {
+				block = middle;
+				low   = middle + 1;
+			} else {
+				high  = middle - 1;
+			}
+		}
+		if (block < 0) {
+			return -1;
+		}
+
+		long       start    = index.getLong(tableOffset + block * TABLE_ENTRY_SIZE);
+		long       end      = index.getLong(tableOffset + block * TABLE_ENTRY_SIZE + 8);
+		long       base     = start - start % segmentSize;
+		ByteBuffer segment  = segments[(int) (start / segmentSize)];
+		for (int position = (int) (start - base), limit = (int) (end - base); position < limit; position = nextRecord(segment, position)) {
+			int order = compare(segment, position, probe);
+			if (order == 0) {
+				return base + position;
+			} else if (order > 0) {
+				return -1;                          // the records are sorted
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Decode the values of the record at a position.
+	 *
+	 * @since   1.2
+	 */
+	private List<V> readValues(long position) {
+		ByteBuffer segment = segments[(int) (position / segmentSize)];
+		int offset      = (int) (position % segmentSize);
+		int keyLength   = readVarint(segment, offset);
+		offset         += varintSize(keyLength) + keyLength;
+		int valueLength = readVarint(segment, offset);
+		offset         += varintSize(valueLength);
+		int count       = readVarint(segment, offset);
+		offset         += varintSize(count);
+		return decodeValues(segment, offset, valueLength, count);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<V> decodeValues(ByteBuffer segment, int offset, int length, int count) {
+		BoostBufferInput in     = new BoostBufferInput(range(segment, offset, length));
+		List<V>          values = new ArrayList<>(count);
+		try {
+			for (int i = 0; i < count; i++) {
+				values.add((V) in.readObject());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return Collections.unmodifiableList(values);
+	}
+
+	@SuppressWarnings("unchecked")
+	private K decodeKey(ByteBuffer segment, int offset, int length) {
+		try {
+			return (K) new BoostBufferInput(range(segment, offset, length)).readObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Return the encoded bytes of a key, or {@code null} if its type has no
+	 * serializer, so it cannot be in the file.
+	 *
+	 * @since   1.2
+	 */
+	private static byte[] encode(Object key) {
+		BoostBufferOutput out = new BoostBufferOutput(64);
+		try {
+			out.writeObject(key);
+		} catch (IllegalArgumentException e) {
+			return null;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Compare the key at a position of a buffer with an encoded key.
+	 *
+	 * @return  A negative number, zero, or a positive number if the key of
+	 *          the buffer is before, equal to, or after the other key.
+	 *
+	 * @since   1.2
+	 */
+	private static int compare(ByteBuffer buffer, int offset, byte[] key) {
+		int length = readVarint(buffer, offset);
+		int start  = offset + varintSize(length);
+		for (int i = 0, n = Math.min(length, key.length); i < n; i++) {
+			int order = (buffer.get(start + i) & 0xFF) - (key[i] & 0xFF);
+			if (order != 0) {
+				return order;
+			}
+		}
+		return length - key.length;
+	}
+
+	private static int compareBytes(byte[] a, byte[] b) {
+		for (int i = 0, n = Math.min(a.length, b.length); i < n; i++) {
+			int order = (a[i] & 0xFF) - (b[i] & 0xFF);
+			if (order != 0) {
+				return order;
+			}
+		}
+		return a.length - b.length;
+	}
+
+	/**
+	 * Return the position after the record at a position.
+	 *
+	 * @since   1.2
+	 */
+	private static int nextRecord(ByteBuffer segment, int offset) {
+		int keyLength   = readVarint(segment, offset);
+		offset         += varintSize(keyLength) + keyLength;
+		int valueLength = readVarint(segment, offset);
+		offset         += varintSize(valueLength);
+		int count       = readVarint(segment, offset);
+		return offset + varintSize(count) + valueLength;
+	}
+
+	/**
+	 * Read the varint at a position of a buffer, without moving the 
+	 * position of the buffer.
+	 *
+	 * @since   1.2
+	 */
+	private static int readVarint(ByteBuffer buffer, int offset) {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer.get(offset++);
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new UncheckedIOException(new IOException("malformed varint"));
+	}
+
+	/**
+	 * Return the number of bytes of a non-negative varint.
+	 *
+	 * @since   1.2
+	 */
+	private static int varintSize(int value) {
+		return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+	}
+
+	/**
+	 * Return a view of a range of a buffer, leaving the buffer untouched.
+	 *
+	 * @since   1.2
+	 */
+	private static ByteBuffer range(ByteBuffer buffer, int offset, int length) {
+		ByteBuffer view = buffer.duplicate();
+		view.limit(offset + length);
+		view.position(offset);
+		return view;
+	}
+
+	private static int checkIndexOffset(long offset) {
+		if (offset > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("the index of the snapshot is larger than 2 GB");
+		}
+		return (int) offset;
+	}
+
+	/**
+	 * Return the exception thrown by all the mutators.
+	 *
+	 * @return  The exception.
+	 *
+	 * @since   1.2
+	 */
+	private static UnsupportedOperationException readOnly() {
+		return new UnsupportedOperationException("a mapped multimap cannot be modified");
+	}
+
+	/**
+	 * A key to write, encoded, with its values.
+	 *
+	 * @since   1.2
+	 */
+	private static final class Record {
+		final byte[]  key;
+		final List<?> values;
+
+		Record(byte[] key, List<?> values) {
+			this.key    = key;
+			this.values = values;
+		}
+	}
+
+	/**
+	 * The iterator over the records, in the order of the file, each as its 
+	 * key with the list of its values (or {@code null} if the values are not
+	 * decoded).
+	 *
+	 * @since   1.2
+	 */
+	private final class RecordIterator implements Iterator<Entry<K, List<V>>> {
+		private final boolean withValues;
+		private int           block    = -1;
+		private ByteBuffer    segment;
+		private int           position;      // the next record in the segment
+		private int           limit;         // the end of the block in the segment
+
+		RecordIterator(boolean withValues) {
+			this.withValues = withValues;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (position >= limit && block + 1 < blockCount) {
+				block++;
+				long start = index.getLong(tableOffset + block * TABLE_ENTRY_SIZE);
+				long end   = index.getLong(tableOffset + block * TABLE_ENTRY_SIZE + 8);
+				long base  = start - start % segmentSize;
+				segment  = segments[(int) (start / segmentSize)];
+				position = (int) (start - base);
+				limit    = (int) (end - base);
+			}
+			return position < limit;
+		}
+
+		@Override
+		public Entry<K, List<V>> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			int keyLength   = readVarint(segment, position);
+			int keyOffset   = position + varintSize(keyLength);
+			int offset      = keyOffset + keyLength;
+			int valueLength = readVarint(segment, offset);
+			offset         += varintSize(valueLength);
+			int count       = readVarint(segment, offset);
+			offset         += varintSize(count);
+			position        = offset + valueLength;
+
+			K key = decodeKey(segment, keyOffset, keyLength);
+			return new BoostEntry<>(key, withValues ? decodeValues(segment, offset, valueLength, count) : null);
+		}
+	}
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+
+/**
+ * The storage behind a {@code BoostMultimap}.
+ *
+ * <p>{@code BoostMultimap} keeps its public API and delegates the layout of
+ * the key-value pairs to a store, so that different layouts (insertion
+ * ordered hash map, concurrent map, ...) can be plugged in.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+abstract class MultimapStore<K, V> {
+	/** The stand-in of the null key in the array-based stores */
+	static final Object NULL_KEY = new Object();
+
+	/** 
+	 * The order the keys are known to be in, or {@code null} if they are not 
+	 * known to be sorted: set by {@code sortByKey}, and cleared when a new 
+	 * key is added.
+	 */
+	Comparator<? super K> keyOrder;
+
+	/**
+	 * Return the number of key-value pairs.
+	 *
+	 * @return  The number of key-value pairs.
+	 *
+	 * @since   1.2
+	 */
+	abstract int size();
+
+	/**
+	 * Check whether there is no key-value pair.
+	 *
+	 * <p>This default implementation compares the size with 0. The stores
+	 * which count their size on each call override it.
+	 *
+	 * @return  {@code true} if there is no key-value pair;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Return the values of a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The values, or {@code null} if the key is absent.
+	 *
+	 * @since   1.2
+	 */
+	abstract List<V> get(Object key);
+
+	/**
+	 * Store a key-value pair.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @param  value
+	 *         The value.
+	 *
+	 * @return  {@code true} if the number of pairs increased;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	abstract boolean put(K key, V value);
+
+	/**
+	 * Remove a key-value pair.
+	 *
+	 * @param  key
+	 *         The key of the pair.
+	 *
+	 * @param  value
+	 *         The value of the pair.
+	 *
+	 * @return  {@code true} if the pair was removed;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	abstract boolean remove(Object key, Object value);
+
+	/**
+	 * Remove a key and all its values.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  A copy of the removed values, or {@code null} if the key was
+	 *          absent.
+	 *
+	 * @since   1.2
+	 */
+	abstract List<V> removeAll(Object key);
+
+	/**
+	 * Check the existence of a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  {@code true} if the key is present;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	abstract boolean containsKey(Object key);
+
+	/**
+	 * Check the existence of a value under any key.
+	 *
+	 * @param  value
+	 *         The value.
+	 *
+	 * @return  {@code true} if the value is present;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	abstract boolean containsValue(Object value);
+
+	/**
+	 * Check the existence of a key-value pair.
+	 *
+	 * @param  key
+	 *         The key of the pair.
+	 *
+	 * @param  value
+	 *         The value of the pair.
+	 *
+	 * @return  {@code true} if the pair is present;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	abstract boolean containsEntry(Object key, Object value);
+
+	/**
+	 * Return a view of the distinct keys.
+	 *
+	 * @return  The set of the keys.
+	 *
+	 * @since   1.2
+	 */
+	abstract Set<K> keySet();
+
+	/**
+	 * Return an iterator over all key-value pairs, which traverses the
+	 * values of one key, followed by the values of a second key, and so on.
+	 *
+	 * @return  The iterator.
+	 *
+	 * @since   1.2
+	 */
+	abstract Iterator<Entry<K, V>> entryIterator();
+
+	/**
+	 * Return an iterator over the keys, in order, each with the list of its
+	 * values.
+	 *
+	 * <p>This default implementation looks up the values of each key. The
+	 * stores which hold the value lists next to the keys override it.
+	 *
+	 * @return  The iterator. The value lists must not be modified.
+	 *
+	 * @since   1.2
+	 */
+	Iterator<Entry<K, List<V>>> keyGroupIterator() {
+		final Iterator<K> keyIterator = keySet().iterator();
+		return new Iterator<Entry<K, List<V>>>() {
+			private Entry<K, List<V>> next;
+
+			@Override
+			public boolean hasNext() {
+				while (next == null && keyIterator.hasNext()) {
+					K key = keyIterator.next();
+					List<V> values = get(key);
+					if (values != null && !values.isEmpty()) {
+						next = new BoostEntry<>(key, values);
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public Entry<K, List<V>> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Entry<K, List<V>> group = next;
+				next = null;
+				return group;
+			}
+		};
+	}
+
+	/**
+	 * Call a function on each key-value pair, in the order of 
+	 * {@link #entryIterator()}, without allocating an entry for each pair.
+	 *
+	 * <p>The values of one key are passed with the same key instance, so a
+	 * caller can detect the first value of each key by identity.
+	 *
+	 * @param  f
+	 *         The function to call.
+	 *
+	 * @since   1.2
+	 */
+	abstract void forEachEntry(VoidFunction2<? super K, ? super V> f);
+
+	/**
+	 * Return a new store with the same keys, in the same order, and the 
+	 * values of each key transformed by a function.
+	 *
+	 * <p>This default implementation builds a {@code HashMultimapStore}. The
+	 * stores which can reuse their key layout override it.
+	 *
+	 * @param  f
+	 *         The function transforming each value.
+	 *
+	 * @return  The new store.
+	 *
+	 * @since   1.2
+	 */
+	<R> MultimapStore<K, R> mapValues(final Function<V, R> f) {
+		final HashMultimapStore<K, R> newStore = new HashMultimapStore<>(keySet().size());
+		forEachEntry(new VoidFunction2<K, V>() {
+			public void call(K key, V value) {
+				newStore.put(key, f.call(value));
+			}
+		});
+		newStore.keyOrder = keyOrder;
+		return newStore;
+	}
+
+	/**
+	 * Return a new store with the same keys, in the same order, and each
+	 * value replaced by zero or more values. The keys left without any 
+	 * value are dropped.
+	 *
+	 * <p>This default implementation builds a {@code HashMultimapStore}. The
+	 * stores which can reuse their key layout override it.
+	 *
+	 * @param  f
+	 *         The function turning each value into zero or more values.
+	 *
+	 * @return  The new store.
+	 *
+	 * @since   1.2
+	 */
+	<R> MultimapStore<K, R> flatMapValues(final FlatMapFunction<V, R> f) {
+		final HashMultimapStore<K, R> newStore = new HashMultimapStore<>(keySet().size());
+		forEachEntry(new VoidFunction2<K, V>() {
+			public void call(K key, V value) {
+				for (R newValue : f.call(value)) {
+					newStore.put(key, newValue);
+				}
+			}
+		});
+		newStore.keyOrder = keyOrder;
+		return newStore;
+	}
+
+	/**
+	 * Sort the keys, and remember their order in {@code keyOrder}.
+	 *
+	 * @param  comparator
+	 *         The order of the keys.
+	 *
+	 * @since   1.2
+	 */
+	abstract void sortByKey(Comparator<? super K> comparator);
+
+	/**
+	 * Return the natural order of the keys, as a comparator.
+	 *
+	 * @return  The comparator.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <K> Comparator<? super K> naturalOrder() {
+		return (Comparator) Comparator.naturalOrder();
+	}
+
+	/**
+	 * Replace the null key with {@code NULL_KEY}.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The masked key.
+	 *
+	 * @since   1.2
+	 */
+	static Object mask(Object key) {
+		return key == null ? NULL_KEY : key;
+	}
+
+	/**
+	 * Replace {@code NULL_KEY} with the null key.
+	 *
+	 * @param  key
+	 *         The masked key.
+	 *
+	 * @return  The key.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T unmask(Object key) {
+		return key == NULL_KEY ? null : (T) key;
+	}
+
+	/**
+	 * Spread the bits of the hash code of a key, so that close hash codes
+	 * land in distant slots.
+	 *
+	 * @param  maskedKey
+	 *         The key, with null replaced by {@code NULL_KEY}.
+	 *
+	 * @return  The mixed hash.
+	 *
+	 * @since   1.2
+	 */
+	static int hash(Object maskedKey) {
+		int h = maskedKey.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
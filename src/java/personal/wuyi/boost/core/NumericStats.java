@@ -0,0 +1,298 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+import personal.wuyi.boost.entity.BoostStatCounter;
+
+/**
+ * The statistics and histograms of the primitive lists.
+ *
+ * <p>A large array is split into chunks, each chunk is accumulated by its
+ * own task into its own {@code BoostStatCounter} or its own bucket counts,
+ * and the partial results are merged in the order of the chunks. The loop
+ * over a chunk reads the primitive array directly, without boxing.
+ *
+ * <p>The histograms share the same buckets: each bucket includes its low
+ * end and excludes its high end, except the last one which includes both.
+ * The values out of the buckets, and {@code NaN}, are not counted.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class NumericStats {
+	private NumericStats() {}
+
+	/**
+	 * Compute the statistics of the first values of a primitive array.
+	 *
+	 * @param  array
+	 *         The {@code double[]}, {@code int[]} or {@code long[]} array.
+	 *
+	 * @param  size
+	 *         The number of values to read.
+	 *
+	 * @return  The statistics.
+	 *
+	 * @since   1.2
+	 */
+	static BoostStatCounter stats(final Object array, int size) {
+		int chunkCount = ParallelTasks.chunkCount(size);
+		if (chunkCount == 1) {
+			return statsOf(array, 0, size);
+		}
+
+		final BoostStatCounter[] counters = new BoostStatCounter[chunkCount];
+		List<RecursiveAction> tasks = new ArrayList<>(chunkCount);
+		for (int c = 0; c < chunkCount; c++) {
+			final int chunk = c;
+			final int from  = ParallelTasks.chunkStart(size, chunkCount, c);
+			final int to    = ParallelTasks.chunkStart(size, chunkCount, c + 1);
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					counters[chunk] = statsOf(array, from, to);
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+
+		for (int c = 1; c < chunkCount; c++) {
+			counters[0].merge(counters[c]);
+		}
+		return counters[0];
+	}
+
+	/**
+	 * Count the first values of a primitive array in each bucket.
+	 *
+	 * @param  array
+	 *         The {@code double[]}, {@code int[]} or {@code long[]} array.
+	 *
+	 * @param  size
+	 *         The number of values to read.
+	 *
+	 * @param  buckets
+	 *         The boundaries of the buckets, checked by
+	 *         {@link #checkBuckets(double[])}.
+	 *
+	 * @return  The number of values in each bucket.
+	 *
+	 * @since   1.2
+	 */
+	static long[] histogram(final Object array, int size, final double[] buckets) {
+		int chunkCount = ParallelTasks.chunkCount(size);
+		if (chunkCount == 1) {
+			return histogramOf(array, 0, size, buckets);
+		}
+
+		final long[][] counts = new long[chunkCount][];
+		List<RecursiveAction> tasks = new ArrayList<>(chunkCount);
+		for (int c = 0; c < chunkCount; c++) {
+			final int chunk = c;
+			final int from  = ParallelTasks.chunkStart(size, chunkCount, c);
+			final int to    = ParallelTasks.chunkStart(size, chunkCount, c + 1);
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					counts[chunk] = histogramOf(array, from, to, buckets);
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+
+		for (int c = 1; c < chunkCount; c++) {
+			addCounts(counts[0], counts[c]);
+		}
+		return counts[0];
+	}
+
+	/**
+	 * Check the boundaries of some buckets.
+	 *
+	 * @param  buckets
+	 *         The boundaries of the buckets.
+	 *
+	 * @return  {@code buckets}.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If there are less than 2 boundaries, or if they are not
+	 *          strictly increasing.
+	 *
+	 * @since   1.2
+	 */
+	static double[] checkBuckets(double[] buckets) {
+		if (buckets.length < 2) {
+			throw new IllegalArgumentException("buckets must have at least 2 boundaries");
+		}
+		for (int i = 1; i < buckets.length; i++) {
+			if (!(buckets[i - 1] < buckets[i])) {
+				throw new IllegalArgumentException("buckets must be strictly increasing");
+			}
+		}
+		return buckets;
+	}
+
+	/**
+	 * Build the boundaries of evenly spaced buckets between the smallest and
+	 * the largest values.
+	 *
+	 * @param  stats
+	 *         The statistics of the values.
+	 *
+	 * @param  bucketCount
+	 *         The number of buckets, at least 1.
+	 *
+	 * @return  The boundaries of the buckets, a single bucket if all the
+	 *          values are equal.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If {@code bucketCount} is less than 1.
+	 *
+	 * @throws  UnsupportedOperationException
+	 *          If there is no value, or if a value is infinite or
+	 *          {@code NaN}.
+	 *
+	 * @since   1.2
+	 */
+	static double[] evenBuckets(BoostStatCounter stats, int bucketCount) {
+		if (bucketCount < 1) {
+			throw new IllegalArgumentException("bucketCount must be at least 1");
+		}
+		if (stats.getCount() == 0) {
+			throw new UnsupportedOperationException("empty collection");
+		}
+		double min = stats.getMin();
+		double max = stats.getMax();
+		if (!Double.isFinite(min) || !Double.isFinite(max)) {
+			throw new UnsupportedOperationException("histogram of infinite or NaN values");
+		}
+		if (min == max) {
+			return new double[] {min, max};
+		}
+
+		double[] buckets   = new double[bucketCount + 1];
+		double   increment = (max - min) / bucketCount;
+		for (int i = 0; i < bucketCount; i++) {
+			buckets[i] = min + i * increment;
+		}
+		buckets[bucketCount] = max;
+		return buckets;
+	}
+
+	/**
+	 * Find the bucket of a value.
+	 *
+	 * @param  buckets
+	 *         The boundaries of the buckets.
+	 *
+	 * @param  value
+	 *         The value.
+	 *
+	 * @return  The index of the bucket, or -1 if the value is out of the
+	 *          buckets or {@code NaN}.
+	 *
+	 * @since   1.2
+	 */
+	static int bucketOf(double[] buckets, double value) {
+		int index = Arrays.binarySearch(buckets, value + 0.0);    // + 0.0 turns -0.0 into 0.0, which binarySearch sees as different
+		if (index >= 0) {
+			return index == buckets.length - 1 ? index - 1 : index;
+		}
+		int insertion = -index - 1;
+		return insertion == 0 || insertion == buckets.length ? -1 : insertion - 1;
+	}
+
+	/**
+	 * Add the bucket counts of a partition to other counts.
+	 *
+	 * @param  counts
+	 *         The counts receiving the sums.
+	 *
+	 * @param  other
+	 *         The counts to add.
+	 *
+	 * @return  {@code counts}.
+	 *
+	 * @since   1.2
+	 */
+	static long[] addCounts(long[] counts, long[] other) {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += other[i];
+		}
+		return counts;
+	}
+
+	private static BoostStatCounter statsOf(Object array, int from, int to) {
+		BoostStatCounter counter = new BoostStatCounter();
+		if (array instanceof double[]) {
+			double[] values = (double[]) array;
+			for (int i = from; i < to; i++) {
+				counter.add(values[i]);
+			}
+		} else if (array instanceof int[]) {
+			int[] values = (int[]) array;
+			for (int i = from; i < to; i++) {
+				counter.add(values[i]);
+			}
+		} else {
+			long[] values = (long[]) array;
+			for (int i = from; i < to; i++) {
+				counter.add(values[i]);
+			}
+		}
+		return counter;
+	}
+
+	private static long[] histogramOf(Object array, int from, int to, double[] buckets) {
+		long[] counts = new long[buckets.length - 1];
+		if (array instanceof double[]) {
+			double[] values = (double[]) array;
+			for (int i = from; i < to; i++) {
+				count(counts, buckets, values[i]);
+			}
+		} else if (array instanceof int[]) {
+			int[] values = (int[]) array;
+			for (int i = from; i < to; i++) {
+				count(counts, buckets, values[i]);
+			}
+		} else {
+			long[] values = (long[]) array;
+			for (int i = from; i < to; i++) {
+				count(counts, buckets, values[i]);
+			}
+		}
+		return counts;
+	}
+
+	private static void count(long[] counts, double[] buckets, double value) {
+		int bucket = bucketOf(buckets, value);
+		if (bucket >= 0) {
+			counts[bucket]++;
+		}
+	}
+}
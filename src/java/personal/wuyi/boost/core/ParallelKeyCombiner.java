@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function2;
+
+/**
+ * The parallel implementation of the combine-by-key operations of
+ * {@code BoostMap}.
+ *
+ * <p>The keys are hash-partitioned, and each partition is combined by its
+ * own task. A partition only writes its own slots of the result arrays, so
+ * no lock is needed. The combined values are then gathered into one
+ * {@code BoostMap}, either in the key order of the source or partition by
+ * partition.
+ *
+ * <p>A hot key would pin the thread of its partition while the other
+ * threads finish early. So the value list of a key holding more than a fair
+ * share of all the values is split into chunks, the chunks are combined by
+ * forked sub-tasks (which idle threads steal), and the chunk combiners are
+ * merged in order with {@code mergeCombiners}. The size of a value list is
+ * known without scanning it, so the hot keys are detected exactly, at no
+ * extra cost.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ * @param <C>
+ */
+final class ParallelKeyCombiner<K, V, C> {
+	/** Marker of the keys without any value */
+	private static final Object NO_VALUE = new Object();
+	
+	/** The minimum number of values of a key before it is split */
+	private static final int MIN_SPLIT_SIZE = 4096;
+	
+	private final BoostMultimap<K, V> source;
+	private final Function<V, C>      createCombiner;
+	private final Function2<C, V, C>  mergeValue;
+	private final Function2<C, C, C>  mergeCombiners;
+	private final int                 parallelism;
+	private final int                 splitSize;
+
+	/**
+	 * Construct a {@code ParallelKeyCombiner}.
+	 *
+	 * @param  source
+	 *         The {@code BoostMultimap} providing the values.
+	 *
+	 * @param  createCombiner
+	 *         The function turning the first value of a key into a combiner.
+	 *
+	 * @param  mergeValue
+	 *         The function folding one more value into a combiner.
+	 *
+	 * @param  mergeCombiners
+	 *         The function merging 2 combiners of the same key.
+	 *
+	 * @param  parallelism
+	 *         The number of partitions and worker threads.
+	 *
+	 * @since   1.2
+	 */
+	ParallelKeyCombiner(BoostMultimap<K, V> source, Function<V, C> createCombiner, Function2<C, V, C> mergeValue, 
+			Function2<C, C, C> mergeCombiners, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		this.source         = source;
+		this.createCombiner = createCombiner;
+		this.mergeValue     = mergeValue;
+		this.mergeCombiners = mergeCombiners;
+		this.parallelism    = parallelism;
+		this.splitSize      = Math.max(MIN_SPLIT_SIZE, source.size() / ParallelTasks.chunkCountFor(parallelism));
+	}
+
+	/**
+	 * Combine the values of each key in parallel.
+	 *
+	 * @param  keepOrder
+	 *         {@code true} to keep the key order of the source;
+	 *         {@code false} to gather the keys partition by partition.
+	 *
+	 * @return  The new {@code BoostMap} with one combiner for each key.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	BoostMap<K, C> combine(boolean keepOrder) {
+		final Object[] keys    = source.keySet().toArray();
+		final Object[] results = new Object[keys.length];
+		final int[][]  partitions = partition(keys);
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<RecursiveAction> tasks = new ArrayList<>(partitions.length);
+			for (final int[] partition : partitions) {
+				tasks.add(new RecursiveAction() {
+					private static final long serialVersionUID = 1L;
+
+					@Override
+					protected void compute() {
+						for (int index : partition) {
+							results[index] = combineKey((K) keys[index]);
+						}
+					}
+				});
+			}
+			ParallelTasks.invokeAll(pool, tasks);
+		} finally {
+			pool.shutdown();
+		}
+
+		BoostMap<K, C> newMap = new BoostMap<>();
+		if (keepOrder) {
+			for (int i = 0; i < keys.length; i++) {
+				if (results[i] != NO_VALUE) {
+					newMap.put((K) keys[i], (C) results[i]);
+				}
+			}
+		} else {
+			for (int[] partition : partitions) {
+				for (int index : partition) {
+					if (results[index] != NO_VALUE) {
+						newMap.put((K) keys[index], (C) results[index]);
+					}
+				}
+			}
+		}
+		return newMap;
+	}
+
+	/**
+	 * Combine the values of one key.
+	 *
+	 * <p>A hot key, with more than {@code splitSize} values, is split into 
+	 * chunks combined by sub-tasks.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The combiner, or {@code NO_VALUE} if the key has no value.
+	 *
+	 * @since   1.2
+	 */
+	private Object combineKey(K key) {
+		List<V> values = source.get(key);
+		if (values.isEmpty()) {
+			return NO_VALUE;
+		} else if (values.size() > splitSize) {
+			return new ChunkTask(values, 0, values.size()).invoke();
+		} else {
+			return combineRange(values, 0, values.size());
+		}
+	}
+
+	/**
+	 * Combine a range of the values of one key.
+	 *
+	 * @param  values
+	 *         The values of the key.
+	 *
+	 * @param  from
+	 *         The index of the first value (inclusive).
+	 *
+	 * @param  to
+	 *         The index of the last value (exclusive).
+	 *
+	 * @return  The combiner of the range.
+	 *
+	 * @since   1.2
+	 */
+	private C combineRange(List<V> values, int from, int to) {
+		C combiner = createCombiner.call(values.get(from));
+		for (int i = from + 1; i < to; i++) {
+			combiner = mergeValue.call(combiner, values.get(i));
+		}
+		return combiner;
+	}
+
+	/**
+	 * Hash-partition the indexes of the keys.
+	 *
+	 * @param  keys
+	 *         The keys.
+	 *
+	 * @return  The indexes of the keys of each partition, in key order.
+	 *
+	 * @since   1.2
+	 */
+	private int[][] partition(Object[] keys) {
+		int[] partitionOf = new int[keys.length];
+		int[] sizes = new int[parallelism];
+		for (int i = 0; i < keys.length; i++) {
+			partitionOf[i] = partitionOf(keys[i]);
+			sizes[partitionOf[i]]++;
+		}
+
+		int[][] partitions = new int[parallelism][];
+		for (int p = 0; p < parallelism; p++) {
+			partitions[p] = new int[sizes[p]];
+			sizes[p] = 0;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			int p = partitionOf[i];
+			partitions[p][sizes[p]++] = i;
+		}
+		return partitions;
+	}
+
+	/**
+	 * Return the partition of a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The partition, between 0 and {@code parallelism - 1}.
+	 *
+	 * @since   1.2
+	 */
+	private int partitionOf(Object key) {
+		if (key == null) {
+			return 0;
+		}
+		int h = key.hashCode();
+		return Math.floorMod(h ^ (h >>> 16), parallelism);
+	}
+
+	/**
+	 * The task combining a range of the values of a hot key, by splitting it 
+	 * in halves until the chunks are small enough.
+	 *
+	 * @since   1.2
+	 */
+	private class ChunkTask extends RecursiveTask<C> {
+		private static final long serialVersionUID = 1L;
+
+		private final List<V> values;
+		private final int     from;
+		private final int     to;
+
+		ChunkTask(List<V> values, int from, int to) {
+			this.values = values;
+			this.from   = from;
+			this.to     = to;
+		}
+
+		@Override
+		protected C compute() {
+			if (to - from <= splitSize) {
+				return combineRange(values, from, to);
+			}
+			int mid = (from + to) >>> 1;
+			ChunkTask right = new ChunkTask(values, mid, to);
+			right.fork();
+			C leftCombiner = new ChunkTask(values, from, mid).compute();
+			return mergeCombiners.call(leftCombiner, right.join());
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The shared tuning and plumbing of the fork/join operations: when an
+ * operation goes parallel, how many chunks it is split into, where each
+ * chunk starts, and how the chunk tasks are run.
+ *
+ * <p>The operations split their input into several chunks per thread, so
+ * that a thread finishing early steals the chunks of a slower one.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class ParallelTasks {
+	/** The minimum number of items before an operation runs in parallel */
+	static final int PARALLEL_THRESHOLD = 1 << 15;
+
+	/** The number of chunks each thread should get */
+	static final int CHUNKS_PER_THREAD = 4;
+
+	private ParallelTasks() {}
+
+	/**
+	 * Return the number of chunks to split a number of items into, for the
+	 * common {@code ForkJoinPool}.
+	 *
+	 * @param  size
+	 *         The number of items.
+	 *
+	 * @return  1 if the items should be processed by the calling thread:
+	 *          there are fewer than {@link #PARALLEL_THRESHOLD} of them, or
+	 *          the common pool has a single thread; otherwise
+	 *          {@link #CHUNKS_PER_THREAD} chunks for each thread.
+	 *
+	 * @since   1.2
+	 */
+	static int chunkCount(int size) {
+		int parallelism = ForkJoinPool.getCommonPoolParallelism();
+		if (size < PARALLEL_THRESHOLD || parallelism < 2) {
+			return 1;
+		}
+		return parallelism * CHUNKS_PER_THREAD;
+	}
+
+	/**
+	 * Return the number of chunks for the threads of a pool, whatever the
+	 * number of items.
+	 *
+	 * @param  parallelism
+	 *         The number of threads.
+	 *
+	 * @return  {@link #CHUNKS_PER_THREAD} chunks for each thread.
+	 *
+	 * @since   1.2
+	 */
+	static int chunkCountFor(int parallelism) {
+		return parallelism * CHUNKS_PER_THREAD;
+	}
+
+	/**
+	 * Return the index of the first item of a chunk, when a number of items
+	 * is split into chunks of (almost) the same size.
+	 *
+	 * @param  size
+	 *         The number of items.
+	 *
+	 * @param  chunkCount
+	 *         The number of chunks.
+	 *
+	 * @param  chunk
+	 *         The index of the chunk, or {@code chunkCount} for the end of
+	 *         the last chunk.
+	 *
+	 * @return  The index of the first item of the chunk.
+	 *
+	 * @since   1.2
+	 */
+	static int chunkStart(int size, int chunkCount, int chunk) {
+		return (int) ((long) size * chunk / chunkCount);
+	}
+
+	/**
+	 * Run several tasks on the common {@code ForkJoinPool}, and wait for all
+	 * of them.
+	 *
+	 * @param  tasks
+	 *         The tasks.
+	 *
+	 * @since   1.2
+	 */
+	static void invokeAll(List<? extends ForkJoinTask<?>> tasks) {
+		invokeAll(ForkJoinPool.commonPool(), tasks);
+	}
+
+	/**
+	 * Run several tasks on a pool, and wait for all of them.
+	 *
+	 * <p>The tasks are forked from a task of the pool, so they run on its
+	 * threads even when the caller is not one of them. The first exception
+	 * thrown by a task is rethrown.
+	 *
+	 * @param  pool
+	 *         The pool.
+	 *
+	 * @param  tasks
+	 *         The tasks.
+	 *
+	 * @since   1.2
+	 */
+	static void invokeAll(ForkJoinPool pool, final List<? extends ForkJoinTask<?>> tasks) {
+		pool.invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				ForkJoinTask.invokeAll(tasks);
+			}
+		});
+	}
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The directories of part files written by {@code saveAsTextFile} and
+ * {@code saveAsBinaryFile}.
+ *
+ * <p>The elements (or the keys of a map) are split into ranges, and each
+ * range is written to its own part file ({@code part-00000},
+ * {@code part-00001}, ...) by its own task. The part files follow the
+ * order of the elements, and a binary directory is read back by reading
+ * its part files in parallel.
+ *
+ * <p>A text part file holds one line per element ({@code toString()}), or
+ * per key-value pair ({@code key + '\t' + value}), in UTF-8. A binary part
+ * file starts with a magic number, followed by the values written by
+ * {@code BoostOutput.writeObject}, with the serializers registered in
+ * {@code BoostSerializers}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class PartFiles {
+	/** The first 4 bytes of a binary part file: "BOST" */
+	private static final int MAGIC = 0x424F5354;
+
+	/** The minimum number of elements worth a separate part file */
+	private static final int MIN_PART_SIZE = 1 << 14;
+
+	private static final String PART_PREFIX = "part-";
+
+	private PartFiles() {}
+
+	/**
+	 * Save a list into a new directory.
+	 *
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 *
+	 * @param  list
+	 *         The list.
+	 *
+	 * @param  binary
+	 *         {@code true} for binary part files, {@code false} for text.
+	 *
+	 * @param  compression
+	 *         The compression of the part files.
+	 *
+	 * @since   1.2
+	 */
+	static void saveList(String path, final List<?> list, final boolean binary, BoostCompression compression) {
+		save(path, list.size(), binary, compression, new RecordWriter() {
+			void write(PartWriter out, int index) throws IOException {
+				Object element = list.get(index);
+				if (binary) {
+					out.writeObject(element);
+				} else {
+					out.writeText(String.valueOf(element));
+					out.writeByte('\n');
+				}
+			}
+		});
+	}
+
+	/**
+	 * Save a multimap into a new directory.
+	 *
+	 * <p>The keys are split into ranges, so all the values of a key are in
+	 * the same part file.
+	 *
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 *
+	 * @param  store
+	 *         The store of the multimap.
+	 *
+	 * @param  binary
+	 *         {@code true} for binary part files, {@code false} for text.
+	 *
+	 * @param  compression
+	 *         The compression of the part files.
+	 *
+	 * @since   1.2
+	 */
+	static <K, V> void saveMultimap(String path, final MultimapStore<K, V> store, final boolean binary, BoostCompression compression) {
+		final Object[] keys = store.keySet().toArray();
+		save(path, keys.length, binary, compression, new RecordWriter() {
+			@SuppressWarnings("unchecked")
+			void write(PartWriter out, int index) throws IOException {
+				K       key    = (K) keys[index];
+				List<V> values = store.get(key);
+				if (values == null) {
+					return;                              // removed since the keys were listed
+				}
+				String keyText = binary ? null : String.valueOf(key);
+				for (int i = 0, n = values.size(); i < n; i++) {
+					if (binary) {
+						out.writeObject(key);
+						out.writeObject(values.get(i));
+					} else {
+						out.writeText(keyText);
+						out.writeByte('\t');
+						out.writeText(String.valueOf(values.get(i)));
+						out.writeByte('\n');
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Read the elements of a binary directory written by
+	 * {@link #saveList(String, List, boolean, BoostCompression)}.
+	 *
+	 * @param  path
+	 *         The path of the directory.
+	 *
+	 * @return  The new list of the elements, in order.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	static <E> BoostList<E> loadList(String path) {
+		BoostList<E> list = new BoostList<>();
+		for (List<Object> part : load(path)) {
+			list.addAll((List<E>) (List<?>) part);
+		}
+		return list;
+	}
+
+	/**
+	 * Read the key-value pairs of a binary directory written by
+	 * {@link #saveMultimap(String, MultimapStore, boolean, BoostCompression)}.
+	 *
+	 * @param  path
+	 *         The path of the directory.
+	 *
+	 * @return  The new map of the pairs.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	static <K, V> BoostMap<K, V> loadMap(String path) {
+		BoostMap<K, V> map = new BoostMap<>();
+		for (List<Object> part : load(path)) {
+			for (int i = 0; i < part.size(); i += 2) {
+				map.put((K) part.get(i), (V) part.get(i + 1));
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Write the records of several ranges to their part files in parallel.
+	 *
+	 * @param  path
+	 *         The path of the directory, which must not exist.
+	 *
+	 * @param  size
+	 *         The number of records.
+	 *
+	 * @param  binary
+	 *         {@code true} to start each part file with the magic number.
+	 *
+	 * @param  compression
+	 *         The compression of the part files.
+	 *
+	 * @param  writer
+	 *         The writer of each record.
+	 *
+	 * @throws  UncheckedIOException
+	 *          If the directory already exists or a file cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	private static void save(String path, final int size, final boolean binary, final BoostCompression compression, final RecordWriter writer) {
+		final Path directory = Paths.get(path);
+		try {
+			if (Files.exists(directory)) {
+				throw new FileAlreadyExistsException(path);
+			}
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		final int partCount = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), size / MIN_PART_SIZE));
+		final String extension = compression.extension();
+		List<RecursiveAction> tasks = new ArrayList<>(partCount);
+		for (int p = 0; p < partCount; p++) {
+			final int part = p;
+			final int from = ParallelTasks.chunkStart(size, partCount, p);
+			final int to   = ParallelTasks.chunkStart(size, partCount, p + 1);
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					Path file = directory.resolve(String.format("%s%05d%s", PART_PREFIX, part, extension));
+					try (PartWriter out = new PartWriter(file, compression)) {
+						if (binary) {
+							out.writeInt(MAGIC);
+						}
+						for (int i = from; i < to; i++) {
+							writer.write(out, i);
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+	}
+
+	/**
+	 * Read the values of all the binary part files of a directory in
+	 * parallel.
+	 *
+	 * @param  path
+	 *         The path of the directory.
+	 *
+	 * @return  The values of each part file, in the order of the part files.
+	 *
+	 * @throws  UncheckedIOException
+	 *          If a file cannot be read or is not a binary part file.
+	 *
+	 * @since   1.2
+	 */
+	private static List<List<Object>> load(String path) {
+		final List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(path), PART_PREFIX + "*")) {
+			for (Path file : stream) {
+				files.add(file);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		Collections.sort(files);
+
+		final List<List<Object>> parts = new ArrayList<>(Collections.<List<Object>>nCopies(files.size(), null));
+		List<RecursiveAction> tasks = new ArrayList<>(files.size());
+		for (int p = 0; p < files.size(); p++) {
+			final int part = p;
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					List<Object> values = new ArrayList<>();
+					try (PartReader in = new PartReader(files.get(part))) {
+						if (!in.hasMore() || in.readInt() != MAGIC) {
+							throw new IOException("not a binary part file: " + files.get(part));
+						}
+						while (in.hasMore()) {
+							values.add(in.readObject());
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					parts.set(part, values);
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+		return parts;
+	}
+
+	/**
+	 * The writer of the record at an index.
+	 */
+	private abstract static class RecordWriter {
+		abstract void write(PartWriter out, int index) throws IOException;
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import personal.wuyi.boost.serializer.BoostInput;
+
+/**
+ * The buffered reader of one part file written by a {@code PartWriter}.
+ *
+ * <p>The file is read by large blocks into a direct buffer, and decompressed
+ * on the way if its name says it is compressed. The values are read by the
+ * methods of {@code BoostInput}.
+ *
+ * <p>It is not thread-safe: each part file is read by one task.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class PartReader extends BoostInput implements Closeable {
+	private final ReadableByteChannel channel;
+
+	/**
+	 * Open a {@code PartReader} on a part file.
+	 *
+	 * @param  file
+	 *         The path of the file.
+	 *
+	 * @throws  IOException
+	 *          If the file cannot be opened.
+	 *
+	 * @since   1.2
+	 */
+	PartReader(Path file) throws IOException {
+		super(emptyBuffer());
+		FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+		BoostCompression compression = BoostCompression.of(file.getFileName().toString());
+		if (compression == BoostCompression.NONE) {
+			this.channel = fileChannel;
+		} else {
+			this.channel = Channels.newChannel(compression.decompress(Channels.newInputStream(fileChannel)));
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Read more bytes from the file until the buffer holds a number of
+	 * bytes.
+	 *
+	 * @param  count
+	 *         The number of bytes needed.
+	 *
+	 * @return  {@code true} if the buffer holds {@code count} bytes;
+	 *          {@code false} if the end of the file is reached before.
+	 *
+	 * @throws  IOException
+	 *          If the file cannot be read.
+	 *
+	 * @since   1.2
+	 */
+	@Override
+	protected boolean fill(int count) throws IOException {
+		buffer.compact();
+		try {
+			while (buffer.position() < count) {
+				if (channel.read(buffer) < 0) {
+					return false;
+				}
+			}
+			return true;
+		} finally {
+			buffer.flip();
+		}
+	}
+
+	private static ByteBuffer emptyBuffer() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(PartWriter.BUFFER_SIZE);
+		buffer.flip();
+		return buffer;
+	}
+}
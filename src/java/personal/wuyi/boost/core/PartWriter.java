@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import personal.wuyi.boost.serializer.BoostOutput;
+
+/**
+ * The buffered writer of one part file.
+ *
+ * <p>The bytes are gathered in a large buffer, which is written to the
+ * {@code FileChannel} of the file when it is full: a direct buffer for an
+ * uncompressed file, so that the channel writes it without any copy, or a
+ * heap buffer handed to the compression stream. The values are written by
+ * the methods of {@code BoostOutput}, and the strings are encoded to UTF-8
+ * straight into the buffer, without building any {@code byte[]}.
+ *
+ * <p>It is not thread-safe: each part file is written by one task.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class PartWriter extends BoostOutput implements Closeable {
+	/** The size of the buffer, which is written to the file when full */
+	static final int BUFFER_SIZE = 1 << 20;
+
+	private final FileChannel  channel;
+	private final OutputStream compressed;    // null for an uncompressed file
+	private long               flushed;       // the number of bytes handed to the file before the buffer
+
+	/**
+	 * Create a part file and open a {@code PartWriter} on it.
+	 *
+	 * @param  file
+	 *         The path of the new file.
+	 *
+	 * @param  compression
+	 *         The compression of the file.
+	 *
+	 * @throws  IOException
+	 *          If the file cannot be created.
+	 *
+	 * @since   1.2
+	 */
+	PartWriter(Path file, BoostCompression compression) throws IOException {
+		super(compression == BoostCompression.NONE ? ByteBuffer.allocateDirect(BUFFER_SIZE) : ByteBuffer.allocate(BUFFER_SIZE));
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		this.compressed = compression == BoostCompression.NONE ? null : compression.compress(Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * Write the remaining bytes and close the file.
+	 *
+	 * @throws  IOException
+	 *          If the file cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+			if (compressed != null) {
+				compressed.close();
+			}
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Return the number of bytes written so far, before compression.
+	 *
+	 * @return  The number of bytes.
+	 *
+	 * @since   1.2
+	 */
+	long position() {
+		return flushed + buffer.position();
+	}
+
+	@Override
+	protected void makeRoom(int count) throws IOException {
+		flush();
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		flushed += buffer.limit();
+		if (compressed == null) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} else {
+			compressed.write(buffer.array(), 0, buffer.limit());
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+/**
+ * A consumer of the elements flowing through a {@code BoostPipeline}.
+ *
+ * <p>The transformations of a pipeline are fused by chaining sinks: each
+ * step wraps the sink of the next step, so one element travels from the
+ * source to the action without any intermediate collection.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <T>
+ */
+abstract class PipelineSink<T> {
+	/**
+	 * Accept one element.
+	 *
+	 * @param  element
+	 *         The element pushed by the upstream step.
+	 *
+	 * @since   1.2
+	 */
+	abstract void accept(T element);
+
+	/**
+	 * Check whether this sink does not want any more elements.
+	 *
+	 * @return  {@code true} if the upstream can stop pushing elements;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	boolean cancellationRequested() {
+		return false;
+	}
+
+	/**
+	 * The sink of an intermediate step, which forwards the transformed
+	 * elements to the sink of the next step.
+	 *
+	 * @param <T>
+	 * @param <R>
+	 *
+	 * @since   1.2
+	 */
+	abstract static class Chained<T, R> extends PipelineSink<T> {
+		protected final PipelineSink<? super R> downstream;
+
+		Chained(PipelineSink<? super R> downstream) {
+			this.downstream = downstream;
+		}
+
+		@Override
+		boolean cancellationRequested() {
+			return downstream.cancellationRequested();
+		}
+	}
+
+	/**
+	 * The sink of an action, which accumulates the elements into a result.
+	 *
+	 * @param <T>
+	 * @param <R>
+	 *
+	 * @since   1.2
+	 */
+	abstract static class Terminal<T, R> extends PipelineSink<T> {
+		/**
+		 * Get the result accumulated by this sink.
+		 *
+		 * @return  The result.
+		 *
+		 * @since   1.2
+		 */
+		abstract R result();
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The provider of the elements of a {@code BoostPipeline}.
+ *
+ * <p>A source can be split into ordered partitions, so that a parallel
+ * pipeline runs each partition in its own task.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <T>
+ */
+abstract class PipelineSource<T> {
+	/** The minimum number of elements worth a separate partition */
+	static final int MIN_PARTITION_SIZE = 1024;
+	
+	/**
+	 * Push all the elements of this source into a sink, stopping early if
+	 * the sink requests cancellation.
+	 *
+	 * @param  sink
+	 *         The sink receiving the elements.
+	 *
+	 * @since   1.2
+	 */
+	abstract void forEach(PipelineSink<? super T> sink);
+
+	/**
+	 * Split this source into partitions which cover all the elements in
+	 * order.
+	 *
+	 * @param  desired
+	 *         The maximum number of partitions.
+	 *
+	 * @return  The partitions, at least one.
+	 *
+	 * @since   1.2
+	 */
+	abstract List<PipelineSource<T>> split(int desired);
+
+	/**
+	 * Create a source reading a list.
+	 *
+	 * <p>The size of the list is checked when the source is iterated or
+	 * split, so the elements added after the pipeline was built are
+	 * included.
+	 *
+	 * @param  list
+	 *         The list providing the elements.
+	 *
+	 * @return  The new source.
+	 *
+	 * @since   1.2
+	 */
+	static <T> PipelineSource<T> of(final List<T> list) {
+		return new PipelineSource<T>() {
+			void forEach(PipelineSink<? super T> sink) {
+				range(list, 0, list.size()).forEach(sink);
+			}
+
+			List<PipelineSource<T>> split(int desired) {
+				int size = list.size();
+				int count = Math.max(1, Math.min(desired, size / MIN_PARTITION_SIZE));
+				List<PipelineSource<T>> partitions = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					partitions.add(range(list, ParallelTasks.chunkStart(size, count, i), ParallelTasks.chunkStart(size, count, i + 1)));
+				}
+				return partitions;
+			}
+		};
+	}
+
+	/**
+	 * Create a source reading a range of a list.
+	 *
+	 * @param  list
+	 *         The list providing the elements.
+	 *
+	 * @param  from
+	 *         The index of the first element (inclusive).
+	 *
+	 * @param  to
+	 *         The index of the last element (exclusive).
+	 *
+	 * @return  The new source.
+	 *
+	 * @since   1.2
+	 */
+	static <T> PipelineSource<T> range(final List<T> list, final int from, final int to) {
+		return new PipelineSource<T>() {
+			void forEach(PipelineSink<? super T> sink) {
+				for (int i = from; i < to && !sink.cancellationRequested(); i++) {
+					sink.accept(list.get(i));
+				}
+			}
+
+			List<PipelineSource<T>> split(int desired) {
+				List<PipelineSource<T>> partitions = new ArrayList<>(1);
+				partitions.add(this);
+				return partitions;
+			}
+		};
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+
+/**
+ * A read-only view of a range of keys of a sorted store.
+ *
+ * <p>The range is a view of the navigable key set of the sorted store, so
+ * walking it only visits the keys in the range, and it follows the changes
+ * of the sorted store. The values are looked up in the sorted store.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class RangeMultimapStore<K, V> extends MultimapStore<K, V> {
+	private final MultimapStore<K, V> source;
+	private final NavigableSet<K>     keys;
+
+	/**
+	 * Construct a {@code RangeMultimapStore}.
+	 *
+	 * @param  source
+	 *         The sorted store.
+	 *
+	 * @param  keys
+	 *         The keys of the range, a view of the key set of the sorted
+	 *         store.
+	 *
+	 * @since   1.2
+	 */
+	RangeMultimapStore(MultimapStore<K, V> source, NavigableSet<K> keys) {
+		this.source   = source;
+		this.keys     = keys;
+		this.keyOrder = source.keyOrder;
+	}
+
+	/**
+	 * Return the sorted store behind this range.
+	 *
+	 * @return  The sorted store.
+	 *
+	 * @since   1.2
+	 */
+	MultimapStore<K, V> source() {
+		return source;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The values of the keys in the range are counted on each call, so
+	 * it takes a time proportional to the number of keys in the range.
+	 */
+	@Override
+	int size() {
+		int size = 0;
+		for (K key : keys) {
+			List<V> values = source.get(key);
+			if (values != null) {
+				size += values.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The keys in the range are walked until one with values is found,
+	 * so it usually stops at the first one.
+	 */
+	@Override
+	boolean isEmpty() {
+		for (K key : keys) {
+			List<V> values = source.get(key);
+			if (values != null && !values.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	List<V> get(Object key) {
+		if (!keys.contains(key)) {
+			return null;
+		}
+		List<V> values = source.get(key);
+		return values == null ? null : Collections.unmodifiableList(values);
+	}
+
+	@Override
+	boolean put(K key, V value) {
+		throw readOnly();
+	}
+
+	@Override
+	boolean remove(Object key, Object value) {
+		throw readOnly();
+	}
+
+	@Override
+	List<V> removeAll(Object key) {
+		throw readOnly();
+	}
+
+	@Override
+	boolean containsKey(Object key) {
+		return keys.contains(key);
+	}
+
+	@Override
+	boolean containsValue(Object value) {
+		for (K key : keys) {
+			List<V> values = source.get(key);
+			if (values != null && values.contains(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	boolean containsEntry(Object key, Object value) {
+		return keys.contains(key) && source.containsEntry(key, value);
+	}
+
+	@Override
+	NavigableSet<K> keySet() {
+		return keys;
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		final Iterator<Entry<K, List<V>>> groupIterator = keyGroupIterator();
+		return new Iterator<Entry<K, V>>() {
+			private K           key;
+			private Iterator<V> valueIterator = Collections.<V>emptyList().iterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!valueIterator.hasNext()) {
+					if (!groupIterator.hasNext()) {
+						return false;
+					}
+					Entry<K, List<V>> group = groupIterator.next();
+					key           = group.getKey();
+					valueIterator = group.getValue().iterator();
+				}
+				return true;
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return new BoostEntry<>(key, valueIterator.next());
+			}
+		};
+	}
+
+	@Override
+	void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		for (K key : keys) {
+			List<V> values = source.get(key);
+			if (values != null) {
+				for (int i = 0, n = values.size(); i < n; i++) {
+					f.call(key, values.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Do nothing when the keys are already in that order.
+	 *
+	 * @param  comparator
+	 *         The order of the keys.
+	 *
+	 * @throws  UnsupportedOperationException
+	 *          If the order is not the order of the sorted store.
+	 */
+	@Override
+	void sortByKey(Comparator<? super K> comparator) {
+		if (!comparator.equals(keyOrder)) {
+			throw new UnsupportedOperationException("a sorted multimap keeps the order of its comparator");
+		}
+	}
+
+	private static UnsupportedOperationException readOnly() {
+		return new UnsupportedOperationException("a range of a sorted multimap cannot be modified");
+	}
+}
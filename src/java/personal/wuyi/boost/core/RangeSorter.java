@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A parallel sort by range partitioning.
+ *
+ * <p>A sample of the items is sorted to pick the boundaries of several
+ * ranges. Then the items are counted and moved into their range by several
+ * threads, and the ranges are sorted by several threads too. The ranges
+ * follow each other, so the sorted ranges are the sorted array, without
+ * any merge.
+ *
+ * <p>The sort is stable, and small arrays are sorted by the calling thread.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class RangeSorter {
+	/** The number of sampled items for each range boundary */
+	private static final int SAMPLES_PER_RANGE = 32;
+
+	private RangeSorter() {}
+
+	/**
+	 * Sort an array.
+	 *
+	 * @param  items
+	 *         The items to sort.
+	 *
+	 * @param  comparator
+	 *         The order of the items.
+	 *
+	 * @return  The sorted items: {@code items} itself when it was sorted in
+	 *          place, or a new array.
+	 *
+	 * @since   1.2
+	 */
+	static <T> T[] sort(final T[] items, final Comparator<? super T> comparator) {
+		final int n = items.length;
+		final int rangeCount = ParallelTasks.chunkCount(n);            // one range per chunk
+		if (rangeCount == 1) {
+			Arrays.sort(items, comparator);
+			return items;
+		}
+
+		// pick the boundaries of the ranges from a sorted sample
+		Object[] sample = new Object[rangeCount * SAMPLES_PER_RANGE];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < sample.length; i++) {
+			sample[i] = items[random.nextInt(n)];
+		}
+		@SuppressWarnings("unchecked")
+		Comparator<Object> sampleComparator = (Comparator<Object>) comparator;
+		Arrays.sort(sample, sampleComparator);
+		final Object[] boundaries = new Object[rangeCount - 1];
+		for (int r = 0; r < boundaries.length; r++) {
+			boundaries[r] = sample[(r + 1) * SAMPLES_PER_RANGE];
+		}
+
+		// find the range of each item, and count the items of each range in each chunk
+		final int     chunkCount = rangeCount;
+		final int[]   rangeOf    = new int[n];
+		final int[][] counts     = new int[chunkCount][rangeCount];
+		List<RecursiveAction> tasks = new ArrayList<>(chunkCount);
+		for (int c = 0; c < chunkCount; c++) {
+			final int   from  = ParallelTasks.chunkStart(n, chunkCount, c);
+			final int   to    = ParallelTasks.chunkStart(n, chunkCount, c + 1);
+			final int[] count = counts[c];
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					for (int i = from; i < to; i++) {
+						int range = findRange(items[i], boundaries, sampleComparator);
+						rangeOf[i] = range;
+						count[range]++;
+					}
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+
+		// the first position of each range in each chunk, so that the chunks keep their order in a range
+		final int[] rangeStarts = new int[rangeCount + 1];
+		int position = 0;
+		for (int r = 0; r < rangeCount; r++) {
+			rangeStarts[r] = position;
+			for (int c = 0; c < chunkCount; c++) {
+				int count = counts[c][r];
+				counts[c][r] = position;
+				position += count;
+			}
+		}
+		rangeStarts[rangeCount] = n;
+
+		@SuppressWarnings("unchecked")
+		final T[] sorted = (T[]) Array.newInstance(items.getClass().getComponentType(), n);
+		tasks.clear();
+		for (int c = 0; c < chunkCount; c++) {
+			final int   from      = ParallelTasks.chunkStart(n, chunkCount, c);
+			final int   to        = ParallelTasks.chunkStart(n, chunkCount, c + 1);
+			final int[] positions = counts[c];
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					for (int i = from; i < to; i++) {
+						sorted[positions[rangeOf[i]]++] = items[i];
+					}
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+
+		tasks.clear();
+		for (int r = 0; r < rangeCount; r++) {
+			final int from = rangeStarts[r];
+			final int to   = rangeStarts[r + 1];
+			tasks.add(new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					Arrays.sort(sorted, from, to, comparator);
+				}
+			});
+		}
+		ParallelTasks.invokeAll(tasks);
+		return sorted;
+	}
+
+	/**
+	 * Return the range of an item: the number of boundaries which are not
+	 * greater than the item.
+	 *
+	 * @param  item
+	 *         The item.
+	 *
+	 * @param  boundaries
+	 *         The sorted boundaries of the ranges.
+	 *
+	 * @param  comparator
+	 *         The order of the items.
+	 *
+	 * @return  The index of the range.
+	 *
+	 * @since   1.2
+	 */
+	private static int findRange(Object item, Object[] boundaries, Comparator<Object> comparator) {
+		int low  = 0;
+		int high = boundaries.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (comparator.compare(boundaries[middle], item) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
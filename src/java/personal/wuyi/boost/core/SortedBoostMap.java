@@ -0,0 +1,358 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+
+/**
+ * A {@code BoostMap} which keeps its keys sorted as they are added, for
+ * range queries like on time-series keys.
+ *
+ * <p>The keys are stored in a {@code TreeMap}, or in a
+ * {@code ConcurrentSkipListMap} for a concurrent map, which several threads
+ * can feed at the same time like a {@code ConcurrentBoostMap}. The
+ * navigation methods ({@code ceilingKey}, {@code floorKey}, ...) and the
+ * range views ({@code subMap}, {@code headMap}, {@code tailMap}) only visit
+ * the keys they need, without any scan or sort of the whole map.
+ *
+ * <p>The range views are read-only and follow the changes of this map, so
+ * they do not keep their size: {@code size()} of a view walks all the keys
+ * of the range, while {@code isEmpty()} stops at the first one. The map is
+ * always sorted in the order of its comparator, so it joins other
+ * maps in the same order by merging the keys. {@code sortByKey} is only
+ * supported for that order, and null keys are not allowed.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class SortedBoostMap<K, V> extends BoostMap<K, V> {
+	/** The sorted keys, a view of the keys of the store */
+	private final NavigableSet<K> keys;
+
+	/**
+	 * Construct a {@code SortedBoostMap} in the natural order of the keys.
+	 */
+	public SortedBoostMap() {
+		this(null, false);
+	}
+
+	/**
+	 * Construct a {@code SortedBoostMap}.
+	 *
+	 * @param  comparator
+	 *         The order of the keys, or {@code null} for their natural
+	 *         order.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap(Comparator<? super K> comparator) {
+		this(comparator, false);
+	}
+
+	/**
+	 * Construct a {@code SortedBoostMap}, which may be thread-safe.
+	 *
+	 * @param  comparator
+	 *         The order of the keys, or {@code null} for their natural
+	 *         order.
+	 *
+	 * @param  concurrent
+	 *         {@code true} to build a thread-safe map on a
+	 *         {@code ConcurrentSkipListMap}.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap(Comparator<? super K> comparator, boolean concurrent) {
+		this(newStore(comparator != null ? comparator : MultimapStore.<K>naturalOrder(), concurrent));
+	}
+
+	/**
+	 * Construct a {@code SortedBoostMap} on a sorted store or on a range of
+	 * it.
+	 *
+	 * @param  store
+	 *         The store, whose key set is a {@code NavigableSet}.
+	 *
+	 * @since   1.2
+	 */
+	private SortedBoostMap(MultimapStore<K, V> store) {
+		super(store);
+		this.keys = (NavigableSet<K>) store.keySet();
+	}
+
+	private static <K, V> MultimapStore<K, V> newStore(Comparator<? super K> comparator, boolean concurrent) {
+		if (concurrent) {
+			return new ConcurrentMultimapStore<>(comparator);
+		}
+		return new SortedMultimapStore<>(comparator);
+	}
+
+	/**
+	 * Return the order of the keys.
+	 *
+	 * @return  The comparator of the keys, or {@code null} if the keys are
+	 *          in their natural order, like {@code SortedMap.comparator()}.
+	 *
+	 * @since   1.2
+	 */
+	public Comparator<? super K> comparator() {
+		Comparator<? super K> comparator = store().keyOrder;
+		return comparator.equals(MultimapStore.<K>naturalOrder()) ? null : comparator;
+	}
+
+	/**
+	 * Check whether this map is thread-safe, or is a view of a thread-safe
+	 * map.
+	 *
+	 * @return  {@code true} if the map is built on a
+	 *          {@code ConcurrentSkipListMap};
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	public boolean isConcurrent() {
+		MultimapStore<K, V> source = store();
+		if (source instanceof RangeMultimapStore) {
+			source = ((RangeMultimapStore<K, V>) source).source();
+		}
+		return source instanceof ConcurrentMultimapStore;
+	}
+
+	/**
+	 * Returns a view of all distinct keys, in order.
+	 *
+	 * @return  The navigable set of the keys, which cannot be modified.
+	 *
+	 * @since   1.2
+	 */
+	@Override
+	public NavigableSet<K> keySet() {
+		return keys;
+	}
+
+	/**
+	 * Return the lowest key.
+	 *
+	 * @return  The lowest key.
+	 *
+	 * @throws  java.util.NoSuchElementException
+	 *          If this map is empty.
+	 *
+	 * @since   1.2
+	 */
+	public K firstKey() {
+		return keys.first();
+	}
+
+	/**
+	 * Return the highest key.
+	 *
+	 * @return  The highest key.
+	 *
+	 * @throws  java.util.NoSuchElementException
+	 *          If this map is empty.
+	 *
+	 * @since   1.2
+	 */
+	public K lastKey() {
+		return keys.last();
+	}
+
+	/**
+	 * Return the greatest key strictly less than a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The greatest lower key, or {@code null} if there is none.
+	 *
+	 * @since   1.2
+	 */
+	public K lowerKey(K key) {
+		return keys.lower(key);
+	}
+
+	/**
+	 * Return the greatest key less than or equal to a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The greatest key not greater than {@code key}, or
+	 *          {@code null} if there is none.
+	 *
+	 * @since   1.2
+	 */
+	public K floorKey(K key) {
+		return keys.floor(key);
+	}
+
+	/**
+	 * Return the least key greater than or equal to a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The least key not less than {@code key}, or {@code null} if
+	 *          there is none.
+	 *
+	 * @since   1.2
+	 */
+	public K ceilingKey(K key) {
+		return keys.ceiling(key);
+	}
+
+	/**
+	 * Return the least key strictly greater than a key.
+	 *
+	 * @param  key
+	 *         The key.
+	 *
+	 * @return  The least higher key, or {@code null} if there is none.
+	 *
+	 * @since   1.2
+	 */
+	public K higherKey(K key) {
+		return keys.higher(key);
+	}
+
+	/**
+	 * Return a read-only view of the keys from {@code fromKey} to
+	 * {@code toKey}, with their values.
+	 *
+	 * @param  fromKey
+	 *         The low end of the range.
+	 *
+	 * @param  fromInclusive
+	 *         {@code true} to include {@code fromKey}.
+	 *
+	 * @param  toKey
+	 *         The high end of the range.
+	 *
+	 * @param  toInclusive
+	 *         {@code true} to include {@code toKey}.
+	 *
+	 * @return  The view of the range.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If {@code fromKey} is after {@code toKey}, or out of the
+	 *          range of this view.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		return range(keys.subSet(fromKey, fromInclusive, toKey, toInclusive));
+	}
+
+	/**
+	 * Return a read-only view of the keys from {@code fromKey}, inclusive,
+	 * to {@code toKey}, exclusive, with their values.
+	 *
+	 * @param  fromKey
+	 *         The low end of the range, inclusive.
+	 *
+	 * @param  toKey
+	 *         The high end of the range, exclusive.
+	 *
+	 * @return  The view of the range.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap<K, V> subMap(K fromKey, K toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	/**
+	 * Return a read-only view of the keys before {@code toKey}, with their
+	 * values.
+	 *
+	 * @param  toKey
+	 *         The high end of the range.
+	 *
+	 * @param  inclusive
+	 *         {@code true} to include {@code toKey}.
+	 *
+	 * @return  The view of the range.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap<K, V> headMap(K toKey, boolean inclusive) {
+		return range(keys.headSet(toKey, inclusive));
+	}
+
+	/**
+	 * Return a read-only view of the keys strictly before {@code toKey},
+	 * with their values.
+	 *
+	 * @param  toKey
+	 *         The high end of the range, exclusive.
+	 *
+	 * @return  The view of the range.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap<K, V> headMap(K toKey) {
+		return headMap(toKey, false);
+	}
+
+	/**
+	 * Return a read-only view of the keys after {@code fromKey}, with their
+	 * values.
+	 *
+	 * @param  fromKey
+	 *         The low end of the range.
+	 *
+	 * @param  inclusive
+	 *         {@code true} to include {@code fromKey}.
+	 *
+	 * @return  The view of the range.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap<K, V> tailMap(K fromKey, boolean inclusive) {
+		return range(keys.tailSet(fromKey, inclusive));
+	}
+
+	/**
+	 * Return a read-only view of the keys from {@code fromKey}, inclusive,
+	 * with their values.
+	 *
+	 * @param  fromKey
+	 *         The low end of the range, inclusive.
+	 *
+	 * @return  The view of the range.
+	 *
+	 * @since   1.2
+	 */
+	public SortedBoostMap<K, V> tailMap(K fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+	private SortedBoostMap<K, V> range(NavigableSet<K> rangeKeys) {
+		MultimapStore<K, V> source = store();
+		if (source instanceof RangeMultimapStore) {
+			source = ((RangeMultimapStore<K, V>) source).source();
+		}
+		return new SortedBoostMap<>(new RangeMultimapStore<>(source, rangeKeys));
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+
+import personal.wuyi.boost.api.VoidFunction2;
+import personal.wuyi.boost.entity.BoostEntry;
+
+/**
+ * A sorted store of a {@code BoostMultimap}: a {@code TreeMap} from each key
+ * to the list of its values.
+ *
+ * <p>The keys are kept in the order of a comparator as they are added, so
+ * {@code keyOrder} is always set, and {@code keySet} is a
+ * {@code NavigableSet} for the range queries. Null keys are not supported.
+ *
+ * <p>It is not thread-safe.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <K>
+ * @param <V>
+ */
+final class SortedMultimapStore<K, V> extends MultimapStore<K, V> {
+	private final NavigableMap<K, List<V>> map;
+
+	/** The number of key-value pairs in this store */
+	private int totalSize;
+
+	/**
+	 * Construct a {@code SortedMultimapStore}.
+	 *
+	 * @param  comparator
+	 *         The order of the keys.
+	 *
+	 * @since   1.2
+	 */
+	SortedMultimapStore(Comparator<? super K> comparator) {
+		this.map      = new TreeMap<>(comparator);
+		this.keyOrder = comparator;
+	}
+
+	@Override
+	int size() {
+		return totalSize;
+	}
+
+	@Override
+	List<V> get(Object key) {
+		return map.get(key);
+	}
+
+	@Override
+	boolean put(K key, V value) {
+		List<V> values = map.get(key);
+		if (values == null) {
+			values = new ArrayList<>();
+			map.put(key, values);
+		}
+		values.add(value);
+		totalSize++;
+		return true;
+	}
+
+	@Override
+	boolean remove(Object key, Object value) {
+		List<V> values = map.get(key);
+		boolean result = values != null && values.remove(value);
+		if (result) {
+			totalSize--;
+			if (values.isEmpty()) {
+				map.remove(key);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	List<V> removeAll(Object key) {
+		List<V> values = map.remove(key);
+		if (values == null) {
+			return null;
+		}
+		totalSize -= values.size();
+		return values;
+	}
+
+	@Override
+	boolean containsKey(Object key) {
+		return map.containsKey(key);
+	}
+
+	@Override
+	boolean containsValue(Object value) {
+		for (List<V> values : map.values()) {
+			if (values.contains(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	boolean containsEntry(Object key, Object value) {
+		List<V> values = map.get(key);
+		return values != null && values.contains(value);
+	}
+
+	@Override
+	NavigableSet<K> keySet() {
+		return Collections.unmodifiableNavigableSet(map.navigableKeySet());
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		return new Iterator<Entry<K, V>>() {
+			private final Iterator<Map.Entry<K, List<V>>> keyIterator = map.entrySet().iterator();
+
+			private K           key;
+			private List<V>     values;
+			private Iterator<V> valueIterator = Collections.<V>emptyList().iterator();
+
+			@Override
+			public boolean hasNext() {
+				return keyIterator.hasNext() || valueIterator.hasNext();
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				while (!valueIterator.hasNext()) {
+					Map.Entry<K, List<V>> mapEntry = keyIterator.next();
+					key           = mapEntry.getKey();
+					values        = mapEntry.getValue();
+					valueIterator = values.iterator();
+				}
+				return new BoostEntry<>(key, valueIterator.next());
+			}
+
+			@Override
+			public void remove() {
+				valueIterator.remove();
+				if (values.isEmpty()) {
+					keyIterator.remove();
+				}
+				totalSize--;
+			}
+		};
+	}
+
+	@Override
+	Iterator<Entry<K, List<V>>> keyGroupIterator() {
+		return map.entrySet().iterator();
+	}
+
+	@Override
+	void forEachEntry(VoidFunction2<? super K, ? super V> f) {
+		for (Map.Entry<K, List<V>> mapEntry : map.entrySet()) {
+			K       key    = mapEntry.getKey();
+			List<V> values = mapEntry.getValue();
+			for (int i = 0, n = values.size(); i < n; i++) {
+				f.call(key, values.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Do nothing when the keys are already in that order.
+	 *
+	 * @param  comparator
+	 *         The order of the keys.
+	 *
+	 * @throws  UnsupportedOperationException
+	 *          If the order is not the order of this store.
+	 */
+	@Override
+	void sortByKey(Comparator<? super K> comparator) {
+		if (!comparator.equals(keyOrder)) {
+			throw new UnsupportedOperationException("a sorted multimap keeps the order of its comparator");
+		}
+	}
+}
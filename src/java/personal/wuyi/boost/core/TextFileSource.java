@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A source reading the lines of a UTF-8 text file.
+ *
+ * <p>The file is memory-mapped by windows of at most 1 GB, and the lines
+ * are decoded one by one and pushed into the sink, so the file is never
+ * loaded as a whole. The source is split into byte ranges which start at
+ * the beginning of a line: a newline byte never occurs inside a multi-byte
+ * UTF-8 character, so each range is decoded on its own.
+ *
+ * <p>The lines are terminated by {@code "\n"} or {@code "\r\n"}, which are
+ * not part of the lines, like {@code BufferedReader.readLine}. The file is
+ * opened when the source is iterated or split, and an
+ * {@code IOException} is thrown as an {@code UncheckedIOException}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+final class TextFileSource extends PipelineSource<String> {
+	/** The largest part of the file which is mapped at once */
+	private static final long MAX_WINDOW_SIZE = 1L << 30;
+
+	/** The minimum number of bytes worth a separate partition */
+	static final long MIN_SPLIT_SIZE = 1L << 16;
+
+	private static final int PROBE_SIZE = 8192;
+
+	private final Path path;
+	private final long from;
+	private final long to;        // -1 for the end of the file
+
+	/**
+	 * Construct a {@code TextFileSource} reading a whole file.
+	 *
+	 * @param  path
+	 *         The path of the file.
+	 *
+	 * @since   1.2
+	 */
+	TextFileSource(Path path) {
+		this(path, 0, -1);
+	}
+
+	/**
+	 * Construct a {@code TextFileSource} reading a range of a file.
+	 *
+	 * @param  path
+	 *         The path of the file.
+	 *
+	 * @param  from
+	 *         The position of the first byte of the range (inclusive), at the
+	 *         beginning of a line.
+	 *
+	 * @param  to
+	 *         The position of the last byte of the range (exclusive), or -1
+	 *         for the end of the file.
+	 *
+	 * @since   1.2
+	 */
+	private TextFileSource(Path path, long from, long to) {
+		this.path = path;
+		this.from = from;
+		this.to   = to;
+	}
+
+	@Override
+	void forEach(PipelineSink<? super String> sink) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long end      = to < 0 ? channel.size() : to;
+			long position = from;
+			byte[] line   = new byte[128];
+			int    length = 0;
+			while (position < end) {
+				int window = (int) Math.min(MAX_WINDOW_SIZE, end - position);
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+				int start = 0;
+				for (int i = 0; i < window; i++) {
+					if (buffer.get(i) == '\n') {
+						line   = append(line, length, buffer, start, i);
+						length += i - start;
+						sink.accept(decode(line, length));
+						if (sink.cancellationRequested()) {
+							return;
+						}
+						length = 0;
+						start  = i + 1;
+					}
+				}
+
+				// the end of the window is the beginning of a line which continues in the next window
+				line   = append(line, length, buffer, start, window);
+				length += window - start;
+				position += window;
+			}
+			if (length > 0) {
+				sink.accept(decode(line, length));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	List<PipelineSource<String>> split(int desired) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long end   = to < 0 ? channel.size() : to;
+			long size  = end - from;
+			int  count = (int) Math.max(1, Math.min(desired, size / MIN_SPLIT_SIZE));
+			List<PipelineSource<String>> partitions = new ArrayList<>(count);
+			long start = from;
+			for (int i = 1; i <= count && start < end; i++) {
+				long next = i == count ? end : nextLineStart(channel, from + size * i / count, end);
+				if (next > start) {
+					partitions.add(new TextFileSource(path, start, next));
+					start = next;
+				}
+			}
+			if (partitions.isEmpty()) {
+				partitions.add(this);
+			}
+			return partitions;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Find the beginning of the first line starting at or after a position.
+	 *
+	 * @param  channel
+	 *         The channel of the file.
+	 *
+	 * @param  position
+	 *         The position.
+	 *
+	 * @param  end
+	 *         The end of the range.
+	 *
+	 * @return  The position of the byte after the first newline at or after
+	 *          {@code position - 1}, or {@code end} if there is none.
+	 *
+	 * @throws  IOException
+	 *          If the file cannot be read.
+	 *
+	 * @since   1.2
+	 */
+	private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+		ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+		long offset = Math.max(0, position - 1);      // a line starts at position when the previous byte is a newline
+		while (offset < end) {
+			probe.clear();
+			int read = channel.read(probe, offset);
+			if (read < 0) {
+				break;
+			}
+			for (int i = 0; i < read && offset + i < end; i++) {
+				if (probe.get(i) == '\n') {
+					return offset + i + 1;
+				}
+			}
+			offset += read;
+		}
+		return end;
+	}
+
+	/**
+	 * Append a part of a mapped window to a line.
+	 *
+	 * @return  The line, grown if needed.
+	 */
+	private static byte[] append(byte[] line, int length, MappedByteBuffer buffer, int from, int to) {
+		int count = to - from;
+		if (count == 0) {
+			return line;
+		}
+		if (length + count > line.length) {
+			line = Arrays.copyOf(line, Math.max(length + count, line.length * 2));
+		}
+		ByteBuffer part = buffer.duplicate();
+		part.position(from);
+		part.get(line, length, count);
+		return line;
+	}
+
+	private static String decode(byte[] line, int length) {
+		if (length > 0 && line[length - 1] == '\r') {
+			length--;
+		}
+		return new String(line, 0, length, StandardCharsets.UTF_8);
+	}
+}
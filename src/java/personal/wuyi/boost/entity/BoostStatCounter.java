@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.entity;
+
+/**
+ * JavaRDD style accumulator of the count, mean, variance, minimum and
+ * maximum of numeric values, computed in one pass.
+ *
+ * <p>The mean and the sum of squared differences from the mean are updated
+ * with Welford's method, which does not lose precision like the sum of
+ * squares does when the values are large and close to each other. Two
+ * counters filled from different partitions are merged with the parallel
+ * form of the same method (Chan et al.), so the partitions can be
+ * accumulated in parallel.
+ *
+ * <p>The sum is kept apart with compensated (Kahan-Babuska) summation
+ * rather than taken from the mean, so the sum of integer values is exact
+ * as long as it fits in the 53 bits of a {@code double}.
+ *
+ * <p>It is not thread-safe.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostStatCounter {
+	private long   count;
+	private double mean;
+	private double m2;                                  // the sum of squared differences from the mean
+	private double sum;
+	private double sumError;                            // the low-order bits lost by sum, added back by getSum
+	private double simpleSum;                           // the uncompensated sum, for the infinite sums
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Add a value.
+	 *
+	 * @param  value
+	 *         The value.
+	 *
+	 * @return  This counter.
+	 *
+	 * @since   1.2
+	 */
+	public BoostStatCounter add(double value) {
+		double delta = value - mean;
+		count++;
+		mean += delta / count;
+		m2   += delta * (value - mean);
+		addToSum(value);
+		simpleSum += value;
+		min   = Math.min(min, value);
+		max   = Math.max(max, value);
+		return this;
+	}
+
+	/**
+	 * Merge the values of another counter into this one.
+	 *
+	 * @param  other
+	 *         The other counter, which is not changed.
+	 *
+	 * @return  This counter.
+	 *
+	 * @since   1.2
+	 */
+	public BoostStatCounter merge(BoostStatCounter other) {
+		if (other.count == 0) {
+			return this;
+		}
+		if (count == 0) {
+			count     = other.count;
+			mean      = other.mean;
+			m2        = other.m2;
+			sum       = other.sum;
+			sumError  = other.sumError;
+			simpleSum = other.simpleSum;
+			min       = other.min;
+			max       = other.max;
+			return this;
+		}
+
+		long   total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;            // moving the mean by the difference keeps the precision of large means
+		m2   += other.m2 + delta * delta * count / total * other.count;
+		addToSum(other.sum);
+		sumError  += other.sumError;
+		simpleSum += other.simpleSum;
+		count = total;
+		min   = Math.min(min, other.min);
+		max   = Math.max(max, other.max);
+		return this;
+	}
+
+	/**
+	 * Return the number of values.
+	 *
+	 * @return  The number of values.
+	 *
+	 * @since   1.2
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Return the mean of the values.
+	 *
+	 * @return  The mean, or {@code NaN} if there is no value.
+	 *
+	 * @since   1.2
+	 */
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/**
+	 * Return the sum of the values.
+	 *
+	 * @return  The sum, {@code 0} if there is no value.
+	 *
+	 * @since   1.2
+	 */
+	public double getSum() {
+		double total = sum + sumError;
+		if (Double.isNaN(total) && Double.isInfinite(simpleSum)) {
+			return simpleSum;                           // the compensation of infinite values is NaN
+		}
+		return total;
+	}
+
+	/**
+	 * Return the smallest value.
+	 *
+	 * @return  The smallest value, or {@code NaN} if there is no value.
+	 *
+	 * @since   1.2
+	 */
+	public double getMin() {
+		return count == 0 ? Double.NaN : min;
+	}
+
+	/**
+	 * Return the largest value.
+	 *
+	 * @return  The largest value, or {@code NaN} if there is no value.
+	 *
+	 * @since   1.2
+	 */
+	public double getMax() {
+		return count == 0 ? Double.NaN : max;
+	}
+
+	/**
+	 * Return the population variance of the values.
+	 *
+	 * @return  The variance, or {@code NaN} if there is no value.
+	 *
+	 * @since   1.2
+	 */
+	public double getVariance() {
+		return count == 0 ? Double.NaN : m2 / count;
+	}
+
+	/**
+	 * Return the sample variance of the values, which divides by
+	 * {@code count - 1} instead of {@code count}.
+	 *
+	 * @return  The sample variance, or {@code NaN} if there are less than 2
+	 *          values.
+	 *
+	 * @since   1.2
+	 */
+	public double getSampleVariance() {
+		return count <= 1 ? Double.NaN : m2 / (count - 1);
+	}
+
+	/**
+	 * Return the population standard deviation of the values.
+	 *
+	 * @return  The standard deviation, or {@code NaN} if there is no value.
+	 *
+	 * @since   1.2
+	 */
+	public double getStdev() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * Return the sample standard deviation of the values.
+	 *
+	 * @return  The sample standard deviation, or {@code NaN} if there are
+	 *          less than 2 values.
+	 *
+	 * @since   1.2
+	 */
+	public double getSampleStdev() {
+		return Math.sqrt(getSampleVariance());
+	}
+
+	@Override
+	public String toString() {
+		return "(count: " + count + ", mean: " + getMean() + ", stdev: " + getStdev() + ", max: " + getMax() + ", min: " + getMin() + ")";
+	}
+
+	/**
+	 * Add a value to the sum, keeping the low-order bits lost by the
+	 * addition in {@code sumError} (Neumaier's variant of the Kahan
+	 * summation, which also holds when the value is larger than the sum).
+	 *
+	 * @param  value
+	 *         The value.
+	 *
+	 * @since   1.2
+	 */
+	private void addToSum(double value) {
+		double newSum = sum + value;
+		if (Math.abs(sum) >= Math.abs(value)) {
+			sumError += (sum - newSum) + value;
+		} else {
+			sumError += (value - newSum) + sum;
+		}
+		sum = newSum;
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package personal.wuyi.boost.serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@code BoostInput} reading from memory: an array of bytes, like the
+ * one of {@link BoostBufferOutput#toByteArray()}, or a buffer.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostBufferInput extends BoostInput {
+	/**
+	 * Construct a {@code BoostBufferInput} on an array of bytes.
+	 *
+	 * @param  bytes
+	 *         The bytes, which are not copied.
+	 *
+	 * @since   1.2
+	 */
+	public BoostBufferInput(byte[] bytes) {
+		this(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Construct a {@code BoostBufferInput} on a range of an array of bytes.
+	 *
+	 * @param  bytes
+	 *         The bytes, which are not copied.
+	 *
+	 * @param  offset
+	 *         The index of the first byte.
+	 *
+	 * @param  length
+	 *         The number of bytes.
+	 *
+	 * @since   1.2
+	 */
+	public BoostBufferInput(byte[] bytes, int offset, int length) {
+		super(ByteBuffer.wrap(bytes, offset, length).slice());
+	}
+
+	/**
+	 * Construct a {@code BoostBufferInput} on the remaining bytes of a
+	 * buffer, like a memory-mapped file.
+	 *
+	 * @param  buffer
+	 *         The buffer, whose bytes are not copied and whose position is
+	 *         not moved.
+	 *
+	 * @since   1.2
+	 */
+	public BoostBufferInput(ByteBuffer buffer) {
+		super(buffer.slice());
+	}
+
+	@Override
+	protected boolean fill(int count) {
+		return buffer.remaining() >= count;       // all the bytes are in the buffer
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package personal.wuyi.boost.serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The {@code BoostOutput} writing into memory, growing its heap buffer when
+ * it is full.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostBufferOutput extends BoostOutput {
+	/**
+	 * Construct an empty {@code BoostBufferOutput}.
+	 *
+	 * @since   1.2
+	 */
+	public BoostBufferOutput() {
+		this(1 << 10);
+	}
+
+	/**
+	 * Construct an empty {@code BoostBufferOutput} with an initial capacity.
+	 *
+	 * @param  initialCapacity
+	 *         The initial number of bytes of the buffer.
+	 *
+	 * @since   1.2
+	 */
+	public BoostBufferOutput(int initialCapacity) {
+		super(ByteBuffer.allocate(Math.max(initialCapacity, 16)));
+	}
+
+	@Override
+	protected void makeRoom(int count) {
+		int capacity = buffer.capacity();
+		ByteBuffer larger = ByteBuffer.allocate(Math.max(capacity + count, capacity * 2));
+		buffer.flip();
+		larger.put(buffer);
+		buffer = larger;
+	}
+
+	/**
+	 * Return the number of bytes written.
+	 *
+	 * @return  The number of bytes.
+	 *
+	 * @since   1.2
+	 */
+	public int size() {
+		return buffer.position();
+	}
+
+	/**
+	 * Return a copy of the bytes written.
+	 *
+	 * @return  The new array of the bytes.
+	 *
+	 * @since   1.2
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+	/**
+	 * Write the bytes written into this output to another output.
+	 *
+	 * @param  out
+	 *         The other output.
+	 *
+	 * @throws  IOException
+	 *          If the other output cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	public void writeTo(BoostOutput out) throws IOException {
+		out.writeBytes(buffer.array(), buffer.arrayOffset(), buffer.position());
+	}
+
+	/**
+	 * Discard the bytes written, keeping the buffer for the next values.
+	 *
+	 * @since   1.2
+	 */
+	public void reset() {
+		buffer.clear();
+	}
+}
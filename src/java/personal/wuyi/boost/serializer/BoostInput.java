@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.serializer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The buffered binary input of the serializers, reading what a
+ * {@code BoostOutput} wrote.
+ *
+ * <p>The values are read straight from a {@code ByteBuffer}. When the
+ * buffer runs out, the subclass refills it, from a file for example.
+ *
+ * <p>It is not thread-safe.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public abstract class BoostInput {
+	/** The buffer providing the bytes, in read mode */
+	protected ByteBuffer buffer;
+
+	private byte[] bytes = new byte[64];      // the bytes of the string being decoded
+
+	/**
+	 * Construct a {@code BoostInput} on a buffer.
+	 *
+	 * @param  buffer
+	 *         The buffer, in read mode.
+	 *
+	 * @since   1.2
+	 */
+	protected BoostInput(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Read more bytes until the buffer holds a number of bytes.
+	 *
+	 * @param  count
+	 *         The number of bytes needed, at most 8.
+	 *
+	 * @return  {@code true} if the buffer holds {@code count} bytes;
+	 *          {@code false} if the end of the input is reached before.
+	 *
+	 * @throws  IOException
+	 *          If the bytes cannot be read.
+	 *
+	 * @since   1.2
+	 */
+	protected abstract boolean fill(int count) throws IOException;
+
+	/**
+	 * Check whether there are bytes left in the input.
+	 *
+	 * @return  {@code true} if the end of the input is not reached yet;
+	 *          {@code false} otherwise.
+	 *
+	 * @throws  IOException
+	 *          If the input cannot be read.
+	 *
+	 * @since   1.2
+	 */
+	public boolean hasMore() throws IOException {
+		return buffer.hasRemaining() || fill(1);
+	}
+
+	public byte readByte() throws IOException {
+		require(1);
+		return buffer.get();
+	}
+
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	public short readShort() throws IOException {
+		require(2);
+		return buffer.getShort();
+	}
+
+	public char readChar() throws IOException {
+		require(2);
+		return buffer.getChar();
+	}
+
+	public int readInt() throws IOException {
+		require(4);
+		return buffer.getInt();
+	}
+
+	public long readLong() throws IOException {
+		require(8);
+		return buffer.getLong();
+	}
+
+	public float readFloat() throws IOException {
+		require(4);
+		return buffer.getFloat();
+	}
+
+	public double readDouble() throws IOException {
+		require(8);
+		return buffer.getDouble();
+	}
+
+	/**
+	 * Read a non-negative {@code int} written by
+	 * {@link BoostOutput#writeVarint(int)}.
+	 *
+	 * @return  The value.
+	 *
+	 * @throws  IOException
+	 *          If the input cannot be read or ends in the value.
+	 *
+	 * @since   1.2
+	 */
+	public int readVarint() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = readByte();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+	/**
+	 * Read a string written by {@link BoostOutput#writeString(CharSequence)}.
+	 *
+	 * <p>The string is decoded straight from the buffer when it is a heap
+	 * buffer holding the whole string.
+	 *
+	 * @return  The string.
+	 *
+	 * @throws  IOException
+	 *          If the input cannot be read or ends in the string.
+	 *
+	 * @since   1.2
+	 */
+	public String readString() throws IOException {
+		int length = readVarint();
+		if (buffer.hasArray() && buffer.remaining() >= length) {
+			int position = buffer.position();
+			buffer.position(position + length);
+			return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+		}
+		if (bytes.length < length) {
+			bytes = new byte[Math.max(length, bytes.length * 2)];
+		}
+		readBytes(bytes, 0, length);
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Read a number of bytes into a range of an array, as written by
+	 * {@link BoostOutput#writeBytes(byte[], int, int)}.
+	 *
+	 * @param  bytes
+	 *         The array.
+	 *
+	 * @param  offset
+	 *         The index of the first byte.
+	 *
+	 * @param  count
+	 *         The number of bytes.
+	 *
+	 * @throws  IOException
+	 *          If the input cannot be read or ends before {@code count}
+	 *          bytes.
+	 *
+	 * @since   1.2
+	 */
+	public void readBytes(byte[] bytes, int offset, int count) throws IOException {
+		while (count > 0) {
+			require(1);
+			int n = Math.min(count, buffer.remaining());
+			buffer.get(bytes, offset, n);
+			offset += n;
+			count  -= n;
+		}
+	}
+
+	/**
+	 * Read a value written by {@link BoostOutput#writeObject(Object)}.
+	 *
+	 * @return  The value, which may be {@code null}.
+	 *
+	 * @throws  IOException
+	 *          If the input cannot be read, is corrupted, or holds a type
+	 *          which is not registered.
+	 *
+	 * @since   1.2
+	 */
+	public Object readObject() throws IOException {
+		int id = readVarint();
+		if (id == BoostSerializers.NULL_ID) {
+			return null;
+		}
+		return BoostSerializers.serializerOf(id).read(this);
+	}
+
+	private void require(int count) throws IOException {
+		if (buffer.remaining() < count && !fill(count)) {
+			throw new EOFException("unexpected end of the input");
+		}
+	}
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The buffered binary output of the serializers.
+ *
+ * <p>The values are written straight into a {@code ByteBuffer}, in big-endian
+ * order. When the buffer is full, the subclass makes room, by writing the
+ * buffer to a file or by growing it. Unlike {@code ObjectOutputStream}, no
+ * class descriptor and no back reference is written: a value is the varint id
+ * of its serializer followed by its content.
+ *
+ * <p>It is not thread-safe.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public abstract class BoostOutput {
+	/** The number of chars of a string encoded at once */
+	private static final int CHUNK_LENGTH = 1 << 10;
+
+	/** The largest number of chars of a string whose UTF-8 length always fits in a 1-byte varint */
+	private static final int MAX_SHORT_LENGTH = 0x7F / 3;
+
+	/** The buffer receiving the bytes, in write mode */
+	protected ByteBuffer buffer;
+
+	/** The UTF-8 bytes of the chunk being encoded, 3 per char at most (4 per surrogate pair) */
+	private final byte[] chunk = new byte[CHUNK_LENGTH * 3 + 1];
+
+	/** The class of the last value written, with its registration, as the values of a collection often share a class */
+	private Class<?>                              lastType;
+	private BoostSerializers.Registration<Object> lastRegistration;
+
+	/**
+	 * Construct a {@code BoostOutput} on a buffer.
+	 *
+	 * @param  buffer
+	 *         The buffer, in write mode.
+	 *
+	 * @since   1.2
+	 */
+	protected BoostOutput(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Make room for a number of bytes in the buffer.
+	 *
+	 * <p>It is called when the buffer has less than {@code count} bytes
+	 * remaining, and the buffer (which may be a new one) must have at least
+	 * {@code count} bytes remaining when it returns.
+	 *
+	 * @param  count
+	 *         The number of bytes needed, at most 8.
+	 *
+	 * @throws  IOException
+	 *          If the bytes cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	protected abstract void makeRoom(int count) throws IOException;
+
+	public void writeByte(int value) throws IOException {
+		require(1);
+		buffer.put((byte) value);
+	}
+
+	public void writeBoolean(boolean value) throws IOException {
+		writeByte(value ? 1 : 0);
+	}
+
+	public void writeShort(int value) throws IOException {
+		require(2);
+		buffer.putShort((short) value);
+	}
+
+	public void writeChar(char value) throws IOException {
+		require(2);
+		buffer.putChar(value);
+	}
+
+	public void writeInt(int value) throws IOException {
+		require(4);
+		buffer.putInt(value);
+	}
+
+	public void writeLong(long value) throws IOException {
+		require(8);
+		buffer.putLong(value);
+	}
+
+	public void writeFloat(float value) throws IOException {
+		require(4);
+		buffer.putFloat(value);
+	}
+
+	public void writeDouble(double value) throws IOException {
+		require(8);
+		buffer.putDouble(value);
+	}
+
+	/**
+	 * Write a non-negative {@code int} in 1 to 5 bytes, 7 bits per byte, so
+	 * that the small values (like the lengths and the ids) take 1 byte.
+	 *
+	 * @param  value
+	 *         The value, not negative.
+	 *
+	 * @throws  IOException
+	 *          If the output cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	public void writeVarint(int value) throws IOException {
+		require(5);
+		while ((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Write a string as the varint length of its UTF-8 encoding followed by
+	 * the UTF-8 bytes.
+	 *
+	 * <p>A short string is encoded once, and its length is taken from the
+	 * encoding: straight into the buffer if it is a heap buffer with enough
+	 * room, or into an array copied into the buffer. A long string is
+	 * measured first.
+	 *
+	 * @param  value
+	 *         The string.
+	 *
+	 * @throws  IOException
+	 *          If the output cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	public void writeString(CharSequence value) throws IOException {
+		int length = value.length();
+		if (length <= MAX_SHORT_LENGTH && buffer.hasArray() && buffer.remaining() > length * 3) {
+			byte[] array = buffer.array();
+			int    start = buffer.arrayOffset() + buffer.position();
+			int    count = encode(value, 0, length, array, start + 1) - start - 1;
+			array[start] = (byte) count;                // 1-byte varint
+			buffer.position(buffer.position() + 1 + count);
+		} else if (length <= CHUNK_LENGTH) {
+			int count = encode(value, 0, length, chunk, 0);
+			writeVarint(count);
+			writeBytes(chunk, 0, count);
+		} else {
+			writeVarint(utf8Length(value));
+			writeText(value);
+		}
+	}
+
+	/**
+	 * Write the UTF-8 bytes of a string, without its length.
+	 *
+	 * <p>The string is encoded by chunks into an array, which is copied into
+	 * the buffer at once.
+	 *
+	 * @param  value
+	 *         The string.
+	 *
+	 * @throws  IOException
+	 *          If the output cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	public void writeText(CharSequence value) throws IOException {
+		int length = value.length();
+		for (int from = 0; from < length; ) {
+			int to = Math.min(length, from + CHUNK_LENGTH);
+			if (to < length && Character.isHighSurrogate(value.charAt(to - 1))) {
+				to++;                               // keep a surrogate pair in the same chunk
+			}
+			writeBytes(chunk, 0, encode(value, from, to, chunk, 0));
+			from = to;
+		}
+	}
+
+	/**
+	 * Write a range of an array of bytes.
+	 *
+	 * @param  bytes
+	 *         The array.
+	 *
+	 * @param  offset
+	 *         The index of the first byte.
+	 *
+	 * @param  count
+	 *         The number of bytes.
+	 *
+	 * @throws  IOException
+	 *          If the output cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	public void writeBytes(byte[] bytes, int offset, int count) throws IOException {
+		while (count > 0) {
+			require(1);
+			int n = Math.min(count, buffer.remaining());
+			buffer.put(bytes, offset, n);
+			offset += n;
+			count  -= n;
+		}
+	}
+
+	/**
+	 * Write a value of any registered type, as the id of its serializer
+	 * followed by its content.
+	 *
+	 * @param  value
+	 *         The value, which may be {@code null}.
+	 *
+	 * @throws  IOException
+	 *          If the output cannot be written.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If no serializer is registered for the class of the value.
+	 *
+	 * @see     BoostSerializers#register(Class, int, BoostSerializer)
+	 *
+	 * @since   1.2
+	 */
+	public void writeObject(Object value) throws IOException {
+		if (value == null) {
+			writeVarint(BoostSerializers.NULL_ID);
+			return;
+		}
+		Class<?> type = value.getClass();
+		if (type != lastType) {
+			lastRegistration = BoostSerializers.registrationOf(type);
+			lastType         = type;
+		}
+		BoostSerializers.Registration<Object> registration = lastRegistration;
+		writeVarint(registration.id);
+		registration.serializer.write(this, value);
+	}
+
+	/**
+	 * Return the number of bytes of the UTF-8 encoding of a string, as
+	 * written by {@link #writeText(CharSequence)}.
+	 *
+	 * @param  value
+	 *         The string.
+	 *
+	 * @return  The number of bytes.
+	 *
+	 * @since   1.2
+	 */
+	public static int utf8Length(CharSequence value) {
+		int length = value.length();
+		int bytes  = length;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x80) {
+				if (c < 0x800) {
+					bytes++;
+				} else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+					bytes += 2;         // 2 chars for 4 bytes
+					i++;
+				} else if (!Character.isSurrogate(c)) {
+					bytes += 2;
+				}
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Encode a range of a string to UTF-8 into an array.
+	 *
+	 * <p>An unpaired surrogate is encoded as {@code '?'}, like
+	 * {@code String.getBytes} does.
+	 *
+	 * @return  The index after the last byte.
+	 */
+	private static int encode(CharSequence value, int from, int to, byte[] bytes, int count) {
+		for (int i = from; i < to; i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				bytes[count++] = (byte) c;
+			} else if (c < 0x800) {
+				bytes[count++] = (byte) (0xC0 | (c >> 6));
+				bytes[count++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				bytes[count++] = (byte) (0xF0 | (codePoint >> 18));
+				bytes[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				bytes[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				bytes[count++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				bytes[count++] = (byte) '?';
+			} else {
+				bytes[count++] = (byte) (0xE0 | (c >> 12));
+				bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				bytes[count++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		return count;
+	}
+
+	private void require(int count) throws IOException {
+		if (buffer.remaining() < count) {
+			makeRoom(count);
+		}
+	}
+}
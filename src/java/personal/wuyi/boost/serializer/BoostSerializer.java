@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.serializer;
+
+import java.io.IOException;
+
+/**
+ * The binary codec of one type, registered in {@code BoostSerializers}.
+ *
+ * <p>A serializer only writes the content of a value: the id of its type is
+ * written before by {@link BoostOutput#writeObject(Object)}, which picks the
+ * serializer. The nested values (like the elements of a collection) are
+ * written by {@code writeObject} too, so they can be of any registered type.
+ *
+ * <p>A serializer must be stateless, because it is shared by all the
+ * threads.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ *
+ * @param <T>
+ */
+public interface BoostSerializer<T> {
+	/**
+	 * Write the content of a value.
+	 *
+	 * @param  out
+	 *         The output.
+	 *
+	 * @param  value
+	 *         The value, never {@code null}.
+	 *
+	 * @throws  IOException
+	 *          If the output cannot be written.
+	 *
+	 * @since   1.2
+	 */
+	void write(BoostOutput out, T value) throws IOException;
+
+	/**
+	 * Read the content of a value written by
+	 * {@link #write(BoostOutput, Object)}.
+	 *
+	 * @param  in
+	 *         The input.
+	 *
+	 * @return  The new value.
+	 *
+	 * @throws  IOException
+	 *          If the input cannot be read or is corrupted.
+	 *
+	 * @since   1.2
+	 */
+	T read(BoostInput in) throws IOException;
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package personal.wuyi.boost.serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import personal.wuyi.boost.core.BoostDoubleList;
+import personal.wuyi.boost.core.BoostIntList;
+import personal.wuyi.boost.core.BoostList;
+import personal.wuyi.boost.core.BoostLongList;
+import personal.wuyi.boost.core.BoostMap;
+import personal.wuyi.boost.core.BoostMultimap;
+import personal.wuyi.boost.core.CompactBoostMap;
+import personal.wuyi.boost.core.ConcurrentBoostMap;
+import personal.wuyi.boost.core.SortedBoostMap;
+import personal.wuyi.boost.entity.BoostEntry;
+import personal.wuyi.boost.entity.BoostPair;
+
+/**
+ * The registry of the serializers, by class and by id.
+ *
+ * <p>A value is written as the varint id of the serializer of its class,
+ * followed by the content written by the serializer. The serializers of
+ * the boxed primitives, {@code String}, the primitive arrays,
+ * {@code BoostPair}, {@code BoostEntry}, {@code BoostList}, the primitive
+ * lists and the multimaps ({@code BoostMultimap}, {@code BoostMap},
+ * {@code ConcurrentBoostMap}, {@code CompactBoostMap} and
+ * {@code SortedBoostMap}) are built in, with the ids below
+ * {@link #FIRST_USER_ID}. The other types are registered by
+ * {@link #register(Class, int, BoostSerializer)}.
+ *
+ * <p>The serializer is looked up by the exact class of the value, so a
+ * subclass needs its own serializer: it is read back as the class it was
+ * written as, never as a parent class. A {@code SortedBoostMap} in the
+ * natural order of its keys is always written; with a comparator, the
+ * class of the comparator must be registered too.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public final class BoostSerializers {
+	/** The smallest id of the serializers registered by the users */
+	public static final int FIRST_USER_ID = 64;
+
+	/** The id written for {@code null} */
+	static final int NULL_ID = 0;
+
+	/** The largest capacity allocated up front from a size read from the input */
+	private static final int MAX_PRESIZE = 1 << 20;
+
+	private static final ConcurrentHashMap<Class<?>, Registration<?>> byClass = new ConcurrentHashMap<>();
+	private static volatile Registration<?>[] byId = new Registration<?>[FIRST_USER_ID];
+
+	static {
+		registerBuiltIns();
+	}
+
+	private BoostSerializers() {}
+
+	/**
+	 * Register the serializer of a type.
+	 *
+	 * <p>The id is written in front of each value of the type, so it must
+	 * stay the same for the data written before to be readable.
+	 *
+	 * @param  type
+	 *         The exact class of the values.
+	 *
+	 * @param  id
+	 *         The id of the serializer, at least {@link #FIRST_USER_ID}.
+	 *
+	 * @param  serializer
+	 *         The serializer.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If the id is reserved or already used, or the type already
+	 *          has a serializer.
+	 *
+	 * @since   1.2
+	 */
+	public static <T> void register(Class<T> type, int id, BoostSerializer<T> serializer) {
+		if (id < FIRST_USER_ID) {
+			throw new IllegalArgumentException("the ids below " + FIRST_USER_ID + " are reserved: " + id);
+		}
+		add(type, id, serializer);
+	}
+
+	/**
+	 * Check whether a type has a serializer.
+	 *
+	 * @param  type
+	 *         The exact class of the values.
+	 *
+	 * @return  {@code true} if the values of the type can be written;
+	 *          {@code false} otherwise.
+	 *
+	 * @since   1.2
+	 */
+	public static boolean isRegistered(Class<?> type) {
+		return byClass.containsKey(type);
+	}
+
+	/**
+	 * Write a value into a new array of bytes.
+	 *
+	 * @param  value
+	 *         The value, which may be {@code null}.
+	 *
+	 * @return  The bytes.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If no serializer is registered for the class of a value.
+	 *
+	 * @since   1.2
+	 */
+	public static byte[] toBytes(Object value) {
+		BoostBufferOutput out = new BoostBufferOutput();
+		try {
+			out.writeObject(value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Read a value written by {@link #toBytes(Object)}.
+	 *
+	 * @param  bytes
+	 *         The bytes.
+	 *
+	 * @return  The value.
+	 *
+	 * @throws  UncheckedIOException
+	 *          If the bytes are corrupted or hold a type which is not
+	 *          registered.
+	 *
+	 * @since   1.2
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T fromBytes(byte[] bytes) {
+		try {
+			return (T) new BoostBufferInput(bytes).readObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Return the registration of the class of a value.
+	 *
+	 * @throws  IllegalArgumentException
+	 *          If the class has no serializer.
+	 */
+	@SuppressWarnings("unchecked")
+	static Registration<Object> registrationOf(Class<?> type) {
+		Registration<?> registration = byClass.get(type);
+		if (registration == null) {
+			throw new IllegalArgumentException("no serializer registered for " + type.getName());
+		}
+		return (Registration<Object>) registration;
+	}
+
+	/**
+	 * Return the serializer of an id read from the input.
+	 *
+	 * @throws  IOException
+	 *          If the id has no serializer.
+	 */
+	static BoostSerializer<?> serializerOf(int id) throws IOException {
+		Registration<?>[] registrations = byId;
+		if (id >= registrations.length || registrations[id] == null) {
+			throw new IOException("no serializer registered for the id " + id);
+		}
+		return registrations[id].serializer;
+	}
+
+	private static synchronized <T> void add(Class<T> type, int id, BoostSerializer<T> serializer) {
+		if (type == null || serializer == null) {
+			throw new NullPointerException();
+		}
+		if (byClass.containsKey(type)) {
+			throw new IllegalArgumentException("a serializer is already registered for " + type.getName());
+		}
+		Registration<?>[] registrations = byId;
+		if (id < registrations.length && registrations[id] != null) {
+			throw new IllegalArgumentException("the id " + id + " is already used by " + registrations[id].type.getName());
+		}
+		if (id >= registrations.length) {
+			Registration<?>[] larger = new Registration<?>[Math.max(id + 1, registrations.length * 2)];
+			System.arraycopy(registrations, 0, larger, 0, registrations.length);
+			registrations = larger;
+		} else {
+			registrations = registrations.clone();
+		}
+		Registration<T> registration = new Registration<>(type, id, serializer);
+		registrations[id] = registration;
+		byId = registrations;                 // published before the class, so a written id is always readable
+		byClass.put(type, registration);
+	}
+
+	/**
+	 * The serializer of a class, with its id.
+	 */
+	static final class Registration<T> {
+		final Class<T>           type;
+		final int                id;
+		final BoostSerializer<T> serializer;
+
+		Registration(Class<T> type, int id, BoostSerializer<T> serializer) {
+			this.type       = type;
+			this.id         = id;
+			this.serializer = serializer;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void registerBuiltIns() {
+		add(String.class, 1, new BoostSerializer<String>() {
+			public void write(BoostOutput out, String value) throws IOException { out.writeString(value); }
+			public String read(BoostInput in) throws IOException { return in.readString(); }
+		});
+		add(Integer.class, 2, new BoostSerializer<Integer>() {
+			public void write(BoostOutput out, Integer value) throws IOException { out.writeInt(value); }
+			public Integer read(BoostInput in) throws IOException { return in.readInt(); }
+		});
+		add(Long.class, 3, new BoostSerializer<Long>() {
+			public void write(BoostOutput out, Long value) throws IOException { out.writeLong(value); }
+			public Long read(BoostInput in) throws IOException { return in.readLong(); }
+		});
+		add(Double.class, 4, new BoostSerializer<Double>() {
+			public void write(BoostOutput out, Double value) throws IOException { out.writeDouble(value); }
+			public Double read(BoostInput in) throws IOException { return in.readDouble(); }
+		});
+		add(Float.class, 5, new BoostSerializer<Float>() {
+			public void write(BoostOutput out, Float value) throws IOException { out.writeFloat(value); }
+			public Float read(BoostInput in) throws IOException { return in.readFloat(); }
+		});
+		add(Short.class, 6, new BoostSerializer<Short>() {
+			public void write(BoostOutput out, Short value) throws IOException { out.writeShort(value); }
+			public Short read(BoostInput in) throws IOException { return in.readShort(); }
+		});
+		add(Byte.class, 7, new BoostSerializer<Byte>() {
+			public void write(BoostOutput out, Byte value) throws IOException { out.writeByte(value); }
+			public Byte read(BoostInput in) throws IOException { return in.readByte(); }
+		});
+		add(Boolean.class, 8, new BoostSerializer<Boolean>() {
+			public void write(BoostOutput out, Boolean value) throws IOException { out.writeBoolean(value); }
+			public Boolean read(BoostInput in) throws IOException { return in.readBoolean(); }
+		});
+		add(Character.class, 9, new BoostSerializer<Character>() {
+			public void write(BoostOutput out, Character value) throws IOException { out.writeChar(value); }
+			public Character read(BoostInput in) throws IOException { return in.readChar(); }
+		});
+
+		add(byte[].class, 16, new BoostSerializer<byte[]>() {
+			public void write(BoostOutput out, byte[] value) throws IOException {
+				out.writeVarint(value.length);
+				out.writeBytes(value, 0, value.length);
+			}
+			public byte[] read(BoostInput in) throws IOException {
+				int    length = in.readVarint();
+				byte[] value  = new byte[Math.min(length, MAX_PRESIZE)];
+				for (int i = 0; i < length; i = value.length) {
+					if (i == value.length) {
+						value = Arrays.copyOf(value, grownLength(i, length));
+					}
+					in.readBytes(value, i, value.length - i);
+				}
+				return value;
+			}
+		});
+		add(int[].class, 17, new BoostSerializer<int[]>() {
+			public void write(BoostOutput out, int[] value) throws IOException {
+				out.writeVarint(value.length);
+				for (int element : value) {
+					out.writeInt(element);
+				}
+			}
+			public int[] read(BoostInput in) throws IOException {
+				int   length = in.readVarint();
+				int[] value  = new int[Math.min(length, MAX_PRESIZE)];
+				for (int i = 0; i < length; i++) {
+					if (i == value.length) {
+						value = Arrays.copyOf(value, grownLength(i, length));
+					}
+					value[i] = in.readInt();
+				}
+				return value;
+			}
+		});
+		add(long[].class, 18, new BoostSerializer<long[]>() {
+			public void write(BoostOutput out, long[] value) throws IOException {
+				out.writeVarint(value.length);
+				for (long element : value) {
+					out.writeLong(element);
+				}
+			}
+			public long[] read(BoostInput in) throws IOException {
+				int    length = in.readVarint();
+				long[] value  = new long[Math.min(length, MAX_PRESIZE)];
+				for (int i = 0; i < length; i++) {
+					if (i == value.length) {
+						value = Arrays.copyOf(value, grownLength(i, length));
+					}
+					value[i] = in.readLong();
+				}
+				return value;
+			}
+		});
+		add(double[].class, 19, new BoostSerializer<double[]>() {
+			public void write(BoostOutput out, double[] value) throws IOException {
+				out.writeVarint(value.length);
+				for (double element : value) {
+					out.writeDouble(element);
+				}
+			}
+			public double[] read(BoostInput in) throws IOException {
+				int      length = in.readVarint();
+				double[] value  = new double[Math.min(length, MAX_PRESIZE)];
+				for (int i = 0; i < length; i++) {
+					if (i == value.length) {
+						value = Arrays.copyOf(value, grownLength(i, length));
+					}
+					value[i] = in.readDouble();
+				}
+				return value;
+			}
+		});
+
+		add(BoostPair.class, 24, new BoostSerializer<BoostPair>() {
+			public void write(BoostOutput out, BoostPair value) throws IOException {
+				out.writeObject(value.getKey());
+				out.writeObject(value.getValue());
+			}
+			public BoostPair read(BoostInput in) throws IOException {
+				Object key = in.readObject();
+				return new BoostPair<>(key, in.readObject());
+			}
+		});
+		add(BoostEntry.class, 25, new BoostSerializer<BoostEntry>() {
+			public void write(BoostOutput out, BoostEntry value) throws IOException {
+				out.writeObject(value.getKey());
+				out.writeObject(value.getValue());
+			}
+			public BoostEntry read(BoostInput in) throws IOException {
+				Object key = in.readObject();
+				return new BoostEntry<>(key, in.readObject());
+			}
+		});
+
+		add(BoostList.class, 32, new BoostSerializer<BoostList>() {
+			public void write(BoostOutput out, BoostList value) throws IOException {
+				int size = value.size();
+				out.writeVarint(size);
+				for (int i = 0; i < size; i++) {
+					out.writeObject(value.get(i));
+				}
+			}
+			public BoostList read(BoostInput in) throws IOException {
+				int size = in.readVarint();
+				BoostList<Object> value = new BoostList<>();
+				value.ensureCapacity(Math.min(size, MAX_PRESIZE));
+				for (int i = 0; i < size; i++) {
+					value.add(in.readObject());
+				}
+				return value;
+			}
+		});
+		add(BoostIntList.class, 33, new BoostSerializer<BoostIntList>() {
+			public void write(BoostOutput out, BoostIntList value) throws IOException {
+				int size = value.size();
+				out.writeVarint(size);
+				for (int i = 0; i < size; i++) {
+					out.writeInt(value.get(i));
+				}
+			}
+			public BoostIntList read(BoostInput in) throws IOException {
+				int size = in.readVarint();
+				BoostIntList value = new BoostIntList(Math.min(size, MAX_PRESIZE));
+				for (int i = 0; i < size; i++) {
+					value.add(in.readInt());
+				}
+				return value;
+			}
+		});
+		add(BoostLongList.class, 34, new BoostSerializer<BoostLongList>() {
+			public void write(BoostOutput out, BoostLongList value) throws IOException {
+				int size = value.size();
+				out.writeVarint(size);
+				for (int i = 0; i < size; i++) {
+					out.writeLong(value.get(i));
+				}
+			}
+			public BoostLongList read(BoostInput in) throws IOException {
+				int size = in.readVarint();
+				BoostLongList value = new BoostLongList(Math.min(size, MAX_PRESIZE));
+				for (int i = 0; i < size; i++) {
+					value.add(in.readLong());
+				}
+				return value;
+			}
+		});
+		add(BoostDoubleList.class, 35, new BoostSerializer<BoostDoubleList>() {
+			public void write(BoostOutput out, BoostDoubleList value) throws IOException {
+				int size = value.size();
+				out.writeVarint(size);
+				for (int i = 0; i < size; i++) {
+					out.writeDouble(value.get(i));
+				}
+			}
+			public BoostDoubleList read(BoostInput in) throws IOException {
+				int size = in.readVarint();
+				BoostDoubleList value = new BoostDoubleList(Math.min(size, MAX_PRESIZE));
+				for (int i = 0; i < size; i++) {
+					value.add(in.readDouble());
+				}
+				return value;
+			}
+		});
+
+		add(BoostMultimap.class, 40, new MultimapSerializer<BoostMultimap>() {
+			BoostMultimap create() { return new BoostMultimap<>(); }
+		});
+		add(BoostMap.class, 41, new MultimapSerializer<BoostMap>() {
+			BoostMap create() { return new BoostMap<>(); }
+		});
+		add(ConcurrentBoostMap.class, 42, new MultimapSerializer<ConcurrentBoostMap>() {
+			ConcurrentBoostMap create() { return new ConcurrentBoostMap<>(); }
+		});
+		add(CompactBoostMap.class, 43, new MultimapSerializer<CompactBoostMap>() {
+			CompactBoostMap create() { return new CompactBoostMap<>(); }
+		});
+		add(SortedBoostMap.class, 44, new MultimapSerializer<SortedBoostMap>() {
+			SortedBoostMap create() { return new SortedBoostMap<>(); }
+
+			@Override
+			void writeHeader(BoostOutput out, SortedBoostMap value) throws IOException {
+				out.writeObject(value.comparator());          // null for the natural order
+				out.writeBoolean(value.isConcurrent());
+			}
+
+			@Override
+			SortedBoostMap create(BoostInput in) throws IOException {
+				Comparator comparator = (Comparator) in.readObject();
+				return new SortedBoostMap<>(comparator, in.readBoolean());
+			}
+		});
+	}
+
+	/**
+	 * Return the length an array being read grows to when it is full: twice
+	 * its length, but no more than the length read from the input.
+	 *
+	 * <p>The arrays are presized with at most {@code MAX_PRESIZE} elements,
+	 * so a corrupted length fails on the end of the input instead of
+	 * allocating a huge array up front.
+	 */
+	private static int grownLength(int length, int finalLength) {
+		return (int) Math.min(finalLength, length * 2L);
+	}
+
+	/**
+	 * The serializer of a multimap: the number of keys, then each key
+	 * followed by the number of its values and the values.
+	 *
+	 * <p>The keys are listed first, so a key removed by another thread
+	 * while the multimap is written is written without values, and skipped
+	 * when read.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private abstract static class MultimapSerializer<M extends BoostMultimap> implements BoostSerializer<M> {
+		abstract M create();
+
+		/**
+		 * Write what {@link #create(BoostInput)} needs to rebuild an empty
+		 * multimap like this one: nothing by default.
+		 */
+		void writeHeader(BoostOutput out, M value) throws IOException {
+		}
+
+		/**
+		 * Read what {@link #writeHeader(BoostOutput, BoostMultimap)} wrote,
+		 * and create the empty multimap.
+		 */
+		M create(BoostInput in) throws IOException {
+			return create();
+		}
+
+		@Override
+		public void write(BoostOutput out, M value) throws IOException {
+			writeHeader(out, value);
+			Object[] keys = value.keySet().toArray();
+			out.writeVarint(keys.length);
+			for (Object key : keys) {
+				List<Object> values = value.get(key);
+				int size = values == null ? 0 : values.size();
+				out.writeObject(key);
+				out.writeVarint(size);
+				for (int i = 0; i < size; i++) {
+					out.writeObject(values.get(i));
+				}
+			}
+		}
+
+		@Override
+		public M read(BoostInput in) throws IOException {
+			M value = create(in);
+			for (int keyCount = in.readVarint(); keyCount > 0; keyCount--) {
+				Object key = in.readObject();
+				for (int size = in.readVarint(); size > 0; size--) {
+					value.put(key, in.readObject());
+				}
+			}
+			return value;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package personal.wuyi.boost.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+import personal.wuyi.boost.core.BoostList;
+import personal.wuyi.boost.serializer.BoostBufferInput;
+import personal.wuyi.boost.serializer.BoostBufferOutput;
+
+/**
+ * Benchmark of {@code BoostSerializers} against {@code ObjectOutputStream}.
+ *
+ * <p>It prints the time of a round trip (write then read) of the same
+ * {@code BoostList} through both, with the number of bytes written and the
+ * speedup of {@code BoostSerializers}, then the speedup over all the
+ * workloads. The best time of several rounds is kept.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class SerializerBenchmark {
+	private static final int SIZE   = 1000000;
+	private static final int ROUNDS = 10;
+
+	public static void main(String[] args) {
+		Random random = new Random(1);
+		BoostList<Integer> integers = new BoostList<>();
+		BoostList<String>  strings  = new BoostList<>();
+		BoostList<BoostList<Long>> lists = new BoostList<>();
+		for (int i = 0; i < SIZE; i++) {
+			integers.add(random.nextInt());
+			strings.add("word" + random.nextInt(SIZE));
+			if (i % 4 == 0) {
+				BoostList<Long> list = new BoostList<>();
+				for (int j = 0; j < 4; j++) {
+					list.add(random.nextLong());
+				}
+				lists.add(list);
+			}
+		}
+
+		long[] total = new long[2];
+		compare("Integer",         integers, total);
+		compare("String",          strings,  total);
+		compare("BoostList<Long>", lists,    total);
+		System.out.println(String.format("%-16s BoostSerializers=%8.2f ms                   ObjectOutputStream=%8.2f ms                   speedup=%5.1fx",
+				"total", total[0] / 1e6, total[1] / 1e6, (double) total[1] / total[0]));
+	}
+
+	private static void compare(String name, final Object value, long[] total) {
+		final long[] sizes = new long[2];
+		long boost = best(new Runnable() {
+			public void run() {
+				try {
+					BoostBufferOutput out = new BoostBufferOutput();
+					out.writeObject(value);
+					sizes[0] = out.size();
+					new BoostBufferInput(out.toByteArray()).readObject();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		});
+		long java = best(new Runnable() {
+			public void run() {
+				try {
+					ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+						out.writeObject(value);
+					}
+					sizes[1] = bytes.size();
+					try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+						in.readObject();
+					}
+				} catch (IOException | ClassNotFoundException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		total[0] += boost;
+		total[1] += java;
+		System.out.println(String.format("%-16s BoostSerializers=%8.2f ms (%9d bytes)  ObjectOutputStream=%8.2f ms (%9d bytes)  speedup=%5.1fx",
+				name, boost / 1e6, sizes[0], java / 1e6, sizes[1], (double) java / boost));
+	}
+
+	private static long best(Runnable operation) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			operation.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.benchmark;
+
+import java.util.Comparator;
+import java.util.Random;
+
+import personal.wuyi.boost.core.BoostList;
+
+/**
+ * Benchmark for the set operations of {@code BoostList}.
+ *
+ * <p>It prints the time per element of {@code distinct},
+ * {@code intersection} and {@code subtract} for growing list sizes. With
+ * linear scaling, the time per element stays roughly constant when the size
+ * grows by 10x.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class SetOperationBenchmark {
+	private static final int[] SIZES  = {10000, 100000, 1000000};
+	private static final int   ROUNDS = 5;
+
+	public static void main(String[] args) {
+		for (int size : SIZES) {
+			final BoostList<Integer> list  = buildBoostList(size, 1);
+			final BoostList<Integer> other = buildBoostList(size, 2);
+			final BoostList<Integer> sortedList  = sorted(list);
+			final BoostList<Integer> sortedOther = sorted(other);
+			final Comparator<Integer> order = Comparator.naturalOrder();
+
+			report("distinct",              size, new Runnable() { public void run() { list.distinct(); } });
+			report("distinct (sorted)",     size, new Runnable() { public void run() { sortedList.distinct(order); } });
+			report("intersection",          size, new Runnable() { public void run() { list.intersection(other); } });
+			report("intersection (sorted)", size, new Runnable() { public void run() { sortedList.intersection(sortedOther, order); } });
+			report("subtract",              size, new Runnable() { public void run() { list.subtract(other); } });
+			report("subtract (sorted)",     size, new Runnable() { public void run() { sortedList.subtract(sortedOther, order); } });
+		}
+	}
+
+	private static BoostList<Integer> buildBoostList(int size, long seed) {
+		Random random = new Random(seed);
+		BoostList<Integer> list = new BoostList<>();
+		for (int i = 0; i < size; i++) {
+			list.add(random.nextInt(size));
+		}
+		return list;
+	}
+
+	private static BoostList<Integer> sorted(BoostList<Integer> list) {
+		BoostList<Integer> sortedList = new BoostList<>();
+		sortedList.addAll(list);
+		sortedList.sort(null);
+		return sortedList;
+	}
+
+	private static void report(String name, int size, Runnable operation) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < ROUNDS; i++) {
+			long start = System.nanoTime();
+			operation.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		System.out.println(String.format("%-22s size=%8d  total=%8.2f ms  per element=%6.1f ns", name, size, best / 1e6, (double) best / size));
+	}
+}
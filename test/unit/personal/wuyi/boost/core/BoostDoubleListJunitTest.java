@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.hamcrest.collection.IsMapContaining;
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.api.DoubleFilterFunction;
+import personal.wuyi.boost.api.DoubleFunction;
+import personal.wuyi.boost.api.DoubleFunction2;
+import personal.wuyi.boost.entity.BoostPair;
+import personal.wuyi.boost.entity.BoostStatCounter;
+
+/**
+ * Test class for {@code BoostDoubleList}.
+ * 
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostDoubleListJunitTest {
+	public BoostDoubleList buildBoostDoubleList() {
+		return BoostDoubleList.of(5.5, 1.5, 3.5, 3.5, 2.5, 5.5, 3.5);
+	}
+	
+	@Test
+	public void addTest() {
+		BoostDoubleList list = new BoostDoubleList(1);
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+		list.addAll(1.5, 2.5);
+		
+		Assert.assertEquals(102, list.size());
+		Assert.assertEquals(2.5, list.get(101), 0.0);
+		Assert.assertEquals(0.0, list.set(0, 3.5), 0.0);
+		Assert.assertEquals(3.5, list.get(0), 0.0);
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getOutOfRangeTest() {
+		buildBoostDoubleList().get(7);
+	}
+	
+	@Test
+	public void filterTest() {
+		BoostDoubleList newList = buildBoostDoubleList().filter(new DoubleFilterFunction() {
+			public boolean call(double value) {
+				return value != 3.5;
+			}
+		});
+		
+		Assert.assertEquals(BoostDoubleList.of(5.5, 1.5, 2.5, 5.5), newList);
+	}
+	
+	@Test
+	public void mapTest() {
+		BoostDoubleList newList = buildBoostDoubleList().map(new DoubleFunction() {
+			public double call(double value) {
+				return value * 2;
+			}
+		});
+		
+		Assert.assertEquals(BoostDoubleList.of(5.5 * 2, 1.5 * 2, 3.5 * 2, 3.5 * 2, 2.5 * 2, 5.5 * 2, 3.5 * 2), newList);
+	}
+	
+	@Test
+	public void reduceTest() {
+		double sum = buildBoostDoubleList().reduce(new DoubleFunction2() {
+			public double call(double obj1, double obj2) {
+				return obj1 + obj2;
+			}
+		});
+		
+		Assert.assertEquals(5.5 + 1.5 + 3.5 + 3.5 + 2.5 + 5.5 + 3.5, sum, 0.0);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void reduceEmptyTest() {
+		new BoostDoubleList().reduce(new DoubleFunction2() {
+			public double call(double obj1, double obj2) {
+				return obj1 + obj2;
+			}
+		});
+	}
+	
+	@Test
+	public void distinctTest() {
+		Assert.assertEquals(BoostDoubleList.of(5.5, 1.5, 3.5, 2.5), buildBoostDoubleList().distinct());
+	}
+	
+	@Test
+	public void countByValueTest() {
+		Map<Double, Long> result = buildBoostDoubleList().countByValue();
+		
+		Assert.assertEquals(4, result.size());
+		assertThat(result, IsMapContaining.hasEntry(3.5, 3L));
+		assertThat(result, IsMapContaining.hasEntry(5.5, 2L));
+		assertThat(result, IsMapContaining.hasEntry(1.5, 1L));
+	}
+	
+	@Test
+	public void sortTest() {
+		BoostDoubleList list = buildBoostDoubleList();
+		
+		Assert.assertEquals(BoostDoubleList.of(1.5, 2.5, 3.5, 3.5, 3.5, 5.5, 5.5), list.sort());
+		Assert.assertEquals(5.5, list.get(0), 0.0);
+	}
+	
+	@Test
+	public void boxedTest() {
+		assertThat(buildBoostDoubleList().boxed(), contains(5.5, 1.5, 3.5, 3.5, 2.5, 5.5, 3.5));
+		Assert.assertEquals("[1.5, 2.5]", BoostDoubleList.of(1.5, 2.5).toString());
+	}
+	
+	@Test
+	public void distinctSpecialValuesTest() {
+		BoostDoubleList list = BoostDoubleList.of(Double.NaN, 0.0, -0.0, Double.NaN, 0.0);
+		
+		Assert.assertEquals(BoostDoubleList.of(Double.NaN, 0.0, -0.0), list.distinct());
+		Assert.assertEquals(Long.valueOf(2L), list.countByValue().get(Double.NaN));
+		Assert.assertEquals(BoostDoubleList.of(-0.0, 0.0, 0.0, Double.NaN, Double.NaN), list.sort());
+	}
+	
+	@Test
+	public void exactSumTest() {
+		Random random = new Random(42);
+		for (int size : new int[] {1000, 100000}) {
+			BoostDoubleList list = new BoostDoubleList(size);
+			double sum = 0;
+			for (int i = 0; i < size; i++) {
+				double value = random.nextInt(1000) * 0.25;     // exact in binary, so the plain sum is exact too
+				list.add(value);
+				sum += value;
+			}
+			Assert.assertEquals(sum, list.stats().getSum(), 0.0);
+		}
+		Assert.assertEquals(1.0, BoostDoubleList.of(1e100, 1.0, -1e100).stats().getSum(), 0.0);
+		Assert.assertEquals(Double.POSITIVE_INFINITY, BoostDoubleList.of(1.0, Double.POSITIVE_INFINITY).stats().getSum(), 0.0);
+	}
+	
+	@Test
+	public void statsTest() {
+		BoostStatCounter stats = buildBoostDoubleList().stats();
+		
+		Assert.assertEquals(7, stats.getCount());
+		Assert.assertEquals(25.5, stats.getSum(), 1e-12);
+		Assert.assertEquals(25.5 / 7, stats.getMean(), 1e-12);
+		Assert.assertEquals(1.836734693877551, stats.getVariance(), 1e-12);
+		Assert.assertEquals(2.142857142857143, stats.getSampleVariance(), 1e-12);
+		Assert.assertEquals(Math.sqrt(1.836734693877551), stats.getStdev(), 1e-12);
+		Assert.assertEquals(1.5, stats.getMin(), 0.0);
+		Assert.assertEquals(5.5, stats.getMax(), 0.0);
+		
+		BoostStatCounter empty = new BoostDoubleList().stats();
+		Assert.assertEquals(0, empty.getCount());
+		Assert.assertTrue(Double.isNaN(empty.getMean()));
+		Assert.assertTrue(Double.isNaN(empty.getMin()));
+	}
+	
+	@Test
+	public void largeStatsTest() {
+		// large values close to each other, where the sum of squares would lose the variance
+		BoostDoubleList list = new BoostDoubleList();
+		for (int i = 0; i < 200000; i++) {
+			list.add(1e9 + i % 10);
+		}
+		BoostStatCounter stats = list.stats();
+		
+		Assert.assertEquals(200000, stats.getCount());
+		Assert.assertEquals(1e9 + 4.5, stats.getMean(), 1e-6);
+		Assert.assertEquals(8.25, stats.getVariance(), 1e-6);
+		Assert.assertEquals(1e9, stats.getMin(), 0.0);
+		Assert.assertEquals(1e9 + 9, stats.getMax(), 0.0);
+		
+		BoostPair<double[], long[]> histogram = list.histogram(3);
+		Assert.assertArrayEquals(new double[] {1e9, 1e9 + 3, 1e9 + 6, 1e9 + 9}, histogram.getKey(), 0.0);
+		Assert.assertArrayEquals(new long[] {60000, 60000, 80000}, histogram.getValue());
+	}
+	
+	@Test
+	public void histogramTest() {
+		BoostDoubleList list = buildBoostDoubleList();
+		list.addAll(0.5, 6.5, Double.NaN);
+		
+		Assert.assertArrayEquals(new long[] {2, 5}, list.histogram(new double[] {1.5, 3.5, 5.5}));
+		Assert.assertArrayEquals(new long[] {1, 1, 3}, list.histogram(new double[] {1.0, 2.0, 3.5, 5.0}));
+		
+		BoostPair<double[], long[]> histogram = buildBoostDoubleList().histogram(2);
+		Assert.assertArrayEquals(new double[] {1.5, 3.5, 5.5}, histogram.getKey(), 0.0);
+		Assert.assertArrayEquals(new long[] {2, 5}, histogram.getValue());
+		
+		histogram = BoostDoubleList.of(2.5, 2.5).histogram(4);
+		Assert.assertArrayEquals(new double[] {2.5, 2.5}, histogram.getKey(), 0.0);
+		Assert.assertArrayEquals(new long[] {2}, histogram.getValue());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void histogramBucketsTest() {
+		buildBoostDoubleList().histogram(new double[] {1.5, 1.5, 3.5});
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void histogramNaNTest() {
+		BoostDoubleList.of(1.5, Double.NaN).histogram(2);
+	}
+}
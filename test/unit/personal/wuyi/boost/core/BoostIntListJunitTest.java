@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.hamcrest.collection.IsMapContaining;
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.api.IntFilterFunction;
+import personal.wuyi.boost.api.IntFunction;
+import personal.wuyi.boost.api.IntFunction2;
+import personal.wuyi.boost.entity.BoostStatCounter;
+
+/**
+ * Test class for {@code BoostIntList}.
+ * 
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostIntListJunitTest {
+	public BoostIntList buildBoostIntList() {
+		return BoostIntList.of(5, 1, 3, 3, 2, 5, 3);
+	}
+	
+	@Test
+	public void addTest() {
+		BoostIntList list = new BoostIntList(1);
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+		list.addAll(1, 2);
+		
+		Assert.assertEquals(102, list.size());
+		Assert.assertEquals(2, list.get(101));
+		Assert.assertEquals(0, list.set(0, 3));
+		Assert.assertEquals(3, list.get(0));
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getOutOfRangeTest() {
+		buildBoostIntList().get(7);
+	}
+	
+	@Test
+	public void filterTest() {
+		BoostIntList newList = buildBoostIntList().filter(new IntFilterFunction() {
+			public boolean call(int value) {
+				return value != 3;
+			}
+		});
+		
+		Assert.assertEquals(BoostIntList.of(5, 1, 2, 5), newList);
+	}
+	
+	@Test
+	public void mapTest() {
+		BoostIntList newList = buildBoostIntList().map(new IntFunction() {
+			public int call(int value) {
+				return value * 2;
+			}
+		});
+		
+		Assert.assertEquals(BoostIntList.of(5 * 2, 1 * 2, 3 * 2, 3 * 2, 2 * 2, 5 * 2, 3 * 2), newList);
+	}
+	
+	@Test
+	public void reduceTest() {
+		int sum = buildBoostIntList().reduce(new IntFunction2() {
+			public int call(int obj1, int obj2) {
+				return obj1 + obj2;
+			}
+		});
+		
+		Assert.assertEquals(5 + 1 + 3 + 3 + 2 + 5 + 3, sum);
+	}
+	
+	@Test
+	public void reduceOverflowTest() {
+		int sum = BoostIntList.of(Integer.MAX_VALUE, 1, Integer.MAX_VALUE).reduce(new IntFunction2() {
+			public int call(int obj1, int obj2) {
+				return obj1 + obj2;
+			}
+		});
+		
+		Assert.assertEquals(Integer.MIN_VALUE + Integer.MAX_VALUE, sum);
+		Assert.assertEquals(2.0 * Integer.MAX_VALUE + 1, BoostIntList.of(Integer.MAX_VALUE, 1, Integer.MAX_VALUE).stats().getSum(), 0.0);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void reduceEmptyTest() {
+		new BoostIntList().reduce(new IntFunction2() {
+			public int call(int obj1, int obj2) {
+				return obj1 + obj2;
+			}
+		});
+	}
+	
+	@Test
+	public void distinctTest() {
+		Assert.assertEquals(BoostIntList.of(5, 1, 3, 2), buildBoostIntList().distinct());
+	}
+	
+	@Test
+	public void countByValueTest() {
+		Map<Integer, Long> result = buildBoostIntList().countByValue();
+		
+		Assert.assertEquals(4, result.size());
+		assertThat(result, IsMapContaining.hasEntry(3, 3L));
+		assertThat(result, IsMapContaining.hasEntry(5, 2L));
+		assertThat(result, IsMapContaining.hasEntry(1, 1L));
+	}
+	
+	@Test
+	public void sortTest() {
+		BoostIntList list = buildBoostIntList();
+		
+		Assert.assertEquals(BoostIntList.of(1, 2, 3, 3, 3, 5, 5), list.sort());
+		Assert.assertEquals(5, list.get(0));
+	}
+	
+	@Test
+	public void boxedTest() {
+		assertThat(buildBoostIntList().boxed(), contains(5, 1, 3, 3, 2, 5, 3));
+		Assert.assertEquals("[1, 2]", BoostIntList.of(1, 2).toString());
+	}
+	
+	@Test
+	public void exactSumTest() {
+		Random random = new Random(42);
+		for (int size : new int[] {1000, 100000}) {
+			BoostIntList list = new BoostIntList(size);
+			long sum = 0;
+			for (int i = 0; i < size; i++) {
+				int value = random.nextInt(1000) - 10;
+				list.add(value);
+				sum += value;
+			}
+			Assert.assertEquals((double) sum, list.stats().getSum(), 0.0);
+		}
+	}
+	
+	@Test
+	public void statsTest() {
+		BoostStatCounter stats = buildBoostIntList().stats();
+		
+		Assert.assertEquals(7, stats.getCount());
+		Assert.assertEquals(22.0, stats.getSum(), 1e-12);
+		Assert.assertEquals(22.0 / 7, stats.getMean(), 1e-12);
+		Assert.assertEquals(1.836734693877551, stats.getVariance(), 1e-12);
+		Assert.assertEquals(1.0, stats.getMin(), 0.0);
+		Assert.assertEquals(5.0, stats.getMax(), 0.0);
+		Assert.assertArrayEquals(new long[] {1, 1, 3, 2}, buildBoostIntList().histogram(4).getValue());
+	}
+}
@@ -16,10 +16,21 @@
 
 package personal.wuyi.boost.core;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hamcrest.collection.IsMapContaining;
 import org.junit.Assert;
@@ -27,11 +38,14 @@ import org.junit.Test;
 
 import personal.wuyi.boost.api.FlatMapFunction;
 import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function0;
+import personal.wuyi.boost.api.Function2;
 import personal.wuyi.boost.api.PairFunction;
 import personal.wuyi.boost.api.VoidFunction;
 import personal.wuyi.boost.core.BoostList;
 import personal.wuyi.boost.core.BoostMap;
 import personal.wuyi.boost.entity.BoostPair;
+import personal.wuyi.boost.entity.BoostStatCounter;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
@@ -151,6 +165,27 @@ public class BoostListJunitTest {
 		assertThat(newMap, IsBoostMapContaining.hasEntry("FFF", 1));
 	}
 	
+	@Test
+	public void reduceToPairsTest() {
+		BoostList<String> list = buildBoostList1();
+		
+		BoostMap<String, Integer> newMap = list.reduceToPairs(new PairFunction<String, String, Integer>() {
+			public BoostPair<String, Integer> call(String s) {
+				return new BoostPair<String, Integer>(s, 1);
+			}
+		}, new Function2<Integer, Integer, Integer>() {
+			public Integer call(Integer i1, Integer i2) {
+				return i1 + i2; 
+			}
+		});
+		
+		Assert.assertEquals(6, newMap.size());
+		assertThat(newMap.keySet(), contains("AAA", "BBB", "ZZZ", "CCC", "EEE", "FFF"));
+		assertThat(newMap, IsBoostMapContaining.hasEntry("CCC", 3));
+		assertThat(newMap, IsBoostMapContaining.hasEntry("FFF", 2));
+		assertThat(newMap, IsBoostMapContaining.hasEntry("ZZZ", 1));
+	}
+	
 	@Test
 	public void distinctTest() {
 		BoostList<String> list = buildBoostList1();
@@ -160,6 +195,16 @@ public class BoostListJunitTest {
 		assertThat(newList, contains("AAA", "BBB", "ZZZ", "CCC", "EEE", "FFF"));
 	}
 	
+	@Test
+	public void distinctSortedTest() {
+		BoostList<String> list = new BoostList<String>();
+		list.addAll(Arrays.asList("AAA", "AAA", "BBB", "CCC", "CCC", "CCC", "DDD"));
+		BoostList<String> newList = list.distinct(Comparator.<String>naturalOrder());
+		
+		assertThat(newList, hasSize(4));
+		assertThat(newList, contains("AAA", "BBB", "CCC", "DDD"));
+	}
+	
 	@Test
 	public void unionTest() {
 		BoostList<String> list  = buildBoostList1();
@@ -206,6 +251,45 @@ public class BoostListJunitTest {
 		assertThat(newList, containsInAnyOrder("AAA"));
 	}
 	
+	@Test
+	public void intersectionKeepsDuplicatesTest() {
+		BoostList<String> list  = buildBoostList1();
+		BoostList<String> other = new BoostList<String>();
+		other.add("FFF");
+		other.add("CCC");
+		
+		assertThat(list.intersection(other), contains("CCC", "CCC", "CCC", "FFF", "FFF"));
+		assertThat(list.subtract(other),     contains("AAA", "BBB", "ZZZ", "EEE"));
+	}
+	
+	@Test
+	public void intersectionSortedTest() {
+		BoostList<String> list  = new BoostList<String>();
+		list.addAll(Arrays.asList("AAA", "BBB", "BBB", "CCC", "FFF"));
+		
+		BoostList<String> other = new BoostList<String>();
+		other.addAll(Arrays.asList("BBB", "CCC", "DDD", "EEE", "FFF", "GGG"));
+		
+		BoostList<String> newList = list.intersection(other, Comparator.<String>naturalOrder());
+		
+		assertThat(newList, hasSize(4));
+		assertThat(newList, contains("BBB", "BBB", "CCC", "FFF"));
+	}
+	
+	@Test 
+	public void subtractSortedTest() {
+		BoostList<String> list  = new BoostList<String>();
+		list.addAll(Arrays.asList("AAA", "BBB", "BBB", "CCC", "FFF", "HHH", "III"));
+		
+		BoostList<String> other = new BoostList<String>();
+		other.addAll(Arrays.asList("BBB", "CCC", "DDD", "GGG"));
+		
+		BoostList<String> newList = list.subtract(other, Comparator.<String>naturalOrder());
+		
+		assertThat(newList, hasSize(4));
+		assertThat(newList, contains("AAA", "FFF", "HHH", "III"));
+	}
+	
 	@Test
 	public void cartesianTest() {
 		BoostList<String> list  = buildBoostList1();
@@ -313,5 +397,275 @@ public class BoostListJunitTest {
 		Assert.assertEquals(0, list.take(0).size());
 		assertThat(list.take(3), contains("111", "222", "333"));
 		assertThat(list.take(20), contains("111", "222", "333", "444", "555", "666", "777"));
+		assertThat(list.take(7), contains("111", "222", "333", "444", "555", "666", "777"));
+	}
+	
+	@Test
+	public void sortByTest() {
+		BoostList<String> list = buildBoostList2();
+		Function<String, Integer> length = new Function<String, Integer>() {
+			public Integer call(String str) {
+				return str.length();
+			}
+		};
+		
+		assertThat(list.sortBy(length, null), contains("apple,tree,car,king", "open,door,window,run", "high,small,tall,computer,team"));
+		assertThat(list.sortBy(length, null, false), contains("high,small,tall,computer,team", "open,door,window,run", "apple,tree,car,king"));
+		
+		// stable: the elements with the same key keep their order
+		BoostList<String> sorted = buildBoostList1().sortBy(new Function<String, Character>() {
+			public Character call(String str) {
+				return str.charAt(0) < 'D' ? 'A' : 'B';
+			}
+		}, null);
+		assertThat(sorted, contains("AAA", "BBB", "CCC", "CCC", "CCC", "ZZZ", "EEE", "FFF", "FFF"));
+	}
+	
+	@Test
+	public void takeOrderedTest() {
+		BoostList<String> list = buildBoostList1();
+		
+		assertThat(list.takeOrdered(3), contains("AAA", "BBB", "CCC"));
+		assertThat(list.top(4), contains("ZZZ", "FFF", "FFF", "EEE"));
+		assertThat(list.takeOrdered(2, new Comparator<String>() {
+			public int compare(String s1, String s2) {
+				return s2.compareTo(s1);
+			}
+		}), contains("ZZZ", "FFF"));
+		Assert.assertEquals(9, list.takeOrdered(20).size());
+		Assert.assertEquals(0, list.top(0).size());
+	}
+	
+	@Test
+	public void topFrequentValuesTest() {
+		BoostList<Integer> list = new BoostList<>();
+		for (int i = 0; i < 100000; i++) {
+			list.add((i * 7919) % 100003);
+		}
+		BoostList<Integer> sorted = list.sortBy(new Function<Integer, Integer>() {
+			public Integer call(Integer i) {
+				return i;
+			}
+		}, null, false);
+		
+		Assert.assertEquals(sorted.subList(0, 100), list.top(100));
+		Assert.assertEquals(list.sortBy(new Function<Integer, Integer>() {
+			public Integer call(Integer i) {
+				return i;
+			}
+		}, null).take(50), list.takeOrdered(50));
+		
+		BoostList<Map.Entry<String, Long>> counts = new BoostList<>();
+		counts.addAll(buildBoostList1().countByValue().entrySet());
+		List<Map.Entry<String, Long>> frequent = counts.top(2, new Comparator<Map.Entry<String, Long>>() {
+			public int compare(Map.Entry<String, Long> e1, Map.Entry<String, Long> e2) {
+				return e1.getValue().compareTo(e2.getValue());
+			}
+		});
+		Assert.assertEquals("CCC", frequent.get(0).getKey());
+		Assert.assertEquals("FFF", frequent.get(1).getKey());
+	}
+	
+	@Test
+	public void findTest() {
+		BoostList<String> list = buildBoostList3();
+		Function<String, Boolean> over500 = new Function<String, Boolean>() {
+			public Boolean call(String str) {
+				return Integer.parseInt(str) > 500;
+			}
+		};
+		
+		Assert.assertEquals("111", list.first().get());
+		Assert.assertEquals("555", list.find(over500).get());
+		Assert.assertTrue(list.anyMatch(over500));
+		Assert.assertTrue(list.exists(over500));
+		Assert.assertFalse(list.allMatch(over500));
+		Assert.assertFalse(new BoostList<String>().first().isPresent());
+		Assert.assertFalse(new BoostList<String>().anyMatch(over500));
+		Assert.assertTrue(new BoostList<String>().allMatch(over500));
+	}
+	
+	@Test
+	public void reduceTest() {
+		Function2<String, String, String> concat = new Function2<String, String, String>() {
+			public String call(String s1, String s2) {
+				return s1 + s2;
+			}
+		};
+		
+		Assert.assertEquals("111222333444555666777", buildBoostList3().reduce(concat).get());
+		Assert.assertEquals("111222333444555666777", buildBoostList3().fold("", concat));
+		Assert.assertFalse(new BoostList<String>().reduce(concat).isPresent());
+		Assert.assertEquals("", new BoostList<String>().fold("", concat));
+		
+		BoostList<Long> largeList = new BoostList<>();
+		for (long i = 1; i <= 100000; i++) {
+			largeList.add(i);
+		}
+		Assert.assertEquals(Long.valueOf(5000050000L), largeList.reduce(new Function2<Long, Long, Long>() {
+			public Long call(Long a, Long b) {
+				return a + b;
+			}
+		}).get());
+	}
+	
+	@Test
+	public void sequentialActionTest() {
+		BoostList<Long> largeList = new BoostList<>();
+		for (long i = 1; i <= 100000; i++) {
+			largeList.add(i);
+		}
+		
+		// not thread-safe and not associative: only correct when called in order on one thread
+		final Set<Thread> threads = new HashSet<>();
+		Function2<Long, Long, Long> minus = new Function2<Long, Long, Long>() {
+			public Long call(Long a, Long b) {
+				threads.add(Thread.currentThread());
+				return a - b;
+			}
+		};
+		
+		Assert.assertEquals(Long.valueOf(1L - (5000050000L - 1L)), largeList.reduce(minus).get());
+		Assert.assertEquals(Long.valueOf(-5000050000L), largeList.fold(0L, minus));
+		Assert.assertEquals(Collections.singleton(Thread.currentThread()), threads);
+	}
+	
+	@Test
+	public void aggregateTest() {
+		Integer totalLength = buildBoostList1().aggregate(0, new Function2<Integer, String, Integer>() {
+			public Integer call(Integer length, String str) {
+				return length + str.length();
+			}
+		}, new Function2<Integer, Integer, Integer>() {
+			public Integer call(Integer length1, Integer length2) {
+				return length1 + length2;
+			}
+		});
+		Assert.assertEquals(Integer.valueOf(27), totalLength);
+		
+		BoostList<Integer> largeList = new BoostList<>();
+		for (int i = 0; i < 100000; i++) {
+			largeList.add(i);
+		}
+		Function0<List<Integer>> newList = new Function0<List<Integer>>() {
+			public List<Integer> call() {
+				return new ArrayList<>();
+			}
+		};
+		Function2<List<Integer>, Integer, List<Integer>> addEven = new Function2<List<Integer>, Integer, List<Integer>>() {
+			public List<Integer> call(List<Integer> list, Integer i) {
+				if (i % 2 == 0) {
+					list.add(i);
+				}
+				return list;
+			}
+		};
+		Function2<List<Integer>, List<Integer>, List<Integer>> addAll = new Function2<List<Integer>, List<Integer>, List<Integer>>() {
+			public List<Integer> call(List<Integer> list1, List<Integer> list2) {
+				list1.addAll(list2);
+				return list1;
+			}
+		};
+		
+		List<Integer> evens = largeList.aggregate(newList, addEven, addAll);
+		Assert.assertEquals(50000, evens.size());
+		Assert.assertEquals(Integer.valueOf(99998), evens.get(49999));
+		Assert.assertEquals(evens, largeList.treeAggregate(newList, addEven, addAll, 2));
+	}
+	
+	@Test
+	public void statsTest() {
+		BoostList<Integer> list = new BoostList<>();
+		list.addAll(Arrays.asList(5, 1, 3, 3, 2, 5, 3));
+		BoostStatCounter stats = list.stats();
+		
+		Assert.assertEquals(7, stats.getCount());
+		Assert.assertEquals(22.0 / 7, stats.getMean(), 1e-12);
+		Assert.assertEquals(1.836734693877551, stats.getVariance(), 1e-12);
+		Assert.assertEquals(1.0, stats.getMin(), 0.0);
+		Assert.assertEquals(5.0, stats.getMax(), 0.0);
+		Assert.assertArrayEquals(new long[] {2, 5}, list.histogram(new double[] {1, 3, 5}));
+		Assert.assertArrayEquals(new double[] {1, 3, 5}, list.histogram(2).getKey(), 0.0);
+		Assert.assertArrayEquals(new long[] {2, 5}, list.histogram(2).getValue());
+	}
+	
+	@Test
+	public void textFileTest() throws IOException {
+		Path file = Files.createTempFile("boost", ".txt");
+		try {
+			Files.write(file, Arrays.asList("apple tree", "", "open window"), StandardCharsets.UTF_8);
+			
+			BoostList<String> list = BoostList.textFile(file.toString());
+			Assert.assertEquals(Arrays.asList("apple tree", "", "open window"), list);
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void saveAsTextFileTest() throws IOException {
+		Path directory = Files.createTempDirectory("boost").resolve("words");
+		try {
+			BoostList<String> list = new BoostList<>();
+			list.addAll(Arrays.asList("apple tree", "caf\u00e9 \ud83d\ude00", "open window"));
+			list.saveAsTextFile(directory.toString());
+			
+			Assert.assertEquals(list, BoostList.textFile(directory.resolve("part-00000").toString()));
+		} finally {
+			deleteDirectory(directory);
+			Files.delete(directory.getParent());
+		}
+	}
+	
+	@Test
+	public void saveAsBinaryFileTest() throws IOException {
+		Path parent = Files.createTempDirectory("boost");
+		try {
+			BoostList<Object> list = new BoostList<>();
+			for (int i = 0; i < 50000; i++) {
+				list.add(i % 5 == 0 ? null : i % 5 == 1 ? "value " + i : i % 5 == 2 ? (Object) (long) i : i % 5 == 3 ? (Object) (i / 3.0) : new BoostPair<>(i, i % 2 == 0));
+			}
+			for (BoostCompression compression : BoostCompression.values()) {
+				String path = parent.resolve(compression.name()).toString();
+				list.saveAsBinaryFile(path, compression);
+				
+				BoostList<Object> loaded = BoostList.binaryFile(path);
+				Assert.assertEquals(list.size(), loaded.size());
+				for (int i = 0; i < list.size(); i++) {
+					Object expected = list.get(i);
+					Object actual   = loaded.get(i);
+					if (expected instanceof BoostPair) {
+						Assert.assertEquals(((BoostPair<?, ?>) expected).getKey(), ((BoostPair<?, ?>) actual).getKey());
+						Assert.assertEquals(((BoostPair<?, ?>) expected).getValue(), ((BoostPair<?, ?>) actual).getValue());
+					} else {
+						Assert.assertEquals(expected, actual);
+					}
+				}
+				deleteDirectory(Paths.get(path));
+			}
+		} finally {
+			Files.delete(parent);
+		}
+	}
+	
+	@Test(expected = UncheckedIOException.class)
+	public void saveExistingDirectoryTest() throws IOException {
+		Path directory = Files.createTempDirectory("boost");
+		try {
+			new BoostList<String>().saveAsTextFile(directory.toString());
+		} finally {
+			Files.delete(directory);
+		}
+	}
+	
+	private static void deleteDirectory(Path directory) throws IOException {
+		if (Files.exists(directory)) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+				for (Path file : files) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(directory);
+		}
 	}
 }
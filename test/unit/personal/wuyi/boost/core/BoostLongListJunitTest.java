@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.hamcrest.collection.IsMapContaining;
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.api.LongFilterFunction;
+import personal.wuyi.boost.api.LongFunction;
+import personal.wuyi.boost.api.LongFunction2;
+import personal.wuyi.boost.entity.BoostStatCounter;
+
+/**
+ * Test class for {@code BoostLongList}.
+ * 
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostLongListJunitTest {
+	public BoostLongList buildBoostLongList() {
+		return BoostLongList.of(5000000000L, 1L, 3000000000L, 3000000000L, 2L, 5000000000L, 3000000000L);
+	}
+	
+	@Test
+	public void addTest() {
+		BoostLongList list = new BoostLongList(1);
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+		list.addAll(1L, 2L);
+		
+		Assert.assertEquals(102, list.size());
+		Assert.assertEquals(2L, list.get(101));
+		Assert.assertEquals(0L, list.set(0, 3000000000L));
+		Assert.assertEquals(3000000000L, list.get(0));
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void getOutOfRangeTest() {
+		buildBoostLongList().get(7);
+	}
+	
+	@Test
+	public void filterTest() {
+		BoostLongList newList = buildBoostLongList().filter(new LongFilterFunction() {
+			public boolean call(long value) {
+				return value != 3000000000L;
+			}
+		});
+		
+		Assert.assertEquals(BoostLongList.of(5000000000L, 1L, 2L, 5000000000L), newList);
+	}
+	
+	@Test
+	public void mapTest() {
+		BoostLongList newList = buildBoostLongList().map(new LongFunction() {
+			public long call(long value) {
+				return value * 2;
+			}
+		});
+		
+		Assert.assertEquals(BoostLongList.of(5000000000L * 2, 1L * 2, 3000000000L * 2, 3000000000L * 2, 2L * 2, 5000000000L * 2, 3000000000L * 2), newList);
+	}
+	
+	@Test
+	public void reduceTest() {
+		long sum = buildBoostLongList().reduce(new LongFunction2() {
+			public long call(long obj1, long obj2) {
+				return obj1 + obj2;
+			}
+		});
+		
+		Assert.assertEquals(5000000000L + 1L + 3000000000L + 3000000000L + 2L + 5000000000L + 3000000000L, sum);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void reduceEmptyTest() {
+		new BoostLongList().reduce(new LongFunction2() {
+			public long call(long obj1, long obj2) {
+				return obj1 + obj2;
+			}
+		});
+	}
+	
+	@Test
+	public void distinctTest() {
+		Assert.assertEquals(BoostLongList.of(5000000000L, 1L, 3000000000L, 2L), buildBoostLongList().distinct());
+	}
+	
+	@Test
+	public void countByValueTest() {
+		Map<Long, Long> result = buildBoostLongList().countByValue();
+		
+		Assert.assertEquals(4, result.size());
+		assertThat(result, IsMapContaining.hasEntry(3000000000L, 3L));
+		assertThat(result, IsMapContaining.hasEntry(5000000000L, 2L));
+		assertThat(result, IsMapContaining.hasEntry(1L, 1L));
+	}
+	
+	@Test
+	public void sortTest() {
+		BoostLongList list = buildBoostLongList();
+		
+		Assert.assertEquals(BoostLongList.of(1L, 2L, 3000000000L, 3000000000L, 3000000000L, 5000000000L, 5000000000L), list.sort());
+		Assert.assertEquals(5000000000L, list.get(0));
+	}
+	
+	@Test
+	public void highBitsTest() {
+		long high = 1L << 32;
+		BoostLongList list = BoostLongList.of(high + 1, 1L, Long.MAX_VALUE, high + 1, -high, 1L, high + 1);
+		
+		Assert.assertEquals(BoostLongList.of(high + 1, 1L, Long.MAX_VALUE, -high), list.distinct());
+		
+		Map<Long, Long> result = list.countByValue();
+		Assert.assertEquals(4, result.size());
+		assertThat(result, IsMapContaining.hasEntry(high + 1, 3L));
+		assertThat(result, IsMapContaining.hasEntry(1L, 2L));
+		assertThat(result, IsMapContaining.hasEntry(Long.MAX_VALUE, 1L));
+		
+		Assert.assertEquals(BoostLongList.of(-high, 1L, 1L, high + 1, high + 1, high + 1, Long.MAX_VALUE), list.sort());
+	}
+	
+	@Test
+	public void boxedTest() {
+		assertThat(buildBoostLongList().boxed(), contains(5000000000L, 1L, 3000000000L, 3000000000L, 2L, 5000000000L, 3000000000L));
+		Assert.assertEquals("[1, 2]", BoostLongList.of(1L, 2L).toString());
+	}
+	
+	@Test
+	public void exactSumTest() {
+		Random random = new Random(42);
+		for (int size : new int[] {1000, 100000}) {
+			BoostLongList list = new BoostLongList(size);
+			long sum = 0;
+			for (int i = 0; i < size; i++) {
+				long value = random.nextInt(1 << 30) + 3000000000L;
+				list.add(value);
+				sum += value;
+			}
+			Assert.assertEquals((double) sum, list.stats().getSum(), 0.0);
+		}
+	}
+	
+	@Test
+	public void statsTest() {
+		BoostStatCounter stats = buildBoostLongList().stats();
+		
+		Assert.assertEquals(7, stats.getCount());
+		Assert.assertEquals(2714285714.714286, stats.getMean(), 1e-4);
+		Assert.assertEquals(4.2380952353809526e+18, stats.getSampleVariance(), 1e4);
+		Assert.assertEquals(1.0, stats.getMin(), 0.0);
+		Assert.assertEquals(5e9, stats.getMax(), 0.0);
+		Assert.assertArrayEquals(new long[] {2, 3, 2}, buildBoostLongList().histogram(new double[] {0, 1e9, 4e9, 5e9}));
+	}
+}
@@ -18,13 +18,28 @@ package personal.wuyi.boost.core;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 
 import org.hamcrest.collection.IsIterableContainingInOrder;
+import org.junit.Assert;
 import org.junit.Test;
 
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function0;
 import personal.wuyi.boost.api.Function2;
 import personal.wuyi.boost.api.PairFunction;
 import personal.wuyi.boost.core.BoostMap;
@@ -77,6 +92,117 @@ public class BoostMapJunitTest {
 		assertThat(newMap, IsBoostMapContaining.hasEntry("DDD", 5));
 	}
 	
+	public BoostMap<String, Integer> buildBoostMap2() {
+		BoostMap<String, Integer> map = new BoostMap<String, Integer>();
+		map.put("AAA", 4);
+		map.put("BBB", 7);
+		map.put("AAA", 2);
+		map.put("AAA", 4);
+		map.put("BBB", 1);
+		map.put("CCC", 5);
+		return map;
+	}
+	
+	@Test
+	public void parallelReduceByKeyTest() {
+		BoostMap<Integer, Integer> map = new BoostMap<Integer, Integer>();
+		for (int i = 0; i < 50000; i++) {
+			map.put((i * 7919) % 1000, i);
+		}
+		Function2<Integer, Integer, Integer> sum = new Function2<Integer, Integer, Integer>() {
+			public Integer call(Integer i1, Integer i2) {
+				return i1 + i2; 
+			}
+		};
+		
+		BoostMap<Integer, Integer> expected  = map.reduceByKey(sum);
+		BoostMap<Integer, Integer> ordered   = map.reduceByKey(sum, 4);
+		BoostMap<Integer, Integer> unordered = map.reduceByKey(sum, 4, false);
+		
+		Assert.assertEquals(1000, ordered.size());
+		Assert.assertEquals(new ArrayList<>(expected.entries()), new ArrayList<>(ordered.entries()));
+		Assert.assertEquals(new HashSet<>(expected.entries()),   new HashSet<>(unordered.entries()));
+	}
+	
+	@Test
+	public void parallelReduceByKeyHotKeyTest() {
+		BoostMap<String, BoostPair<Integer, Integer>> map = new BoostMap<String, BoostPair<Integer, Integer>>();
+		for (int i = 0; i < 100000; i++) {
+			map.put(i % 10 == 0 ? "cold" + i : "hot", new BoostPair<Integer, Integer>(i, i));
+		}
+		
+		// keeps the first and the last value: associative but not commutative
+		BoostMap<String, BoostPair<Integer, Integer>> newMap = map.reduceByKey(new Function2<BoostPair<Integer, Integer>, BoostPair<Integer, Integer>, BoostPair<Integer, Integer>>() {
+			public BoostPair<Integer, Integer> call(BoostPair<Integer, Integer> p1, BoostPair<Integer, Integer> p2) {
+				return new BoostPair<Integer, Integer>(p1.getKey(), p2.getValue());
+			}
+		}, 4);
+		
+		Assert.assertEquals(10001, newMap.size());
+		Assert.assertEquals(Integer.valueOf(1),     newMap.get("hot").get(0).getKey());
+		Assert.assertEquals(Integer.valueOf(99999), newMap.get("hot").get(0).getValue());
+		Assert.assertEquals(Integer.valueOf(500),   newMap.get("cold500").get(0).getValue());
+	}
+	
+	@Test
+	public void combineByKeyTest() {
+		BoostMap<String, BoostPair<Integer, Integer>> sumCounts = buildBoostMap2().combineByKey(new Function<Integer, BoostPair<Integer, Integer>>() {
+			public BoostPair<Integer, Integer> call(Integer value) {
+				return new BoostPair<Integer, Integer>(value, 1);
+			}
+		}, new Function2<BoostPair<Integer, Integer>, Integer, BoostPair<Integer, Integer>>() {
+			public BoostPair<Integer, Integer> call(BoostPair<Integer, Integer> sumCount, Integer value) {
+				return new BoostPair<Integer, Integer>(sumCount.getKey() + value, sumCount.getValue() + 1);
+			}
+		}, new Function2<BoostPair<Integer, Integer>, BoostPair<Integer, Integer>, BoostPair<Integer, Integer>>() {
+			public BoostPair<Integer, Integer> call(BoostPair<Integer, Integer> sumCount1, BoostPair<Integer, Integer> sumCount2) {
+				return new BoostPair<Integer, Integer>(sumCount1.getKey() + sumCount2.getKey(), sumCount1.getValue() + sumCount2.getValue());
+			}
+		});
+		
+		assertThat(sumCounts.keySet(), IsIterableContainingInOrder.contains("AAA", "BBB", "CCC"));
+		Assert.assertEquals(Integer.valueOf(10), sumCounts.get("AAA").get(0).getKey());
+		Assert.assertEquals(Integer.valueOf(3),  sumCounts.get("AAA").get(0).getValue());
+		Assert.assertEquals(Integer.valueOf(8),  sumCounts.get("BBB").get(0).getKey());
+		Assert.assertEquals(Integer.valueOf(1),  sumCounts.get("CCC").get(0).getValue());
+	}
+	
+	@Test
+	public void aggregateByKeyTest() {
+		BoostMap<String, Integer> maxMap = buildBoostMap2().aggregateByKey(Integer.MIN_VALUE, new Function2<Integer, Integer, Integer>() {
+			public Integer call(Integer max, Integer value) {
+				return Math.max(max, value);
+			}
+		}, new Function2<Integer, Integer, Integer>() {
+			public Integer call(Integer max1, Integer max2) {
+				return Math.max(max1, max2);
+			}
+		});
+		
+		assertThat(maxMap, IsBoostMapContaining.hasEntry("AAA", 4));
+		assertThat(maxMap, IsBoostMapContaining.hasEntry("BBB", 7));
+		assertThat(maxMap, IsBoostMapContaining.hasEntry("CCC", 5));
+		
+		BoostMap<String, Set<Integer>> setMap = buildBoostMap2().aggregateByKey(new Function0<Set<Integer>>() {
+			public Set<Integer> call() {
+				return new HashSet<>();
+			}
+		}, new Function2<Set<Integer>, Integer, Set<Integer>>() {
+			public Set<Integer> call(Set<Integer> set, Integer value) {
+				set.add(value);
+				return set;
+			}
+		}, new Function2<Set<Integer>, Set<Integer>, Set<Integer>>() {
+			public Set<Integer> call(Set<Integer> set1, Set<Integer> set2) {
+				set1.addAll(set2);
+				return set1;
+			}
+		});
+		
+		assertThat(setMap, IsBoostMapContaining.hasEntry("AAA", (Set<Integer>) new HashSet<>(Arrays.asList(2, 4))));
+		assertThat(setMap, IsBoostMapContaining.hasEntry("CCC", (Set<Integer>) new HashSet<>(Arrays.asList(5))));
+	}
+	
 	@Test
 	public void mapToPairPairTest() {
 		BoostMap<String, Integer> map = buildBoostMap1();
@@ -104,4 +230,319 @@ public class BoostMapJunitTest {
 		List<String> keyList = new ArrayList<>(keySet);
 		assertThat(keyList, IsIterableContainingInOrder.contains("AAA", "BBB", "CCC", "DDD", "KKK"));
 	}
+	
+	@Test
+	public void freezeTest() {
+		BoostMap<String, Integer> map = buildBoostMap1();
+		map.put("AAA", 5);
+		BoostMap<String, Integer> frozenMap = map.freeze();
+		
+		BoostMap<String, Integer> newMap = frozenMap.reduceByKey(new Function2<Integer, Integer, Integer>() {
+			public Integer call(Integer a, Integer b) {
+				return a + b;
+			}
+		});
+		
+		assertThat(newMap, IsBoostMapContaining.hasEntry("AAA", 15));
+		assertThat(newMap, IsBoostMapContaining.hasEntry("KKK", 23));
+		assertThat(new ArrayList<>(frozenMap.keySet()), IsIterableContainingInOrder.contains("DDD", "CCC", "AAA", "KKK", "BBB"));
+	}
+	
+	@Test
+	public void mapValuesTest() {
+		BoostMap<String, Integer> map = buildBoostMap1();
+		map.put("AAA", 5);
+		
+		Function<Integer, String> toText = new Function<Integer, String>() {
+			public String call(Integer value) {
+				return "#" + value;
+			}
+		};
+		
+		for (BoostMap<String, Integer> source : Arrays.asList(map, map.freeze())) {
+			BoostMap<String, String> newMap = source.mapValues(toText);
+			Assert.assertEquals(6, newMap.size());
+			assertThat(new ArrayList<>(newMap.keySet()), IsIterableContainingInOrder.contains("DDD", "CCC", "AAA", "KKK", "BBB"));
+			assertThat(newMap.get("AAA"), IsIterableContainingInOrder.contains("#10", "#5"));
+			assertThat(newMap.get("KKK"), IsIterableContainingInOrder.contains("#23"));
+		}
+	}
+	
+	@Test
+	public void flatMapValuesTest() {
+		BoostMap<String, Integer> map = buildBoostMap1();
+		map.put("AAA", 5);
+		
+		// values above 15 are repeated twice, the others are dropped
+		FlatMapFunction<Integer, Integer> repeat = new FlatMapFunction<Integer, Integer>() {
+			public Iterable<Integer> call(Integer value) {
+				return value > 15 ? Arrays.asList(value, value) : new ArrayList<Integer>();
+			}
+		};
+		
+		for (BoostMap<String, Integer> source : Arrays.asList(map, map.freeze())) {
+			BoostMap<String, Integer> newMap = source.flatMapValues(repeat);
+			Assert.assertEquals(6, newMap.size());
+			assertThat(new ArrayList<>(newMap.keySet()), IsIterableContainingInOrder.contains("CCC", "KKK", "BBB"));
+			assertThat(newMap.get("KKK"), IsIterableContainingInOrder.contains(23, 23));
+			Assert.assertFalse(newMap.containsKey("AAA"));
+		}
+	}
+	
+	private BoostMap<String, String> buildProfileMap() {
+		BoostMap<String, String> map = new BoostMap<>();
+		map.put("KKK", "k");
+		map.put("AAA", "a1");
+		map.put("ZZZ", "z");
+		map.put("AAA", "a2");
+		return map;
+	}
+	
+	private <A, B> List<String> toStrings(List<BoostPair<A, B>> pairs) {
+		List<String> output = new ArrayList<>();
+		for (BoostPair<A, B> pair : pairs) {
+			output.add(pair.getKey() + "|" + pair.getValue());
+		}
+		return output;
+	}
+	
+	@Test
+	public void joinTest() {
+		BoostMap<String, BoostPair<Integer, String>> joined = buildBoostMap1().join(buildProfileMap());
+		
+		Assert.assertEquals(3, joined.size());
+		assertThat(toStrings(joined.get("AAA")), IsIterableContainingInOrder.contains("10|a1", "10|a2"));
+		assertThat(toStrings(joined.get("KKK")), IsIterableContainingInOrder.contains("23|k"));
+		Assert.assertFalse(joined.containsKey("ZZZ"));
+		Assert.assertFalse(joined.containsKey("DDD"));
+	}
+	
+	@Test
+	public void outerJoinTest() {
+		BoostMap<String, BoostPair<Integer, Optional<String>>> leftJoined = buildBoostMap1().leftOuterJoin(buildProfileMap());
+		Assert.assertEquals(6, leftJoined.size());
+		assertThat(leftJoined.keySet(), IsIterableContainingInOrder.contains("DDD", "CCC", "AAA", "KKK", "BBB"));
+		assertThat(toStrings(leftJoined.get("DDD")), IsIterableContainingInOrder.contains("12|Optional.empty"));
+		assertThat(toStrings(leftJoined.get("KKK")), IsIterableContainingInOrder.contains("23|Optional[k]"));
+		
+		BoostMap<String, BoostPair<Optional<Integer>, String>> rightJoined = buildBoostMap1().rightOuterJoin(buildProfileMap());
+		Assert.assertEquals(4, rightJoined.size());
+		assertThat(rightJoined.keySet(), IsIterableContainingInOrder.contains("KKK", "AAA", "ZZZ"));
+		assertThat(toStrings(rightJoined.get("ZZZ")), IsIterableContainingInOrder.contains("Optional.empty|z"));
+		
+		BoostMap<String, BoostPair<Optional<Integer>, Optional<String>>> fullJoined = buildBoostMap1().fullOuterJoin(buildProfileMap());
+		Assert.assertEquals(7, fullJoined.size());
+		assertThat(fullJoined.keySet(), IsIterableContainingInOrder.contains("DDD", "CCC", "AAA", "KKK", "BBB", "ZZZ"));
+		assertThat(toStrings(fullJoined.get("AAA")), IsIterableContainingInOrder.contains("Optional[10]|Optional[a1]", "Optional[10]|Optional[a2]"));
+		assertThat(toStrings(fullJoined.get("ZZZ")), IsIterableContainingInOrder.contains("Optional.empty|Optional[z]"));
+	}
+	
+	@Test
+	public void sortMergeJoinTest() {
+		BoostMap<String, Integer> map   = buildBoostMap1();
+		BoostMap<String, String>  other = buildProfileMap();
+		map.sortByKey();
+		other.sortByKey();
+		
+		BoostMap<String, BoostPair<Optional<Integer>, Optional<String>>> fullJoined = map.fullOuterJoin(other);
+		assertThat(fullJoined.keySet(), IsIterableContainingInOrder.contains("AAA", "BBB", "CCC", "DDD", "KKK", "ZZZ"));
+		assertThat(toStrings(fullJoined.get("AAA")), IsIterableContainingInOrder.contains("Optional[10]|Optional[a1]", "Optional[10]|Optional[a2]"));
+		assertThat(toStrings(fullJoined.get("DDD")), IsIterableContainingInOrder.contains("Optional[12]|Optional.empty"));
+		assertThat(map.join(other).keySet(), IsIterableContainingInOrder.contains("AAA", "KKK"));
+		
+		// both sides in reverse order: the keys are still merged
+		map.sortByKey(null, false);
+		other.sortByKey(null, false);
+		assertThat(map.fullOuterJoin(other).keySet(), IsIterableContainingInOrder.contains("ZZZ", "KKK", "DDD", "CCC", "BBB", "AAA"));
+		
+		// a new key breaks the key order, so the hash join is used again
+		map.put("AAB", 1);
+		assertThat(map.leftOuterJoin(other).keySet(), IsIterableContainingInOrder.contains("KKK", "DDD", "CCC", "BBB", "AAA", "AAB"));
+	}
+	
+	@Test
+	public void parallelJoinTest() {
+		BoostMap<Integer, Integer> map   = new BoostMap<>();
+		BoostMap<Integer, Integer> other = new BoostMap<>();
+		for (int i = 0; i < 100000; i++) {
+			map.put(i, i);
+			if (i % 3 == 0) {
+				other.put(i, -i);
+				other.put(i, i * 2);
+			}
+		}
+		
+		BoostMap<Integer, BoostPair<Integer, Optional<Integer>>> joined = map.leftOuterJoin(other);
+		Assert.assertEquals(100000 + 33334, joined.size());
+		Assert.assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(joined.keySet()));
+		assertThat(toStrings(joined.get(99999)), IsIterableContainingInOrder.contains("99999|Optional[-99999]", "99999|Optional[199998]"));
+		assertThat(toStrings(joined.get(99998)), IsIterableContainingInOrder.contains("99998|Optional.empty"));
+		Assert.assertEquals(33334 * 2, map.join(other).size());
+	}
+	
+	@Test
+	public void cogroupTest() {
+		BoostMap<String, BoostPair<List<Integer>, List<String>>> grouped = buildBoostMap1().cogroup(buildProfileMap());
+		Assert.assertEquals(6, grouped.size());
+		assertThat(toStrings(grouped.get("AAA")), IsIterableContainingInOrder.contains("[10]|[a1, a2]"));
+		assertThat(toStrings(grouped.get("ZZZ")), IsIterableContainingInOrder.contains("[]|[z]"));
+		
+		BoostMap<String, Integer> third = new BoostMap<>();
+		third.put("QQQ", 1);
+		third.put("AAA", 2);
+		BoostMap<String, List<List<?>>> groupedAll = buildBoostMap1().cogroup(Arrays.asList(buildProfileMap(), third));
+		assertThat(groupedAll.keySet(), IsIterableContainingInOrder.contains("DDD", "CCC", "AAA", "KKK", "BBB", "ZZZ", "QQQ"));
+		Assert.assertEquals("[[10], [a1, a2], [2]]", groupedAll.get("AAA").get(0).toString());
+		Assert.assertEquals("[[], [], [1]]",         groupedAll.get("QQQ").get(0).toString());
+	}
+	
+	@Test
+	public void saveTest() throws IOException {
+		Path parent = Files.createTempDirectory("boost");
+		try {
+			BoostMap<String, Integer> map = buildBoostMap1();
+			map.saveAsBinaryFile(parent.resolve("binary").toString(), BoostCompression.GZIP);
+			BoostMap<String, Integer> loaded = BoostMap.binaryFile(parent.resolve("binary").toString());
+			Assert.assertEquals(map.size(), loaded.size());
+			Assert.assertEquals(map.keySet(), loaded.keySet());
+			for (String key : map.keySet()) {
+				Assert.assertEquals(map.get(key), loaded.get(key));
+			}
+			
+			map.saveAsTextFile(parent.resolve("text").toString());
+			List<String> lines = Files.readAllLines(parent.resolve("text").resolve("part-00000"), StandardCharsets.UTF_8);
+			Assert.assertEquals(map.size(), lines.size());
+			String firstKey = map.keySet().iterator().next();
+			Assert.assertEquals(firstKey + "\t" + map.get(firstKey).get(0), lines.get(0));
+		} finally {
+			deleteDirectory(parent.resolve("binary"));
+			deleteDirectory(parent.resolve("text"));
+			Files.delete(parent);
+		}
+	}
+	
+	@Test
+	public void snapshotTest() throws IOException {
+		Path file = Files.createTempDirectory("boost").resolve("snapshot");
+		try {
+			BoostMap<String, Integer> map = new BoostMap<>();
+			for (int i = 0; i < 20000; i++) {
+				map.put("key" + i, i);
+				if (i % 10 == 0) {
+					map.put("key" + i, -i);
+				}
+			}
+			map.save(file.toString());
+			
+			BoostMap<String, Integer> opened = BoostMap.open(file.toString());
+			Assert.assertEquals(map.size(), opened.size());
+			Assert.assertEquals(map.keySet().size(), opened.keySet().size());
+			for (String key : map.keySet()) {
+				Assert.assertEquals(map.get(key), opened.get(key));
+			}
+			assertThat(opened.get("key10"), IsIterableContainingInOrder.contains(10, -10));
+			Assert.assertTrue(opened.containsKey("key0"));
+			Assert.assertFalse(opened.containsKey("key20000"));
+			Assert.assertFalse(opened.containsKey("aaa"));
+			Assert.assertFalse(opened.containsKey(3));
+			Assert.assertFalse(opened.containsKey(new Object()));
+			Assert.assertTrue(opened.get("zzz").isEmpty());
+			Assert.assertTrue(opened.containsEntry("key30", -30));
+			Assert.assertTrue(opened.containsValue(19999));
+			Assert.assertEquals(new HashSet<>(map.keySet()), new HashSet<>(opened.keySet()));
+			
+			int entries = 0;
+			Set<String> keys = new HashSet<>();
+			String previous = null;
+			for (Entry<String, Integer> entry : opened.entries()) {
+				Assert.assertTrue(map.containsEntry(entry.getKey(), entry.getValue()));
+				if (!entry.getKey().equals(previous)) {
+					Assert.assertTrue(keys.add(entry.getKey()));        // the values of a key follow each other
+				}
+				previous = entry.getKey();
+				entries++;
+			}
+			Assert.assertEquals(map.size(), entries);
+			Assert.assertEquals(map.size(), opened.freeze().size());
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(file.getParent());
+		}
+	}
+	
+	@Test
+	public void snapshotSegmentTest() throws IOException {
+		Path parent = Files.createTempDirectory("boost");
+		BoostMap<Integer, String> map = new BoostMap<>();
+		for (int i = 0; i < 5000; i++) {
+			map.put(i, "value " + i);
+		}
+		for (int segmentSize : new int[] {MappedMultimapStore.BLOCK_SIZE * 3, MappedMultimapStore.BLOCK_SIZE + 7, 100}) {
+			Path file = parent.resolve("snapshot" + segmentSize);
+			try {
+				MappedMultimapStore.save(file.toString(), map.store(), segmentSize);
+				
+				BoostMap<Integer, String> opened = BoostMap.open(file.toString());
+				Assert.assertEquals(5000, opened.size());
+				for (int i = 0; i < 5000; i++) {
+					assertThat(opened.get(i), IsIterableContainingInOrder.contains("value " + i));
+				}
+				Assert.assertEquals(5000, opened.keySet().size());
+				Assert.assertEquals(new HashSet<>(map.keySet()), new HashSet<>(opened.keySet()));
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		}
+		Files.delete(parent);
+	}
+	
+	@Test
+	public void snapshotErrorTest() throws IOException {
+		Path file = Files.createTempDirectory("boost").resolve("snapshot");
+		try {
+			BoostMap<String, Integer> map = buildBoostMap1();
+			map.save(file.toString());
+			try {
+				map.save(file.toString());
+				Assert.fail("the existing file is overwritten");
+			} catch (UncheckedIOException e) {
+				Assert.assertTrue(e.getCause() instanceof FileAlreadyExistsException);
+			}
+			
+			BoostMap<String, Integer> opened = BoostMap.open(file.toString());
+			try {
+				opened.put("AAA", 1);
+				Assert.fail("the mapped map is modified");
+			} catch (UnsupportedOperationException e) {
+				// expected
+			}
+			
+			Files.write(file, "not a snapshot file at all, but long enough for a footer".getBytes(StandardCharsets.UTF_8));
+			try {
+				BoostMap.open(file.toString());
+				Assert.fail("a text file is opened");
+			} catch (UncheckedIOException e) {
+				// expected
+			}
+			
+			Files.delete(file);
+			new BoostMap<String, Integer>().save(file.toString());
+			Assert.assertEquals(0, BoostMap.open(file.toString()).size());
+			Assert.assertFalse(BoostMap.<String, Integer>open(file.toString()).entries().iterator().hasNext());
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(file.getParent());
+		}
+	}
+	
+	private static void deleteDirectory(Path directory) throws IOException {
+		if (Files.exists(directory)) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+				for (Path file : files) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(directory);
+		}
+	}
 }
@@ -23,16 +23,22 @@ import static org.hamcrest.CoreMatchers.is;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.Map.Entry;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import personal.wuyi.boost.api.VoidFunction2;
 import personal.wuyi.boost.core.BoostMultimap;
+import personal.wuyi.boost.entity.BoostEntry;
 
 /**
  * Test class for {@code BoostMultimap}.
@@ -114,6 +120,19 @@ public class BoostMultimapJunitTest {
 		Assert.assertTrue(size1 == size2);
 	}
 	
+	@Test
+	public void removeLastValueTest() {
+		map.remove("bbb", 4);
+		map.remove("bbb", 5);
+		Assert.assertTrue(map.containsKey("bbb"));
+		
+		map.remove("bbb", 6);
+		Assert.assertFalse(map.containsKey("bbb"));
+		assertThat(map.keySet(), contains("aaa"));
+		assertThat(map.get("bbb"), hasSize(0));
+		Assert.assertEquals(3, map.size());
+	}
+	
 	@Test
 	public void removeAllTest() {
 		map.removeAll("aaa");
@@ -138,6 +157,46 @@ public class BoostMultimapJunitTest {
 		assertThat(keyList, contains("aaa", "ppp", "zzz"));
 	}
 	
+	@Test
+	public void sortByKeyComparatorTest() {
+		BoostMultimap<String, Integer> map = new BoostMultimap<>();
+		
+		map.put("ppp", 2);
+		map.put("a", 1);
+		map.put("zz", 5);
+		map.put("a", 3);
+		map.sortByKey(null, false);
+		assertThat(map.keySet(), contains("zz", "ppp", "a"));
+		assertThat(map.get("a"), contains(1, 3));
+		
+		map.sortByKey(new Comparator<String>() {
+			public int compare(String s1, String s2) {
+				return Integer.compare(s1.length(), s2.length());
+			}
+		}, true);
+		assertThat(map.keySet(), contains("a", "zz", "ppp"));
+	}
+	
+	@Test
+	public void parallelSortByKeyTest() {
+		// enough keys to sort the ranges in parallel
+		BoostMultimap<Integer, Integer> map = new BoostMultimap<>();
+		Random random = new Random(11);
+		for (int i = 0; i < 200000; i++) {
+			int key = random.nextInt(150000);
+			map.put(key, i);
+		}
+		List<Integer> expected = new ArrayList<>(new TreeSet<>(map.keySet()));
+		
+		map.sortByKey(null, true);
+		Assert.assertEquals(expected, new ArrayList<>(map.keySet()));
+		Assert.assertEquals(200000, map.size());
+		
+		map.sortByKey(null, false);
+		Collections.reverse(expected);
+		Assert.assertEquals(expected, new ArrayList<>(map.keySet()));
+	}
+	
 	@Test
 	public void keySetTest() {
 		assertThat(map.keySet(), contains("aaa", "bbb"));
@@ -226,4 +285,52 @@ public class BoostMultimapJunitTest {
 		Assert.assertEquals(0, nonEmptyMap2.size());
 		Assert.assertTrue(nonEmptyMap2.isEmpty());
 	}
+	
+	@Test
+	public void freezeTest() {
+		map.put(null, 7);
+		BoostMultimap<String, Integer> frozenMap = map.freeze();
+		
+		Assert.assertEquals(7, frozenMap.size());
+		assertThat(frozenMap.get("aaa"), contains(1, 2, 3));
+		assertThat(frozenMap.get(null),  contains(7));
+		assertThat(frozenMap.get("yyy"), hasSize(0));
+		assertThat(new ArrayList<>(frozenMap.keySet()), contains("aaa", "bbb", null));
+		Assert.assertTrue(frozenMap.containsEntry("bbb", 5));
+		Assert.assertFalse(frozenMap.containsEntry("bbb", 1));
+		Assert.assertTrue(frozenMap.containsValue(6));
+		Assert.assertEquals(new ArrayList<>(map.entries()), new ArrayList<>(frozenMap.entries()));
+		Assert.assertSame(frozenMap, frozenMap.freeze());
+		
+		// the frozen copy does not see the later changes
+		map.put("ccc", 8);
+		Assert.assertFalse(frozenMap.containsKey("ccc"));
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void freezePutTest() {
+		map.freeze().put("ccc", 9);
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void freezeRemoveTest() {
+		map.freeze().entries().remove(new BoostEntry<>("aaa", 1));
+	}
+	
+	@Test
+	public void forEachEntryTest() {
+		final List<String> pairs = new ArrayList<>();
+		VoidFunction2<String, Integer> collector = new VoidFunction2<String, Integer>() {
+			public void call(String key, Integer value) {
+				pairs.add(key + "=" + value);
+			}
+		};
+		
+		map.forEachEntry(collector);
+		assertThat(pairs, contains("aaa=1", "aaa=2", "aaa=3", "bbb=4", "bbb=5", "bbb=6"));
+		
+		pairs.clear();
+		map.freeze().forEachEntry(collector);
+		assertThat(pairs, contains("aaa=1", "aaa=2", "aaa=3", "bbb=4", "bbb=5", "bbb=6"));
+	}
 }
@@ -0,0 +1,524 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function0;
+import personal.wuyi.boost.api.Function2;
+import personal.wuyi.boost.api.PairFunction;
+import personal.wuyi.boost.api.VoidFunction;
+import personal.wuyi.boost.entity.BoostPair;
+import personal.wuyi.boost.entity.BoostStatCounter;
+
+/**
+ * Test class for {@code BoostPipeline}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostPipelineJunitTest {
+	public BoostList<String> buildBoostList() {
+		BoostList<String> list = new BoostList<String>();
+		list.add("apple tree car king");
+		list.add("open apple window car");
+		list.add("high apple tall king team");
+		return list;
+	}
+
+	public BoostPipeline<String> buildWordPipeline() {
+		return buildBoostList().lazy().flatMap(new FlatMapFunction<String, String>() {
+			public Iterable<String> call(String s) {
+				return Arrays.asList(s.split(" "));
+			}
+		});
+	}
+
+	public BoostList<Integer> buildLargeBoostList() {
+		BoostList<Integer> list = new BoostList<Integer>();
+		for (int i = 0; i < 100000; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+
+	public BoostPipeline<Integer> buildLargePipeline(BoostPipeline<Integer> pipeline) {
+		return pipeline.filter(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i % 3 != 0;
+			}
+		}).flatMap(new FlatMapFunction<Integer, Integer>() {
+			public Iterable<Integer> call(Integer i) {
+				return Arrays.asList(i, -i);
+			}
+		}).map(new Function<Integer, Integer>() {
+			public Integer call(Integer i) {
+				return i * 2;
+			}
+		});
+	}
+
+	@Test
+	public void collectTest() {
+		BoostList<Integer> newList = buildWordPipeline().filter(new Function<String, Boolean>() {
+			public Boolean call(String str) {
+				return !str.equals("apple");
+			}
+		}).map(new Function<String, Integer>() {
+			public Integer call(String str) {
+				return str.length();
+			}
+		}).collect();
+
+		assertThat(newList, hasSize(10));
+		assertThat(newList, contains(4, 3, 4, 4, 6, 3, 4, 4, 4, 4));
+	}
+
+	@Test
+	public void countTest() {
+		Assert.assertEquals(Long.valueOf(13L), buildWordPipeline().count());
+	}
+
+	@Test
+	public void foreachTest() {
+		final List<String> stringList = new ArrayList<>();
+
+		buildWordPipeline().foreach(new VoidFunction<String>() {
+			public void call(String str) {
+				stringList.add(str + "#");
+			}
+		});
+
+		assertThat(stringList, hasSize(13));
+		assertThat(stringList.get(0),  is("apple#"));
+		assertThat(stringList.get(12), is("team#"));
+	}
+
+	@Test
+	public void mapToPairTest() {
+		BoostMap<String, Integer> newMap = buildWordPipeline().mapToPair(new PairFunction<String, String, Integer>() {
+			public BoostPair<String, Integer> call(String s) {
+				return new BoostPair<String, Integer>(s, 1);
+			}
+		});
+
+		Assert.assertEquals(13, newMap.size());
+		assertThat(newMap.get("apple"), contains(1, 1, 1));
+		assertThat(newMap, IsBoostMapContaining.hasEntry("team", 1));
+	}
+
+	@Test
+	public void lazinessTest() {
+		final List<String> visited = new ArrayList<>();
+		BoostList<String> list = buildBoostList();
+
+		BoostPipeline<String> pipeline = list.lazy().map(new Function<String, String>() {
+			public String call(String str) {
+				visited.add(str);
+				return str;
+			}
+		});
+		Assert.assertTrue(visited.isEmpty());
+
+		list.add("late line");
+		Assert.assertEquals(Long.valueOf(4L), pipeline.count());
+		Assert.assertEquals(4, visited.size());
+	}
+
+	@Test
+	public void parallelCollectTest() {
+		BoostList<Integer> list = buildLargeBoostList();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			BoostList<Integer> expected = buildLargePipeline(list.lazy()).collect();
+			BoostList<Integer> actual   = buildLargePipeline(list.lazy().parallel(pool)).collect();
+
+			Assert.assertTrue(list.par().isParallel());
+			Assert.assertEquals(133332, actual.size());
+			Assert.assertEquals(expected, actual);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void unorderedCollectTest() {
+		BoostList<Integer> list = buildLargeBoostList();
+		BoostList<Integer> expected = buildLargePipeline(list.lazy()).collect();
+		BoostList<Integer> actual   = buildLargePipeline(list.par().unordered()).collect();
+
+		Assert.assertEquals(expected.size(), actual.size());
+		Assert.assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+	}
+
+	@Test
+	public void parallelCountTest() {
+		BoostList<Integer> list = buildLargeBoostList();
+
+		Assert.assertEquals(Long.valueOf(133332L), buildLargePipeline(list.par()).count());
+		Assert.assertEquals(Long.valueOf(133332L), buildLargePipeline(list.par().unordered()).count());
+	}
+
+	@Test
+	public void parallelForeachTest() {
+		final AtomicLong sum = new AtomicLong();
+
+		buildLargeBoostList().par().foreach(new VoidFunction<Integer>() {
+			public void call(Integer i) {
+				sum.addAndGet(i);
+			}
+		});
+
+		Assert.assertEquals(4999950000L, sum.get());
+	}
+
+	@Test
+	public void parallelCountByValueTest() {
+		Map<Integer, Long> result = buildLargeBoostList().par().map(new Function<Integer, Integer>() {
+			public Integer call(Integer i) {
+				return i % 7;
+			}
+		}).countByValue();
+
+		Assert.assertEquals(7, result.size());
+		Assert.assertEquals(Long.valueOf(14286L), result.get(0));
+		Assert.assertEquals(Long.valueOf(14285L), result.get(6));
+	}
+
+	@Test
+	public void parallelMapToPairTest() {
+		BoostMap<Integer, Integer> newMap = buildLargeBoostList().par().mapToPair(new PairFunction<Integer, Integer, Integer>() {
+			public BoostPair<Integer, Integer> call(Integer i) {
+				return new BoostPair<Integer, Integer>(i % 10, i);
+			}
+		});
+
+		Assert.assertEquals(100000, newMap.size());
+		assertThat(newMap.keySet(), contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		Assert.assertEquals(Integer.valueOf(99990), newMap.get(0).get(9999));
+	}
+
+	@Test
+	public void reduceToPairsTest() {
+		PairFunction<Integer, Integer, Long> pairFn = new PairFunction<Integer, Integer, Long>() {
+			public BoostPair<Integer, Long> call(Integer i) {
+				return new BoostPair<Integer, Long>(i % 10, (long) i);
+			}
+		};
+		Function2<Long, Long, Long> reduceFn = new Function2<Long, Long, Long>() {
+			public Long call(Long l1, Long l2) {
+				return l1 + l2;
+			}
+		};
+		
+		BoostMap<Integer, Long> sequential = buildLargeBoostList().lazy().reduceToPairs(pairFn, reduceFn);
+		BoostMap<Integer, Long> parallel   = buildLargeBoostList().par().reduceToPairs(pairFn, reduceFn);
+		
+		Assert.assertEquals(10, sequential.size());
+		assertThat(sequential.keySet(), contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		assertThat(sequential, IsBoostMapContaining.hasEntry(0, 499950000L));
+		assertThat(sequential, IsBoostMapContaining.hasEntry(9, 500040000L));
+		assertThat(parallel.keySet(), contains(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+		assertThat(parallel, IsBoostMapContaining.hasEntry(0, 499950000L));
+		assertThat(parallel, IsBoostMapContaining.hasEntry(9, 500040000L));
+	}
+
+	@Test
+	public void aggregateByKeyTest() {
+		BoostMap<Integer, Set<Integer>> newMap = buildLargeBoostList().par().aggregateByKey(new PairFunction<Integer, Integer, Integer>() {
+			public BoostPair<Integer, Integer> call(Integer i) {
+				return new BoostPair<Integer, Integer>(i % 3, i % 5);
+			}
+		}, new Function0<Set<Integer>>() {
+			public Set<Integer> call() {
+				return new HashSet<>();
+			}
+		}, new Function2<Set<Integer>, Integer, Set<Integer>>() {
+			public Set<Integer> call(Set<Integer> set, Integer value) {
+				set.add(value);
+				return set;
+			}
+		}, new Function2<Set<Integer>, Set<Integer>, Set<Integer>>() {
+			public Set<Integer> call(Set<Integer> set1, Set<Integer> set2) {
+				set1.addAll(set2);
+				return set1;
+			}
+		});
+		
+		Assert.assertEquals(3, newMap.size());
+		assertThat(newMap.keySet(), contains(0, 1, 2));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3, 4)), newMap.get(1).get(0));
+	}
+
+	@Test
+	public void takeOrderedTest() {
+		assertThat(buildWordPipeline().takeOrdered(3), contains("apple", "apple", "apple"));
+		assertThat(buildWordPipeline().top(2), contains("window", "tree"));
+
+		BoostList<Integer> list = buildLargeBoostList();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertThat(buildLargePipeline(list.lazy().parallel(pool)).top(3), contains(199996, 199994, 199990));
+			assertThat(buildLargePipeline(list.lazy().parallel(pool).unordered()).takeOrdered(3), contains(-199996, -199994, -199990));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void shortCircuitTest() {
+		final AtomicLong calls = new AtomicLong();
+		BoostPipeline<Integer> pipeline = buildLargeBoostList().lazy().map(new Function<Integer, Integer>() {
+			public Integer call(Integer i) {
+				calls.incrementAndGet();
+				return i * 2;
+			}
+		});
+
+		assertThat(pipeline.take(3), contains(0, 2, 4));
+		Assert.assertEquals(3, calls.get());
+		Assert.assertEquals(Integer.valueOf(0), pipeline.first().get());
+		Assert.assertEquals(Integer.valueOf(202), pipeline.find(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i > 200;
+			}
+		}).get());
+		Assert.assertEquals(3 + 1 + 102, calls.get());
+		Assert.assertFalse(pipeline.find(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i < 0;
+			}
+		}).isPresent());
+		Assert.assertEquals(0, new BoostList<Integer>().lazy().take(5).size());
+		Assert.assertFalse(new BoostList<Integer>().lazy().first().isPresent());
+	}
+
+	@Test
+	public void parallelShortCircuitTest() {
+		final AtomicLong calls = new AtomicLong();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			BoostPipeline<Integer> pipeline = buildLargeBoostList().lazy().parallel(pool).map(new Function<Integer, Integer>() {
+				public Integer call(Integer i) {
+					calls.incrementAndGet();
+					return i;
+				}
+			});
+
+			assertThat(pipeline.take(5), contains(0, 1, 2, 3, 4));
+			Assert.assertTrue(calls.get() < 50000);
+			Assert.assertEquals(Integer.valueOf(60000), pipeline.find(new Function<Integer, Boolean>() {
+				public Boolean call(Integer i) {
+					return i >= 60000;
+				}
+			}).get());
+
+			List<Integer> anyFive = pipeline.unordered().take(5);
+			Assert.assertEquals(5, anyFive.size());
+			Assert.assertEquals(5, new HashSet<>(anyFive).size());
+			Assert.assertTrue(pipeline.unordered().find(new Function<Integer, Boolean>() {
+				public Boolean call(Integer i) {
+					return i % 1000 == 999;
+				}
+			}).get() % 1000 == 999);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void matchTest() {
+		final AtomicLong calls = new AtomicLong();
+		BoostPipeline<Integer> pipeline = buildLargeBoostList().par().filter(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				calls.incrementAndGet();
+				return true;
+			}
+		});
+
+		Assert.assertTrue(pipeline.anyMatch(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i == 10;
+			}
+		}));
+		Assert.assertTrue(calls.get() < 100000);
+		Assert.assertTrue(pipeline.exists(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i == 99999;
+			}
+		}));
+		Assert.assertFalse(pipeline.allMatch(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i < 99999;
+			}
+		}));
+		Assert.assertTrue(pipeline.allMatch(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i >= 0;
+			}
+		}));
+		Assert.assertFalse(pipeline.anyMatch(new Function<Integer, Boolean>() {
+			public Boolean call(Integer i) {
+				return i < 0;
+			}
+		}));
+	}
+
+	@Test
+	public void treeAggregateTest() {
+		Function0<List<Integer>> newList = new Function0<List<Integer>>() {
+			public List<Integer> call() {
+				return new ArrayList<>();
+			}
+		};
+		Function2<List<Integer>, Integer, List<Integer>> add = new Function2<List<Integer>, Integer, List<Integer>>() {
+			public List<Integer> call(List<Integer> list, Integer i) {
+				list.add(i);
+				return list;
+			}
+		};
+		Function2<List<Integer>, List<Integer>, List<Integer>> addAll = new Function2<List<Integer>, List<Integer>, List<Integer>>() {
+			public List<Integer> call(List<Integer> list1, List<Integer> list2) {
+				list1.addAll(list2);
+				return list1;
+			}
+		};
+
+		BoostList<Integer> list = buildLargeBoostList();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			BoostPipeline<Integer> pipeline = buildLargePipeline(list.lazy().parallel(pool));
+			BoostList<Integer> expected = buildLargePipeline(list.lazy()).collect();
+			Assert.assertEquals(expected, pipeline.aggregate(newList, add, addAll));
+			for (int depth = 1; depth <= 5; depth++) {
+				Assert.assertEquals(expected, pipeline.treeAggregate(newList, add, addAll, depth));
+			}
+			Assert.assertEquals(expected, buildLargePipeline(list.lazy()).treeAggregate(newList, add, addAll, 2));
+			Assert.assertEquals(Integer.valueOf(0), pipeline.fold(0, new Function2<Integer, Integer, Integer>() {
+				public Integer call(Integer a, Integer b) {
+					return a + b;
+				}
+			}));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void treeAggregateDepthTest() {
+		buildLargeBoostList().par().treeAggregate(null, null, null, 0);
+	}
+
+	@Test
+	public void statsTest() {
+		BoostList<Integer> list = buildLargeBoostList();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			BoostStatCounter expected = buildLargePipeline(list.lazy()).stats();
+			BoostStatCounter stats    = buildLargePipeline(list.lazy().parallel(pool)).stats();
+			Assert.assertEquals(133332, stats.getCount());
+			Assert.assertEquals(0.0, stats.getMean(), 1e-9);
+			Assert.assertEquals(expected.getVariance(), stats.getVariance(), 1e-6 * expected.getVariance());
+			Assert.assertEquals(-199996.0, stats.getMin(), 0.0);
+			Assert.assertEquals(199996.0, stats.getMax(), 0.0);
+
+			long[] counts = buildLargePipeline(list.lazy().parallel(pool).unordered()).histogram(new double[] {-200000, 0, 200000});
+			Assert.assertArrayEquals(new long[] {66666, 66666}, counts);
+			BoostPair<double[], long[]> histogram = buildLargePipeline(list.lazy().parallel(pool)).histogram(4);
+			Assert.assertArrayEquals(new double[] {-199996, -99998, 0, 99998, 199996}, histogram.getKey(), 0.0);
+			Assert.assertArrayEquals(buildLargePipeline(list.lazy()).histogram(4).getValue(), histogram.getValue());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void textFileTest() throws IOException {
+		Path file = Files.createTempFile("boost", ".txt");
+		try {
+			Files.write(file, "apple tree\r\n\ncaf\u00e9 \u4e2d\u6587\nlast line".getBytes(StandardCharsets.UTF_8));
+			BoostPipeline<String> pipeline = BoostPipeline.textFile(file.toString());
+			assertThat(pipeline.collect(), contains("apple tree", "", "caf\u00e9 \u4e2d\u6587", "last line"));
+			assertThat(pipeline.take(2), contains("apple tree", ""));
+
+			Files.write(file, "a\nb\n".getBytes(StandardCharsets.UTF_8));
+			assertThat(pipeline.collect(), contains("a", "b"));
+
+			Files.write(file, new byte[0]);
+			Assert.assertEquals(Long.valueOf(0), pipeline.count());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void parallelTextFileTest() throws IOException {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) {
+			lines.add(i % 7 == 0 ? "" : "line " + i + " \u00e9");
+		}
+		Path file = Files.createTempFile("boost", ".txt");
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Files.write(file, lines, StandardCharsets.UTF_8);
+			BoostPipeline<String> pipeline = BoostPipeline.textFile(file.toString()).parallel(pool);
+			Assert.assertEquals(lines, pipeline.collect());
+			Assert.assertEquals(Long.valueOf(100000 - 14286), pipeline.filter(new Function<String, Boolean>() {
+				public Boolean call(String line) {
+					return !line.isEmpty();
+				}
+			}).count());
+			Assert.assertEquals("line 8 \u00e9", pipeline.find(new Function<String, Boolean>() {
+				public Boolean call(String line) {
+					return line.startsWith("line 8");
+				}
+			}).get());
+		} finally {
+			pool.shutdown();
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = UncheckedIOException.class)
+	public void textFileNotFoundTest() {
+		BoostPipeline.textFile("no/such/file.txt").count();
+	}
+}
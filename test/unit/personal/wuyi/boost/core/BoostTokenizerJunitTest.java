@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.collection.IsEmptyIterable.emptyIterable;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.api.Function2;
+import personal.wuyi.boost.api.PairFunction;
+import personal.wuyi.boost.entity.BoostPair;
+
+/**
+ * Test class for {@code BoostTokenizer}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostTokenizerJunitTest {
+	@Test
+	public void tokenizeTest() {
+		BoostTokenizer<String> tokenizer = new BoostTokenizer<>();
+
+		assertThat(tokenizer.call("apple tree  car\tking "), contains("apple", "tree", "car", "king"));
+		assertThat(tokenizer.call("   "), emptyIterable());
+		assertThat(tokenizer.call(""), emptyIterable());
+		assertThat(new BoostTokenizer<StringBuilder>(",;").call(new StringBuilder(",a b;;c,")), contains("a b", "c"));
+	}
+
+	@Test
+	public void internTest() {
+		BoostTokenizer<String> tokenizer = new BoostTokenizer<>();
+		String first  = tokenizer.call("apple tree").iterator().next();
+		String second = tokenizer.call("tree apple").iterator().next();
+		Iterator<String> third = tokenizer.call(new String("apple")).iterator();
+
+		Assert.assertEquals("apple", first);
+		Assert.assertEquals("tree", second);
+		Assert.assertSame(first, third.next());
+		Assert.assertFalse(third.hasNext());
+		Assert.assertEquals(2, tokenizer.dictionarySize());
+	}
+
+	@Test
+	public void wordCountTest() {
+		BoostList<String> list = new BoostList<>();
+		for (int i = 0; i < 20000; i++) {
+			list.add("apple tree car king");
+			list.add("open apple window car");
+			list.add("high apple tall king team");
+		}
+
+		BoostTokenizer<String> tokenizer = new BoostTokenizer<>();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			BoostMap<String, Integer> counts = list.lazy().parallel(pool).flatMap(tokenizer).reduceToPairs(new PairFunction<String, String, Integer>() {
+				public BoostPair<String, Integer> call(String s) {
+					return new BoostPair<String, Integer>(s, 1);
+				}
+			}, new Function2<Integer, Integer, Integer>() {
+				public Integer call(Integer i1, Integer i2) {
+					return i1 + i2;
+				}
+			});
+
+			Assert.assertEquals(9, counts.keySet().size());
+			assertThat(counts.get("apple"), contains(60000));
+			assertThat(counts.get("king"), contains(40000));
+			assertThat(counts.get("team"), contains(20000));
+			Assert.assertEquals(9, tokenizer.dictionarySize());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
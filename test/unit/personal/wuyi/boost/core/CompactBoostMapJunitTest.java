@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.hamcrest.collection.IsIterableContainingInOrder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.api.FlatMapFunction;
+import personal.wuyi.boost.api.Function;
+import personal.wuyi.boost.api.Function2;
+import personal.wuyi.boost.api.VoidFunction2;
+
+/**
+ * Test class for {@code CompactBoostMap}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class CompactBoostMapJunitTest {
+	@Test
+	public void putGetTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("aaa", 1);
+		map.put("bbb", 2);
+		map.put("aaa", 3);
+		map.put("aaa", 4);
+		map.put(null, 5);
+
+		Assert.assertEquals(5, map.size());
+		assertThat(map.get("aaa"), IsIterableContainingInOrder.contains(1, 3, 4));
+		assertThat(map.get("bbb"), IsIterableContainingInOrder.contains(2));
+		assertThat(map.get(null),  IsIterableContainingInOrder.contains(5));
+		Assert.assertTrue(map.get("zzz").isEmpty());
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains("aaa", "bbb", null));
+		Assert.assertTrue(map.containsEntry("aaa", 3));
+		Assert.assertFalse(map.containsEntry("bbb", 3));
+		Assert.assertTrue(map.containsValue(5));
+		Assert.assertFalse(map.containsValue(6));
+	}
+
+	@Test
+	public void listValueTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("x", 1);
+		map.put("x", 2);
+
+		CompactBoostMap<String, Object> other = new CompactBoostMap<>();
+		other.put("k", map.get("x"));
+		Assert.assertEquals(Arrays.<Object>asList(Arrays.asList(1, 2)), other.get("k"));
+
+		other.put("k", 3);
+		Assert.assertEquals(Arrays.<Object>asList(Arrays.asList(1, 2), 3), other.get("k"));
+		assertThat(map.get("x"), IsIterableContainingInOrder.contains(1, 2));
+		Assert.assertEquals(2, map.size());
+	}
+
+	@Test
+	public void removeTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("aaa", 1);
+		map.put("aaa", 2);
+		map.put("bbb", 3);
+
+		Assert.assertFalse(map.remove("aaa", 3));
+		Assert.assertTrue(map.remove("aaa", 1));
+		assertThat(map.get("aaa"), IsIterableContainingInOrder.contains(2));
+		Assert.assertTrue(map.remove("aaa", 2));
+		Assert.assertFalse(map.containsKey("aaa"));
+		Assert.assertEquals(1, map.size());
+
+		map.put("aaa", 4);
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains("bbb", "aaa"));
+		assertThat(map.removeAll("bbb"), IsIterableContainingInOrder.contains(3));
+		Assert.assertTrue(map.removeAll("bbb").isEmpty());
+		Assert.assertEquals(1, map.size());
+	}
+
+	@Test
+	public void iteratorRemoveTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("aaa", 1);
+		map.put("aaa", 2);
+		map.put("bbb", 3);
+		map.put("ccc", 4);
+
+		Iterator<Entry<String, Integer>> iterator = map.entries().iterator();
+		List<Integer> seen = new ArrayList<>();
+		while (iterator.hasNext()) {
+			Entry<String, Integer> entry = iterator.next();
+			seen.add(entry.getValue());
+			if (entry.getValue() % 2 == 1) {
+				iterator.remove();
+			}
+		}
+		assertThat(seen, IsIterableContainingInOrder.contains(1, 2, 3, 4));
+		Assert.assertEquals(2, map.size());
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains("aaa", "ccc"));
+		assertThat(map.get("aaa"), IsIterableContainingInOrder.contains(2));
+	}
+
+	@Test
+	public void sortByKeyTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("ccc", 1);
+		map.put("aaa", 2);
+		map.put("bbb", 3);
+		map.put("aaa", 4);
+		map.removeAll("bbb");
+		map.sortByKey();
+
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains("aaa", "ccc"));
+		assertThat(map.get("aaa"), IsIterableContainingInOrder.contains(2, 4));
+		Assert.assertTrue(map.containsKey("ccc"));
+
+		map.put("bbb", 5);
+		map.sortByKey(null, false);
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains("ccc", "bbb", "aaa"));
+		assertThat(map.get("bbb"), IsIterableContainingInOrder.contains(5));
+	}
+
+	@Test
+	public void sameAsBoostMapTest() {
+		// random puts and removes, with enough keys to rebuild the table several times
+		Random random = new Random(7);
+		BoostMap<Integer, Integer>        expected = new BoostMap<>();
+		CompactBoostMap<Integer, Integer> actual   = new CompactBoostMap<>();
+		for (int i = 0; i < 100000; i++) {
+			int key   = random.nextInt(5000);
+			int value = random.nextInt(4);
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(key, value), actual.remove(key, value));
+			} else {
+				expected.put(key, value);
+				actual.put(key, value);
+			}
+		}
+
+		Assert.assertEquals(expected.size(), actual.size());
+		Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+		Assert.assertEquals(new ArrayList<>(expected.entries()), new ArrayList<>(actual.entries()));
+
+		Function2<Integer, Integer, Integer> sum = new Function2<Integer, Integer, Integer>() {
+			public Integer call(Integer a, Integer b) {
+				return a + b;
+			}
+		};
+		Assert.assertEquals(new ArrayList<>(expected.reduceByKey(sum).entries()), new ArrayList<>(actual.reduceByKey(sum).entries()));
+	}
+
+	@Test
+	public void forEachEntryTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("aaa", 1);
+		map.put("bbb", 2);
+		map.put("aaa", 3);
+		map.put("ccc", 4);
+		map.removeAll("bbb");
+
+		final List<String> pairs = new ArrayList<>();
+		map.forEachEntry(new VoidFunction2<String, Integer>() {
+			public void call(String key, Integer value) {
+				pairs.add(key + "=" + value);
+			}
+		});
+		assertThat(pairs, IsIterableContainingInOrder.contains("aaa=1", "aaa=3", "ccc=4"));
+	}
+
+	@Test
+	public void mapValuesTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("aaa", 1);
+		map.put("bbb", 2);
+		map.put("aaa", 3);
+		map.put("ccc", 4);
+		map.removeAll("bbb");
+
+		BoostMap<String, Integer> newMap = map.mapValues(new Function<Integer, Integer>() {
+			public Integer call(Integer value) {
+				return value * 10;
+			}
+		});
+		Assert.assertEquals(3, newMap.size());
+		assertThat(newMap.keySet(), IsIterableContainingInOrder.contains("aaa", "ccc"));
+		assertThat(newMap.get("aaa"), IsIterableContainingInOrder.contains(10, 30));
+
+		// the new map has its own copy of the key layout
+		newMap.put("ddd", 5);
+		Assert.assertFalse(map.containsKey("ddd"));
+
+		BoostMap<String, Integer> flatMap = map.flatMapValues(new FlatMapFunction<Integer, Integer>() {
+			public Iterable<Integer> call(Integer value) {
+				return value == 4 ? new ArrayList<Integer>() : Arrays.asList(value, -value);
+			}
+		});
+		Assert.assertEquals(4, flatMap.size());
+		assertThat(flatMap.keySet(), IsIterableContainingInOrder.contains("aaa"));
+		assertThat(flatMap.get("aaa"), IsIterableContainingInOrder.contains(1, -1, 3, -3));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void readOnlyValuesTest() {
+		CompactBoostMap<String, Integer> map = new CompactBoostMap<>(1);
+		map.put("aaa", 1);
+		map.put("aaa", 2);
+		map.get("aaa").add(3);
+	}
+}
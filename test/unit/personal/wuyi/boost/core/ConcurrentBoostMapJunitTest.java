@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.anarsoft.vmlens.concurrent.junit.ConcurrentTestRunner;
+import com.anarsoft.vmlens.concurrent.junit.ThreadCount;
+
+/**
+ * Test class for {@code ConcurrentBoostMap}.
+ *
+ * <p>Each test method runs on {@code THREAD_COUNT} threads at the same
+ * time, all sharing the same map. {@code setUp} runs once before all the
+ * threads and {@code checkFinalState} runs once after all of them.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+@RunWith(ConcurrentTestRunner.class)
+public class ConcurrentBoostMapJunitTest {
+	private static final int THREAD_COUNT = 4;
+	private static final int PAIR_COUNT   = 2000;
+	private static final int KEY_COUNT    = 8;
+
+	private final ConcurrentBoostMap<String, Integer> map = new ConcurrentBoostMap<>();
+	private final AtomicInteger putThreads     = new AtomicInteger();
+	private final AtomicInteger churnThreads   = new AtomicInteger();
+	private final AtomicInteger removedShared  = new AtomicInteger();
+
+	@Before
+	public void setUp() {
+		for (int i = 0; i < PAIR_COUNT; i++) {
+			map.put("shared" + (i % KEY_COUNT), i);
+		}
+	}
+
+	@Test
+	@ThreadCount(THREAD_COUNT)
+	public void putTest() {
+		int thread = putThreads.getAndIncrement();
+		for (int i = 0; i < PAIR_COUNT; i++) {
+			int value = thread * PAIR_COUNT + i;
+			Assert.assertTrue(map.put("put" + (i % KEY_COUNT), value));
+			Assert.assertTrue(map.containsEntry("put" + (i % KEY_COUNT), value));
+		}
+	}
+
+	@Test
+	@ThreadCount(THREAD_COUNT)
+	public void removeTest() {
+		// all the threads race to remove the same pairs: each pair must be removed exactly once
+		for (int i = 0; i < PAIR_COUNT; i++) {
+			if (map.remove("shared" + (i % KEY_COUNT), i)) {
+				removedShared.incrementAndGet();
+			}
+			Assert.assertFalse(map.containsEntry("shared" + (i % KEY_COUNT), i));
+		}
+	}
+
+	@Test
+	@ThreadCount(THREAD_COUNT)
+	public void putRemoveTest() {
+		// the keys keep being created and retired while other threads write them
+		int thread = churnThreads.getAndIncrement();
+		for (int i = 0; i < PAIR_COUNT; i++) {
+			String key = "churn" + (i % 2);
+			int value = thread * PAIR_COUNT + i;
+			map.put(key, value);
+			Assert.assertTrue(map.containsEntry(key, value));
+			Assert.assertTrue(map.remove(key, value));
+			Assert.assertFalse(map.containsEntry(key, value));
+		}
+	}
+
+	@After
+	public void checkFinalState() {
+		Assert.assertEquals(PAIR_COUNT, removedShared.get());
+		for (int k = 0; k < KEY_COUNT; k++) {
+			Assert.assertFalse(map.containsKey("shared" + k));
+			Assert.assertEquals(THREAD_COUNT * PAIR_COUNT / KEY_COUNT, map.get("put" + k).size());
+		}
+		Assert.assertFalse(map.containsKey("churn0"));
+		Assert.assertFalse(map.containsKey("churn1"));
+
+		Assert.assertEquals(THREAD_COUNT * PAIR_COUNT, map.size());
+		int iterated = 0;
+		for (Entry<String, Integer> entry : map.entries()) {
+			Assert.assertTrue(entry.getKey().startsWith("put"));
+			iterated++;
+		}
+		Assert.assertEquals(map.size(), iterated);
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package personal.wuyi.boost.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.hamcrest.collection.IsIterableContainingInOrder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.entity.BoostPair;
+
+/**
+ * Test class for {@code SortedBoostMap}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class SortedBoostMapJunitTest {
+	private SortedBoostMap<Integer, String> buildSortedMap() {
+		SortedBoostMap<Integer, String> map = new SortedBoostMap<>();
+		map.put(30, "c");
+		map.put(10, "a1");
+		map.put(50, "e");
+		map.put(20, "b");
+		map.put(10, "a2");
+		map.put(40, "d");
+		return map;
+	}
+
+	@Test
+	public void putGetTest() {
+		SortedBoostMap<Integer, String> map = buildSortedMap();
+
+		Assert.assertEquals(6, map.size());
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains(10, 20, 30, 40, 50));
+		assertThat(map.get(10), IsIterableContainingInOrder.contains("a1", "a2"));
+		Assert.assertTrue(map.get(15).isEmpty());
+
+		List<String> values = new ArrayList<>();
+		for (Entry<Integer, String> entry : map.entries()) {
+			values.add(entry.getValue());
+		}
+		assertThat(values, IsIterableContainingInOrder.contains("a1", "a2", "b", "c", "d", "e"));
+
+		Assert.assertTrue(map.remove(10, "a1"));
+		Assert.assertTrue(map.remove(10, "a2"));
+		Assert.assertFalse(map.containsKey(10));
+		Assert.assertEquals(4, map.size());
+	}
+
+	@Test
+	public void navigationTest() {
+		SortedBoostMap<Integer, String> map = buildSortedMap();
+
+		Assert.assertEquals(Integer.valueOf(10), map.firstKey());
+		Assert.assertEquals(Integer.valueOf(50), map.lastKey());
+		Assert.assertEquals(Integer.valueOf(30), map.ceilingKey(25));
+		Assert.assertEquals(Integer.valueOf(30), map.ceilingKey(30));
+		Assert.assertEquals(Integer.valueOf(20), map.floorKey(25));
+		Assert.assertEquals(Integer.valueOf(40), map.higherKey(30));
+		Assert.assertEquals(Integer.valueOf(20), map.lowerKey(30));
+		Assert.assertNull(map.higherKey(50));
+		Assert.assertNull(map.floorKey(5));
+	}
+
+	@Test
+	public void rangeTest() {
+		SortedBoostMap<Integer, String> map = buildSortedMap();
+
+		SortedBoostMap<Integer, String> subMap = map.subMap(10, 40);
+		assertThat(subMap.keySet(), IsIterableContainingInOrder.contains(10, 20, 30));
+		Assert.assertEquals(4, subMap.size());
+		assertThat(subMap.get(10), IsIterableContainingInOrder.contains("a1", "a2"));
+		Assert.assertTrue(subMap.get(40).isEmpty());
+		Assert.assertFalse(subMap.containsKey(40));
+		Assert.assertFalse(subMap.containsEntry(40, "d"));
+		Assert.assertTrue(subMap.containsValue("b"));
+		Assert.assertFalse(subMap.isEmpty());
+		Assert.assertTrue(map.subMap(11, 19).isEmpty());
+		Assert.assertTrue(map.tailMap(50, false).isEmpty());
+
+		assertThat(map.headMap(30).keySet(), IsIterableContainingInOrder.contains(10, 20));
+		assertThat(map.headMap(30, true).keySet(), IsIterableContainingInOrder.contains(10, 20, 30));
+		assertThat(map.tailMap(30).keySet(), IsIterableContainingInOrder.contains(30, 40, 50));
+		assertThat(map.tailMap(30, false).keySet(), IsIterableContainingInOrder.contains(40, 50));
+		assertThat(map.subMap(10, false, 40, true).tailMap(30).keySet(), IsIterableContainingInOrder.contains(30, 40));
+
+		// the views follow the changes of the map
+		map.put(25, "x");
+		map.removeAll(20);
+		assertThat(subMap.keySet(), IsIterableContainingInOrder.contains(10, 25, 30));
+		Assert.assertEquals(Integer.valueOf(25), subMap.floorKey(29));
+		Assert.assertEquals(Integer.valueOf(30), subMap.lastKey());
+
+		List<String> values = new ArrayList<>();
+		for (Entry<Integer, String> entry : subMap.entries()) {
+			values.add(entry.getValue());
+		}
+		assertThat(values, IsIterableContainingInOrder.contains("a1", "a2", "x", "c"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void readOnlyRangeTest() {
+		buildSortedMap().tailMap(30).put(60, "f");
+	}
+
+	@Test
+	public void comparatorTest() {
+		SortedBoostMap<Integer, String> map = new SortedBoostMap<>(Collections.<Integer>reverseOrder());
+		map.put(1, "a");
+		map.put(3, "c");
+		map.put(2, "b");
+
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains(3, 2, 1));
+		assertThat(map.headMap(2).keySet(), IsIterableContainingInOrder.contains(3));
+		Assert.assertEquals(Integer.valueOf(2), map.ceilingKey(2));
+		Assert.assertEquals(Integer.valueOf(1), map.higherKey(2));
+
+		map.sortByKey(null, false);       // already in that order
+		assertThat(map.keySet(), IsIterableContainingInOrder.contains(3, 2, 1));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void sortByKeyTest() {
+		buildSortedMap().sortByKey(null, false);
+	}
+
+	@Test
+	public void joinTest() {
+		SortedBoostMap<Integer, String> map   = buildSortedMap();
+		SortedBoostMap<Integer, String> other = new SortedBoostMap<>();
+		other.put(45, "y");
+		other.put(20, "z");
+		other.put(5, "w");
+
+		BoostMap<Integer, BoostPair<String, String>> joined = map.join(other);
+		assertThat(joined.keySet(), IsIterableContainingInOrder.contains(20));
+		Assert.assertEquals("z", joined.get(20).get(0).getValue());
+		assertThat(map.fullOuterJoin(other).keySet(), IsIterableContainingInOrder.contains(5, 10, 20, 30, 40, 45, 50));
+		assertThat(map.subMap(20, 50).fullOuterJoin(other).keySet(), IsIterableContainingInOrder.contains(5, 20, 30, 40, 45));
+	}
+
+	@Test
+	public void concurrentPutTest() throws InterruptedException {
+		final SortedBoostMap<Integer, Integer> map = new SortedBoostMap<>(null, true);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			final int offset = t;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++) {
+						map.put(i % 1000, offset);
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Assert.assertEquals(40000, map.size());
+		Assert.assertEquals(1000, map.keySet().size());
+		Assert.assertEquals(Integer.valueOf(0), map.firstKey());
+		Assert.assertEquals(40, map.get(500).size());
+		Assert.assertEquals(400, map.subMap(100, 110).size());
+	}
+}
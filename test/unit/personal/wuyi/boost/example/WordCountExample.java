@@ -16,14 +16,13 @@
 
 package personal.wuyi.boost.example;
 
-import java.util.Arrays;
 import java.util.Map.Entry;
 
-import personal.wuyi.boost.api.FlatMapFunction;
 import personal.wuyi.boost.api.Function2;
 import personal.wuyi.boost.api.PairFunction;
 import personal.wuyi.boost.core.BoostList;
 import personal.wuyi.boost.core.BoostMap;
+import personal.wuyi.boost.core.BoostTokenizer;
 import personal.wuyi.boost.entity.BoostPair;
 
 public class WordCountExample {
@@ -33,19 +32,12 @@ public class WordCountExample {
 		list.add("open apple window car");
 		list.add("high apple tall king team");
 		
-		BoostList<String> newList = list.flatMap(new FlatMapFunction<String, String>() {
-			  public Iterable<String> call(String s) { 
-			  		return Arrays.asList(s.split(" ")); 
-			  }
-		});
-		
-		BoostMap<String, Integer> newMap = newList.mapToPair(new PairFunction<String, String, Integer>() {
+		// the tokenizer scans each line once and reuses the String of each known word
+		BoostMap<String, Integer> resultMap = list.lazy().flatMap(new BoostTokenizer<String>()).reduceToPairs(new PairFunction<String, String, Integer>() {
 			public BoostPair<String, Integer> call(String s) {
 				return new BoostPair<String, Integer>(s, 1);
 			}
-		});
-		
-		BoostMap<String, Integer> resultMap = newMap.reduceByKey(new Function2<Integer, Integer, Integer>() {
+		}, new Function2<Integer, Integer, Integer>() {
 			public Integer call(Integer i1, Integer i2) {
 				return i1 + i2; 
 			}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2018 Wuyi Chen.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package personal.wuyi.boost.serializer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import personal.wuyi.boost.core.BoostIntList;
+import personal.wuyi.boost.core.BoostList;
+import personal.wuyi.boost.core.BoostMap;
+import personal.wuyi.boost.core.BoostMultimap;
+import personal.wuyi.boost.core.CompactBoostMap;
+import personal.wuyi.boost.core.SortedBoostMap;
+import personal.wuyi.boost.entity.BoostEntry;
+import personal.wuyi.boost.entity.BoostPair;
+
+/**
+ * Test class for {@code BoostSerializers}.
+ *
+ * @author  Wuyi Chen
+ * @date    10/18/2026
+ * @version 1.2
+ * @since   1.2
+ */
+public class BoostSerializersJunitTest {
+	static {
+		BoostSerializers.register(Point.class, BoostSerializers.FIRST_USER_ID + 1, new BoostSerializer<Point>() {
+			public void write(BoostOutput out, Point value) throws IOException {
+				out.writeInt(value.x);
+				out.writeInt(value.y);
+			}
+			public Point read(BoostInput in) throws IOException {
+				int x = in.readInt();
+				return new Point(x, in.readInt());
+			}
+		});
+		BoostSerializers.register(Descending.class, BoostSerializers.FIRST_USER_ID + 2, new BoostSerializer<Descending>() {
+			public void write(BoostOutput out, Descending value) {}
+			public Descending read(BoostInput in) { return new Descending(); }
+		});
+	}
+
+	@Test
+	public void primitiveTest() {
+		Object[] values = {null, "apple", "", "caf\u00e9 \u6f22\u5b57 \ud83d\ude00", 7, -1L, 2.5, 1.5f, (short) -3, (byte) 9, true, 'x'};
+		for (Object value : values) {
+			Assert.assertEquals(value, BoostSerializers.fromBytes(BoostSerializers.toBytes(value)));
+		}
+		Assert.assertEquals("?", BoostSerializers.fromBytes(BoostSerializers.toBytes("\ud83d")));
+		Assert.assertEquals(1 + 1 + 5, BoostSerializers.toBytes("apple").length);      // id, length, bytes
+	}
+
+	@Test
+	public void arrayTest() {
+		Assert.assertArrayEquals(new int[] {1, -2, 3}, (int[]) BoostSerializers.fromBytes(BoostSerializers.toBytes(new int[] {1, -2, 3})));
+		Assert.assertArrayEquals(new long[] {Long.MIN_VALUE}, (long[]) BoostSerializers.fromBytes(BoostSerializers.toBytes(new long[] {Long.MIN_VALUE})));
+		Assert.assertArrayEquals(new double[] {}, (double[]) BoostSerializers.fromBytes(BoostSerializers.toBytes(new double[] {})), 0.0);
+		Assert.assertArrayEquals(new byte[] {4, 5}, (byte[]) BoostSerializers.fromBytes(BoostSerializers.toBytes(new byte[] {4, 5})));
+	}
+
+	@Test
+	public void pairAndEntryTest() {
+		BoostPair<String, BoostPair<Integer, Double>> pair = BoostSerializers.fromBytes(BoostSerializers.toBytes(new BoostPair<>("a", new BoostPair<>(1, null))));
+		Assert.assertEquals("a", pair.getKey());
+		Assert.assertEquals(Integer.valueOf(1), pair.getValue().getKey());
+		Assert.assertNull(pair.getValue().getValue());
+
+		BoostEntry<String, Long> entry = new BoostEntry<>("b", 2L);
+		Assert.assertEquals(entry, BoostSerializers.fromBytes(BoostSerializers.toBytes(entry)));
+	}
+
+	@Test
+	public void collectionTest() {
+		BoostList<Integer> inner = new BoostList<>();
+		inner.addAll(Arrays.asList(1, 2));
+		BoostList<Object> list = new BoostList<>();
+		list.add("apple");
+		list.add(inner);
+		list.add(null);
+		BoostList<Object> listCopy = BoostSerializers.fromBytes(BoostSerializers.toBytes(list));
+		Assert.assertEquals(list, listCopy);
+		Assert.assertSame(BoostList.class, listCopy.get(1).getClass());
+
+		BoostIntList intList = new BoostIntList();
+		intList.addAll(3, 1, 2);
+		BoostIntList intListCopy = BoostSerializers.fromBytes(BoostSerializers.toBytes(intList));
+		Assert.assertArrayEquals(intList.toArray(), intListCopy.toArray());
+
+		BoostMultimap<String, Integer> multimap = new BoostMultimap<>();
+		multimap.put("a", 1);
+		multimap.put("a", 2);
+		multimap.put("b", 3);
+		BoostMultimap<String, Integer> multimapCopy = BoostSerializers.fromBytes(BoostSerializers.toBytes(multimap));
+		Assert.assertSame(BoostMultimap.class, multimapCopy.getClass());
+		Assert.assertEquals(3, multimapCopy.size());
+		assertThat(multimapCopy.get("a"), contains(1, 2));
+		assertThat(multimapCopy.get("b"), contains(3));
+
+		BoostMap<String, Integer> map = new CompactBoostMap<>();
+		map.put("c", 4);
+		BoostMap<String, Integer> mapCopy = BoostSerializers.fromBytes(BoostSerializers.toBytes(map));
+		Assert.assertSame(CompactBoostMap.class, mapCopy.getClass());
+		assertThat(mapCopy.get("c"), contains(4));
+	}
+
+	@Test
+	public void largeValueTest() {
+		BoostList<String> list = new BoostList<>();
+		for (int i = 0; i < 100000; i++) {
+			list.add("value " + i);
+		}
+		BoostBufferOutput out = new BoostBufferOutput(16);
+		try {
+			out.writeObject(list);
+			out.writeObject(Boolean.FALSE);
+			BoostBufferInput in = new BoostBufferInput(out.toByteArray());
+			Assert.assertEquals(list, in.readObject());
+			Assert.assertEquals(Boolean.FALSE, in.readObject());
+			Assert.assertFalse(in.hasMore());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Test
+	public void userTypeTest() {
+		BoostList<Point> list = new BoostList<>();
+		list.add(new Point(1, 2));
+		list.add(new Point(-3, 4));
+		BoostList<Point> copy = BoostSerializers.fromBytes(BoostSerializers.toBytes(list));
+		Assert.assertEquals(2, copy.size());
+		Assert.assertEquals(-3, copy.get(1).x);
+		Assert.assertEquals(4, copy.get(1).y);
+		Assert.assertTrue(BoostSerializers.isRegistered(Point.class));
+	}
+
+	@Test
+	public void sortedMapTest() {
+		SortedBoostMap<Integer, String> map = new SortedBoostMap<>();
+		map.put(3, "c");
+		map.put(1, "a");
+		map.put(3, "d");
+		SortedBoostMap<Integer, String> copy = BoostSerializers.fromBytes(BoostSerializers.toBytes(map));
+		assertThat(copy.keySet(), contains(1, 3));
+		assertThat(copy.get(3), contains("c", "d"));
+		Assert.assertNull(copy.comparator());
+		Assert.assertFalse(copy.isConcurrent());
+
+		SortedBoostMap<Integer, String> descending = new SortedBoostMap<>(new Descending(), true);
+		descending.put(1, "a");
+		descending.put(2, "b");
+		descending.put(3, "c");
+		copy = BoostSerializers.fromBytes(BoostSerializers.toBytes(descending.tailMap(2)));
+		assertThat(copy.keySet(), contains(2, 1));
+		Assert.assertTrue(copy.comparator() instanceof Descending);
+		Assert.assertTrue(copy.isConcurrent());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unregisteredComparatorTest() {
+		SortedBoostMap<Integer, String> map = new SortedBoostMap<>(new Comparator<Integer>() {
+			public int compare(Integer key1, Integer key2) {
+				return key1.compareTo(key2);
+			}
+		});
+		BoostSerializers.toBytes(map);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unregisteredTypeTest() {
+		BoostSerializers.toBytes(new BoostPair<>("a", new Object()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void reservedIdTest() {
+		BoostSerializers.register(Object.class, 3, new BoostSerializer<Object>() {
+			public void write(BoostOutput out, Object value) {}
+			public Object read(BoostInput in) { return new Object(); }
+		});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void usedIdTest() {
+		BoostSerializers.register(Object.class, BoostSerializers.FIRST_USER_ID + 1, new BoostSerializer<Object>() {
+			public void write(BoostOutput out, Object value) {}
+			public Object read(BoostInput in) { return new Object(); }
+		});
+	}
+
+	@Test(expected = UncheckedIOException.class)
+	public void corruptedBytesTest() {
+		BoostSerializers.fromBytes(new byte[] {1, 10, 'a'});
+	}
+
+	@Test
+	public void largeArrayTest() {
+		byte[] bytes = new byte[(1 << 20) * 3 + 5];
+		long[] longs = new long[(1 << 20) + 1];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		for (int i = 0; i < longs.length; i++) {
+			longs[i] = -i;
+		}
+		
+		Assert.assertArrayEquals(bytes, (byte[]) BoostSerializers.fromBytes(BoostSerializers.toBytes(bytes)));
+		Assert.assertArrayEquals(longs, (long[]) BoostSerializers.fromBytes(BoostSerializers.toBytes(longs)));
+	}
+
+	@Test(expected = UncheckedIOException.class)
+	public void corruptedArrayLengthTest() {
+		BoostSerializers.fromBytes(new byte[] {17, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 0, 0, 1});
+	}
+
+	private static class Descending implements Comparator<Integer> {
+		public int compare(Integer key1, Integer key2) {
+			return key2.compareTo(key1);
+		}
+	}
+
+	private static class Point {
+		final int x;
+		final int y;
+
+		Point(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+}